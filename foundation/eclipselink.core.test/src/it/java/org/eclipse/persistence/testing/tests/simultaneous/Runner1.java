@@ -57,8 +57,11 @@ public void run() {
                 }
             }
             CacheKey cacheKey = uow.getParent().getIdentityMapAccessorInstance().getCacheKeyForObject(emp);
-            synchronized (cacheKey) {
-                cacheKey.notify();
+            cacheKey.getInstanceLock().lock();
+            try {
+                cacheKey.getLockReleasedCondition().signal();
+            } finally {
+                cacheKey.getInstanceLock().unlock();
             }
             try {
                 Thread.sleep(4000);
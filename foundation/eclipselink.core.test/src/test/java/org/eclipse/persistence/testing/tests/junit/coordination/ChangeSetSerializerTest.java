@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.coordination;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.ObjectReferenceChangeRecord;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.mappings.DirectToFieldMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.serializers.ChangeSetSerializer;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test change sets are written compactly by the ChangeSetSerializer and read back unchanged.
+ */
+public class ChangeSetSerializerTest {
+
+    private final DatabaseSessionImpl session = new DatabaseSessionImpl(createProject());
+
+    @Test
+    public void changeSetRoundTripTest() {
+        UnitOfWorkChangeSet changeSet = new UnitOfWorkChangeSet();
+        ObjectChangeSet updated = changeSet(1234567L, ClassDescriptor.SEND_OBJECT_CHANGES);
+        updated.setWriteLockValue(8L);
+        updated.setInitialWriteLockValue(7L);
+        updated.setChanges(changes(updated, "name", "Bob", "salary", new BigDecimal("1234.50"), "hired", new Timestamp(1000000123L)));
+        changeSet.getAllChangeSets().put(updated, updated);
+        ObjectChangeSet invalidated = changeSet(new CacheId(new Object[] {1, "A"}), ClassDescriptor.INVALIDATE_CHANGED_OBJECTS);
+        changeSet.getAllChangeSets().put(invalidated, invalidated);
+        ObjectChangeSet deleted = changeSet(-5L, ClassDescriptor.SEND_OBJECT_CHANGES);
+        deleted.setShouldBeDeleted(true);
+        changeSet.getDeletedObjects().put(deleted, deleted);
+        changeSet.setHasChanges(true);
+        MergeChangeSetCommand command = new MergeChangeSetCommand();
+        command.setChangeSet(changeSet);
+        command.setServiceId(new ServiceId("channel", "id", "url"));
+
+        ChangeSetSerializer serializer = new ChangeSetSerializer();
+        serializer.initialize(UnitOfWorkChangeSet.class, null, session);
+        byte[] bytes = (byte[]) serializer.serialize(command, session);
+        byte[] javaBytes = (byte[]) JavaSerializer.instance.serialize(command, session);
+        Assert.assertTrue("Compact size " + bytes.length + " should be much smaller than " + javaBytes.length, bytes.length * 4 < javaBytes.length);
+
+        MergeChangeSetCommand result = (MergeChangeSetCommand) serializer.deserialize(bytes, session);
+        Assert.assertEquals("id", result.getServiceId().getId());
+        UnitOfWorkChangeSet resultChangeSet = result.getChangeSet(session);
+        Assert.assertTrue(resultChangeSet.hasChanges());
+        Assert.assertEquals(2, resultChangeSet.getAllChangeSets().size());
+        Assert.assertEquals(1, resultChangeSet.getDeletedObjects().size());
+        for (ObjectChangeSet objectChangeSet : resultChangeSet.getAllChangeSets().keySet()) {
+            Assert.assertEquals(Employee.class.getName(), objectChangeSet.getClassName());
+            if (objectChangeSet.getSynchronizationType() == ClassDescriptor.INVALIDATE_CHANGED_OBJECTS) {
+                Assert.assertEquals(invalidated.getId(), objectChangeSet.getId());
+            } else {
+                Assert.assertEquals(1234567L, objectChangeSet.getId());
+                Assert.assertEquals(8L, objectChangeSet.getWriteLockValue());
+                Assert.assertEquals(7L, objectChangeSet.getInitialWriteLockValue());
+                Assert.assertTrue(objectChangeSet.hasVersionChange());
+                List<ChangeRecord> changes = objectChangeSet.getChanges();
+                Assert.assertEquals(3, changes.size());
+                Assert.assertEquals("name", changes.get(0).getAttribute());
+                Assert.assertEquals("Bob", ((DirectToFieldChangeRecord) changes.get(0)).getNewValue());
+                Assert.assertEquals(new BigDecimal("1234.50"), ((DirectToFieldChangeRecord) changes.get(1)).getNewValue());
+                Assert.assertEquals(new Timestamp(1000000123L), ((DirectToFieldChangeRecord) changes.get(2)).getNewValue());
+            }
+        }
+        ObjectChangeSet resultDeleted = resultChangeSet.getDeletedObjects().keySet().iterator().next();
+        Assert.assertTrue(resultDeleted.shouldBeDeleted());
+        Assert.assertEquals(-5L, resultDeleted.getId());
+    }
+
+    @Test
+    public void relationshipChangesUseJavaSerializationTest() {
+        UnitOfWorkChangeSet changeSet = new UnitOfWorkChangeSet();
+        ObjectChangeSet updated = changeSet(1L, ClassDescriptor.SEND_OBJECT_CHANGES);
+        ObjectReferenceChangeRecord record = new ObjectReferenceChangeRecord(updated);
+        record.setAttribute("name");
+        List<ChangeRecord> changes = new ArrayList<>();
+        changes.add(record);
+        updated.setChanges(changes);
+        changeSet.getAllChangeSets().put(updated, updated);
+        MergeChangeSetCommand command = new MergeChangeSetCommand();
+        command.setChangeSet(changeSet);
+
+        ChangeSetSerializer serializer = new ChangeSetSerializer();
+        byte[] bytes = (byte[]) serializer.serialize(command, session);
+        MergeChangeSetCommand result = (MergeChangeSetCommand) serializer.deserialize(bytes, session);
+        ObjectChangeSet resultChangeSet = result.getChangeSet(session).getAllChangeSets().keySet().iterator().next();
+        Assert.assertTrue(resultChangeSet.getChanges().get(0) instanceof ObjectReferenceChangeRecord);
+    }
+
+    private ObjectChangeSet changeSet(Object id, int syncType) {
+        ObjectChangeSet objectChangeSet = new ObjectChangeSet();
+        objectChangeSet.setId(id);
+        objectChangeSet.setClassName(Employee.class.getName());
+        objectChangeSet.setSynchronizationType(syncType);
+        return objectChangeSet;
+    }
+
+    private List<ChangeRecord> changes(ObjectChangeSet owner, Object... attributesAndValues) {
+        List<ChangeRecord> changes = new ArrayList<>();
+        for (int index = 0; index < attributesAndValues.length; index += 2) {
+            DirectToFieldChangeRecord record = new DirectToFieldChangeRecord(owner);
+            record.setAttribute((String) attributesAndValues[index]);
+            record.setNewValue(attributesAndValues[index + 1]);
+            changes.add(record);
+        }
+        return changes;
+    }
+
+    private static Project createProject() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Employee.class);
+        descriptor.addTableName("EMPLOYEE");
+        descriptor.addPrimaryKeyFieldName("EMPLOYEE.ID");
+        descriptor.addDirectMapping("id", "EMPLOYEE.ID");
+        descriptor.addDirectMapping("name", "EMPLOYEE.NAME");
+        descriptor.addDirectMapping("salary", "EMPLOYEE.SALARY");
+        descriptor.addDirectMapping("hired", "EMPLOYEE.HIRED");
+        descriptor.addDirectMapping("version", "EMPLOYEE.VERSION");
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        return project;
+    }
+
+    public static class Employee {
+        public long id;
+        public String name;
+        public BigDecimal salary;
+        public Timestamp hired;
+        public long version;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.coordination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.coordination.TransportManager;
+import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the commands propagated asynchronously are coalesced into batches,
+ * and the batches are applied in order by the receiving command manager.
+ */
+public class CommandBatchingTest {
+
+    private final BlockingQueue<byte[]> sent = new LinkedBlockingQueue<>();
+
+    private final List<Object> received = new ArrayList<>();
+
+    @Test
+    public void commandsAreSentAsOneBatchTest() throws Exception {
+        RemoteCommandManager sender = createSender(3, 10000);
+        sender.propagateCommand(new NamedCommand("A"));
+        sender.propagateCommand(new NamedCommand("B"));
+        sender.propagateCommand(new NamedCommand("C"));
+
+        receiveBatch();
+        Assert.assertNull("All commands should be sent in one batch", sent.poll(100, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(3, received.size());
+        Assert.assertEquals("A", ((NamedCommand) received.get(0)).name);
+        Assert.assertEquals("B", ((NamedCommand) received.get(1)).name);
+        Assert.assertEquals("C", ((NamedCommand) received.get(2)).name);
+    }
+
+    @Test
+    public void batchIsSentAfterDelayTest() throws Exception {
+        RemoteCommandManager sender = createSender(100, 50);
+        sender.propagateCommand(new NamedCommand("A"));
+
+        receiveBatch();
+        Assert.assertEquals(1, received.size());
+    }
+
+    @Test
+    public void invalidationsAreCoalescedTest() throws Exception {
+        RemoteCommandManager sender = createSender(2, 10000);
+        PerformanceMonitor monitor = new PerformanceMonitor();
+        ((AbstractSession) sender.getCommandProcessor()).setProfiler(monitor);
+        sender.propagateCommand(invalidate(1L));
+        // Already invalidated by the batch, so nothing is left to send.
+        sender.propagateCommand(invalidate(1L));
+        sender.propagateCommand(invalidate(1L, 2L));
+
+        receiveBatch();
+        Assert.assertEquals(2, received.size());
+        Assert.assertEquals(1, getChangeSet(received.get(0)).getAllChangeSets().size());
+        UnitOfWorkChangeSet changeSet = getChangeSet(received.get(1));
+        Assert.assertEquals(1, changeSet.getAllChangeSets().size());
+        Assert.assertEquals(2L, changeSet.getAllChangeSets().keySet().iterator().next().getId());
+        Assert.assertEquals(2L, monitor.getOperationTime(SessionProfiler.RcmCoalescedChanges));
+        Assert.assertEquals(2L, monitor.getOperationTime(SessionProfiler.RcmBatchedCommands));
+        Assert.assertEquals(1L, monitor.getOperationTime(SessionProfiler.RcmBatchesSent));
+    }
+
+    private void receiveBatch() throws InterruptedException {
+        byte[] batch = sent.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull("Batch should have been sent", batch);
+        createReceiver().processCommandFromRemoteConnection(batch);
+    }
+
+    private RemoteCommandManager createSender(int batchSize, long batchDelay) {
+        RemoteCommandManager rcm = new RemoteCommandManager(new DatabaseSessionImpl(new Project(new DatabaseLogin())), new CapturingTransportManager());
+        rcm.getTransportManager().setRemoteCommandManager(rcm);
+        rcm.getTransportManager().addConnectionToExternalService(new CapturingConnection());
+        rcm.setCommandBatchSize(batchSize);
+        rcm.setCommandBatchDelay(batchDelay);
+        return rcm;
+    }
+
+    private RemoteCommandManager createReceiver() {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(new Project(new DatabaseLogin())) {
+            @Override
+            public void processCommand(Object command) {
+                received.add(command);
+            }
+        };
+        return new RemoteCommandManager(session);
+    }
+
+    private MergeChangeSetCommand invalidate(Long... ids) {
+        UnitOfWorkChangeSet changeSet = new UnitOfWorkChangeSet();
+        for (Long id : ids) {
+            ObjectChangeSet objectChangeSet = new ObjectChangeSet();
+            objectChangeSet.setId(id);
+            objectChangeSet.setClassName("Address");
+            objectChangeSet.setSynchronizationType(ClassDescriptor.INVALIDATE_CHANGED_OBJECTS);
+            changeSet.getAllChangeSets().put(objectChangeSet, objectChangeSet);
+        }
+        MergeChangeSetCommand command = new MergeChangeSetCommand();
+        command.setChangeSet(changeSet);
+        return command;
+    }
+
+    private UnitOfWorkChangeSet getChangeSet(Object command) {
+        return ((MergeChangeSetCommand) command).getChangeSet(null);
+    }
+
+    static class NamedCommand extends Command {
+        final String name;
+
+        NamedCommand(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void executeWithSession(AbstractSession session) {
+        }
+    }
+
+    class CapturingConnection extends RemoteConnection {
+        CapturingConnection() {
+            this.serviceId = new ServiceId("remote", "id", "url");
+        }
+
+        @Override
+        public Object executeCommand(Command command) {
+            // Only used to connect back to this service.
+            return null;
+        }
+
+        @Override
+        public Object executeCommand(byte[] command) {
+            sent.add(command);
+            return null;
+        }
+    }
+
+    static class CapturingTransportManager extends TransportManager {
+        CapturingTransportManager() {
+            initialize();
+        }
+
+        @Override
+        public RemoteConnection createConnection(ServiceId serviceId) {
+            return null;
+        }
+
+        @Override
+        public void createLocalConnection() {
+        }
+
+        @Override
+        public void removeLocalConnection() {
+        }
+    }
+}
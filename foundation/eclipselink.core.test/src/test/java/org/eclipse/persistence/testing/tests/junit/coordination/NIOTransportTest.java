@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.coordination;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.exceptions.CommunicationException;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.internal.sessions.coordination.nio.NIORemoteConnection;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.coordination.nio.NIOTransportManager;
+import org.eclipse.persistence.testing.tests.junit.coordination.CommandBatchingTest.NamedCommand;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test commands are sent between two command managers in the same JVM
+ * using the NIO transport on the loopback interface.
+ */
+public class NIOTransportTest {
+
+    private final BlockingQueue<Object> receivedByFirst = new LinkedBlockingQueue<>();
+
+    private final BlockingQueue<Object> receivedBySecond = new LinkedBlockingQueue<>();
+
+    private RemoteCommandManager first;
+
+    private RemoteCommandManager second;
+
+    @After
+    public void shutdown() {
+        if (first != null) {
+            first.getTransportManager().discardConnections();
+        }
+        if (second != null) {
+            second.getTransportManager().discardConnections();
+        }
+    }
+
+    @Test
+    public void commandsAreSentBothWaysTest() throws Exception {
+        connect();
+        first.propagateCommand(new NamedCommand("A"));
+        second.propagateCommand(new NamedCommand("B"));
+
+        Assert.assertEquals("A", ((NamedCommand) receivedBySecond.poll(10, TimeUnit.SECONDS)).name);
+        Assert.assertEquals("B", ((NamedCommand) receivedByFirst.poll(10, TimeUnit.SECONDS)).name);
+    }
+
+    @Test
+    public void commandsAreReceivedInOrderTest() throws Exception {
+        connect();
+        // Asynchronous propagation sends each command from its own thread.
+        first.setShouldPropagateAsynchronously(false);
+        for (int index = 0; index < 1000; index++) {
+            first.propagateCommand(new NamedCommand(String.valueOf(index)));
+        }
+        for (int index = 0; index < 1000; index++) {
+            NamedCommand command = (NamedCommand) receivedBySecond.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull("Command " + index + " was not received", command);
+            Assert.assertEquals(String.valueOf(index), command.name);
+        }
+    }
+
+    @Test
+    public void failedConnectionIsRemovedTest() throws Exception {
+        connect();
+        second.getTransportManager().discardConnections();
+        // The first send may be buffered by the socket, the closed socket is reported by a following send.
+        long timeout = System.currentTimeMillis() + 10000;
+        while (!first.getTransportManager().getConnectionsToExternalServices().isEmpty() && System.currentTimeMillis() < timeout) {
+            first.propagateCommand(new NamedCommand("A"));
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(first.getTransportManager().getConnectionsToExternalServices().isEmpty());
+    }
+
+    @Test
+    public void oversizedFrameClosesChannelTest() throws Exception {
+        second = createCommandManager("second", receivedBySecond);
+        String url = second.getUrl();
+        int port = Integer.parseInt(url.substring(url.lastIndexOf(':') + 1));
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", port))) {
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(NIOTransportManager.DEFAULT_MAX_FRAME_SIZE + 1);
+            header.flip();
+            channel.write(header);
+            channel.socket().setSoTimeout(10000);
+            InputStream input = channel.socket().getInputStream();
+            Assert.assertEquals("The channel should have been closed", -1, input.read());
+        }
+        Assert.assertTrue(receivedBySecond.isEmpty());
+    }
+
+    @Test
+    public void stalledPeerFailsSendWithinTimeoutTest() throws Exception {
+        first = createCommandManager("first", receivedByFirst);
+        ((NIOTransportManager) first.getTransportManager()).setSendTimeout(500);
+        // The peer accepts the connection, but never reads from it.
+        try (ServerSocketChannel peer = ServerSocketChannel.open()) {
+            peer.bind(new InetSocketAddress("localhost", 0));
+            int port = ((InetSocketAddress) peer.getLocalAddress()).getPort();
+            RemoteConnection connection = first.getTransportManager().createConnection(
+                    new ServiceId(first.getChannel(), "peer", "nio://localhost:" + port));
+            Assert.assertNotNull(connection);
+            try (SocketChannel accepted = peer.accept()) {
+                ExecutorService sender = Executors.newSingleThreadExecutor();
+                try {
+                    // Send until the socket buffers are full and the write times out.
+                    Future<CommunicationException> failure = sender.submit(() -> {
+                        byte[] command = new byte[1024 * 1024];
+                        while (true) {
+                            try {
+                                connection.executeCommand(command);
+                            } catch (CommunicationException exception) {
+                                return exception;
+                            }
+                        }
+                    });
+                    Assert.assertNotNull(failure.get(30, TimeUnit.SECONDS));
+                } finally {
+                    sender.shutdownNow();
+                }
+                Assert.assertFalse("The connection should have been closed", ((NIORemoteConnection) connection).getChannel().isOpen());
+                try {
+                    connection.executeCommand(new byte[1]);
+                    Assert.fail("A failed connection should not send commands");
+                } catch (CommunicationException expected) {
+                    // Expected.
+                }
+            }
+        }
+    }
+
+    private void connect() throws InterruptedException {
+        first = createCommandManager("first", receivedByFirst);
+        second = createCommandManager("second", receivedBySecond);
+        first.newServiceDiscovered(second.getServiceId());
+        Assert.assertEquals(1, first.getTransportManager().getConnectionsToExternalServices().size());
+        // The second service connects back when it receives the connection.
+        long timeout = System.currentTimeMillis() + 10000;
+        while (second.getTransportManager().getConnectionsToExternalServices().isEmpty() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(1, second.getTransportManager().getConnectionsToExternalServices().size());
+    }
+
+    private RemoteCommandManager createCommandManager(String id, BlockingQueue<Object> received) {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(new Project(new DatabaseLogin())) {
+            @Override
+            public void processCommand(Object command) {
+                received.add(command);
+            }
+        };
+        RemoteCommandManager rcm = new RemoteCommandManager(session);
+        rcm.setTransportManager(new NIOTransportManager(rcm));
+        rcm.getServiceId().setId(id);
+        rcm.setUrl("nio://localhost:0");
+        rcm.getTransportManager().createLocalConnection();
+        Assert.assertNotEquals("nio://localhost:0", rcm.getUrl());
+        return rcm;
+    }
+}
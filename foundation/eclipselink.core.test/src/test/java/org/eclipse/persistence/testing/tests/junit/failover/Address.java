@@ -41,7 +41,7 @@ public Address() {
         this.country = "";
     }
 
-    static ClassDescriptor descriptor() {
+    public static ClassDescriptor descriptor() {
         RelationalDescriptor descriptor = new RelationalDescriptor();
         descriptor.setJavaClass(Address.class);
         descriptor.addTableName("ADDRESS");
@@ -94,11 +94,11 @@ static ClassDescriptor descriptor() {
         return descriptor;
     }
 
-    static String getSQL() {
+    public static String getSQL() {
         return "SELECT ADDRESS_ID, CITY, COUNTRY, P_CODE, PROVINCE, STREET FROM ADDRESS";
     }
 
-    static Vector<DatabaseRecord> getData(ClassDescriptor desc) {
+    public static Vector<DatabaseRecord> getData(ClassDescriptor desc) {
         Vector<DatabaseRecord> rows = new Vector<>();
         Vector<DatabaseField> fields = desc.getAllFields();
         DatabaseField[] fieldsArray = fields.toArray(new DatabaseField[0]);
@@ -37,6 +37,9 @@ public class EmulatedConnection implements Connection {
 
     protected boolean inFailureState = false;
 
+    /** Called by the statements when they execute a batch. */
+    protected volatile Runnable batchListener;
+
     public void causeCommError() {
         this.inFailureState = true;
     }
@@ -45,6 +48,23 @@ public boolean isInFailureState() {
         return this.inFailureState;
     }
 
+    /**
+     * Set the listener called by the statements when they execute a batch.
+     */
+    public void setBatchListener(Runnable batchListener) {
+        this.batchListener = batchListener;
+    }
+
+    /**
+     * Notify the listener of a batch execution.
+     */
+    public void batchExecuted() {
+        Runnable listener = this.batchListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
     public EmulatedConnection(EmulatedDriver driver) {
         this.driver = driver;
     }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.helper;
+
+import org.eclipse.persistence.internal.helper.ConcurrentFixedCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the frequency based eviction and statistics of the ConcurrentFixedCache.
+ */
+public class ConcurrentFixedCacheTest {
+
+    private static final int SIZE = 100;
+
+    @Test
+    public void frequentKeysSurviveChurnTest() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(SIZE);
+        // A few thousand one-off queries, while ten queries are used repeatedly.
+        for (int index = 0; index < 5000; index++) {
+            getOrPut(cache, "SELECT a FROM Address a WHERE a.id = " + index);
+            if ((index % 50) == 0) {
+                for (int hot = 0; hot < 10; hot++) {
+                    getOrPut(cache, "SELECT e FROM Employee e WHERE e.id = " + hot);
+                }
+            }
+        }
+
+        Assert.assertTrue(cache.getCache().size() <= SIZE);
+        long misses = cache.getMissCount();
+        for (int hot = 0; hot < 10; hot++) {
+            Assert.assertNotNull("Frequently used key should not be evicted: " + hot, cache.get("SELECT e FROM Employee e WHERE e.id = " + hot));
+        }
+        Assert.assertEquals(misses, cache.getMissCount());
+        Assert.assertTrue(cache.getEvictionCount() >= 5000 + 10 - SIZE);
+    }
+
+    private void getOrPut(ConcurrentFixedCache cache, String key) {
+        if (cache.get(key) == null) {
+            cache.put(key, key);
+        }
+    }
+
+    @Test
+    public void statisticsTest() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(2);
+        Assert.assertNull(cache.get("A"));
+        cache.put("A", "A");
+        Assert.assertEquals("A", cache.get("A"));
+        Assert.assertEquals("A", cache.get("A"));
+        cache.put("B", "B");
+        cache.put("C", "C");
+
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(2.0 / 3, cache.getHitRatio(), 0.0001);
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals("The frequently used key should be kept", "A", cache.getCache().get("A"));
+        Assert.assertEquals("The key just put should be kept", "C", cache.getCache().get("C"));
+
+        cache.resetStatistics();
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(0.0, cache.getHitRatio(), 0.0);
+    }
+
+    @Test
+    public void zeroSizeCachesNothingTest() {
+        ConcurrentFixedCache cache = new ConcurrentFixedCache(0);
+        cache.put("A", "A");
+        Assert.assertNull(cache.get("A"));
+    }
+}
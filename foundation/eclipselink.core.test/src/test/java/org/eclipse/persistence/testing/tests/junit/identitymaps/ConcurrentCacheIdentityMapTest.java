@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.identitymaps;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.persistence.internal.identitymaps.ConcurrentCacheIdentityMap;
+import org.junit.Test;
+
+public class ConcurrentCacheIdentityMapTest {
+
+    private static final int SIZE = 10;
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(SIZE, null, null, false);
+        for (int i = 0; i < SIZE; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        // Make key 0 the most recently used, and apply the access.
+        assertEquals("object0", map.get(0));
+        map.updateMaxSize(SIZE);
+
+        map.put(SIZE, "object" + SIZE, null, 0);
+        assertEquals(SIZE, map.getSize());
+        assertEquals("object0", map.get(0));
+        assertNull("Least recently used key should have been evicted", map.get(1));
+        assertEquals(1, map.getEvictionCount());
+    }
+
+    @Test
+    public void statisticsAreRecorded() {
+        ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(SIZE, null, null, false);
+        map.put(1, "object1", null, 0);
+        map.resetStatistics();
+
+        map.get(1);
+        map.get(1);
+        map.get(1);
+        map.get(2);
+        assertEquals(3, map.getHitCount());
+        assertEquals(1, map.getMissCount());
+        assertEquals(0.75, map.getHitRatio(), 0.0);
+    }
+
+    @Test
+    public void removeUnlinksKey() {
+        ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(SIZE, null, null, false);
+        for (int i = 0; i < SIZE; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        assertEquals("object3", map.remove(3, null));
+        map.updateMaxSize(SIZE - 2);
+        assertEquals(SIZE - 2, map.getSize());
+        assertEquals(1, map.getEvictionCount());
+    }
+
+    @Test
+    public void concurrentAccessStaysWithinSize() throws Exception {
+        ConcurrentCacheIdentityMap map = new ConcurrentCacheIdentityMap(SIZE, null, null, false);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 10000; i++) {
+                        int key = (i * 7 + offset) % (SIZE * 3);
+                        if (map.get(key) == null) {
+                            map.put(key, "object" + key, null, 0);
+                        }
+                    }
+                } catch (Throwable error) {
+                    failures.add(error);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue("Failures: " + failures, failures.isEmpty());
+        map.updateMaxSize(SIZE);
+        assertEquals(SIZE, map.getSize());
+        assertTrue(map.getEvictionCount() > 0);
+        assertTrue(map.getHitCount() > 0);
+    }
+}
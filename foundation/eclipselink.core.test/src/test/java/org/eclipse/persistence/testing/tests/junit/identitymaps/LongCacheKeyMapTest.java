@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.identitymaps;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.identitymaps.LongCacheKeyMap;
+import org.junit.Test;
+
+public class LongCacheKeyMapTest {
+
+    private static CacheKey cacheKey(Object key) {
+        return new CacheKey(key, "object" + key, null);
+    }
+
+    @Test
+    public void keysOfOtherClassesAreDifferentKeys() {
+        LongCacheKeyMap map = new LongCacheKeyMap();
+        CacheKey key = cacheKey(1L);
+        CacheKey integerKey = cacheKey(1);
+        assertNull(map.putIfAbsent(1L, key));
+        assertSame(key, map.get(1L));
+        assertNull(map.get(Integer.valueOf(1)));
+        assertNull(map.putIfAbsent(1, integerKey));
+        assertSame(integerKey, map.get(Integer.valueOf(1)));
+        assertSame(key, map.get(1L));
+        assertNull(map.get(2L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void integerKeysAreIteratedAsIntegers() {
+        LongCacheKeyMap map = new LongCacheKeyMap(10, Integer.class);
+        for (int i = -50; i < 50; i++) {
+            map.put(i, cacheKey(i));
+        }
+        map.put(100L, cacheKey(100L));
+        assertEquals(101, map.size());
+        Set<Object> keys = new HashSet<>();
+        for (Map.Entry<Object, CacheKey> entry : map.entrySet()) {
+            assertEquals(entry.getValue().getKey(), entry.getKey());
+            assertSame(entry.getValue().getKey().getClass(), entry.getKey().getClass());
+            keys.add(entry.getKey());
+        }
+        assertEquals(101, keys.size());
+        assertTrue(keys.contains(-50));
+        assertTrue(keys.contains(100L));
+        assertFalse(keys.contains(100));
+        for (Iterator<Object> iterator = map.keySet().iterator(); iterator.hasNext();) {
+            if (((Number)iterator.next()).intValue() < 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(51, map.size());
+        assertNull(map.get(Integer.valueOf(-1)));
+        assertNotNull(map.get(Integer.valueOf(0)));
+    }
+
+    @Test
+    public void otherKeysAreStoredSeparately() {
+        LongCacheKeyMap map = new LongCacheKeyMap();
+        CacheKey stringKey = cacheKey("1");
+        CacheKey cacheIdKey = cacheKey(new CacheId(new Object[] {1L, 2L}));
+        map.put("1", stringKey);
+        map.put(cacheIdKey.getKey(), cacheIdKey);
+        map.put(1L, cacheKey(1L));
+        assertSame(stringKey, map.get("1"));
+        assertSame(cacheIdKey, map.get(new CacheId(new Object[] {1L, 2L})));
+        assertEquals(3, map.size());
+        assertSame(stringKey, map.remove("1"));
+        assertEquals(2, map.size());
+        assertNull(map.get(null));
+    }
+
+    @Test
+    public void removedKeyCanBeAddedAgain() {
+        LongCacheKeyMap map = new LongCacheKeyMap();
+        CacheKey first = cacheKey(5L);
+        map.put(5L, first);
+        assertFalse(map.remove(5L, cacheKey(5L)));
+        assertTrue(map.remove(5L, first));
+        assertNull(map.get(5L));
+        assertEquals(0, map.size());
+
+        CacheKey second = cacheKey(5L);
+        assertNull(map.putIfAbsent(5L, second));
+        assertSame(second, map.get(5L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void tableGrowsAndDropsRemovedKeys() {
+        LongCacheKeyMap map = new LongCacheKeyMap();
+        for (long i = 0; i < 10000; i++) {
+            map.put(i, cacheKey(i));
+            if ((i % 2) == 0) {
+                map.remove(i);
+            }
+        }
+        assertEquals(5000, map.size());
+        for (long i = 0; i < 10000; i++) {
+            CacheKey key = map.get(i);
+            if ((i % 2) == 0) {
+                assertNull(key);
+            } else {
+                assertEquals(i, key.getKey());
+            }
+        }
+    }
+
+    @Test
+    public void removedKeysDoNotFillTheTable() {
+        LongCacheKeyMap map = new LongCacheKeyMap();
+        for (long i = 0; i < 100000; i++) {
+            map.put(i, cacheKey(i));
+            map.remove(i);
+        }
+        assertEquals(0, map.size());
+        map.put(1L, cacheKey(1L));
+        assertNotNull(map.get(1L));
+        assertNull(map.get(99999L));
+    }
+
+    @Test
+    public void iteratorRemovesEntries() {
+        LongCacheKeyMap map = new LongCacheKeyMap();
+        for (long i = 0; i < 100; i++) {
+            map.put(i, cacheKey(i));
+        }
+        map.put("other", cacheKey("other"));
+        Set<Object> seen = new HashSet<>();
+        for (Iterator<CacheKey> iterator = map.values().iterator(); iterator.hasNext();) {
+            CacheKey key = iterator.next();
+            seen.add(key.getKey());
+            if (!(key.getKey() instanceof Long) || (((Long)key.getKey()) >= 50)) {
+                iterator.remove();
+            }
+        }
+        assertEquals(101, seen.size());
+        assertEquals(50, map.size());
+        assertNull(map.get("other"));
+        assertNotNull(map.get(49L));
+        assertNull(map.get(50L));
+    }
+
+    @Test
+    public void concurrentUpdatesAreNotLost() throws Exception {
+        LongCacheKeyMap map = new LongCacheKeyMap();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long offset = t * 100000L;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (long i = offset; i < offset + 20000; i++) {
+                        CacheKey key = cacheKey(i);
+                        assertNull(map.putIfAbsent(i, key));
+                        assertSame(key, map.get(i));
+                        if ((i % 4) == 0) {
+                            assertSame(key, map.remove(i));
+                        }
+                    }
+                } catch (Throwable error) {
+                    failures.add(error);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue("Failures: " + failures, failures.isEmpty());
+        assertEquals(8 * 15000, map.size());
+    }
+}
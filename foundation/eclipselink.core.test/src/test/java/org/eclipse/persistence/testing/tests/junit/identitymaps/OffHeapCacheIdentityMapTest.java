@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.identitymaps;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.identitymaps.OffHeapCacheIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.OffHeapStore;
+import org.junit.Test;
+
+public class OffHeapCacheIdentityMapTest {
+
+    private static final int SIZE = 10;
+
+    private OffHeapCacheIdentityMap buildMap() {
+        return new OffHeapCacheIdentityMap(SIZE, null, null, false, 1024 * 1024, null);
+    }
+
+    @Test
+    public void evictedObjectIsPromoted() {
+        OffHeapCacheIdentityMap map = buildMap();
+        for (int i = 0; i <= SIZE; i++) {
+            map.put(i, "object" + i, (long)i, 1000 + i);
+        }
+        assertEquals(SIZE, map.getSize());
+        assertEquals(1, map.getOffHeapSize());
+        assertEquals(1, map.getOffHeapStoreCount());
+
+        CacheKey key = map.getCacheKey(0, false);
+        assertNotNull("Evicted object should be promoted from the off-heap store", key);
+        assertEquals("object0", key.getObject());
+        assertEquals(0L, key.getWriteLockValue());
+        assertEquals(1000, key.getReadTime());
+        assertEquals(1, map.getOffHeapHitCount());
+        assertSame("Promoted object should be cached on-heap", key.getObject(), map.get(0));
+        // Promoting evicts the least recently used object in turn.
+        assertEquals(SIZE, map.getSize());
+        assertEquals(1, map.getOffHeapSize());
+        assertEquals("object1", map.get(1));
+    }
+
+    @Test
+    public void removeDropsOffHeapObject() {
+        OffHeapCacheIdentityMap map = buildMap();
+        for (int i = 0; i <= SIZE; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        // Removing promotes the object, which evicts the least recently used object.
+        assertEquals("object0", map.remove(0, null));
+        assertNull(map.getOffHeapStore().getEntry(0));
+        assertNotNull(map.getOffHeapStore().getEntry(1));
+        assertNull(map.get(0));
+    }
+
+    @Test
+    public void putReplacesOffHeapObject() {
+        OffHeapCacheIdentityMap map = buildMap();
+        for (int i = 0; i <= SIZE; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        map.put(0, "updated0", null, 0);
+        assertNull("Stale off-heap object should be removed", map.getOffHeapStore().getEntry(0));
+        assertEquals("updated0", map.get(0));
+    }
+
+    @Test
+    public void invalidateDropsOffHeapObjects() {
+        OffHeapCacheIdentityMap map = buildMap();
+        for (int i = 0; i < SIZE * 2; i++) {
+            map.put(i, "object" + i, null, 0);
+        }
+        assertEquals(SIZE, map.getOffHeapSize());
+        map.invalidateOffHeap(Integer.class);
+        assertEquals(SIZE, map.getOffHeapSize());
+        map.invalidateOffHeap(String.class);
+        assertEquals(0, map.getOffHeapSize());
+    }
+
+    @Test
+    public void fullStoreReusesOldestSlab() {
+        OffHeapStore store = new OffHeapStore(64, 16);
+        byte[] bytes = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            assertTrue(store.put(i, bytes, byte[].class, null, 0));
+        }
+        assertEquals(8, store.getSize());
+        assertEquals(64, store.getAllocatedBytes());
+
+        assertTrue(store.put(8, bytes, byte[].class, null, 0));
+        assertNull("Entries of the reused slab should be dropped", store.getEntry(0));
+        assertNull(store.getEntry(1));
+        assertNotNull(store.getEntry(8));
+        assertEquals(7, store.getSize());
+        assertFalse("Entries larger than a slab are not stored", store.put(9, new byte[17], byte[].class, null, 0));
+    }
+
+    @Test
+    public void reusedSlabKeepsEntriesStoredAgainElsewhere() {
+        OffHeapStore store = new OffHeapStore(64, 16);
+        byte[] bytes = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            assertTrue(store.put(i, bytes, byte[].class, null, 0));
+        }
+        // The last slab holds 6 and 7, store 6 again in the first slab.
+        assertTrue(store.put(6, bytes, byte[].class, null, 0));
+        assertNull(store.getEntry(0));
+        assertNull(store.getEntry(1));
+        // Fill the first slab and reuse the others up to the last one.
+        for (int i = 100; i < 107; i++) {
+            assertTrue(store.put(i, bytes, byte[].class, null, 0));
+        }
+        assertNull(store.getEntry(7));
+        assertNotNull("Entry stored again in another slab should be kept", store.getEntry(6));
+        assertNotNull(store.getBytes(6, store.getEntry(6)));
+        assertEquals(8, store.getSize());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.identitymaps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.internal.identitymaps.FullIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.IdentityMap;
+import org.eclipse.persistence.internal.identitymaps.QueryResultsDependency;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test a change to an object only invalidates the query results it could affect.
+ */
+public class QueryResultsDependencyTest {
+
+    private final DatabaseSessionImpl session = createSession();
+
+    @Test
+    public void updateOfUnusedAttributeKeepsResultsTest() {
+        QueryResultsDependency dependency = QueryResultsDependency.buildDependency(departmentQuery());
+        Employee bob = new Employee();
+        IdentityMap results = results("A", bob, "B", new Employee());
+
+        Assert.assertTrue(dependency.invalidate(results, changeSet(false, "salary", 10L), Employee.class, bob));
+        Assert.assertEquals(2, results.getSize());
+    }
+
+    @Test
+    public void updateOfParameterAttributeRemovesAffectedResultsTest() {
+        QueryResultsDependency dependency = QueryResultsDependency.buildDependency(departmentQuery());
+        Employee bob = new Employee();
+        IdentityMap results = results("A", bob, "B", new Employee(), "C", new Employee());
+
+        // Bob moves from A to B.
+        Assert.assertTrue(dependency.invalidate(results, changeSet(false, "dept", "B"), Employee.class, bob));
+        Assert.assertEquals(1, results.getSize());
+        Assert.assertNotNull(results.get(new CacheId(new Object[] {"C"})));
+    }
+
+    @Test
+    public void newObjectRemovesMatchingResultsTest() {
+        QueryResultsDependency dependency = QueryResultsDependency.buildDependency(departmentQuery());
+        IdentityMap results = results("A", new Employee(), "B", new Employee());
+
+        Assert.assertTrue(dependency.invalidate(results, changeSet(true, "dept", "B", "name", "Jill"), Employee.class, new Employee()));
+        Assert.assertEquals(1, results.getSize());
+        Assert.assertNotNull(results.get(new CacheId(new Object[] {"A"})));
+    }
+
+    @Test
+    public void updateOfSelectedAttributeInvalidatesAllTest() {
+        ReadAllQuery query = departmentQuery();
+        ExpressionBuilder builder = query.getExpressionBuilder();
+        query.setSelectionCriteria(query.getSelectionCriteria().and(builder.get("salary").greaterThan(100)));
+        QueryResultsDependency dependency = QueryResultsDependency.buildDependency(query);
+        Employee bob = new Employee();
+        IdentityMap results = results("A", bob);
+
+        Assert.assertFalse(dependency.invalidate(results, changeSet(false, "salary", 10L), Employee.class, bob));
+    }
+
+    @Test
+    public void disjunctionIsNotBoundToParameterTest() {
+        ReadAllQuery query = departmentQuery();
+        ExpressionBuilder builder = query.getExpressionBuilder();
+        query.setSelectionCriteria(query.getSelectionCriteria().or(builder.get("name").equal("Bob")));
+        QueryResultsDependency dependency = QueryResultsDependency.buildDependency(query);
+
+        Assert.assertFalse(dependency.invalidate(results("A", new Employee()), changeSet(true, "dept", "B", "name", "Jill"), Employee.class, new Employee()));
+    }
+
+    private ReadAllQuery departmentQuery() {
+        ReadAllQuery query = new ReadAllQuery(Employee.class);
+        ExpressionBuilder builder = query.getExpressionBuilder();
+        query.setSelectionCriteria(builder.get("dept").equal(builder.getParameter("dept")));
+        query.addArgument("dept");
+        query.setDescriptor(session.getDescriptor(Employee.class));
+        return query;
+    }
+
+    private IdentityMap results(Object... parametersAndObjects) {
+        IdentityMap results = new FullIdentityMap(10, null, session, false);
+        for (int index = 0; index < parametersAndObjects.length; index += 2) {
+            List<Object> result = new ArrayList<>();
+            result.add(parametersAndObjects[index + 1]);
+            results.put(new CacheId(new Object[] {parametersAndObjects[index]}), result, null, 0);
+        }
+        return results;
+    }
+
+    private ObjectChangeSet changeSet(boolean isNew, Object... attributesAndValues) {
+        ObjectChangeSet changeSet = new ObjectChangeSet();
+        changeSet.setIsNew(isNew);
+        changeSet.setClassName(Employee.class.getName());
+        changeSet.setSynchronizationType(ClassDescriptor.SEND_OBJECT_CHANGES);
+        List<ChangeRecord> changes = new ArrayList<>();
+        for (int index = 0; index < attributesAndValues.length; index += 2) {
+            DirectToFieldChangeRecord record = new DirectToFieldChangeRecord(changeSet);
+            record.setAttribute((String) attributesAndValues[index]);
+            record.setNewValue(attributesAndValues[index + 1]);
+            changes.add(record);
+        }
+        changeSet.setChanges(changes);
+        return changeSet;
+    }
+
+    private static DatabaseSessionImpl createSession() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Employee.class);
+        descriptor.addTableName("EMPLOYEE");
+        descriptor.addPrimaryKeyFieldName("EMPLOYEE.ID");
+        descriptor.addDirectMapping("id", "EMPLOYEE.ID");
+        descriptor.addDirectMapping("name", "EMPLOYEE.NAME");
+        descriptor.addDirectMapping("dept", "EMPLOYEE.DEPT");
+        descriptor.addDirectMapping("salary", "EMPLOYEE.SALARY");
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        DatabaseSessionImpl session = new DatabaseSessionImpl(project);
+        session.initializeDescriptors();
+        return session;
+    }
+
+    public static class Employee {
+        public long id;
+        public String name;
+        public String dept;
+        public long salary;
+    }
+}
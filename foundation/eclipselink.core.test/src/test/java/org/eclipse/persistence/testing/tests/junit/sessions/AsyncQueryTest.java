@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.exceptions.QueryException;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.platform.server.ServerPlatform;
+import org.eclipse.persistence.queries.DataReadQuery;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test queries are executed asynchronously, concurrently by a ServerSession
+ * and in order by other sessions.
+ */
+public class AsyncQueryTest {
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private final List<Object> executed = new ArrayList<>();
+
+    @Test
+    public void queriesAreExecutedInOrderTest() throws Exception {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(new Project(new DatabaseLogin())) {
+            @Override
+            public Object executeQuery(DatabaseQuery query, AbstractRecord row) {
+                return execute(query);
+            }
+        };
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int index = 0; index < 10; index++) {
+            futures.add(session.executeQueryAsync(query(String.valueOf(index))));
+        }
+        for (int index = 0; index < 10; index++) {
+            Assert.assertEquals(String.valueOf(index), futures.get(index).get(10, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(1, maxRunning.get());
+        synchronized (executed) {
+            for (int index = 0; index < 10; index++) {
+                Assert.assertEquals(String.valueOf(index), executed.get(index));
+            }
+        }
+    }
+
+    @Test
+    public void serverSessionExecutesConcurrentlyTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        ServerSession session = new ServerSession(new Project(new DatabaseLogin())) {
+            @Override
+            public Object executeQuery(DatabaseQuery query, AbstractRecord row) {
+                started.countDown();
+                try {
+                    // Both queries must be running at the same time.
+                    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException exception) {
+                    throw new RuntimeException(exception);
+                }
+                return query.getName();
+            }
+        };
+        session.setQueryExecutor(Executors.newCachedThreadPool());
+        CompletableFuture<Object> first = session.executeQueryAsync(query("A"));
+        CompletableFuture<Object> second = session.executeQueryAsync(query("B"));
+        Assert.assertEquals("A", first.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals("B", second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedQueryDoesNotStopLaterQueriesTest() throws Exception {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(new Project(new DatabaseLogin())) {
+            @Override
+            public Object executeQuery(DatabaseQuery query, AbstractRecord row) {
+                if (query.getName().equals("fail")) {
+                    throw QueryException.queryNotDefined(query.getName());
+                }
+                return execute(query);
+            }
+        };
+        session.setQueryThreadPoolSize(2);
+        CompletableFuture<Object> failed = session.executeQueryAsync(query("fail"));
+        CompletableFuture<Object> next = session.executeQueryAsync(query("next"));
+        try {
+            failed.get(10, TimeUnit.SECONDS);
+            Assert.fail("Expected the query to fail");
+        } catch (ExecutionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof QueryException);
+        }
+        Assert.assertEquals("next", next.get(10, TimeUnit.SECONDS));
+        session.setQueryThreadPoolSize(0);
+    }
+
+    @Test
+    public void defaultExecutorIsShutdownOnLogoutTest() throws Exception {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(new Project(new DatabaseLogin())) {
+            @Override
+            public Object executeQuery(DatabaseQuery query, AbstractRecord row) {
+                return execute(query);
+            }
+
+            @Override
+            public ServerPlatform getServerPlatform() {
+                return null;
+            }
+
+            @Override
+            public void logout() {
+                // Not connected, only shutdown the executors of the session.
+                shutdownQueryThreadPool();
+            }
+        };
+        Executor executor = session.getQueryExecutor();
+        Assert.assertTrue(executor instanceof ExecutorService);
+        Assert.assertEquals("A", session.executeQueryAsync(query("A")).get(10, TimeUnit.SECONDS));
+        session.logout();
+        Assert.assertTrue(((ExecutorService) executor).isShutdown());
+        Assert.assertNotSame(executor, session.getQueryExecutor());
+        Assert.assertEquals("B", session.executeQueryAsync(query("B")).get(10, TimeUnit.SECONDS));
+        session.logout();
+    }
+
+    private Object execute(DatabaseQuery query) {
+        int count = running.incrementAndGet();
+        maxRunning.accumulateAndGet(count, Math::max);
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (executed) {
+            executed.add(query.getName());
+        }
+        running.decrementAndGet();
+        return query.getName();
+    }
+
+    private DatabaseQuery query(String name) {
+        DataReadQuery query = new DataReadQuery();
+        query.setName(name);
+        return query;
+    }
+}
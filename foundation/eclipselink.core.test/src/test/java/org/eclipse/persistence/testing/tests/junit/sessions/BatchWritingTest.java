@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.sessions.DatabaseSession;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.eclipse.persistence.testing.tests.junit.EmulatedDriverTestBase;
+import org.eclipse.persistence.testing.tests.junit.failover.Address;
+import org.eclipse.persistence.testing.tests.junit.failover.emulateddriver.EmulatedConnection;
+import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test grouping and pipelining of parameterized batch writing.
+ * The SQL of an update depends on the changed fields, the interleaved updates of a class must be batched by SQL.
+ */
+public class BatchWritingTest extends EmulatedDriverTestBase<DatabaseSession> {
+
+    @Override
+    protected DatabaseSession createSession(Project p) {
+        p.getLogin().useBatchWriting();
+        p.getLogin().useJDBCBatchWriting();
+        p.getLogin().bindAllParameters();
+        p.getLogin().getPlatform().setUsesGroupedBatchWriting(true);
+        return p.createDatabaseSession();
+    }
+
+    @Test
+    public void interleavedUpdatesAreGroupedTest() {
+        DatabaseSession session = getEmulatedSession();
+        PerformanceMonitor monitor = new PerformanceMonitor();
+        session.setProfiler(monitor);
+        List<Address> addresses = session.readAllObjects(Address.class);
+        Assert.assertEquals(3, addresses.size());
+
+        UnitOfWork uow = session.acquireUnitOfWork();
+        List<Address> clones = uow.registerAllObjects(addresses);
+        clones.get(0).city = "Ottawa";
+        clones.get(1).country = "USA";
+        clones.get(2).city = "Quebec";
+        uow.commit();
+
+        Assert.assertEquals(3L, monitor.getOperationTime(SessionProfiler.BatchWriteStatements));
+        Assert.assertEquals("Each distinct update should be a single batch", 2L, monitor.getOperationTime(SessionProfiler.BatchWriteFlushes));
+    }
+
+    @Test
+    public void pipelinedBatchesAreExecutedTest() {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) getEmulatedSession();
+        session.getPlatform().setUsesPipelinedBatchWriting(true);
+        DatabaseAccessor accessor = (DatabaseAccessor) session.getAccessor();
+        accessor.getActiveBatchWritingMechanism(session).setMaxBatchSize(2);
+        PerformanceMonitor monitor = new PerformanceMonitor();
+        session.setProfiler(monitor);
+        List<Address> addresses = session.readAllObjects(Address.class);
+
+        UnitOfWork uow = session.acquireUnitOfWork();
+        List<Address> clones = uow.registerAllObjects(addresses);
+        for (Address address : clones) {
+            address.city = "Ottawa";
+        }
+        uow.commit();
+
+        Assert.assertEquals(3L, monitor.getOperationTime(SessionProfiler.BatchWriteStatements));
+        // The full batch is pipelined, the last is executed on commit.
+        Assert.assertEquals(2L, monitor.getOperationTime(SessionProfiler.BatchWriteFlushes));
+    }
+
+    @Test
+    public void pipelinedBatchesUseOneThreadPerConnectionTest() {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) getEmulatedSession();
+        session.getPlatform().setUsesPipelinedBatchWriting(true);
+        DatabaseAccessor accessor = (DatabaseAccessor) session.getAccessor();
+        accessor.getActiveBatchWritingMechanism(session).setMaxBatchSize(1);
+        final List<Thread> flushThreads = Collections.synchronizedList(new ArrayList<>());
+        session.setProfiler(new PerformanceMonitor() {
+            @Override
+            public void occurred(String operationName, AbstractSession session) {
+                if (SessionProfiler.BatchWriteFlushes.equals(operationName)) {
+                    flushThreads.add(Thread.currentThread());
+                }
+                super.occurred(operationName, session);
+            }
+        });
+        final List<Thread> executeThreads = Collections.synchronizedList(new ArrayList<>());
+        ((EmulatedConnection) accessor.getConnection()).setBatchListener(() -> executeThreads.add(Thread.currentThread()));
+        List<Address> addresses = session.readAllObjects(Address.class);
+
+        UnitOfWork uow = session.acquireUnitOfWork();
+        List<Address> clones = uow.registerAllObjects(addresses);
+        for (Address address : clones) {
+            address.city = "Toronto";
+        }
+        uow.commit();
+
+        // The session is only used by the committing thread.
+        Assert.assertEquals(Collections.nCopies(3, Thread.currentThread()), flushThreads);
+        // The full batches are executed by the connection's pipeline thread,
+        // the last is executed on commit as a single statement.
+        Assert.assertEquals(2, executeThreads.size());
+        Assert.assertNotSame(Thread.currentThread(), executeThreads.get(0));
+        Assert.assertSame(executeThreads.get(0), executeThreads.get(1));
+    }
+
+    @Test
+    public void interruptedCommitWaitsForPipelinedBatchTest() throws Exception {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) getEmulatedSession();
+        session.getPlatform().setUsesPipelinedBatchWriting(true);
+        DatabaseAccessor accessor = (DatabaseAccessor) session.getAccessor();
+        accessor.getActiveBatchWritingMechanism(session).setMaxBatchSize(1);
+        final CountDownLatch executing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger executions = new AtomicInteger();
+        ((EmulatedConnection) accessor.getConnection()).setBatchListener(() -> {
+            if (executions.incrementAndGet() == 1) {
+                executing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        List<Address> addresses = session.readAllObjects(Address.class);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread committer = new Thread(() -> {
+            try {
+                UnitOfWork uow = session.acquireUnitOfWork();
+                List<Address> clones = uow.registerAllObjects(addresses);
+                for (Address address : clones) {
+                    address.city = "Montreal";
+                }
+                uow.commit();
+            } catch (Throwable error) {
+                failure.set(error);
+            }
+        });
+        committer.start();
+        try {
+            Assert.assertTrue(executing.await(10, TimeUnit.SECONDS));
+            // Wait for the committer to wait for the pipelined batch, then interrupt it.
+            long timeout = System.currentTimeMillis() + 10000;
+            while (committer.getState() != Thread.State.WAITING && System.currentTimeMillis() < timeout) {
+                Thread.sleep(1);
+            }
+            committer.interrupt();
+            committer.join(200);
+            Assert.assertTrue("The connection must not be released while the batch is executing", committer.isAlive());
+        } finally {
+            release.countDown();
+        }
+        committer.join(10000);
+        Assert.assertFalse(committer.isAlive());
+        Assert.assertNotNull("The interrupted commit should fail", failure.get());
+        Assert.assertEquals("No batch may be executed after the interrupted one", 1, executions.get());
+    }
+
+    @Test
+    public void externallyManagedConnectionIsNotPipelinedTest() {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) getEmulatedSession();
+        session.getPlatform().setUsesPipelinedBatchWriting(true);
+        DatabaseAccessor accessor = (DatabaseAccessor) session.getAccessor();
+        Assert.assertTrue(accessor.canPipelineBatch(session));
+        session.getLogin().setUsesExternalTransactionController(true);
+        try {
+            Assert.assertFalse("Batches must not be pipelined in a JTA transaction", accessor.canPipelineBatch(session));
+        } finally {
+            session.getLogin().setUsesExternalTransactionController(false);
+        }
+        session.getLogin().setUsesExternalConnectionPooling(true);
+        try {
+            Assert.assertFalse("Batches must not be pipelined on an external connection", accessor.canPipelineBatch(session));
+        } finally {
+            session.getLogin().setUsesExternalConnectionPooling(false);
+        }
+    }
+}
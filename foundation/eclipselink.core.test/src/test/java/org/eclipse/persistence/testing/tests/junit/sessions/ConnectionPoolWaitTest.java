@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.databaseaccess.Accessor;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.server.ConnectionPool;
+import org.eclipse.persistence.sessions.server.ReadConnectionPool;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.EmulatedDriverTestBase;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the connection pool behavior when all the connections are in use.
+ * Released connections must be handed to the waiting threads in arrival order.
+ */
+public class ConnectionPoolWaitTest extends EmulatedDriverTestBase<ServerSession> {
+
+    private static final int MAX_CONNECTIONS = 2;
+
+    @Override
+    protected ServerSession createSession(Project p) {
+        return (ServerSession) p.createServerSession(MAX_CONNECTIONS, MAX_CONNECTIONS);
+    }
+
+    @Test
+    public void releasedConnectionIsHandedToWaiterTest() throws Exception {
+        ConnectionPool pool = getEmulatedSession().getConnectionPool("default");
+        Accessor first = pool.acquireConnection();
+        Accessor second = pool.acquireConnection();
+        Assert.assertEquals(MAX_CONNECTIONS, pool.getTotalNumberOfConnections());
+
+        BlockingQueue<Accessor> acquired = new ArrayBlockingQueue<>(1);
+        Thread waiter = startWaiter(pool, acquired);
+        waitForWaitingThreads(pool, 1);
+        Assert.assertNull("Connection acquired beyond the pool maximum", acquired.poll());
+
+        pool.releaseConnection(first);
+        Assert.assertSame("Released connection should be handed to the waiting thread", first, acquired.poll(10, TimeUnit.SECONDS));
+        waiter.join(10000);
+        Assert.assertEquals(MAX_CONNECTIONS, pool.getTotalNumberOfConnections());
+        Assert.assertEquals(1, pool.getNumberOfWaits());
+        Assert.assertTrue(pool.getTotalWaitTime() > 0);
+
+        pool.releaseConnection(first);
+        pool.releaseConnection(second);
+        Assert.assertEquals(0, pool.getNumberOfWaitingThreads());
+    }
+
+    @Test
+    public void waitersAreServedInArrivalOrderTest() throws Exception {
+        ConnectionPool pool = getEmulatedSession().getConnectionPool("default");
+        Accessor first = pool.acquireConnection();
+        Accessor second = pool.acquireConnection();
+
+        BlockingQueue<Accessor> acquiredByFirstWaiter = new ArrayBlockingQueue<>(1);
+        BlockingQueue<Accessor> acquiredBySecondWaiter = new ArrayBlockingQueue<>(1);
+        Thread firstWaiter = startWaiter(pool, acquiredByFirstWaiter);
+        waitForWaitingThreads(pool, 1);
+        Thread secondWaiter = startWaiter(pool, acquiredBySecondWaiter);
+        waitForWaitingThreads(pool, 2);
+
+        pool.releaseConnection(second);
+        Assert.assertSame(second, acquiredByFirstWaiter.poll(10, TimeUnit.SECONDS));
+        Assert.assertNull(acquiredBySecondWaiter.poll(100, TimeUnit.MILLISECONDS));
+
+        pool.releaseConnection(first);
+        Assert.assertSame(first, acquiredBySecondWaiter.poll(10, TimeUnit.SECONDS));
+        firstWaiter.join(10000);
+        secondWaiter.join(10000);
+
+        pool.releaseConnection(first);
+        pool.releaseConnection(second);
+        Assert.assertEquals(MAX_CONNECTIONS, pool.getConnectionsAvailable().size());
+    }
+
+    @Test
+    public void readConnectionPoolBuildsConnectionsUpToMaximumTest() throws Exception {
+        ServerSession session = getEmulatedSession();
+        ConnectionPool pool = new ReadConnectionPool("concurrentRead", session.getDatasourceLogin(), 0, MAX_CONNECTIONS, session);
+        pool.startUp();
+        try {
+            int threads = 16;
+            Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> readers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Thread reader = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int j = 0; j < 100; j++) {
+                            Accessor connection = pool.acquireConnection();
+                            Assert.assertNotNull(connection);
+                            pool.releaseConnection(connection);
+                        }
+                    } catch (Throwable error) {
+                        failures.add(error);
+                    }
+                });
+                reader.setDaemon(true);
+                readers.add(reader);
+                reader.start();
+            }
+            start.countDown();
+            for (Thread reader : readers) {
+                reader.join(10000);
+            }
+            Assert.assertTrue("Failures: " + failures, failures.isEmpty());
+            Assert.assertTrue("Connections built beyond the pool maximum", pool.getConnectionsAvailable().size() <= MAX_CONNECTIONS);
+            for (Accessor connection : pool.getConnectionsAvailable()) {
+                Assert.assertEquals(0, connection.getCallCount());
+            }
+        } finally {
+            pool.shutDown();
+        }
+    }
+
+    private Thread startWaiter(ConnectionPool pool, BlockingQueue<Accessor> acquired) {
+        Thread thread = new Thread(() -> acquired.add(pool.acquireConnection()));
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void waitForWaitingThreads(ConnectionPool pool, int expected) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while ((pool.getNumberOfWaitingThreads() != expected) && (System.currentTimeMillis() < end)) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(expected, pool.getNumberOfWaitingThreads());
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.queries.Cursor;
+import org.eclipse.persistence.queries.CursorPublisher;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the results of a cursor are only read as the subscriber requests them,
+ * and the cursor is closed when the subscription ends.
+ */
+public class CursorPublisherTest {
+
+    private static final Object COMPLETE = new Object();
+
+    private final DatabaseSessionImpl session = new DatabaseSessionImpl(new Project(new DatabaseLogin()));
+
+    private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+
+    @Test
+    public void resultsAreReadOnDemandTest() throws Exception {
+        CountingCursor cursor = new CountingCursor(25);
+        Flow.Subscription subscription = subscribe(cursor);
+
+        subscription.request(10);
+        for (int index = 0; index < 10; index++) {
+            Assert.assertEquals(index, received.poll(10, TimeUnit.SECONDS));
+        }
+        Assert.assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(10, cursor.read);
+
+        subscription.request(100);
+        for (int index = 10; index < 25; index++) {
+            Assert.assertEquals(index, received.poll(10, TimeUnit.SECONDS));
+        }
+        Assert.assertSame(COMPLETE, received.poll(10, TimeUnit.SECONDS));
+        Assert.assertTrue(cursor.isClosed);
+        Assert.assertTrue("Cursor not cleared after each page", cursor.cleared >= 2);
+    }
+
+    @Test
+    public void cancelClosesCursorTest() throws Exception {
+        CountingCursor cursor = new CountingCursor(25);
+        Flow.Subscription subscription = subscribe(cursor);
+
+        subscription.request(1);
+        Assert.assertEquals(0, received.poll(10, TimeUnit.SECONDS));
+        subscription.cancel();
+        long timeout = System.currentTimeMillis() + 10000;
+        while (!cursor.isClosed && System.currentTimeMillis() < timeout) {
+            Thread.sleep(1);
+        }
+        Assert.assertTrue(cursor.isClosed);
+        subscription.request(10);
+        Assert.assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void invalidRequestSignalsErrorTest() throws Exception {
+        CountingCursor cursor = new CountingCursor(25);
+        subscribe(cursor).request(0);
+
+        Assert.assertTrue(received.poll(10, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+    }
+
+    private Flow.Subscription subscribe(CountingCursor cursor) throws InterruptedException {
+        CursorPublisher<Object> publisher = new CursorPublisher<>(session, () -> cursor);
+        publisher.setPageSize(10);
+        BlockingQueue<Flow.Subscription> subscriptions = new LinkedBlockingQueue<>();
+        publisher.subscribe(new Flow.Subscriber<Object>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptions.add(subscription);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                received.add(COMPLETE);
+            }
+        });
+        return subscriptions.poll(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Cursor over the integers up to its size, records what was read.
+     */
+    static class CountingCursor extends Cursor {
+        private final int size;
+        volatile int read;
+        volatile int cleared;
+        volatile boolean isClosed;
+
+        CountingCursor(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return read < size;
+        }
+
+        @Override
+        public Object next() {
+            return read++;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return hasNext();
+        }
+
+        @Override
+        public Object nextElement() {
+            return next();
+        }
+
+        @Override
+        public void clear() {
+            cleared++;
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return isClosed;
+        }
+
+        @Override
+        protected int getCursorSize() {
+            return size;
+        }
+
+        @Override
+        public int getPosition() {
+            return read;
+        }
+
+        @Override
+        protected Object retrieveNextObject() {
+            return next();
+        }
+    }
+}
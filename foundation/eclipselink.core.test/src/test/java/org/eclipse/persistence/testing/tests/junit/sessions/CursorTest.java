@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.sql.ResultSetMetaData;
+
+import org.eclipse.persistence.queries.CursoredStream;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseSession;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.testing.tests.junit.EmulatedDriverTestBase;
+import org.eclipse.persistence.testing.tests.junit.failover.Address;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test that cursored streams build their rows from the shared fields array and cached result set meta-data.
+ */
+public class CursorTest extends EmulatedDriverTestBase<DatabaseSession> {
+
+    @Override
+    protected DatabaseSession createSession(Project p) {
+        return p.createDatabaseSession();
+    }
+
+    @Test
+    public void cursoredStreamReadsAllRowsTest() {
+        DatabaseSession session = getEmulatedSession();
+        ReadAllQuery query = new ReadAllQuery(Address.class);
+        query.useCursoredStream(1, 1);
+        CursoredStream stream = (CursoredStream) session.executeQuery(query);
+        try {
+            Assert.assertNotNull(stream.getFieldsArray());
+            Assert.assertEquals(stream.getFields().size(), stream.getFieldsArray().length);
+            ResultSetMetaData metaData = stream.getResultSetMetaData();
+            Assert.assertNotNull(metaData);
+            Assert.assertSame("Meta-data should be cached by the cursor", metaData, stream.getResultSetMetaData());
+
+            Address address = (Address) stream.read();
+            Assert.assertEquals("Calgary", address.city);
+            Assert.assertEquals("Metcalfe", ((Address) stream.read()).city);
+            Assert.assertEquals("Montreal", ((Address) stream.read()).city);
+            Assert.assertTrue(stream.atEnd());
+            Assert.assertNull("Closed stream should release the meta-data", stream.getResultSetMetaData());
+        } finally {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.exceptions.IntegrityException;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test descriptors and JPA named queries are initialized on their first use.
+ */
+public class LazyDescriptorInitializationTest {
+
+    @Test
+    public void descriptorsAreInitializedOnFirstUseTest() {
+        DatabaseSessionImpl session = createSession();
+        ClassDescriptor order = session.getProject().getDescriptor(Order.class);
+        ClassDescriptor line = session.getProject().getDescriptor(OrderLine.class);
+        ClassDescriptor address = session.getProject().getDescriptor(Address.class);
+
+        Assert.assertFalse(order.isFullyInitialized());
+        Assert.assertFalse(line.isFullyInitialized());
+        Assert.assertSame(session, address.getLazyInitializationSession());
+
+        // Looking up the order initializes it with its line, but not the unrelated address.
+        Assert.assertSame(order, session.getDescriptor(Order.class));
+        Assert.assertTrue(order.isFullyInitialized());
+        Assert.assertTrue(line.isFullyInitialized());
+        Assert.assertNull(line.getLazyInitializationSession());
+        Assert.assertSame(order, line.getMappingForAttributeName("order").getReferenceDescriptor());
+        Assert.assertFalse(address.isFullyInitialized());
+        Assert.assertTrue(session.getCommitManager().getCommitOrder().contains(OrderLine.class));
+        Assert.assertFalse(session.getCommitManager().getCommitOrder().contains(Address.class));
+
+        session.initializeLazyDescriptors();
+        for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+            Assert.assertTrue(descriptor.getJavaClassName(), descriptor.isFullyInitialized());
+            Assert.assertNull(descriptor.getLazyInitializationSession());
+        }
+        Assert.assertTrue(session.getCommitManager().getCommitOrder().contains(Address.class));
+    }
+
+    @Test
+    public void errorsOfLazyGroupAreReportedByItsLookupTest() {
+        Project project = createProject();
+        project.getDescriptor(Address.class).addDirectMapping("missing", "ADDRESS.MISSING");
+        DatabaseSessionImpl session = new DatabaseSessionImpl(project);
+        session.setShouldInitializeDescriptorsLazily(true);
+        session.initializeDescriptors();
+
+        try {
+            session.getDescriptor(Address.class);
+            Assert.fail("IntegrityException expected");
+        } catch (IntegrityException exception) {
+            Assert.assertFalse(exception.getIntegrityChecker().getCaughtExceptions().isEmpty());
+        }
+        // The errors are collected for the lookup only, not into the checker of the session.
+        Assert.assertTrue(session.getIntegrityChecker().getCaughtExceptions().isEmpty());
+        // Unrelated groups are still initialized on their first use.
+        Assert.assertTrue(session.getDescriptor(Order.class).isFullyInitialized());
+    }
+
+    @Test
+    public void namedQueriesAreProcessedOnFirstUseTest() {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(createProject());
+        session.setShouldInitializeDescriptorsLazily(true);
+        CountingQuery jpaQuery = new CountingQuery();
+        jpaQuery.setName("findAllAddresses");
+        jpaQuery.setReferenceClass(Address.class);
+        session.getJPAQueries().add(jpaQuery);
+        session.initializeDescriptors();
+
+        Assert.assertEquals(0, jpaQuery.prepared);
+        Assert.assertFalse(session.getProject().getDescriptor(Address.class).isFullyInitialized());
+
+        DatabaseQuery query = session.getQuery("findAllAddresses");
+        Assert.assertSame(jpaQuery, query);
+        Assert.assertEquals(1, jpaQuery.prepared);
+        Assert.assertTrue(session.getProject().getDescriptor(Address.class).isFullyInitialized());
+        Assert.assertSame(jpaQuery, session.getQuery("findAllAddresses"));
+        Assert.assertEquals(1, jpaQuery.prepared);
+    }
+
+    private static DatabaseSessionImpl createSession() {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(createProject());
+        session.setShouldInitializeDescriptorsLazily(true);
+        session.initializeDescriptors();
+        return session;
+    }
+
+    private static Project createProject() {
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor(Order.class, "ORDERS"));
+        RelationalDescriptor line = descriptor(OrderLine.class, "ORDER_LINE");
+        OneToOneMapping order = new OneToOneMapping();
+        order.setAttributeName("order");
+        order.setReferenceClass(Order.class);
+        order.addForeignKeyFieldName("ORDER_LINE.ORDER_ID", "ORDERS.ID");
+        order.dontUseIndirection();
+        line.addMapping(order);
+        project.addDescriptor(line);
+        project.addDescriptor(descriptor(Address.class, "ADDRESS"));
+        return project;
+    }
+
+    private static RelationalDescriptor descriptor(Class<?> javaClass, String table) {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(javaClass);
+        descriptor.addTableName(table);
+        descriptor.addPrimaryKeyFieldName(table + ".ID");
+        descriptor.addDirectMapping("id", table + ".ID");
+        return descriptor;
+    }
+
+    /**
+     * Query recording its preparation, which resolves its descriptor from the session.
+     */
+    static class CountingQuery extends ReadAllQuery {
+        int prepared;
+
+        @Override
+        public void prepareInternal(AbstractSession session) {
+            this.prepared++;
+            session.getDescriptor(getReferenceClass());
+        }
+    }
+
+    public static class Order {
+        public long id;
+    }
+
+    public static class OrderLine {
+        public long id;
+        public Order order;
+    }
+
+    public static class Address {
+        public long id;
+    }
+}
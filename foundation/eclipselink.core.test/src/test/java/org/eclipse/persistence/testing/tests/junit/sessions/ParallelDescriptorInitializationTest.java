@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.exceptions.IntegrityException;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.mappings.OneToOneMapping;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test descriptors are initialized in parallel in groups of related descriptors.
+ */
+public class ParallelDescriptorInitializationTest {
+
+    @Test
+    public void relatedDescriptorsAreGroupedTest() {
+        TestSession session = new TestSession(createProject());
+        List<List<ClassDescriptor>> groups = session.buildGroups();
+
+        Assert.assertNotNull(groups);
+        // No descriptor has unknown dependencies.
+        Assert.assertTrue(groups.get(0).isEmpty());
+        // Order and its line, Vehicle and Car, and Address.
+        Assert.assertEquals(4, groups.size());
+        Assert.assertEquals(List.of(Order.class, OrderLine.class), classes(groups.get(1)));
+        Assert.assertEquals(List.of(Vehicle.class, Car.class), classes(groups.get(2)));
+        Assert.assertEquals(List.of(Address.class), classes(groups.get(3)));
+    }
+
+    @Test
+    public void descriptorsAreInitializedTest() {
+        DatabaseSessionImpl session = new DatabaseSessionImpl(createProject());
+        session.setShouldInitializeDescriptorsInParallel(true);
+        session.initializeDescriptors();
+
+        for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+            Assert.assertTrue(descriptor.getJavaClassName(), descriptor.isFullyInitialized());
+        }
+        Assert.assertSame(session.getDescriptor(Vehicle.class), session.getDescriptor(Car.class).getInheritancePolicy().getParentDescriptor());
+        Assert.assertSame(session.getDescriptor(Order.class), session.getDescriptor(OrderLine.class).getMappingForAttributeName("order").getReferenceDescriptor());
+    }
+
+    @Test
+    public void errorsOfAllGroupsAreReportedTest() {
+        Assert.assertEquals(initializationErrors(false), initializationErrors(true));
+    }
+
+    private int initializationErrors(boolean parallel) {
+        Project project = createProject();
+        project.getDescriptor(Order.class).addDirectMapping("missing", "ORDERS.MISSING");
+        project.getDescriptor(Vehicle.class).addDirectMapping("missing", "VEHICLE.MISSING");
+        project.getDescriptor(Address.class).addDirectMapping("missing", "ADDRESS.MISSING");
+        DatabaseSessionImpl session = new DatabaseSessionImpl(project);
+        session.setShouldInitializeDescriptorsInParallel(parallel);
+        try {
+            session.initializeDescriptors();
+        } catch (IntegrityException exception) {
+            return exception.getIntegrityChecker().getCaughtExceptions().size();
+        }
+        Assert.fail("IntegrityException expected");
+        return 0;
+    }
+
+    private List<Class<?>> classes(List<ClassDescriptor> descriptors) {
+        List<Class<?>> classes = new ArrayList<>();
+        for (ClassDescriptor descriptor : descriptors) {
+            classes.add(descriptor.getJavaClass());
+        }
+        return classes;
+    }
+
+    private static Project createProject() {
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor(Order.class, "ORDERS"));
+        RelationalDescriptor line = descriptor(OrderLine.class, "ORDER_LINE");
+        OneToOneMapping order = new OneToOneMapping();
+        order.setAttributeName("order");
+        order.setReferenceClass(Order.class);
+        order.addForeignKeyFieldName("ORDER_LINE.ORDER_ID", "ORDERS.ID");
+        order.dontUseIndirection();
+        line.addMapping(order);
+        project.addDescriptor(line);
+        RelationalDescriptor vehicle = descriptor(Vehicle.class, "VEHICLE");
+        vehicle.getInheritancePolicy().setClassIndicatorFieldName("VEHICLE.TYPE");
+        vehicle.getInheritancePolicy().addClassIndicator(Vehicle.class, "V");
+        vehicle.getInheritancePolicy().addClassIndicator(Car.class, "C");
+        project.addDescriptor(vehicle);
+        RelationalDescriptor car = new RelationalDescriptor();
+        car.setJavaClass(Car.class);
+        car.getInheritancePolicy().setParentClass(Vehicle.class);
+        project.addDescriptor(car);
+        project.addDescriptor(descriptor(Address.class, "ADDRESS"));
+        return project;
+    }
+
+    private static RelationalDescriptor descriptor(Class<?> javaClass, String table) {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(javaClass);
+        descriptor.addTableName(table);
+        descriptor.addPrimaryKeyFieldName(table + ".ID");
+        descriptor.addDirectMapping("id", table + ".ID");
+        return descriptor;
+    }
+
+    static class TestSession extends DatabaseSessionImpl {
+        TestSession(Project project) {
+            super(project);
+        }
+
+        List<List<ClassDescriptor>> buildGroups() {
+            Collection<ClassDescriptor> descriptors = new ArrayList<>();
+            descriptors.add(getDescriptor(Order.class));
+            descriptors.add(getDescriptor(OrderLine.class));
+            descriptors.add(getDescriptor(Vehicle.class));
+            descriptors.add(getDescriptor(Car.class));
+            descriptors.add(getDescriptor(Address.class));
+            return buildDescriptorInitializationGroups(descriptors);
+        }
+    }
+
+    public static class Order {
+        public long id;
+    }
+
+    public static class OrderLine {
+        public long id;
+        public Order order;
+    }
+
+    public static class Vehicle {
+        public long id;
+    }
+
+    public static class Car extends Vehicle {
+    }
+
+    public static class Address {
+        public long id;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the objects of large read-all query results are built in parallel,
+ * into the shared cache and in the order of the rows.
+ */
+public class ParallelObjectBuildingTest {
+
+    private static final int SIZE = 2000;
+
+    @Test
+    public void objectsAreBuiltInOrderTest() {
+        ServerSession session = createSession();
+        List<?> result = buildObjects(session, rows());
+
+        Assert.assertEquals(SIZE, result.size());
+        for (int index = 0; index < SIZE; index++) {
+            Employee employee = (Employee) result.get(index);
+            Assert.assertEquals(index, employee.id);
+            Assert.assertEquals("Employee" + index, employee.name);
+            Assert.assertSame(employee, session.getIdentityMapAccessor().getFromIdentityMap(index, Employee.class));
+        }
+    }
+
+    @Test
+    public void duplicateRowsBuildSameObjectTest() {
+        ServerSession session = createSession();
+        List<DatabaseRecord> rows = rows();
+        rows.addAll(rows());
+        List<?> result = buildObjects(session, rows);
+
+        Assert.assertEquals(SIZE * 2, result.size());
+        for (int index = 0; index < SIZE; index++) {
+            Assert.assertSame(result.get(index), result.get(index + SIZE));
+        }
+    }
+
+    @Test
+    public void objectsAreBuiltOnObjectBuildingExecutorTest() {
+        ServerSession session = createSession();
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            session.setObjectBuildingExecutor(runnable -> {
+                executed.incrementAndGet();
+                pool.execute(runnable);
+            });
+            List<?> result = buildObjects(session, rows());
+
+            Assert.assertEquals(SIZE, result.size());
+            // A builder per processor, the calling thread being one of them.
+            int batches = (SIZE + 255) / 256;
+            Assert.assertEquals(Math.min(batches, Runtime.getRuntime().availableProcessors()) - 1, executed.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void rejectingExecutorBuildsOnCallingThreadTest() {
+        ServerSession session = createSession();
+        session.setObjectBuildingExecutor(runnable -> {
+            throw new RejectedExecutionException();
+        });
+        List<?> result = buildObjects(session, rows());
+
+        Assert.assertEquals(SIZE, result.size());
+        for (int index = 0; index < SIZE; index++) {
+            Assert.assertEquals(index, ((Employee) result.get(index)).id);
+        }
+    }
+
+    private List<?> buildObjects(AbstractSession session, List<DatabaseRecord> rows) {
+        ReadAllQuery query = new ReadAllQuery(Employee.class);
+        query.setShouldBuildObjectsInParallel(true);
+        query.setSession(session);
+        query.setDescriptor(session.getDescriptor(Employee.class));
+        return (List<?>) query.getDescriptor().getObjectBuilder().buildObjectsInto(query, rows, new ArrayList<>());
+    }
+
+    private List<DatabaseRecord> rows() {
+        List<DatabaseRecord> rows = new ArrayList<>();
+        for (int index = 0; index < SIZE; index++) {
+            DatabaseRecord row = new DatabaseRecord();
+            row.put("EMPLOYEE.ID", index);
+            row.put("EMPLOYEE.NAME", "Employee" + index);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static ServerSession createSession() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Employee.class);
+        descriptor.addTableName("EMPLOYEE");
+        descriptor.addPrimaryKeyFieldName("EMPLOYEE.ID");
+        descriptor.addDirectMapping("id", "EMPLOYEE.ID");
+        descriptor.addDirectMapping("name", "EMPLOYEE.NAME");
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        ServerSession session = new ServerSession(project);
+        session.initializeDescriptors();
+        return session;
+    }
+
+    public static class Employee {
+        public int id;
+        public String name;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.internal.databaseaccess.Accessor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sequencing.StandardSequence;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.EmulatedDriverTestBase;
+import org.eclipse.persistence.testing.tests.junit.failover.Address;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the preallocated sequence values are handed out in order from each block,
+ * and the next block is fetched in the background once the prefetch threshold is reached.
+ */
+public class SequencePrefetchTest extends EmulatedDriverTestBase<ServerSession> {
+
+    private static final int PREALLOCATION_SIZE = 10;
+
+    private CountingSequence sequence;
+
+    @Override
+    protected ServerSession createSession(Project p) {
+        sequence = new CountingSequence("ADDRESS_SEQ", PREALLOCATION_SIZE);
+        p.getLogin().setDefaultSequence(sequence);
+        return (ServerSession) p.createServerSession(2, 2);
+    }
+
+    @Test
+    public void preallocatedValuesAreConsecutiveTest() {
+        ServerSession session = getEmulatedSession();
+        for (long expected = 1; expected <= 25; expected++) {
+            Assert.assertEquals(expected, ((Number) session.getNextSequenceNumberValue(Address.class)).longValue());
+        }
+        Assert.assertEquals(3, sequence.allocations.get());
+    }
+
+    @Test
+    public void nextBlockIsPrefetchedTest() throws Exception {
+        ServerSession session = getEmulatedSession();
+        session.getSequencingControl().setPrefetchThreshold(80);
+        for (long expected = 1; expected <= 8; expected++) {
+            Assert.assertEquals(expected, ((Number) session.getNextSequenceNumberValue(Address.class)).longValue());
+        }
+        long timeout = System.currentTimeMillis() + 10000;
+        while ((sequence.allocations.get() < 2) && (System.currentTimeMillis() < timeout)) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals("Next block should have been fetched in the background", 2, sequence.allocations.get());
+        Assert.assertNotSame(Thread.currentThread(), sequence.lastAllocationThread);
+
+        for (long expected = 9; expected <= 12; expected++) {
+            Assert.assertEquals(expected, ((Number) session.getNextSequenceNumberValue(Address.class)).longValue());
+        }
+    }
+
+    /**
+     * An in-memory sequence that is not allocated in the transaction, such as a sequence object.
+     */
+    static class CountingSequence extends StandardSequence {
+        final AtomicInteger allocations = new AtomicInteger();
+        volatile Thread lastAllocationThread;
+        private long value;
+
+        CountingSequence(String name, int size) {
+            super(name, size);
+        }
+
+        @Override
+        protected synchronized Number updateAndSelectSequence(Accessor accessor, AbstractSession writeSession, String seqName, int size) {
+            allocations.incrementAndGet();
+            lastAllocationThread = Thread.currentThread();
+            value = value + size;
+            return value;
+        }
+
+        @Override
+        public boolean shouldAcquireValueAfterInsert() {
+            return false;
+        }
+
+        @Override
+        public boolean shouldUseTransaction() {
+            return false;
+        }
+    }
+}
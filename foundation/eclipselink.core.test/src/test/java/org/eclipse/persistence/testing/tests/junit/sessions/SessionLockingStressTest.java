@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.server.ClientSession;
+import org.eclipse.persistence.sessions.server.ConnectionPool;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.eclipse.persistence.testing.tests.junit.EmulatedDriverTestBase;
+import org.eclipse.persistence.testing.tests.junit.failover.Address;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Run many threads against a small connection pool and check that no thread
+ * blocks on a monitor of the session layer. A thread blocked entering a
+ * synchronized block, waiting in Object.wait() or parked while holding a
+ * monitor pins the carrier of a virtual thread, so the session layer must
+ * block on java.util.concurrent locks only.
+ */
+public class SessionLockingStressTest extends EmulatedDriverTestBase<ServerSession> {
+
+    private static final int THREADS = 1000;
+    private static final int ITERATIONS = 5;
+    private static final int MAX_CONNECTIONS = 4;
+
+    @Override
+    protected ServerSession createSession(Project p) {
+        return (ServerSession) p.createServerSession(MAX_CONNECTIONS, MAX_CONNECTIONS);
+    }
+
+    @Test
+    public void noMonitorHeldWhileWaitingTest() throws Exception {
+        ServerSession session = getEmulatedSession();
+        // Load the classes first, a thread waiting for another to initialize a class is reported as blocked.
+        runClient(session);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        runClient(session);
+                    }
+                } catch (Throwable error) {
+                    failures.add(error);
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long[] ids = threads.stream().mapToLong(Thread::getId).toArray();
+        List<String> pinned = new ArrayList<>();
+        start.countDown();
+        while (done.getCount() > 0 && pinned.isEmpty()) {
+            for (ThreadInfo info : threadBean.getThreadInfo(ids, threadBean.isObjectMonitorUsageSupported(), false)) {
+                if (info != null) {
+                    String reason = getPinningReason(info);
+                    if (reason != null) {
+                        pinned.add(info.getThreadName() + " " + reason);
+                    }
+                }
+            }
+            Thread.sleep(1);
+        }
+        Assert.assertTrue("Threads blocked on a monitor: " + pinned, pinned.isEmpty());
+        for (Thread thread : threads) {
+            thread.join(60000);
+        }
+        Assert.assertTrue("Failures: " + failures, failures.isEmpty());
+        ConnectionPool pool = session.getConnectionPool("default");
+        Assert.assertEquals(0, pool.getNumberOfWaitingThreads());
+        // Connections are built on demand, so fewer than the maximum may have been needed.
+        Assert.assertEquals("All connections should have been released", pool.getTotalNumberOfConnections(), pool.getConnectionsAvailable().size());
+        Assert.assertTrue(pool.getTotalNumberOfConnections() <= MAX_CONNECTIONS);
+    }
+
+    private static void runClient(ServerSession session) {
+        ClientSession client = session.acquireClientSession();
+        try {
+            // Reads outside a transaction share the read pool's connections.
+            client.readAllObjects(Address.class);
+            client.beginTransaction();
+            client.readAllObjects(Address.class);
+            client.commitTransaction();
+        } finally {
+            client.release();
+        }
+    }
+
+    /**
+     * Return why the thread pins its carrier in the session layer, or null if it does not.
+     */
+    private static String getPinningReason(ThreadInfo info) {
+        StackTraceElement[] stack = info.getStackTrace();
+        if (stack.length == 0) {
+            return null;
+        }
+        Thread.State state = info.getThreadState();
+        if ((state == Thread.State.BLOCKED) && isSessionFrame(stack[0])) {
+            return "blocked on " + info.getLockName() + " at " + stack[0];
+        }
+        if ((state == Thread.State.WAITING) || (state == Thread.State.TIMED_WAITING)) {
+            if (stack[0].getClassName().equals("java.lang.Object") && stack[0].getMethodName().startsWith("wait")) {
+                for (StackTraceElement frame : stack) {
+                    if (isSessionFrame(frame)) {
+                        return "waiting on monitor " + info.getLockName() + " at " + frame;
+                    }
+                }
+            }
+            for (MonitorInfo monitor : info.getLockedMonitors()) {
+                if (isSessionFrame(monitor.getLockedStackFrame())) {
+                    return "parked on " + info.getLockName() + " holding " + monitor + " locked at " + monitor.getLockedStackFrame();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSessionFrame(StackTraceElement frame) {
+        return (frame != null) && frame.getClassName().startsWith("org.eclipse.persistence.")
+                && !frame.getClassName().startsWith("org.eclipse.persistence.testing.");
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.junit.sessions;
+
+import java.sql.Statement;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.sessions.DatabaseSession;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.testing.tests.junit.EmulatedDriverTestBase;
+import org.eclipse.persistence.tools.profiler.PerformanceMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the prepared statement cache of the DatabaseAccessor.
+ * The least recently used statement must be closed when the cache is full.
+ */
+public class StatementCacheTest extends EmulatedDriverTestBase<DatabaseSession> {
+
+    private static final int CACHE_SIZE = 2;
+
+    @Override
+    protected DatabaseSession createSession(Project p) {
+        p.getLogin().cacheAllStatements();
+        p.getLogin().setStatementCacheSize(CACHE_SIZE);
+        return p.createDatabaseSession();
+    }
+
+    @Test
+    public void leastRecentlyUsedStatementIsEvictedTest() throws Exception {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) getEmulatedSession();
+        Assert.assertTrue(((DatabasePlatform) session.getDatasourcePlatform()).shouldCacheAllStatements());
+        PerformanceMonitor monitor = new PerformanceMonitor();
+        session.setProfiler(monitor);
+        DatabaseAccessor accessor = (DatabaseAccessor) session.getAccessor();
+
+        Statement a = execute(accessor, session, "SELECT A");
+        Statement b = execute(accessor, session, "SELECT B");
+        Assert.assertSame("Statement should be cached", a, execute(accessor, session, "SELECT A"));
+        // The cache is full, B is the least recently used.
+        execute(accessor, session, "SELECT C");
+        Assert.assertSame(a, execute(accessor, session, "SELECT A"));
+        Assert.assertNotSame("Least recently used statement should have been evicted", b, execute(accessor, session, "SELECT B"));
+
+        Assert.assertEquals(2, accessor.getStatementCacheHits());
+        Assert.assertEquals(4, accessor.getStatementCacheMisses());
+        Assert.assertEquals(2, accessor.getStatementCacheEvictions());
+        Assert.assertEquals(2L, monitor.getOperationTime(SessionProfiler.StatementCacheHits));
+        Assert.assertEquals(4L, monitor.getOperationTime(SessionProfiler.StatementCacheMisses));
+        Assert.assertEquals(2L, monitor.getOperationTime(SessionProfiler.StatementCacheEvictions));
+        Assert.assertEquals(2L, monitor.getOperationTime(SessionProfiler.StatementCacheHits + ":SELECT A"));
+        Assert.assertEquals(1L, monitor.getOperationTime(SessionProfiler.StatementCacheEvictions + ":SELECT B"));
+        Assert.assertEquals(1L, monitor.getOperationTime(SessionProfiler.StatementCacheEvictions + ":SELECT C"));
+    }
+
+    @Test
+    public void statementCountersAreBoundedTest() throws Exception {
+        DatabaseSessionImpl session = (DatabaseSessionImpl) getEmulatedSession();
+        PerformanceMonitor monitor = new PerformanceMonitor();
+        monitor.setStatementCountersSize(3);
+        session.setProfiler(monitor);
+        DatabaseAccessor accessor = (DatabaseAccessor) session.getAccessor();
+
+        execute(accessor, session, "SELECT A");
+        for (int index = 0; index < 100; index++) {
+            execute(accessor, session, "SELECT " + index);
+        }
+        execute(accessor, session, "SELECT A");
+
+        // Only the 3 most recently used counters are kept, the first miss of A was dropped.
+        Assert.assertEquals(1L, monitor.getOperationTime(SessionProfiler.StatementCacheMisses + ":SELECT A"));
+        Assert.assertEquals(1L, monitor.getOperationTime(SessionProfiler.StatementCacheEvictions + ":SELECT 98"));
+        Assert.assertEquals(1L, monitor.getOperationTime(SessionProfiler.StatementCacheEvictions + ":SELECT 97"));
+        Assert.assertNull(monitor.getOperationTime(SessionProfiler.StatementCacheMisses + ":SELECT 99"));
+        Assert.assertNull(monitor.getOperationTime(SessionProfiler.StatementCacheMisses + ":SELECT 0"));
+        Assert.assertEquals(102L, monitor.getOperationTime(SessionProfiler.StatementCacheMisses));
+    }
+
+    private Statement execute(DatabaseAccessor accessor, DatabaseSessionImpl session, String sql) throws Exception {
+        accessor.incrementCallCount(session);
+        Statement statement = accessor.prepareStatement(sql, session, false);
+        accessor.releaseStatement(statement, sql, null, session);
+        return statement;
+    }
+}
@@ -110,6 +110,7 @@
     exports org.eclipse.persistence.sessions.coordination;
     exports org.eclipse.persistence.sessions.coordination.broadcast;
     exports org.eclipse.persistence.sessions.coordination.jms;
+    exports org.eclipse.persistence.sessions.coordination.nio;
     exports org.eclipse.persistence.sessions.coordination.rmi;
     exports org.eclipse.persistence.sessions.factories;
     exports org.eclipse.persistence.sessions.interceptors;
@@ -75,6 +75,17 @@ public enum CacheType {
      */
     CACHE,
 
+    /**
+     * Similar to the CACHE identity map except that reads do not lock the
+     * least-recently-used list. Accesses are recorded in striped buffers and
+     * applied in batches, so many threads can read the same class concurrently.
+     * The identity map keeps hit, miss and eviction statistics.
+     * WARNING: Furnishes caching and identity, but does not guarantee
+     * identity.  This cache type should normally only be used for objects
+     * that have no relationships to them.
+     */
+    CONCURRENT_CACHE,
+
     /**
      * WARNING: Does not preserve object identity and does not cache
      * objects.  This cache type is not recommend and should normally not be used.
@@ -31,6 +31,7 @@
  *
  * <ul>
  * <li>JDBC - JDBC batch API's are used (dynamic, or parameterized).
+ * <li>JDBC-Grouped - JDBC batch API's are used, interleaved parameterized updates of a class are grouped by SQL.
  * <li>Bufferred - dynamic SQL is concatenated into a batch SQL string.
  * <li>Oracle-JDBC - Oracle JDBC batch API's are used (allows row count to be returned for optimistic locking).
  * <li>&lt;custom-class&gt; - A custom class that extends the BatchWritingMechanism class.
@@ -40,6 +41,7 @@
 public class BatchWriting {
     public static final String  None = "None";
     public static final String  JDBC = "JDBC";
+    public static final String  JDBCGrouped = "JDBC-Grouped";
     public static final String  Buffered = "Buffered";
     public static final String  OracleJDBC = "Oracle-JDBC";
 
@@ -2401,6 +2401,24 @@ public class PersistenceUnitProperties {
      */
     public static final String SEQUENCING_START_AT_NEXTVAL = "eclipselink.sequencing.start-sequence-at-nextval";
 
+    /**
+     * The "<code>eclipselink.sequencing.prefetch-threshold</code>" property
+     * configures the percentage of a preallocated block of sequence values used before
+     * the next block is fetched in the background, so inserting threads do not wait
+     * for the database when the block is used.
+     * This is only used for sequences allocated outside of the transaction,
+     * TABLE sequencing with a sequence connection pool ({@link #CONNECTION_POOL_SEQUENCE}),
+     * or SEQUENCE objects.
+     * <p>
+     * <b>Allowed Values</b> (String)<b>:</b>
+     * <ul>
+     * <li>"<code>0</code>" - (DEFAULT) the next block is fetched when the block is used
+     * <li>a percentage, i.e. "<code>80</code>"
+     * </ul>
+     * @see org.eclipse.persistence.sequencing.SequencingControl#setPrefetchThreshold(int)
+     */
+    public static final String SEQUENCING_PREFETCH_THRESHOLD = "eclipselink.sequencing.prefetch-threshold";
+
     /**
      * The "<code>eclipselink.session.customizer</code>" property configures a
      * {@link SessionCustomizer} used to alter the runtime configuration through
@@ -2486,6 +2504,7 @@ public class PersistenceUnitProperties {
      * <b>Allowed Values:</b>
      * <ul>
      * <li>"<code>JDBC</code>" - use JDBC batch writing.
+     * <li>"<code>JDBC-Grouped</code>" - use JDBC batch writing, grouping the updates of a class by SQL.
      * <li>"<code>Buffered</code>" - do not use either JDBC batch writing nor native platform
      * batch writing.
      * <li>"<code>Oracle-JDBC</code>" - use Oracle's native batch writing. This requires the
@@ -2510,6 +2529,22 @@ public class PersistenceUnitProperties {
      */
     public static final String BATCH_WRITING_SIZE = "eclipselink.jdbc.batch-writing.size";
 
+    /**
+     * The "<code>eclipselink.jdbc.batch-writing.pipelined</code>" property
+     * configures if parameterized batches are executed on another thread
+     * while the next batch is built, to reduce the time of large bulk writes.
+     * Only one batch is executed at a time on the transaction's connection.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     *
+     * @see #BATCH_WRITING
+     */
+    public static final String BATCH_WRITING_PIPELINED = "eclipselink.jdbc.batch-writing.pipelined";
+
     /**
      * The "<code>jakarta.persistence.bean.manager</code>" property is used to set
      * CDI BeanManager when available
@@ -2607,6 +2642,10 @@ public class PersistenceUnitProperties {
      * <b>Allowed Values:</b>
      * <ul>
      * <li>"<code>java-serialization</code>" - use {@code org.eclipse.persistence.jpa.metadata.FileBasedProjectCache}
+     * <li>"<code>snapshot</code>" - use {@code org.eclipse.persistence.jpa.metadata.SnapshotProjectCache},
+     * a versioned snapshot that is ignored if the entity classes have changed
+     * <li>"<code>project-class</code>" - use {@code org.eclipse.persistence.jpa.metadata.GeneratedProjectCache},
+     * the project class generated at build time by {@code org.eclipse.persistence.tools.weaving.jpa.StaticPrecompile}
      * <li>the fully qualified name for a class that implements {@code org.eclipse.persistence.jpa.metadata.ProjectCache} interface
      * </ul>
      *
@@ -2626,6 +2665,17 @@ public class PersistenceUnitProperties {
      */
     public static final String PROJECT_CACHE_FILE = "eclipselink.project-cache.java-serialization.file-location";
 
+    /**
+     * The property "<code>eclipselink.project-cache.project-class</code>" specifies the fully qualified name
+     * of the project class generated at build time for the persistence unit.
+     *
+     * <p>This property should be used in conjunction with
+     * "<code>eclipselink.project-cache</code>" set to "<code>project-class</code>".</p>
+     *
+     * @see #PROJECT_CACHE
+     */
+    public static final String PROJECT_CACHE_CLASS = "eclipselink.project-cache.project-class";
+
     /**
      * The "<code>eclipselink.temporal.mutable</code>" property configures the
      * default for detecting changes to temporal field (Date, Calendar). Default
@@ -2754,6 +2804,56 @@ public class PersistenceUnitProperties {
      */
     public static final String DEPLOY_ON_STARTUP = "eclipselink.deploy-on-startup";
 
+    /**
+     * The "<code>eclipselink.parallel-descriptor-initialization</code>" property configures
+     * if the descriptors are initialized in parallel when the persistence unit is deployed.
+     * Descriptors that are not related through inheritance, embeddables or relationships
+     * are initialized concurrently, which can reduce the deployment time of large persistence units.
+     * The time of each phase of the initialization is reported to the session profiler.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     * @see org.eclipse.persistence.internal.sessions.DatabaseSessionImpl#setShouldInitializeDescriptorsInParallel(boolean)
+     */
+    public static final String PARALLEL_DESCRIPTOR_INITIALIZATION = "eclipselink.parallel-descriptor-initialization";
+
+    /**
+     * The "<code>eclipselink.parallel-metadata-processing</code>" property configures
+     * if the classes of the persistence unit are read concurrently when its metadata is processed.
+     * The class files are parsed in parallel before the annotations and mapping files are processed,
+     * which can reduce the deployment time of persistence units with many classes.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     */
+    public static final String PARALLEL_METADATA_PROCESSING = "eclipselink.parallel-metadata-processing";
+
+    /**
+     * The "<code>eclipselink.lazy-descriptor-initialization</code>" property configures
+     * if the descriptors and named queries are initialized on their first use instead of when
+     * the persistence unit is deployed. The descriptors are initialized with the descriptors they are
+     * related to the first time one of them is used, and named queries are parsed the first time
+     * they are created, so the deployment time and memory used depend on the entities used
+     * rather than on the size of the persistence unit.
+     * Errors in the mappings or queries of an entity are only raised on its first use.
+     * The metamodel, including the canonical metamodel classes, is only initialized when the metamodel
+     * or the criteria builder is first accessed, which initializes all of the descriptors, as does generating the DDL.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>false</code>" (DEFAULT)
+     * <li>"<code>true</code>"
+     * </ul>
+     * @see org.eclipse.persistence.internal.sessions.DatabaseSessionImpl#setShouldInitializeDescriptorsLazily(boolean)
+     */
+    public static final String LAZY_DESCRIPTOR_INITIALIZATION = "eclipselink.lazy-descriptor-initialization";
+
     /**
      * The "<code>eclipselink.validation-only</code>" property validates deployment
      * which includes initializing descriptors but does not connect (no login to the database).
@@ -3264,6 +3364,37 @@ public class PersistenceUnitProperties {
      */
     public static final String QUERY_TIMEOUT_UNIT = "eclipselink.query.timeout.unit";
 
+    /**
+     * The "<code>eclipselink.query.async.thread.pool.size</code>" property
+     * configures the number of threads that execute the asynchronous queries,
+     * <code>Session.executeQueryAsync()</code> and <code>JpaQuery.getResultListAsync()</code>.
+     * This bounds the number of connections the asynchronous queries use concurrently.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - a virtual thread per query when the JDK supports them,
+     * otherwise the server platform's threads
+     * <li>the number of threads, i.e. "<code>16</code>"
+     * </ul>
+     * @see org.eclipse.persistence.internal.sessions.AbstractSession#setQueryThreadPoolSize(int)
+     */
+    public static final String QUERY_ASYNC_THREAD_POOL_SIZE = "eclipselink.query.async.thread.pool.size";
+
+    /**
+     * The "<code>eclipselink.query.parallel-build.thread.pool.size</code>" property
+     * configures the number of threads that build the objects of large results in parallel,
+     * for queries using <code>ReadAllQuery.setShouldBuildObjectsInParallel()</code>.
+     * The thread executing the query also builds objects, so a query is never blocked waiting for a free thread.
+     * <p>
+     * <b>Allowed Values:</b>
+     * <ul>
+     * <li>"<code>0</code>" (DEFAULT) - a thread per processor
+     * <li>the number of threads, i.e. "<code>4</code>"
+     * </ul>
+     * @see org.eclipse.persistence.internal.sessions.AbstractSession#setObjectBuildingThreadPoolSize(int)
+     */
+    public static final String QUERY_PARALLEL_BUILD_THREAD_POOL_SIZE = "eclipselink.query.parallel-build.thread.pool.size";
+
     /**
      * The "<code>eclipselink.persistence-context.close-on-commit</code>"
      * property specifies that the EntityManager will be closed or not used
@@ -3385,6 +3516,7 @@ public class PersistenceUnitProperties {
      * <li>"<code>rmi</code>"
      * <li>"<code>rmi-iiop</code>"
      * <li>"<code>jgroups</code>"
+     * <li>"<code>nio</code>" - non-blocking sockets, discovered using the RMI multicast properties
      * <li>the fully qualified name for a class that extends {@link TransportManager} abstract class.
      * </ul>
      *
@@ -3469,7 +3601,7 @@ public class PersistenceUnitProperties {
      * The "<code>eclipselink.cache.coordination.rmi.announcement-delay</code>"
      * property configures cache coordination for a clustered environment.
      * <p>
-     * Only used for RMI coordination.
+     * Only used for RMI and NIO coordination.
      * <p>
      * Sets the number of milliseconds to wait for announcements from other cluster members on startup.<br>
      * Default is 1000 milliseconds.
@@ -3483,7 +3615,7 @@ public class PersistenceUnitProperties {
      * The "<code>eclipselink.cache.coordination.rmi.multicast-group</code>"
      * property configures cache coordination for a clustered environment.
      * <p>
-     * Only used for RMI coordination.
+     * Only used for RMI and NIO coordination.
      * <p>
      * Sets the multicast socket group address. The multicast group is used to find other members
      * of the cluster.<br>
@@ -3498,7 +3630,7 @@ public class PersistenceUnitProperties {
      * The "<code>eclipselink.cache.coordination.rmi.multicast-group.port</code>"
      * property configures cache coordination for a clustered environment.
      * <p>
-     * Only used for RMI coordination.
+     * Only used for RMI and NIO coordination.
      * <p>
      * Sets the multicast socket group port. The multicast group port is used to find other members
      * of the cluster.<br>
@@ -3513,7 +3645,7 @@ public class PersistenceUnitProperties {
      * The "<code>eclipselink.cache.coordination.rmi.packet-time-to-live</code>"
      * property configures cache coordination for a clustered environment.
      * <p>
-     * Only used for RMI coordination.
+     * Only used for RMI and NIO coordination.
      * <p>
      * Sets the multicast socket packet time to live.<br>
      * The multicast group is used to find other members of the cluster. Set the
@@ -3537,10 +3669,11 @@ public class PersistenceUnitProperties {
      * The "<code>eclipselink.cache.coordination.rmi.url</code>" property
      * configures cache coordination for a clustered environment.
      * <p>
-     * Only used for RMI coordination.
+     * Only used for RMI and NIO coordination.
      * <p>
      * Sets the URL of the host server.<br>
      * This is the URL that other cluster member should use to connect to this host.
+     * For NIO coordination the URL is "<code>nio://host:port</code>", a port of 0 uses any free port.
      * This may not be required in a clustered environment where JNDI is replicated.<br>
      * This can also be set as a System property or using a {@link SessionCustomizer} to avoid
      * a separate persistence.xml per server.
@@ -3631,6 +3764,32 @@ public class PersistenceUnitProperties {
      */
     public static final String COORDINATION_ASYNCH = "eclipselink.cache.coordination.propagate-asynchronously";
 
+    /**
+     * The "<code>eclipselink.cache.coordination.batch-size</code>"
+     * property configures the maximum number of commands sent together when
+     * cache coordination propagates asynchronously.
+     * <p>
+     * The changes committed within the batch delay are coalesced into a single compressed message,
+     * and objects invalidated by several of the commits are only invalidated once.<br>
+     * By default changes are not batched ("<code>0</code>").
+     *
+     * @see #COORDINATION_BATCH_DELAY
+     * @see org.eclipse.persistence.sessions.coordination.RemoteCommandManager#setCommandBatchSize(int)
+     */
+    public static final String COORDINATION_BATCH_SIZE = "eclipselink.cache.coordination.batch-size";
+
+    /**
+     * The "<code>eclipselink.cache.coordination.batch-delay</code>"
+     * property configures the maximum time in milliseconds a change waits
+     * for the rest of its batch to be sent.
+     * <p>
+     * The default is "<code>10</code>" milliseconds.
+     *
+     * @see #COORDINATION_BATCH_SIZE
+     * @see org.eclipse.persistence.sessions.coordination.RemoteCommandManager#setCommandBatchDelay(long)
+     */
+    public static final String COORDINATION_BATCH_DELAY = "eclipselink.cache.coordination.batch-delay";
+
     /**
      * The "<code>eclipselink.cache.coordination.thread.pool.size</code>"
      * property configures thread pool size for cache coordination threads.
@@ -3655,7 +3814,9 @@ public class PersistenceUnitProperties {
      * configures how cache coordination serializes message sent between nodes.
      * <p>
      * By default Java serialization is used. Other serializer can be used for improved performance
-     * or integration with other systems.
+     * or integration with other systems.<br>
+     * "<code>org.eclipse.persistence.sessions.serializers.ChangeSetSerializer</code>" writes the changes
+     * compactly using the descriptor and mapping indexes, all nodes must use the same persistence unit.
      * <p>
      * The full class name of the serializer class should be provided.
      *
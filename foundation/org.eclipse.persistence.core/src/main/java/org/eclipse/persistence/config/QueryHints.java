@@ -165,6 +165,26 @@ public class QueryHints {
      */
     public static final String QUERY_RESULTS_CACHE_INVALIDATE = "eclipselink.query-results-cache.invalidate-on-change";
 
+    /**
+     * "eclipselink.query-results-cache.invalidate-only-affected"
+     * <p>Configures if a change should only invalidate the query cache results it could affect,
+     * the results for the parameter values the changed object matches and the results containing it,
+     * instead of all of the query's results.
+     *
+     * Valid values are "true" and "false", false is the default.
+     * @see org.eclipse.persistence.queries.QueryResultsCachePolicy#setInvalidateOnlyAffectedResults(boolean)
+     */
+    public static final String QUERY_RESULTS_CACHE_INVALIDATE_ONLY_AFFECTED = "eclipselink.query-results-cache.invalidate-only-affected";
+
+    /**
+     * "eclipselink.query-results-cache.max-result-size"
+     * <p>Configures the maximum number of objects in a cached query result, larger results are not cached.
+     * By default there is no maximum.
+     * Valid values are Integer or Strings that can be parsed to int values.
+     * @see org.eclipse.persistence.queries.QueryResultsCachePolicy#setMaximumResultSize(int)
+     */
+    public static final String QUERY_RESULTS_CACHE_MAX_RESULT_SIZE = "eclipselink.query-results-cache.max-result-size";
+
     /**
      * "eclipselink.query-results-cache.type"
      * <p>Configures the cache type of the query's results cache.
@@ -359,6 +379,17 @@ public class QueryHints {
      */
     public static final String READ_ONLY = "eclipselink.read-only";
 
+    /**
+     * "eclipselink.parallel-object-building"
+     * <p>Configures a read-all query to build the objects of large results on parallel threads.
+     * This is only used for read-only queries, without join or batch fetching,
+     * otherwise the objects are built serially.
+     * Valid values are:  HintValues.FALSE, HintValues.TRUE,
+     * "" could be used instead of default value HintValues.FALSE
+     * @see org.eclipse.persistence.queries.ReadAllQuery#setShouldBuildObjectsInParallel(boolean)
+     */
+    public static final String PARALLEL_OBJECT_BUILDING = "eclipselink.parallel-object-building";
+
     /**
      * "eclipselink.jdbc.timeout"
      * <p>Configures the JDBC timeout of the query execution, if the database query exceeds the timeout
@@ -589,6 +620,24 @@ public class QueryHints {
      */
     public static final String CURSOR_SIZE = "eclipselink.cursor.size-sql";
 
+    /**
+     * "eclipselink.cursor.detached"
+     * <p>Configures the query to return a CursoredStream of detached objects, for exporting large results.
+     * The objects are built directly from the rows, they are not registered in the persistence context
+     * or in the shared cache, and no clones or backup copies are made, so the memory used does not grow
+     * with the result when the results read are released from the stream.
+     * The objects are read-only, a changed object is not updated.
+     * The query can be streamed from a JPA Query through getResultStream(), or from JpaQuery using getResultCursor().
+     * Valid values are:  HintValues.FALSE, HintValues.TRUE,
+     * "" could be used instead of default value HintValues.FALSE,
+     * FALSE does not change the query, so does not undo the read-only, cache or cursor hints.
+     * @see #CURSOR
+     * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#setIsReadOnly(boolean)
+     * @see org.eclipse.persistence.queries.ObjectLevelReadQuery#setShouldMaintainCache(boolean)
+     * @see org.eclipse.persistence.queries.CursoredStream#releasePrevious()
+     */
+    public static final String CURSOR_DETACHED = "eclipselink.cursor.detached";
+
     /**
      * "eclipselink.cursor.scrollable"
      * <p>Configures the query to return a ScrollableCursor.
@@ -43,6 +43,7 @@
 import org.eclipse.persistence.mappings.DatabaseMapping;
 import org.eclipse.persistence.sessions.DatabaseSession;
 import org.eclipse.persistence.sessions.interceptors.CacheInterceptor;
+import org.eclipse.persistence.sessions.serializers.Serializer;
 
 /**
  * <p><b>Purpose</b>:
@@ -117,11 +118,20 @@ public class CachePolicy implements Cloneable, Serializable {
      */
     protected boolean prefetchCacheKeys;
 
+    /** Store the cache keys of a single Long or Integer primary key by their primitive value. */
+    protected boolean shouldUsePrimitiveCacheKeys;
+
     protected Map<List<DatabaseField>, CacheIndex> cacheIndexes;
 
     /** Allows configuration of database change event notification. */
     protected DatabaseChangeNotificationType databaseChangeNotificationType;
 
+    /** Number of bytes of serialized objects to store off-heap when evicted from the cache, 0 if not stored. */
+    protected long offHeapCacheSize;
+
+    /** Serializer used to store objects off-heap, defaults to Java serialization. */
+    protected Serializer offHeapSerializer;
+
     /**
      * PUBLIC:
      * Return a new descriptor.
@@ -151,6 +161,47 @@ public void setDatabaseChangeNotificationType(DatabaseChangeNotificationType dat
         this.databaseChangeNotificationType = databaseChangeNotificationType;
     }
 
+    /**
+     * PUBLIC:
+     * Return the number of bytes of serialized objects to store off-heap
+     * when evicted from the cache, 0 if objects are not stored off-heap.
+     */
+    public long getOffHeapCacheSize() {
+        return offHeapCacheSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of bytes of serialized objects to store off-heap when evicted from the cache.
+     * Only used by the off-heap cache identity map, a fixed size LRU cache of the identity map size
+     * backed by an off-heap store of this size, set by ClassDescriptor.useOffHeapCacheIdentityMap().
+     * A warning is logged if another identity map class is used.
+     * Objects are only stored off-heap if the descriptor has no relationship mappings,
+     * and must be serializable by the off-heap serializer.
+     * @see org.eclipse.persistence.internal.identitymaps.OffHeapCacheIdentityMap
+     */
+    public void setOffHeapCacheSize(long offHeapCacheSize) {
+        this.offHeapCacheSize = offHeapCacheSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the serializer used to store objects off-heap.
+     * Java serialization is used if not set.
+     */
+    public Serializer getOffHeapSerializer() {
+        return offHeapSerializer;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the serializer used to store objects off-heap.
+     * Java serialization is used if not set.
+     */
+    public void setOffHeapSerializer(Serializer offHeapSerializer) {
+        this.offHeapSerializer = offHeapSerializer;
+    }
+
     /**
      * INTERNAL:
      * Allow the inheritance properties of the descriptor to be initialized.
@@ -252,6 +303,10 @@ public void initialize(ClassDescriptor descriptor, AbstractSession session) thro
             }
         }
 
+        if ((this.offHeapCacheSize > 0) && (this.identityMapClass != ClassConstants.OffHeapCacheIdentityMap_Class)) {
+            session.log(SessionLog.WARNING, SessionLog.CACHE, "off_heap_cache_size_ignored",
+                    new Object[]{descriptor.getAlias(), this.offHeapCacheSize, this.identityMapClass});
+        }
         if (this.databaseChangeNotificationType == null) {
             this.databaseChangeNotificationType = DatabaseChangeNotificationType.INVALIDATE;
         }
@@ -1068,4 +1123,24 @@ public void setPrefetchCacheKeys(boolean prefetchCacheKeys) {
     public boolean shouldPrefetchCacheKeys() {
         return this.prefetchCacheKeys ;
     }
+
+    /**
+     * PUBLIC:
+     * Return if the cache keys of a single Long or Integer primary key are stored by their primitive value.
+     */
+    public boolean shouldUsePrimitiveCacheKeys() {
+        return shouldUsePrimitiveCacheKeys;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if the identity map should store the cache keys of a single Long or Integer primary key
+     * by their primitive value, in an open addressing table, instead of a ConcurrentHashMap.
+     * This avoids an entry object per cached object and makes lookups cheaper,
+     * but all the updates of the identity map are serialized, so it suits read mostly caches.
+     * Ignored for other primary keys. The default is false.
+     */
+    public void setShouldUsePrimitiveCacheKeys(boolean shouldUsePrimitiveCacheKeys) {
+        this.shouldUsePrimitiveCacheKeys = shouldUsePrimitiveCacheKeys;
+    }
 }
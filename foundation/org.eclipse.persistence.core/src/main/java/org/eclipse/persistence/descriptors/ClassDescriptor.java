@@ -104,6 +104,7 @@
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
 import org.eclipse.persistence.internal.weaving.PersistenceWeavedChangeTracking;
 import org.eclipse.persistence.mappings.AggregateCollectionMapping;
 import org.eclipse.persistence.mappings.AggregateMapping;
@@ -232,6 +233,8 @@ public class ClassDescriptor extends CoreDescriptor<AttributeGroup, DescriptorEv
     protected static final int INITIALIZED = 2; // this state represents a fully initialized descriptor
     protected static final int POST_INITIALIZED = 3; // however this value is used by the public function isFullyInitialized()
     protected static final int ERROR = -1;
+    /** The session initializing the descriptor on its first use, null if its initialization is not deferred or is done. */
+    protected transient volatile DatabaseSessionImpl lazyInitializationSession;
 
     protected int descriptorType;
     /** Define valid descriptor types. */
@@ -3605,6 +3608,15 @@ public boolean isFullyInitialized() {
         return this.initializationStage == POST_INITIALIZED;
     }
 
+    /**
+     * INTERNAL:
+     * Return the session that initializes the descriptor on its first use,
+     * or null if the descriptor's initialization is not deferred or is done.
+     */
+    public DatabaseSessionImpl getLazyInitializationSession() {
+        return this.lazyInitializationSession;
+    }
+
     /**
      * INTERNAL:
      * Check if descriptor is already initialized for the level of initialization.
@@ -4686,6 +4698,15 @@ protected void setInitializationStage(int initializationStage) {
         this.initializationStage = initializationStage;
     }
 
+    /**
+     * INTERNAL:
+     * Set the session that initializes the descriptor on its first use.
+     * This is cleared once the descriptor is initialized, publishing it to other threads.
+     */
+    public void setLazyInitializationSession(DatabaseSessionImpl lazyInitializationSession) {
+        this.lazyInitializationSession = lazyInitializationSession;
+    }
+
     /**
      * INTERNAL:
      * Sets the instantiation policy.
@@ -5521,6 +5542,22 @@ public boolean shouldUseCacheIdentityMap() {
         return ClassConstants.CacheIdentityMap_Class.equals(getIdentityMapClass());
     }
 
+    /**
+     * PUBLIC:
+     * Return true if this descriptor is using ConcurrentCacheIdentityMap
+     */
+    public boolean shouldUseConcurrentCacheIdentityMap() {
+        return ClassConstants.ConcurrentCacheIdentityMap_Class.equals(getIdentityMapClass());
+    }
+
+    /**
+     * PUBLIC:
+     * Return true if this descriptor is using OffHeapCacheIdentityMap
+     */
+    public boolean shouldUseOffHeapCacheIdentityMap() {
+        return ClassConstants.OffHeapCacheIdentityMap_Class.equals(getIdentityMapClass());
+    }
+
     /**
      * PUBLIC:
      * Return true if this descriptor is using FullIdentityMap
@@ -5697,6 +5734,31 @@ public void useCacheIdentityMap() {
         setIdentityMapClass(ClassConstants.CacheIdentityMap_Class);
     }
 
+    /**
+     * PUBLIC:
+     * Set the class of identity map to be the concurrent cache identity map.
+     * This map caches the LRU instances read from the database, like the cache identity map,
+     * but reads do not lock the LRU list so it scales to many concurrent threads.
+     * Note: This map does not guarantee object identity.
+     * The default is the "SoftCacheWeakIdentityMap".
+     */
+    public void useConcurrentCacheIdentityMap() {
+        setIdentityMapClass(ClassConstants.ConcurrentCacheIdentityMap_Class);
+    }
+
+    /**
+     * PUBLIC:
+     * Set the class of identity map to be the off-heap cache identity map.
+     * This map is a concurrent cache identity map whose evicted instances are serialized
+     * into an off-heap store of the size set on the cache policy.
+     * Note: This map does not guarantee object identity.
+     * The default is the "SoftCacheWeakIdentityMap".
+     * @see CachePolicy#setOffHeapCacheSize(long)
+     */
+    public void useOffHeapCacheIdentityMap() {
+        setIdentityMapClass(ClassConstants.OffHeapCacheIdentityMap_Class);
+    }
+
     /**
      * PUBLIC:
      * Set the locking policy a changed fields locking policy.
@@ -29,6 +29,11 @@ public class StaticWeaveException  extends EclipseLinkException {
     public static final int EXCEPTION_OPEN_LOGGING_FILE = 40005;
     public static final int EXCEPTION_FOR_ILLEGALE_LOGGING_LEVEL = 40006;
     public static final int EXCEPTION_WEAVING = 40007;
+    public static final int EXCEPTION_PRECOMPILING = 40008;
+    public static final int EXCEPTION_NO_PERSISTENCE_UNIT_SPECIFIED = 40009;
+    public static final int EXCEPTION_NO_PROJECT_CLASS_SPECIFIED = 40010;
+    public static final int EXCEPTION_PRECOMPILING_COMPOSITE = 40011;
+    public static final int EXCEPTION_PRECOMPILING_QUERY = 40012;
 
     /**
      * INTERNAL:
@@ -143,6 +148,70 @@ public static StaticWeaveException exceptionPerformWeaving(Exception cause, Obje
         return loadingException;
     }
 
+    /**
+     * INTERNAL:
+     * EclipseLink exceptions should only be thrown by EclipseLink.
+     */
+    public static StaticWeaveException exceptionPerformPrecompiling(Exception cause, Object source) {
+        Object[] args = { source };
+
+        StaticWeaveException precompilingException = new StaticWeaveException(ExceptionMessageGenerator.buildMessage(StaticWeaveException.class, EXCEPTION_PRECOMPILING, args), cause);
+        precompilingException.setResourceName(null);
+        precompilingException.setErrorCode(EXCEPTION_PRECOMPILING);
+        return precompilingException;
+    }
+
+    /**
+     * INTERNAL:
+     * EclipseLink exceptions should only be thrown by EclipseLink.
+     */
+    public static StaticWeaveException missingPersistenceUnit(Object persistenceUnitNames) {
+        Object[] args = { persistenceUnitNames };
+
+        StaticWeaveException missingPersistenceUnitException = new StaticWeaveException(ExceptionMessageGenerator.buildMessage(StaticWeaveException.class, EXCEPTION_NO_PERSISTENCE_UNIT_SPECIFIED, args));
+        missingPersistenceUnitException.setResourceName(null);
+        missingPersistenceUnitException.setErrorCode(EXCEPTION_NO_PERSISTENCE_UNIT_SPECIFIED);
+        return missingPersistenceUnitException;
+    }
+
+    /**
+     * INTERNAL:
+     * EclipseLink exceptions should only be thrown by EclipseLink.
+     */
+    public static StaticWeaveException missingProjectClass() {
+        Object[] args = { null };
+
+        StaticWeaveException missingProjectClassException = new StaticWeaveException(ExceptionMessageGenerator.buildMessage(StaticWeaveException.class, EXCEPTION_NO_PROJECT_CLASS_SPECIFIED, args));
+        missingProjectClassException.setResourceName(null);
+        missingProjectClassException.setErrorCode(EXCEPTION_NO_PROJECT_CLASS_SPECIFIED);
+        return missingProjectClassException;
+    }
+
+    /**
+     * INTERNAL:
+     * EclipseLink exceptions should only be thrown by EclipseLink.
+     */
+    public static StaticWeaveException precompilingCompositeNotSupported(String persistenceUnitName) {
+        Object[] args = { persistenceUnitName };
+
+        StaticWeaveException compositeException = new StaticWeaveException(ExceptionMessageGenerator.buildMessage(StaticWeaveException.class, EXCEPTION_PRECOMPILING_COMPOSITE, args));
+        compositeException.setResourceName(persistenceUnitName);
+        compositeException.setErrorCode(EXCEPTION_PRECOMPILING_COMPOSITE);
+        return compositeException;
+    }
+
+    /**
+     * INTERNAL:
+     * EclipseLink exceptions should only be thrown by EclipseLink.
+     */
+    public static StaticWeaveException precompilingQueryNotSupported(String queryName) {
+        Object[] args = { queryName };
+
+        StaticWeaveException queryException = new StaticWeaveException(ExceptionMessageGenerator.buildMessage(StaticWeaveException.class, EXCEPTION_PRECOMPILING_QUERY, args));
+        queryException.setResourceName(queryName);
+        queryException.setErrorCode(EXCEPTION_PRECOMPILING_QUERY);
+        return queryException;
+    }
 
     public String getResourceName(){
         return resourceName;
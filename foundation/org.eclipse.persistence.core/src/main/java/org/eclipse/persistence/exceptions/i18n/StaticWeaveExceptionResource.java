@@ -24,7 +24,12 @@ public final class StaticWeaveExceptionResource extends ListResourceBundle {
                                            { "40004", "Performing weaving in place for JAR file is not allowed"},
                                            { "40005", "An exception was thrown while trying to open a logging file: {0}"},
                                            { "40006", "Logging level was specified in wrong value, must be one of (OFF,SEVERE,WARNING,INFO,CONFIG,FINE,FINER,FINEST)"},
-                                           { "40007", "An exception was thrown while weaving: {0}"}
+                                           { "40007", "An exception was thrown while weaving: {0}"},
+                                           { "40008", "An exception was thrown while precompiling: {0}"},
+                                           { "40009", "The source contains more than one persistence unit {0}, the persistence unit to precompile must be specified"},
+                                           { "40010", "No project class was specified for precompiling"},
+                                           { "40011", "The composite persistence unit {0} can not be precompiled, its member persistence units must be precompiled"},
+                                           { "40012", "The named query {0} can not be precompiled, only JPQL named queries can be generated into the project class"}
     };
 
     /**
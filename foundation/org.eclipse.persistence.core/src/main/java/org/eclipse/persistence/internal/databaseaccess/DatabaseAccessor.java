@@ -47,12 +47,21 @@
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.eclipse.persistence.exceptions.ConcurrencyException;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.internal.helper.ClassConstants;
@@ -103,9 +112,34 @@ public class DatabaseAccessor extends DatasourceAccessor {
     /** PERF: Backdoor to disabling dynamic statements. Reverts to old prepared statement usage if set. */
     public static boolean shouldUseDynamicStatements = true;
 
-    /** Stores statement handles for common used prepared statements. */
+    /** Stores statement handles for common used prepared statements, in least recently used order. */
     protected Map<String, Statement> statementCache;
 
+    /** Number of statements found in the statement cache. */
+    protected long statementCacheHits;
+
+    /** Number of cacheable statements not found in the statement cache. */
+    protected long statementCacheMisses;
+
+    /** Number of cached statements closed to keep the statement cache within its size. */
+    protected long statementCacheEvictions;
+
+    /**
+     * Guards the statement cache and the cached dynamic statement.
+     * Kept apart from the accessor lock guarding the call count, which is held while reconnecting,
+     * so that statement cache lookups never wait behind connection I/O.
+     */
+    protected ReentrantLock statementCacheLock = new ReentrantLock();
+
+    /** Batch being executed on another thread when batch writing is pipelined, the connection must not be used until it completes. */
+    protected volatile PipelinedBatch pipelinedBatch;
+
+    /** The single thread executing the pipelined batches of this connection, created on the first pipelined batch. */
+    protected ThreadPoolExecutor pipelineExecutor;
+
+    /** Number of seconds the pipeline thread is kept when no batch is pipelined. */
+    protected static final long PIPELINE_THREAD_KEEP_ALIVE = 60;
+
     /** Cache of the connection's java.sql.DatabaseMetaData */
     protected DatabaseMetaData metaData;
 
@@ -194,21 +228,26 @@ public LOBValueWriter getLOBWriter() {
      * Either return the cached dynamic statement, or a new statement.
      * This statement must be released after execution.
      */
-    public synchronized Statement allocateDynamicStatement(Connection connection) throws SQLException {
-        if (dynamicStatement == null) {
-            dynamicStatement = connection.createStatement();
-        }
-        if (isDynamicStatementInUse()) {
-            return connection.createStatement();
+    public Statement allocateDynamicStatement(Connection connection) throws SQLException {
+        this.statementCacheLock.lock();
+        try {
+            if (dynamicStatement == null) {
+                dynamicStatement = connection.createStatement();
+            }
+            if (isDynamicStatementInUse()) {
+                return connection.createStatement();
+            }
+            setIsDynamicStatementInUse(true);
+            return dynamicStatement;
+        } finally {
+            this.statementCacheLock.unlock();
         }
-        setIsDynamicStatementInUse(true);
-        return dynamicStatement;
     }
 
     /**
      * Return the cached statement for dynamic SQL execution is in use.
      * Used to handle concurrency for the dynamic statement, this
-     * method must only be called from within a synchronized method/block.
+     * method must only be called while holding the statement cache lock.
      */
     public boolean isDynamicStatementInUse() {
         return isDynamicStatementInUse;
@@ -230,8 +269,13 @@ public void setDatasourcePlatform(DatasourcePlatform platform) {
      * Set if the cached statement for dynamic SQL execution is in use.
      * Used to handle concurrency for the dynamic statement.
      */
-    public synchronized void setIsDynamicStatementInUse(boolean isDynamicStatementInUse) {
-        this.isDynamicStatementInUse = isDynamicStatementInUse;
+    public void setIsDynamicStatementInUse(boolean isDynamicStatementInUse) {
+        this.statementCacheLock.lock();
+        try {
+            this.isDynamicStatementInUse = isDynamicStatementInUse;
+        } finally {
+            this.statementCacheLock.unlock();
+        }
     }
 
     /**
@@ -384,6 +428,12 @@ public Object clone() {
         }
         accessor.parameterizedMechanism = null;
         accessor.statementCache = null;
+        accessor.statementCacheLock = new ReentrantLock();
+        accessor.statementCacheHits = 0;
+        accessor.statementCacheMisses = 0;
+        accessor.statementCacheEvictions = 0;
+        accessor.pipelinedBatch = null;
+        accessor.pipelineExecutor = null;
         return accessor;
     }
 
@@ -461,9 +511,20 @@ public void basicCommitTransaction(AbstractSession session) throws DatabaseExcep
      * for cursored stream support.
      */
     public AbstractRecord cursorRetrieveNextRow(Vector<DatabaseField> fields, ResultSet resultSet, AbstractSession session) throws DatabaseException {
+        return cursorRetrieveNextRow(fields, null, resultSet, null, session);
+    }
+
+    /**
+     * Advance the result set and return a Record populated
+     * with values from the next valid row in the result set. Intended solely
+     * for cursored stream support.
+     * PERF: The fields array and meta-data are shared by the cursor for every row,
+     * and the row is built as an ArrayRecord, the same as a non-cursored read.
+     */
+    public AbstractRecord cursorRetrieveNextRow(Vector<DatabaseField> fields, DatabaseField[] fieldsArray, ResultSet resultSet, ResultSetMetaData metaData, AbstractSession session) throws DatabaseException {
         try {
             if (resultSet.next()) {
-                return fetchRow(fields, resultSet, resultSet.getMetaData(), session);
+                return fetchCursorRow(fields, fieldsArray, resultSet, metaData, session);
             } else {
                 return null;
             }
@@ -480,9 +541,19 @@ public AbstractRecord cursorRetrieveNextRow(Vector<DatabaseField> fields, Result
      * for scrollable cursor support.
      */
     public AbstractRecord cursorRetrievePreviousRow(Vector<DatabaseField> fields, ResultSet resultSet, AbstractSession session) throws DatabaseException {
+        return cursorRetrievePreviousRow(fields, null, resultSet, null, session);
+    }
+
+    /**
+     * Advance the result set and return a DatabaseRow populated
+     * with values from the previous valid row in the result set. Intended solely
+     * for scrollable cursor support.
+     * PERF: The fields array and meta-data are shared by the cursor for every row.
+     */
+    public AbstractRecord cursorRetrievePreviousRow(Vector<DatabaseField> fields, DatabaseField[] fieldsArray, ResultSet resultSet, ResultSetMetaData metaData, AbstractSession session) throws DatabaseException {
         try {
             if (resultSet.previous()) {
-                return fetchRow(fields, resultSet, resultSet.getMetaData(), session);
+                return fetchCursorRow(fields, fieldsArray, resultSet, metaData, session);
             } else {
                 return null;
             }
@@ -511,8 +582,12 @@ public void closeDatasourceConnection() throws DatabaseException {
      */
     @Override
     public void disconnect(AbstractSession session) throws DatabaseException {
+        RuntimeException batchError = shutDownPipeline(session);
         clearStatementCache(session);
         super.disconnect(session);
+        if (batchError != null) {
+            throw batchError;
+        }
     }
 
     /**
@@ -523,8 +598,12 @@ public void disconnect(AbstractSession session) throws DatabaseException {
     @Override
     public void closeConnection() {
         // Unfortunately do not have the session to pass, fortunately it is not used.
+        RuntimeException batchError = shutDownPipeline(null);
         clearStatementCache(null);
         super.closeConnection();
+        if (batchError != null) {
+            throw batchError;
+        }
     }
 
     /**
@@ -617,6 +696,10 @@ public Object basicExecuteCall(Call call, AbstractRecord translationRow, Abstrac
                 getActiveBatchWritingMechanism(session).executeBatchedStatements(session);
             }
         }
+        if (batch) {
+            // Statements executed by a batch writing mechanism are already ordered after the pipelined batch.
+            waitForPipelinedBatch(session);
+        }
 
         try {
             incrementCallCount(session);
@@ -926,26 +1009,39 @@ protected int executeJDK12BatchStatement(Statement statement, DatabaseCall dbCal
         try {
             //bug 4241441: executeBatch moved to the platform, and result returned to batch mechanism
             returnValue = this.getPlatform().executeBatch(statement, isStatementPrepared);
-        } catch (SQLException exception) {
+        } catch (SQLException | RuntimeException exception) {
+            throw batchStatementFailed(statement, dbCall, session, exception);
+        }
+        releaseBatchStatement(statement, dbCall, session);
+        return returnValue;
+    }
+
+    /**
+     * INTERNAL:
+     * Close the batched statement that failed to execute, and return the exception to throw.
+     */
+    protected RuntimeException batchStatementFailed(Statement statement, DatabaseCall dbCall, AbstractSession session, Exception exception) {
+        if (exception instanceof SQLException) {
             //If this is a connection from an external pool then closeStatement will close the connection.
             //we must test the connection before that happens.
-            DatabaseException commException = processExceptionForCommError(session, exception, dbCall);
-            if (commException != null) throw commException;
-            try {// Ensure that the statement is closed, but still ensure that the real exception is thrown.
-                closeStatement(statement, session, dbCall);
-            } catch (SQLException closeException) {
-            }
-
-            throw DatabaseException.sqlException(exception, this, session, false);
-        } catch (RuntimeException exception) {
-            try {// Ensure that the statement is closed, but still ensure that the real exception is thrown.
-                closeStatement(statement, session, dbCall);
-            } catch (SQLException closeException) {
-            }
-
-            throw exception;
+            DatabaseException commException = processExceptionForCommError(session, (SQLException)exception, dbCall);
+            if (commException != null) return commException;
+        }
+        try {// Ensure that the statement is closed, but still ensure that the real exception is thrown.
+            closeStatement(statement, session, dbCall);
+        } catch (SQLException closeException) {
         }
+        if (exception instanceof SQLException) {
+            return DatabaseException.sqlException((SQLException)exception, this, session, false);
+        }
+        return (RuntimeException)exception;
+    }
 
+    /**
+     * INTERNAL:
+     * Release the executed batched statement.
+     */
+    protected void releaseBatchStatement(Statement statement, DatabaseCall dbCall, AbstractSession session) throws DatabaseException {
         // This is in a separate try block to ensure that the real exception is not masked by the close exception.
         try {
             // if we are called from the ParameterizedBatchWritingMechanism then dbCall will not be null
@@ -960,7 +1056,6 @@ protected int executeJDK12BatchStatement(Statement statement, DatabaseCall dbCal
             if (commException != null) throw commException;
             throw DatabaseException.sqlException(exception, this, session, false);
         }
-        return returnValue;
     }
 
     /**
@@ -1030,6 +1125,21 @@ public ResultSet executeSelect(DatabaseCall call, Statement statement, AbstractS
         return resultSet;
     }
 
+    /**
+     * Build the current row of a cursor.
+     * The array based row is used when the cursor provides the fields array,
+     * the meta-data is only fetched from the result set if the cursor did not cache it.
+     */
+    protected AbstractRecord fetchCursorRow(Vector<DatabaseField> fields, DatabaseField[] fieldsArray, ResultSet resultSet, ResultSetMetaData metaData, AbstractSession session) throws SQLException {
+        if (metaData == null) {
+            metaData = resultSet.getMetaData();
+        }
+        if ((fieldsArray == null) || (fieldsArray.length != fields.size())) {
+            return fetchRow(fields, resultSet, metaData, session);
+        }
+        return fetchRow(fields, fieldsArray, resultSet, metaData, session);
+    }
+
     /**
      * Return a new DatabaseRow.<p>
      * Populate the row from the data in cursor. The fields representing the results
@@ -1447,12 +1557,19 @@ protected boolean hasStatementCache() {
 
     /**
      * The statement cache stores a fixed sized number of prepared statements.
+     * Statements are removed from the cache while in use and added back when released,
+     * so the first statement in the cache is the least recently used.
      */
-    protected synchronized Map<String, Statement> getStatementCache() {
-        if (statementCache == null) {
-            statementCache = new HashMap<>(50);
+    protected Map<String, Statement> getStatementCache() {
+        this.statementCacheLock.lock();
+        try {
+            if (statementCache == null) {
+                statementCache = new LinkedHashMap<>(50, 0.75f, true);
+            }
+            return statementCache;
+        } finally {
+            this.statementCacheLock.unlock();
         }
-        return statementCache;
     }
 
     /**
@@ -1556,15 +1673,7 @@ public Statement prepareStatement(DatabaseCall call, AbstractSession session) th
     public Statement prepareStatement(DatabaseCall call, AbstractSession session, boolean unwrapConnection) throws SQLException {
         Statement statement = null;
         if (call.usesBinding(session) && call.shouldCacheStatement(session)) {
-            // Check the cache by sql string, must synchronize check and removal.
-            Map<String, Statement> statementCache = getStatementCache();
-            synchronized (statementCache) {
-                statement = statementCache.get(call.getSQLString());
-                if (statement != null) {
-                    // Need to remove to allow concurrent statement execution.
-                    statementCache.remove(call.getSQLString());
-                }
-            }
+            statement = removeCachedStatement(call.getSQLString(), session);
         }
 
         if (statement == null) {
@@ -1608,16 +1717,8 @@ public Statement prepareStatement(DatabaseCall call, AbstractSession session, bo
      */
     public PreparedStatement prepareStatement(String sql, AbstractSession session, boolean callable) throws SQLException {
         PreparedStatement statement = null;
-        // Check the cache by sql string, must synchronize check and removal.
         if (getPlatform().shouldCacheAllStatements()) {
-            Map<String, Statement> statementCache = getStatementCache();
-            synchronized (statementCache) {
-                statement = (PreparedStatement)statementCache.get(sql);
-                if (statement != null) {
-                    // Need to remove to allow concurrent statement execution.
-                    statementCache.remove(sql);
-                }
-            }
+            statement = (PreparedStatement)removeCachedStatement(sql, session);
         }
 
         if (statement == null) {
@@ -1636,6 +1737,66 @@ public PreparedStatement prepareStatement(String sql, AbstractSession session, b
         return statement;
     }
 
+    /**
+     * Remove and return the cached statement for the sql string, or null if not cached.
+     * The statement is removed to allow concurrent statement execution, and added back when released.
+     */
+    protected Statement removeCachedStatement(String sqlString, AbstractSession session) {
+        // Check the cache by sql string, must synchronize check and removal.
+        Map<String, Statement> statementCache = getStatementCache();
+        Statement statement;
+        this.statementCacheLock.lock();
+        try {
+            statement = statementCache.remove(sqlString);
+            if (statement != null) {
+                this.statementCacheHits++;
+            } else {
+                this.statementCacheMisses++;
+            }
+        } finally {
+            this.statementCacheLock.unlock();
+        }
+        if (statement != null) {
+            incrementStatementCacheProfile(SessionProfiler.StatementCacheHits, sqlString, session);
+        } else {
+            incrementStatementCacheProfile(SessionProfiler.StatementCacheMisses, sqlString, session);
+        }
+        return statement;
+    }
+
+    /**
+     * Update the profiler's counter for the statement cache, in total and for the sql string.
+     * The PerformanceMonitor only keeps the counters of the most recently used sql strings.
+     * @see org.eclipse.persistence.tools.profiler.PerformanceMonitor#setStatementCountersSize(int)
+     */
+    protected void incrementStatementCacheProfile(String operationName, String sqlString, AbstractSession session) {
+        if ((session != null) && session.isInProfile()) {
+            session.incrementProfile(operationName);
+            session.incrementProfile(operationName + ":" + sqlString);
+        }
+    }
+
+    /**
+     * Return the number of statements found in the statement cache.
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * Return the number of cacheable statements not found in the statement cache.
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * Return the number of cached statements closed to keep the statement cache within its size.
+     */
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions;
+    }
+
     /**
      * This method is used to process an SQL exception and determine if the exception
      * should be passed on for further processing.
@@ -1675,7 +1836,11 @@ public void releaseStatement(Statement statement, String sqlString, DatabaseCall
         if (((call == null) && getPlatform().shouldCacheAllStatements())
                 || ((call != null) && call.usesBinding(session) && call.shouldCacheStatement(session))) {
             Map<String, Statement> statementCache = getStatementCache();
-            synchronized (statementCache) {
+            String evictedSQLString = null;
+            PreparedStatement evictedStatement = null;
+            boolean isCached = false;
+            this.statementCacheLock.lock();
+            try {
                 PreparedStatement preparedStatement = (PreparedStatement)statement;
                 if (!statementCache.containsKey(sqlString)) {// May already be there by other thread.
                     preparedStatement.clearParameters();
@@ -1683,18 +1848,30 @@ public void releaseStatement(Statement statement, String sqlString, DatabaseCall
                     if (call != null) {
                         resetStatementFromCall(preparedStatement, call);
                     }
-                    if (statementCache.size() > getPlatform().getStatementCacheSize()) {
-                        // Currently one is removed at random...
-                        PreparedStatement removedStatement = (PreparedStatement)statementCache.remove(statementCache.keySet().iterator().next());
-                        closeStatement(removedStatement, session, call);
-                    } else {
-                        decrementCallCount();
+                    if (!statementCache.isEmpty() && (statementCache.size() >= getPlatform().getStatementCacheSize())) {
+                        // Remove the least recently used statement.
+                        evictedSQLString = statementCache.keySet().iterator().next();
+                        evictedStatement = (PreparedStatement)statementCache.remove(evictedSQLString);
+                        this.statementCacheEvictions++;
                     }
                     statementCache.put(sqlString, preparedStatement);
-                } else {
-                    // CR... Must close the statement if not cached.
-                    closeStatement(statement, session, call);
+                    isCached = true;
                 }
+            } finally {
+                this.statementCacheLock.unlock();
+            }
+            // The accessor lock is held while reconnecting, which clears this cache, so the call count
+            // is only decremented once the statement cache lock is released.
+            if (!isCached) {
+                // CR... Must close the statement if not cached.
+                closeStatement(statement, session, call);
+            } else if (evictedStatement != null) {
+                closeStatement(evictedStatement, session, call);
+            } else {
+                decrementCallCount();
+            }
+            if (evictedSQLString != null) {
+                incrementStatementCacheProfile(SessionProfiler.StatementCacheEvictions, evictedSQLString, session);
             }
         } else if (statement == this.dynamicStatement) {
             // The dynamic statement is cached and only closed on disconnect.
@@ -1732,7 +1909,24 @@ protected void resetStatementFromCall(Statement statement, DatabaseCall call) th
     @Override
     public void rollbackTransaction(AbstractSession session) throws DatabaseException {
         getActiveBatchWritingMechanism(session).clear();
-        super.rollbackTransaction(session);
+        RuntimeException batchError = null;
+        try {
+            waitForPipelinedBatch(session);
+        } catch (RuntimeException error) {
+            batchError = error;
+        }
+        try {
+            super.rollbackTransaction(session);
+        } catch (RuntimeException error) {
+            if (batchError != null) {
+                error.addSuppressed(batchError);
+            }
+            throw error;
+        }
+        // The batch's changes are rolled back, but its failure must still be reported.
+        if (batchError != null) {
+            throw batchError;
+        }
     }
 
     /**
@@ -1882,6 +2076,166 @@ private boolean isStruct(int type, Object value) {
     public void writesCompleted(AbstractSession session) {
         if (isConnected && isInBatchWritingMode(session)) {
             getActiveBatchWritingMechanism(session).executeBatchedStatements(session);
+            waitForPipelinedBatch(session);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return if a batch can be executed on another thread.
+     * Batches are not pipelined on a connection managed by the container,
+     * as it must only be used by the thread of the transaction.
+     * @see DatabasePlatform#usesPipelinedBatchWriting()
+     */
+    public boolean canPipelineBatch(AbstractSession session) {
+        Login login = getLogin();
+        return getPlatform().usesPipelinedBatchWriting() && !login.shouldUseExternalTransactionController()
+                && !login.shouldUseExternalConnectionPooling() && !session.hasExternalTransactionController();
+    }
+
+    /**
+     * INTERNAL:
+     * Execute the prepared batch statement on the connection's pipeline thread, so the next batch can be built while this one is executed.
+     * Only the JDBC execution runs on the pipeline thread, as the session is not thread safe,
+     * the batch is completed with its row count or error by the thread that waits for it.
+     * Only one batch is executed at a time, so this first waits for the previous batch.
+     * Any use of the connection must first wait for the batch.
+     * @see DatabasePlatform#usesPipelinedBatchWriting()
+     */
+    public void pipelineBatch(Statement statement, Callable<Integer> execution, BiConsumer<Integer, Throwable> completion, AbstractSession session) {
+        waitForPipelinedBatch(session);
+        PipelinedBatch batch = new PipelinedBatch(statement, execution, completion);
+        if (this.pipelineExecutor == null) {
+            this.pipelineExecutor = buildPipelineExecutor();
+        }
+        this.pipelinedBatch = batch;
+        this.pipelineExecutor.execute(batch);
+    }
+
+    /**
+     * INTERNAL:
+     * Build the executor owning the single thread that uses the connection for pipelined batches.
+     * The thread is stopped when idle, so pooled connections do not each keep a thread.
+     */
+    protected ThreadPoolExecutor buildPipelineExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, PIPELINE_THREAD_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "EclipseLink batch pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * INTERNAL:
+     * Wait for the pipelined batch and stop the pipeline thread before the connection is closed.
+     * Return the batch's error, so the connection is still closed if it failed.
+     */
+    protected RuntimeException shutDownPipeline(AbstractSession session) {
+        RuntimeException batchError = null;
+        try {
+            waitForPipelinedBatch(session);
+        } catch (RuntimeException error) {
+            batchError = error;
+        }
+        ThreadPoolExecutor executor = this.pipelineExecutor;
+        if (executor != null) {
+            this.pipelineExecutor = null;
+            executor.shutdown();
+        }
+        return batchError;
+    }
+
+    /**
+     * INTERNAL:
+     * Wait for the batch being executed on another thread, and complete it, throwing its error if it failed.
+     * If the wait is interrupted the batch is cancelled, but the connection is only released once the batch
+     * has stopped executing.
+     */
+    public void waitForPipelinedBatch(AbstractSession session) {
+        PipelinedBatch batch = this.pipelinedBatch;
+        if (batch == null) {
+            return;
+        }
+        try {
+            batch.executed.await();
+        } catch (InterruptedException exception) {
+            batch.cancel();
+            boolean isDrained = false;
+            while (!isDrained) {
+                try {
+                    batch.executed.await();
+                    isDrained = true;
+                } catch (InterruptedException ignore) {
+                    // Still executing on the connection.
+                }
+            }
+            this.pipelinedBatch = null;
+            try {
+                batch.complete();
+            } catch (RuntimeException | Error ignore) {
+                // The interruption is reported instead.
+            }
+            Thread.currentThread().interrupt();
+            throw ConcurrencyException.waitWasInterrupted(exception.getMessage());
+        }
+        this.pipelinedBatch = null;
+        batch.complete();
+    }
+
+    /**
+     * INTERNAL:
+     * A batch statement executed on the connection's pipeline thread.
+     */
+    protected static class PipelinedBatch implements Runnable {
+        protected final Statement statement;
+        protected final Callable<Integer> execution;
+        protected final BiConsumer<Integer, Throwable> completion;
+        /** Released once the batch is no longer using the connection. */
+        protected final CountDownLatch executed = new CountDownLatch(1);
+        protected volatile boolean isCancelled;
+        protected Integer rowCount;
+        protected Throwable error;
+
+        protected PipelinedBatch(Statement statement, Callable<Integer> execution, BiConsumer<Integer, Throwable> completion) {
+            this.statement = statement;
+            this.execution = execution;
+            this.completion = completion;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (this.isCancelled) {
+                    this.error = new CancellationException();
+                } else {
+                    this.rowCount = this.execution.call();
+                }
+            } catch (Throwable exception) {
+                this.error = exception;
+            } finally {
+                this.executed.countDown();
+            }
+        }
+
+        /**
+         * Stop the batch from executing, or cancel its execution on the database.
+         */
+        protected void cancel() {
+            this.isCancelled = true;
+            try {
+                this.statement.cancel();
+            } catch (SQLException | RuntimeException ignore) {
+                // The batch is still waited for.
+            }
+        }
+
+        /**
+         * Complete the executed batch on the waiting thread.
+         */
+        protected void complete() {
+            this.completion.accept(this.rowCount, this.error);
         }
     }
 }
@@ -175,6 +175,12 @@ public class DatabasePlatform extends DatasourcePlatform {
     /** bug 4241441: Allow custom batch writing to enable batching with optimistic locking. **/
     protected boolean usesNativeBatchWriting;
 
+    /** Allow parameterized batch writing to group interleaved update statements by SQL. **/
+    protected boolean usesGroupedBatchWriting;
+
+    /** Allow parameterized batches to be executed on another thread while the next batch is built. **/
+    protected boolean usesPipelinedBatchWriting;
+
     /** Allow for a custom batch writing mechanism. **/
     protected BatchWritingMechanism batchWritingMechanism;
 
@@ -289,6 +295,8 @@ public DatabasePlatform() {
         this.cursorCode = -10;
         this.supportsAutoCommit = true;
         this.usesNativeBatchWriting = false;
+        this.usesGroupedBatchWriting = false;
+        this.usesPipelinedBatchWriting = false;
         this.castSizeForVarcharParameter = 32672;
         this.startDelimiter = "\"";
         this.endDelimiter = "\"";
@@ -991,6 +999,8 @@ public void copyInto(Platform platform) {
         databasePlatform.setUsesBatchWriting(usesBatchWriting());
         databasePlatform.setUsesJDBCBatchWriting(usesJDBCBatchWriting());
         databasePlatform.setUsesNativeBatchWriting(usesNativeBatchWriting());
+        databasePlatform.setUsesGroupedBatchWriting(usesGroupedBatchWriting());
+        databasePlatform.setUsesPipelinedBatchWriting(usesPipelinedBatchWriting());
         databasePlatform.setUsesStreamsForBinding(usesStreamsForBinding());
         databasePlatform.shouldCreateIndicesOnForeignKeys = this.shouldCreateIndicesOnForeignKeys;
         databasePlatform.printOuterJoinInWhereClause = this.printOuterJoinInWhereClause;
@@ -2086,6 +2096,47 @@ public void setUsesNativeBatchWriting(boolean usesNativeBatchWriting){
         this.usesNativeBatchWriting = usesNativeBatchWriting;
     }
 
+    /**
+     * PUBLIC:
+     * Set if parameterized batch writing should group update statements by SQL.
+     * The SQL of an update depends on the changed fields, so the updates of a class are
+     * often interleaved and the batch is executed each time the SQL changes.
+     * When grouping, the pending batches of the updates of the same class are kept until
+     * another statement is executed, so each distinct SQL is executed as a single batch.
+     * The updates of a class are done in a single step of the commit order,
+     * so statements are never reordered across classes or with inserts and deletes,
+     * and the updates of an object are never reordered, as an object's second update ends the grouping.
+     * <p>
+     * The trade-off is that the rows of a class are no longer updated in the commit order,
+     * but by SQL and then commit order, so they are locked in a different order than by
+     * a transaction committing the same objects without grouping, or with other changed fields.
+     * Concurrent transactions updating the same rows can then deadlock, where they would otherwise
+     * wait on each other, so this should only be used if such updates are rare or retried.
+     * Default is false.
+     */
+    public void setUsesGroupedBatchWriting(boolean usesGroupedBatchWriting) {
+        this.usesGroupedBatchWriting = usesGroupedBatchWriting;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if parameterized batch writing should be pipelined.
+     * When a batch is executed because the SQL changed or the batch is full, it is executed
+     * on another thread while the commit continues to build the next batch.
+     * Only one batch is executed at a time on the transaction's connection,
+     * and the connection is not used for anything else until the batch completes.
+     * A failed batch is reported by the next statement executed, when the transaction commits or rolls back.
+     * The batches of a connection are all executed by a single thread owned by the connection,
+     * which is stopped when idle and when the connection is closed.
+     * Batches are not pipelined with an external transaction controller or external connection pooling,
+     * as the connection is then managed by the container.
+     * This is intended for large bulk writes.
+     * Default is false.
+     */
+    public void setUsesPipelinedBatchWriting(boolean usesPipelinedBatchWriting) {
+        this.usesPipelinedBatchWriting = usesPipelinedBatchWriting;
+    }
+
     public void setUsesNativeSQL(boolean usesNativeSQL) {
         this.usesNativeSQL = usesNativeSQL;
     }
@@ -2797,6 +2848,22 @@ public boolean usesNativeBatchWriting(){
         return usesNativeBatchWriting;
     }
 
+    /**
+     * PUBLIC:
+     * Return if parameterized batch writing should group update statements by SQL.
+     */
+    public boolean usesGroupedBatchWriting() {
+        return usesGroupedBatchWriting;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if parameterized batch writing should be pipelined.
+     */
+    public boolean usesPipelinedBatchWriting() {
+        return usesPipelinedBatchWriting;
+    }
+
     public boolean usesNativeSQL() {
         return usesNativeSQL;
     }
@@ -18,6 +18,8 @@
 package org.eclipse.persistence.internal.databaseaccess;
 
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.eclipse.persistence.exceptions.*;
 import org.eclipse.persistence.sessions.Login;
 import org.eclipse.persistence.queries.Call;
@@ -62,6 +64,13 @@ public abstract class DatasourceAccessor implements Accessor {
      */
     protected int callCount;
 
+    /**
+     * Guards the call count.
+     * A lock is used instead of the accessor monitor as reconnecting can block on I/O,
+     * which would pin the carrier of a virtual thread.
+     */
+    protected ReentrantLock accessorLock = new ReentrantLock();
+
     /**
      * Keep track of the number of the storedprocedure statement that being executed.
      */
@@ -169,6 +178,7 @@ protected DatasourceAccessor() {
     public Object clone() {
         try {
             DatasourceAccessor accessor = (DatasourceAccessor)super.clone();
+            accessor.accessorLock = new ReentrantLock();
             if(accessor.customizer != null) {
                 accessor.customizer.setAccessor(accessor);
             }
@@ -289,19 +299,24 @@ public void beginTransaction(AbstractSession session) throws DatabaseException {
      * Used for load balancing and external pooling.
      */
     @Override
-    public synchronized void decrementCallCount() {
-        int count = this.callCount;
-        // Avoid decrementing count if already zero, (failure before increment).
-        if (count <= 0) {
-            return;
-        }
-        this.callCount--;
-        if (this.usesExternalConnectionPooling && (!this.isInTransaction) && (currentSession == null || !currentSession.isExclusiveConnectionRequired()) && (count == 1)) {
-            try {
-                closeConnection();
-            } catch (DatabaseException ignore) {
-                // Don't allow for errors to be masked by disconnect.
+    public void decrementCallCount() {
+        this.accessorLock.lock();
+        try {
+            int count = this.callCount;
+            // Avoid decrementing count if already zero, (failure before increment).
+            if (count <= 0) {
+                return;
+            }
+            this.callCount--;
+            if (this.usesExternalConnectionPooling && (!this.isInTransaction) && (currentSession == null || !currentSession.isExclusiveConnectionRequired()) && (count == 1)) {
+                try {
+                    closeConnection();
+                } catch (DatabaseException ignore) {
+                    // Don't allow for errors to be masked by disconnect.
+                }
             }
+        } finally {
+            this.accessorLock.unlock();
         }
     }
 
@@ -309,34 +324,39 @@ public synchronized void decrementCallCount() {
      * Used for load balancing and external pooling.
      */
     @Override
-    public synchronized void incrementCallCount(AbstractSession session) {
-        this.callCount++;
+    public void incrementCallCount(AbstractSession session) {
+        this.accessorLock.lock();
+        try {
+            this.callCount++;
 
-        if (this.callCount == 1) {
-            // If the login is null, then this accessor has never been connected.
-            if (this.login == null) {
-                throw DatabaseException.databaseAccessorNotConnected();
-            }
+            if (this.callCount == 1) {
+                // If the login is null, then this accessor has never been connected.
+                if (this.login == null) {
+                    throw DatabaseException.databaseAccessorNotConnected();
+                }
 
-            // If the connection is no longer connected, it may have timed out.
-            if (this.datasourceConnection != null) {
-                if (shouldCheckConnection && !isConnected()) {
-                    if (this.isInTransaction) {
-                        throw DatabaseException.databaseAccessorNotConnected();
-                    } else {
-                        reconnect(session);
+                // If the connection is no longer connected, it may have timed out.
+                if (this.datasourceConnection != null) {
+                    if (shouldCheckConnection && !isConnected()) {
+                        if (this.isInTransaction) {
+                            throw DatabaseException.databaseAccessorNotConnected();
+                        } else {
+                            reconnect(session);
+                        }
                     }
-                }
-            } else {
-                // If ExternalConnectionPooling is used, the connection can be re-established.
-                if (this.usesExternalConnectionPooling) {
-                    reconnect(session);
-                    session.postAcquireConnection(this);
-                    currentSession = session;
                 } else {
-                    throw DatabaseException.databaseAccessorNotConnected();
+                    // If ExternalConnectionPooling is used, the connection can be re-established.
+                    if (this.usesExternalConnectionPooling) {
+                        reconnect(session);
+                        session.postAcquireConnection(this);
+                        currentSession = session;
+                    } else {
+                        throw DatabaseException.databaseAccessorNotConnected();
+                    }
                 }
             }
+        } finally {
+            this.accessorLock.unlock();
         }
     }
 
@@ -89,6 +89,7 @@ public void appendCall(AbstractSession session, DatabaseCall dbCall) {
             this.batchSize += dbCall.getSQLString().length();
             this.usesOptimisticLocking = dbCall.hasOptimisticLock;
             this.statementCount++;
+            session.incrementProfile(SessionProfiler.BatchWriteStatements);
             // Store the largest queryTimeout on a single call for later use by the single statement in prepareJDK12BatchStatement
             cacheQueryTimeout(session, dbCall);
             // feature for bug 4104613, allows users to force statements to flush on execution
@@ -133,6 +134,7 @@ public void executeBatchedStatements(AbstractSession session) {
         //is not visible to recursive calls to executeBatchedStatements(session).
         DynamicSQLBatchWritingMechanism currentBatch = (DynamicSQLBatchWritingMechanism) this.clone();
         this.clear();
+        this.databaseAccessor.waitForPipelinedBatch(session);
         currentBatch.executeBatch(session);
     }
 
@@ -144,6 +146,7 @@ public void executeBatchedStatements(AbstractSession session) {
      * Introduced in fix for bug#419326.
      */
     private void executeBatch(AbstractSession session) {
+        session.incrementProfile(SessionProfiler.BatchWriteFlushes);
 
         if (this.sqlStrings.size() == 1) {
             // If only one call, just execute normally.
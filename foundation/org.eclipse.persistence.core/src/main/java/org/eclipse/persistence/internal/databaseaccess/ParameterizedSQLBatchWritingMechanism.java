@@ -18,14 +18,21 @@
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.persistence.descriptors.DescriptorQueryManager;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.OptimisticLockException;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ModifyQuery;
+import org.eclipse.persistence.queries.ObjectLevelModifyQuery;
 import org.eclipse.persistence.sessions.SessionProfiler;
 
 /**
@@ -50,6 +57,19 @@ public class ParameterizedSQLBatchWritingMechanism extends BatchWritingMechanism
     protected List<List> parameters;
     protected DatabaseCall lastCallAppended;
 
+    /**
+     * The pending batches of other SQL strings when grouping update statements,
+     * keyed by SQL string.
+     * @see DatabasePlatform#usesGroupedBatchWriting()
+     */
+    protected Map<String, ParameterizedSQLBatchWritingMechanism> groupedBatches;
+
+    /**
+     * The objects with a pending update when grouping update statements.
+     * An object is updated in the order of its statements, so its next update is never grouped.
+     */
+    protected Set<Object> groupedObjects;
+
     public ParameterizedSQLBatchWritingMechanism() {
         super();
     }
@@ -79,19 +99,28 @@ public void appendCall(AbstractSession session, DatabaseCall dbCall) {
                 this.previousCall = dbCall;
                 this.parameters.add(dbCall.getParameters());
             } else {
-                if (this.previousCall.getSQLString().equals(dbCall.getSQLString()) && (this.parameters.size() < this.maxBatchSize)) {
+                if (this.previousCall.getSQLString().equals(dbCall.getSQLString()) && (this.parameters.size() < this.maxBatchSize)
+                        && !hasPendingUpdate(dbCall)) {
+                    this.parameters.add(dbCall.getParameters());
+                } else if (canGroup(session, dbCall)) {
+                    switchGroup(session, dbCall);
                     this.parameters.add(dbCall.getParameters());
                 } else {
-                    executeBatchedStatements(session);
+                    // The next statements are only appended, so the batch can be pipelined.
+                    executeBatchedStatements(session, true);
                     this.previousCall = dbCall;
                     this.parameters.add(dbCall.getParameters());
                 }
             }
+            if (session.getPlatform().usesGroupedBatchWriting()) {
+                addGroupedObject(dbCall);
+            }
             // Store the largest queryTimeout on a single call for later use by the single statement in prepareBatchStatements
             if (dbCall != null) {
                 cacheQueryTimeout(session, dbCall);
             }
             this.lastCallAppended = dbCall;
+            session.incrementProfile(SessionProfiler.BatchWriteStatements);
             // feature for bug 4104613, allows users to force statements to flush on execution
             if (((ModifyQuery) dbCall.getQuery()).forceBatchStatementExecution())
             {
@@ -103,6 +132,89 @@ public void appendCall(AbstractSession session, DatabaseCall dbCall) {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Return if the call can be batched with the pending batch of its SQL string instead of executing the current batch.
+     * Only the updates of the same class are grouped, as they are done in a single step of the commit order,
+     * and only the first update of an object, so the updates of each row stay in the commit order.
+     * The rows of the class are still updated in a different order than without grouping.
+     */
+    protected boolean canGroup(AbstractSession session, DatabaseCall dbCall) {
+        if (!session.getPlatform().usesGroupedBatchWriting()) {
+            return false;
+        }
+        DatabaseQuery query = dbCall.getQuery();
+        DatabaseQuery previousQuery = this.previousCall.getQuery();
+        if ((query == null) || (previousQuery == null) || !query.isUpdateObjectQuery() || !previousQuery.isUpdateObjectQuery()
+                || (query.getDescriptor() != previousQuery.getDescriptor())) {
+            return false;
+        }
+        return !hasPendingUpdate(dbCall);
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the object updated by the call has a pending update when grouping update statements.
+     * The pending batches are executed first, as the batches are not executed in the order of their statements.
+     */
+    protected boolean hasPendingUpdate(DatabaseCall dbCall) {
+        if (this.groupedObjects == null) {
+            return false;
+        }
+        DatabaseQuery query = dbCall.getQuery();
+        return (query != null) && query.isUpdateObjectQuery() && this.groupedObjects.contains(((ObjectLevelModifyQuery)query).getObject());
+    }
+
+    /**
+     * INTERNAL:
+     * Record the object updated by the call as having a pending update.
+     */
+    protected void addGroupedObject(DatabaseCall dbCall) {
+        DatabaseQuery query = dbCall.getQuery();
+        if ((query == null) || !query.isUpdateObjectQuery()) {
+            return;
+        }
+        if (this.groupedObjects == null) {
+            this.groupedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        this.groupedObjects.add(((ObjectLevelModifyQuery)query).getObject());
+    }
+
+    /**
+     * INTERNAL:
+     * Keep the current batch pending and continue the pending batch of the call's SQL string, or start a new batch.
+     * A full batch is executed.
+     */
+    protected void switchGroup(AbstractSession session, DatabaseCall dbCall) {
+        if (this.groupedBatches == null) {
+            this.groupedBatches = new LinkedHashMap<>();
+        }
+        ParameterizedSQLBatchWritingMechanism currentBatch = (ParameterizedSQLBatchWritingMechanism) this.clone();
+        currentBatch.groupedBatches = null;
+        currentBatch.groupedObjects = null;
+        ParameterizedSQLBatchWritingMechanism nextBatch = this.groupedBatches.remove(dbCall.getSQLString());
+        if (this.previousCall.getSQLString().equals(dbCall.getSQLString())) {
+            // The current batch is full.
+            nextBatch = null;
+            executeBatches(session, Collections.singletonList(currentBatch), true);
+        } else {
+            this.groupedBatches.put(this.previousCall.getSQLString(), currentBatch);
+        }
+        if ((nextBatch != null) && (nextBatch.parameters.size() >= this.maxBatchSize)) {
+            executeBatches(session, Collections.singletonList(nextBatch), true);
+            nextBatch = null;
+        }
+        if (nextBatch == null) {
+            this.previousCall = dbCall;
+            this.parameters = new ArrayList<>();
+            this.queryTimeoutCache = DescriptorQueryManager.NoTimeout;
+        } else {
+            this.previousCall = nextBatch.previousCall;
+            this.parameters = nextBatch.parameters;
+            this.queryTimeoutCache = nextBatch.queryTimeoutCache;
+        }
+    }
+
     /**
      * INTERNAL:
      * This method is used to clear the batched statements without the need to execute the statements first
@@ -119,6 +231,8 @@ public void clear() {
         this.queryTimeoutCache = DescriptorQueryManager.NoTimeout;
         // bug 229831 : BATCH WRITING CAUSES MEMORY LEAKS WITH UOW
         this.lastCallAppended = null;
+        this.groupedBatches = null;
+        this.groupedObjects = null;
     }
 
     /**
@@ -128,15 +242,48 @@ public void clear() {
      */
     @Override
     public void executeBatchedStatements(AbstractSession session) {
+        executeBatchedStatements(session, false);
+    }
+
+    /**
+     * INTERNAL:
+     * Execute the batched statements, if the caller does not need the connection afterwards
+     * the execution can be pipelined.
+     */
+    protected void executeBatchedStatements(AbstractSession session, boolean canPipeline) {
         if (this.parameters.isEmpty()) {
             return;
         }
         //Bug#419326 : Added below clone, clear and clone.executeBatch(session)
         //Cloning the mechanism and clearing the current mechanism ensures that the current batch
         //is not visible to recursive calls to executeBatchedStatements(session).
-        ParameterizedSQLBatchWritingMechanism currentBatch = (ParameterizedSQLBatchWritingMechanism) this.clone();
+        List<ParameterizedSQLBatchWritingMechanism> batches = new ArrayList<>();
+        if (this.groupedBatches != null) {
+            batches.addAll(this.groupedBatches.values());
+        }
+        batches.add((ParameterizedSQLBatchWritingMechanism) this.clone());
         this.clear();
-        currentBatch.executeBatch(session);
+        executeBatches(session, batches, canPipeline);
+    }
+
+    /**
+     * INTERNAL:
+     * Execute the batches in order.
+     * If batch writing is pipelined their statements are executed on the connection's pipeline thread,
+     * otherwise once any pipelined batch has completed.
+     * @see DatabaseAccessor#canPipelineBatch(AbstractSession)
+     */
+    protected void executeBatches(AbstractSession session, List<ParameterizedSQLBatchWritingMechanism> batches, boolean canPipeline) {
+        if (canPipeline && this.databaseAccessor.canPipelineBatch(session)) {
+            for (ParameterizedSQLBatchWritingMechanism batch : batches) {
+                batch.pipelineBatch(session);
+            }
+        } else {
+            this.databaseAccessor.waitForPipelinedBatch(session);
+            for (ParameterizedSQLBatchWritingMechanism batch : batches) {
+                batch.executeBatch(session);
+            }
+        }
     }
 
     /**
@@ -147,6 +294,7 @@ public void executeBatchedStatements(AbstractSession session) {
      * Introduced in fix for bug#419326.
      */
     private void executeBatch(AbstractSession session) {
+        session.incrementProfile(SessionProfiler.BatchWriteFlushes);
 
         if (this.parameters.size() == 1) {
             // If only one call, just execute normally.
@@ -165,18 +313,7 @@ private void executeBatch(AbstractSession session) {
 
         try {
             this.databaseAccessor.incrementCallCount(session);// Decrement occurs in close.
-
-            if (session.shouldLog(SessionLog.FINE, SessionLog.SQL)) {
-                session.log(SessionLog.FINER, SessionLog.SQL, "begin_batch_statements", null, this.databaseAccessor);
-                session.log(SessionLog.FINE, SessionLog.SQL, this.previousCall.getSQLString(), null, this.databaseAccessor, false);
-                // took this logging part from SQLCall
-                for (List callParameters : this.parameters) {
-                    StringWriter writer = new StringWriter();
-                    DatabaseCall.appendLogParameters(callParameters, this.databaseAccessor, writer, session);
-                    session.log(SessionLog.FINE, SessionLog.SQL, writer.toString(), null, this.databaseAccessor, false);
-                }
-                session.log(SessionLog.FINER, SessionLog.SQL, "end_batch_statements", null, this.databaseAccessor);
-            }
+            logBatch(session);
 
             //bug 4241441: need to keep track of rows modified and throw opti lock exception if needed
             PreparedStatement statement = prepareBatchStatements(session);
@@ -194,6 +331,84 @@ private void executeBatch(AbstractSession session) {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Prepare the batched statement, and execute it on the connection's pipeline thread.
+     * The statement is prepared once the previous pipelined batch has completed, as the connection is used.
+     * Only the JDBC execution is pipelined, the logging, profiling, and the row count and error handling
+     * are done on this thread, as the session is not thread safe.
+     */
+    private void pipelineBatch(AbstractSession session) {
+        this.databaseAccessor.waitForPipelinedBatch(session);
+        final PreparedStatement statement;
+        try {
+            statement = beginBatch(session);
+        } catch (RuntimeException exception) {
+            clear();
+            throw exception;
+        }
+        final DatabasePlatform platform = session.getPlatform();
+        this.databaseAccessor.pipelineBatch(statement, () -> platform.executeBatch(statement, true),
+                (rowCount, error) -> completeBatch(statement, rowCount, error, session), session);
+    }
+
+    /**
+     * INTERNAL:
+     * Count, log and prepare the batched statement.
+     */
+    private PreparedStatement beginBatch(AbstractSession session) {
+        session.incrementProfile(SessionProfiler.BatchWriteFlushes);
+        this.databaseAccessor.incrementCallCount(session);// Decrement occurs in close.
+        logBatch(session);
+        return prepareBatchStatements(session);
+    }
+
+    /**
+     * INTERNAL:
+     * Release the pipelined statement, and check its row count, once it has been executed.
+     */
+    private void completeBatch(PreparedStatement statement, Integer rowCount, Throwable error, AbstractSession session) {
+        try {
+            if (error instanceof Error) {
+                try {
+                    // Ensure that the statement is closed, but still ensure that the real error is thrown.
+                    this.databaseAccessor.closeStatement(statement, session, this.lastCallAppended);
+                } catch (SQLException closeException) {
+                }
+                throw (Error)error;
+            } else if (error != null) {
+                throw this.databaseAccessor.batchStatementFailed(statement, this.lastCallAppended, session, (Exception)error);
+            }
+            this.executionCount += rowCount;
+            this.databaseAccessor.releaseBatchStatement(statement, this.lastCallAppended, session);
+            this.databaseAccessor.writeStatementsCount++;
+
+            if (this.previousCall.hasOptimisticLock() && (this.executionCount != this.statementCount)) {
+                throw OptimisticLockException.batchStatementExecutionFailure();
+            }
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Log the batched statements.
+     */
+    private void logBatch(AbstractSession session) {
+        if (session.shouldLog(SessionLog.FINE, SessionLog.SQL)) {
+            session.log(SessionLog.FINER, SessionLog.SQL, "begin_batch_statements", null, this.databaseAccessor);
+            session.log(SessionLog.FINE, SessionLog.SQL, this.previousCall.getSQLString(), null, this.databaseAccessor, false);
+            // took this logging part from SQLCall
+            for (List callParameters : this.parameters) {
+                StringWriter writer = new StringWriter();
+                DatabaseCall.appendLogParameters(callParameters, this.databaseAccessor, writer, session);
+                session.log(SessionLog.FINE, SessionLog.SQL, writer.toString(), null, this.databaseAccessor, false);
+            }
+            session.log(SessionLog.FINER, SessionLog.SQL, "end_batch_statements", null, this.databaseAccessor);
+        }
+    }
+
     /**
      * INTERNAL:
      * Swaps out the Mechanism for the other Mechanism
@@ -44,7 +44,12 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.persistence.annotations.BatchFetchType;
 import org.eclipse.persistence.annotations.CacheKeyType;
@@ -72,6 +77,7 @@
 import org.eclipse.persistence.internal.expressions.ObjectExpression;
 import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
 import org.eclipse.persistence.internal.expressions.SQLSelectStatement;
+import org.eclipse.persistence.internal.helper.ConcurrencyManager;
 import org.eclipse.persistence.internal.helper.ConcurrencySemaphore;
 import org.eclipse.persistence.internal.helper.ConcurrencyUtil;
 import org.eclipse.persistence.internal.helper.DatabaseField;
@@ -189,6 +195,9 @@ public class ObjectBuilder extends CoreObjectBuilder<AbstractRecord, AbstractSes
     private static final transient ThreadLocal<Boolean> SEMAPHORE_THREAD_LOCAL_VAR = new ThreadLocal<>();
     private static final transient int SEMAPHORE_MAX_NUMBER_THREADS = ConcurrencyUtil.SINGLETON.getNoOfThreadsAllowedToObjectBuildInParallel();
     private static final transient Semaphore SEMAPHORE_LIMIT_MAX_NUMBER_OF_THREADS_OBJECT_BUILDING = new Semaphore(SEMAPHORE_MAX_NUMBER_THREADS);
+
+    /** The number of rows each task builds when building objects in parallel. */
+    protected static final int PARALLEL_BUILD_BATCH_SIZE = 256;
     private transient ConcurrencySemaphore objectBuilderSemaphore = new ConcurrencySemaphore(SEMAPHORE_THREAD_LOCAL_VAR, SEMAPHORE_MAX_NUMBER_THREADS, SEMAPHORE_LIMIT_MAX_NUMBER_OF_THREADS_OBJECT_BUILDING, this, "object_builder_semaphore_acquired_01");
 
     public ObjectBuilder(ClassDescriptor descriptor) {
@@ -1419,7 +1428,9 @@ public Object buildObjectsInto(ReadAllQuery query, List databaseRows, Object dom
                     query.setPrefetchedCacheKeys(session.getIdentityMapAccessorInstance().getAllCacheKeysFromIdentityMapWithEntityPK(pkList, descriptor));
                 }
                 ContainerPolicy policy = query.getContainerPolicy();
-                if (policy.shouldAddAll()) {
+                if (shouldBuildObjectsInParallel(query, session, joinManager, size)) {
+                    buildObjectsInParallelInto(query, databaseRows, domainObjects, session, inheritancePolicy, shouldCacheQueryResults, shouldUseWrapperPolicy);
+                } else if (policy.shouldAddAll()) {
                     List domainObjectsIn = new ArrayList(size);
                     List<AbstractRecord> databaseRowsIn = new ArrayList(size);
                     for (int index = 0; index < size; index++) {
@@ -1456,6 +1467,120 @@ public Object buildObjectsInto(ReadAllQuery query, List databaseRows, Object dom
         return domainObjects;
     }
 
+    /**
+     * Return if the objects of the rows can be built in parallel.
+     * This requires the query to allow it, enough rows to be worth it, and a session that is thread safe,
+     * as the objects are only built into the shared cache, registering them is not thread safe.
+     * Joined and batch fetched attributes share the state of the query, so are built serially.
+     * A thread already building objects holds cache locks the parallel building could wait on,
+     * so only the objects of top level queries are built in parallel.
+     */
+    protected boolean shouldBuildObjectsInParallel(ReadAllQuery query, AbstractSession session, JoinedAttributeManager joinManager, int size) {
+        if (!query.shouldBuildObjectsInParallel() || (size < (PARALLEL_BUILD_BATCH_SIZE * 2))
+                || !session.isConcurrentReadSupported() || (joinManager != null) || query.hasBatchReadAttributes()
+                || (query.shouldCacheQueryResults() && query.shouldUseWrapperPolicy())
+                || (ConcurrencyManager.getDeferredLockManager(Thread.currentThread()) != null)) {
+            return false;
+        }
+        if (hasBatchFetchedAttributes()) {
+            return false;
+        }
+        if (this.descriptor.hasInheritance()) {
+            for (ClassDescriptor childDescriptor : this.descriptor.getInheritancePolicy().getAllChildDescriptors()) {
+                if (childDescriptor.getObjectBuilder().hasBatchFetchedAttributes()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the objects of the rows in parallel on the session's object building executor, and add them to the container in order.
+     * The rows are split into batches, the calling thread and the executor's threads build the objects of the next batch
+     * into the shared cache until all are built, the cache keys provide the identity and locking as for concurrent queries.
+     * As the calling thread also builds batches, a busy or bounded executor only reduces the parallelism.
+     */
+    protected void buildObjectsInParallelInto(ReadAllQuery query, List databaseRows, Object domainObjects, AbstractSession session,
+            InheritancePolicy inheritancePolicy, boolean shouldCacheQueryResults, boolean shouldUseWrapperPolicy) {
+        int size = databaseRows.size();
+        Object[] objects = new Object[size];
+        int batches = (size + PARALLEL_BUILD_BATCH_SIZE - 1) / PARALLEL_BUILD_BATCH_SIZE;
+        AtomicInteger nextBatch = new AtomicInteger();
+        CountDownLatch builtBatches = new CountDownLatch(batches);
+        AtomicReference<RuntimeException> error = new AtomicReference<>();
+        Runnable builder = () -> {
+            int batch;
+            while ((batch = nextBatch.getAndIncrement()) < batches) {
+                try {
+                    int last = Math.min(size, (batch + 1) * PARALLEL_BUILD_BATCH_SIZE);
+                    for (int index = batch * PARALLEL_BUILD_BATCH_SIZE; index < last; index++) {
+                        AbstractRecord databaseRow = (AbstractRecord)databaseRows.get(index);
+                        if (databaseRow != null) {
+                            // The query results are cached in order once built.
+                            objects[index] = buildObject(query, databaseRow, null, session, this.descriptor, inheritancePolicy,
+                                    false, false, shouldUseWrapperPolicy);
+                        }
+                    }
+                } catch (RuntimeException exception) {
+                    error.compareAndSet(null, exception);
+                } finally {
+                    builtBatches.countDown();
+                }
+            }
+        };
+        Executor executor = session.getObjectBuildingExecutor();
+        int helpers = Math.min(batches, Runtime.getRuntime().availableProcessors()) - 1;
+        try {
+            for (int helper = 0; helper < helpers; helper++) {
+                executor.execute(builder);
+            }
+        } catch (RejectedExecutionException rejected) {
+            // The calling thread builds the batches the executor does not.
+        }
+        builder.run();
+        boolean interrupted = false;
+        while (builtBatches.getCount() > 0) {
+            try {
+                // The objects are built by the executor's threads, so must be complete before they are used.
+                builtBatches.await();
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (error.get() != null) {
+            throw error.get();
+        }
+        ContainerPolicy policy = query.getContainerPolicy();
+        List domainObjectsIn = null;
+        List<AbstractRecord> databaseRowsIn = null;
+        if (policy.shouldAddAll()) {
+            domainObjectsIn = new ArrayList(size);
+            databaseRowsIn = new ArrayList(size);
+        }
+        for (int index = 0; index < size; index++) {
+            AbstractRecord databaseRow = (AbstractRecord)databaseRows.get(index);
+            if (databaseRow != null) {
+                Object domainObject = objects[index];
+                if (shouldCacheQueryResults) {
+                    query.cacheResult(domainObject);
+                }
+                if (domainObjectsIn != null) {
+                    domainObjectsIn.add(domainObject);
+                    databaseRowsIn.add(databaseRow);
+                } else {
+                    policy.addInto(domainObject, domainObjects, session, databaseRow, query, null, true);
+                }
+            }
+        }
+        if (domainObjectsIn != null) {
+            policy.addAll(domainObjectsIn, domainObjects, session, databaseRowsIn, query, null, true);
+        }
+    }
+
     /**
      * Version of buildObjectsInto method that takes call instead of rows.
      * Return a container which contains the instances of the receivers javaClass.
@@ -44,9 +44,11 @@
 import org.eclipse.persistence.internal.expressions.LogicalExpression;
 import org.eclipse.persistence.internal.expressions.RelationExpression;
 import org.eclipse.persistence.internal.identitymaps.CacheIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.ConcurrentCacheIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.FullIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.HardCacheWeakIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.NoIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.OffHeapCacheIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.SoftCacheWeakIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.SoftIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.WeakIdentityMap;
@@ -128,9 +130,11 @@ public final class ClassConstants extends CoreClassConstants {
 
     // Identity map classes
     public static final Class<CacheIdentityMap> CacheIdentityMap_Class = CacheIdentityMap.class;
+    public static final Class<ConcurrentCacheIdentityMap> ConcurrentCacheIdentityMap_Class = ConcurrentCacheIdentityMap.class;
     public static final Class<FullIdentityMap> FullIdentityMap_Class = FullIdentityMap.class;
     public static final Class<HardCacheWeakIdentityMap> HardCacheWeakIdentityMap_Class = HardCacheWeakIdentityMap.class;
     public static final Class<NoIdentityMap> NoIdentityMap_Class = NoIdentityMap.class;
+    public static final Class<OffHeapCacheIdentityMap> OffHeapCacheIdentityMap_Class = OffHeapCacheIdentityMap.class;
     public static final Class<SoftCacheWeakIdentityMap> SoftCacheWeakIdentityMap_Class = SoftCacheWeakIdentityMap.class;
     public static final Class<SoftIdentityMap> SoftIdentityMap_Class = SoftIdentityMap.class;
     public static final Class<WeakIdentityMap> WeakIdentityMap_Class = WeakIdentityMap.class;
@@ -17,17 +17,47 @@
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Provide a concurrent fixed size caching mechanism.
  * This is used for caching EJBQL parsed queries, Update calls,
  * and other places a fixed size cache is needed.
  * The default fixed size is 100.
+ * <p>
+ * Gets do not lock, but record the key in a frequency sketch, for cached and uncached keys.
+ * When the cache overflows it evicts the keys accessed least frequently,
+ * so a burst of one-off keys does not evict the frequently used ones.
+ * The sketch is a count-min sketch (as used by TinyLFU) of 4 bit counters, sixteen per long,
+ * about one long per entry. Its counts are halved periodically so keys that are no longer used lose their frequency.
+ * Eviction removes an extra tenth of the cache to amortize its scan of the keys.
  */
 public class ConcurrentFixedCache implements Serializable {
+    /** Maximum count of a frequency counter. */
+    protected static final int MAX_FREQUENCY = 15;
+
+    /** Seeds of the hashes of a key into the frequency sketch, one per counter. */
+    protected static final int[] SEEDS = {0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0x2f5bf97d};
+
     protected int maxSize;
     protected Map cache;
 
+    /** Approximate access frequency of the keys, cached or not, sixteen 4 bit counters per long. */
+    protected AtomicLongArray frequencies;
+
+    /** Number of accesses recorded in the frequency sketch since its counts were halved. */
+    protected AtomicInteger sampleCount;
+
+    /** Guards eviction and the halving of the frequency sketch. */
+    protected ReentrantLock evictionLock;
+
+    protected LongAdder hitCount;
+    protected LongAdder missCount;
+    protected LongAdder evictionCount;
+
     /**
      * Create a new concurrent cache, with a fixed size of 100.
      */
@@ -42,6 +72,19 @@ public ConcurrentFixedCache(int maxSize) {
         // PERF: Use a concurrent map to allow concurrent gets.
         this.cache = new ConcurrentHashMap(maxSize);
         this.maxSize = maxSize;
+        this.frequencies = new AtomicLongArray(sketchSize(maxSize));
+        this.sampleCount = new AtomicInteger();
+        this.evictionLock = new ReentrantLock();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+    }
+
+    /**
+     * Return the number of longs of frequency counters for the max size, a power of two.
+     */
+    protected static int sketchSize(int maxSize) {
+        return Integer.highestOneBit(Math.max(16, Math.min(maxSize, 1 << 24)) - 1) << 1;
     }
 
     /**
@@ -53,11 +96,20 @@ public int getMaxSize() {
 
     /**
      * Set the fixed size of the parse cache.
-     * When the size is exceeded, subsequent EJBQL will not be cached.
+     * When the size is exceeded, the least frequently used entries are removed.
      * The default size is 100;
      */
     public void setMaxSize(int maxSize) {
-        this.maxSize = maxSize;
+        this.evictionLock.lock();
+        try {
+            this.maxSize = maxSize;
+            if (sketchSize(maxSize) != this.frequencies.length()) {
+                this.frequencies = new AtomicLongArray(sketchSize(maxSize));
+                this.sampleCount.set(0);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
     }
 
     /**
@@ -65,7 +117,14 @@ public void setMaxSize(int maxSize) {
      * If the EJBQL has not been cached, null is returned.
      */
     public Object get(Object key) {
-        return this.cache.get(key);
+        Object value = this.cache.get(key);
+        if (value == null) {
+            this.missCount.increment();
+        } else {
+            this.hitCount.increment();
+        }
+        recordAccess(key);
+        return value;
     }
 
     public void clear(){
@@ -74,31 +133,122 @@ public void clear(){
 
     /**
      * Add the value to the cache.
-     * Remove the
+     * If the cache has grown past its max size, the least frequently used keys are removed,
+     * other than the key just put.
      */
     public void put(Object key, Object value) {
         if (this.maxSize == 0) {
             return;
         }
         this.cache.put(key, value);
-        // Currently just removes the first one encountered, not LRU,
-        // this is not ideal, but the most concurrent and quickest way to ensure fixed size.
         if (this.cache.size() > this.maxSize) {
+            evict(key);
+        }
+    }
+
+    /**
+     * Remove the least frequently used keys, down to a tenth under the max size.
+     * The frequencies are counted in a first pass over the keys, to find the highest frequency to evict,
+     * so no ordering of the keys is required.
+     * If another thread is evicting the cache is left to it.
+     */
+    protected void evict(Object newKey) {
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int toEvict = this.cache.size() - this.maxSize;
+            if (toEvict <= 0) {
+                return;
+            }
+            toEvict = toEvict + (this.maxSize / 10);
+            int[] counts = new int[MAX_FREQUENCY + 1];
+            for (Object key : this.cache.keySet()) {
+                counts[frequency(key)]++;
+            }
+            // Keys below the threshold are all evicted, keys at the threshold until enough are evicted.
+            int threshold = 0;
+            int belowThreshold = 0;
+            while ((threshold < MAX_FREQUENCY) && ((belowThreshold + counts[threshold]) < toEvict)) {
+                belowThreshold = belowThreshold + counts[threshold];
+                threshold++;
+            }
+            int atThreshold = toEvict - belowThreshold;
             Iterator iterator = this.cache.keySet().iterator();
+            while ((toEvict > 0) && iterator.hasNext()) {
+                Object key = iterator.next();
+                // Do not remove what was just put in.
+                if (key.equals(newKey)) {
+                    continue;
+                }
+                int frequency = frequency(key);
+                if ((frequency < threshold) || ((frequency == threshold) && (atThreshold-- > 0))) {
+                    iterator.remove();
+                    this.evictionCount.increment();
+                    toEvict--;
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Record the access of the key in the frequency sketch.
+     * Increments are not retried if they lose a race, the frequencies are only approximate.
+     * The counts are halved after ten accesses per long of counters, so old accesses lose their weight.
+     */
+    protected void recordAccess(Object key) {
+        AtomicLongArray frequencies = this.frequencies;
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            int index = indexOf(hash, SEEDS[depth], frequencies.length());
+            int offset = (start + depth) << 2;
+            long word = frequencies.get(index);
+            if (((word >>> offset) & MAX_FREQUENCY) < MAX_FREQUENCY) {
+                frequencies.compareAndSet(index, word, word + (1L << offset));
+            }
+        }
+        if ((this.sampleCount.incrementAndGet() >= (frequencies.length() * 10)) && this.evictionLock.tryLock()) {
             try {
-                while ((this.cache.size() > this.maxSize) && iterator.hasNext()) {
-                    Object next = iterator.next();
-                    // Do not remove what was just put in.
-                    if (next != key) {
-                        this.cache.remove(next);
-                    }
+                this.sampleCount.set(0);
+                for (int index = 0; index < frequencies.length(); index++) {
+                    frequencies.set(index, (frequencies.get(index) >>> 1) & 0x7777777777777777L);
                 }
-            } catch (Exception alreadyGone) {
-                // Ignore.
+            } finally {
+                this.evictionLock.unlock();
             }
         }
     }
 
+    /**
+     * Return the estimated access frequency of the key, the minimum of its counters.
+     */
+    protected int frequency(Object key) {
+        AtomicLongArray frequencies = this.frequencies;
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int depth = 0; depth < SEEDS.length; depth++) {
+            int offset = (start + depth) << 2;
+            long word = frequencies.get(indexOf(hash, SEEDS[depth], frequencies.length()));
+            frequency = Math.min(frequency, (int)((word >>> offset) & MAX_FREQUENCY));
+        }
+        return frequency;
+    }
+
+    protected static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    protected static int indexOf(int hash, int seed, int length) {
+        int index = (hash + seed) * seed;
+        index = index + (index >>> 16);
+        return index & (length - 1);
+    }
+
     /**
      * Remove from cache.
      */
@@ -112,4 +262,43 @@ public void remove(Object key) {
     public Map getCache() {
         return cache;
     }
+
+    /**
+     * Return the number of gets that found a value.
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * Return the number of gets that did not find a value.
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Return the ratio of gets that found a value, or 0 if there were no gets.
+     */
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return (total == 0) ? 0 : ((double)hits / total);
+    }
+
+    /**
+     * Return the number of keys removed to keep the cache within its max size.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    /**
+     * Reset the hit, miss and eviction statistics.
+     */
+    public void resetStatistics() {
+        this.hitCount.reset();
+        this.missCount.reset();
+        this.evictionCount.reset();
+    }
 }
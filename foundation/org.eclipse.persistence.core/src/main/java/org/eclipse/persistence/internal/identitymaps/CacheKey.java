@@ -604,17 +604,20 @@ public void setTransactionId(Object transactionId) {
         this.transactionId = transactionId;
     }
 
-    public synchronized Object waitForObject(){
+    public Object waitForObject(){
+        this.instanceLock.lock();
         try {
             int count = 0;
             while (this.object == null && isAcquired()) {
                 if (count > MAX_WAIT_TRIES)
                     throw ConcurrencyException.maxTriesLockOnBuildObjectExceded(getActiveThread(), Thread.currentThread());
-                wait(10);
+                await(getLockReleasedCondition(), 10);
                 ++count;
             }
         } catch(InterruptedException ex) {
             //ignore as the loop is broken
+        } finally {
+            this.instanceLock.unlock();
         }
         return this.object;
     }
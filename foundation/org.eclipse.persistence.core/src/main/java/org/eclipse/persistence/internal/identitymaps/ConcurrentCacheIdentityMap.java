@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+
+/**
+ * <p><b>Purpose</b>: A fixed size LRU cache that does not lock on reads.<p>
+ * Like the CacheIdentityMap a linked list is used to maintain the LRU order,
+ * but accesses are not applied to the list immediately.
+ * A get records the accessed key in one of several striped, lossy buffers (selected by thread),
+ * and new keys are recorded in a write buffer.
+ * The buffers are drained into the linked list under the eviction lock,
+ * by whichever thread fills a buffer or inserts a key and finds the lock free.
+ * Reads never wait on the lock, an access that does not fit in a full buffer is dropped,
+ * which only makes the LRU order approximate.
+ * <p><b>Responsibilities</b>:<ul>
+ *    <li> Guarantees identity through primary key values
+ *    <li> Keeps the LRU linked list updated from the access buffers.
+ *    <li> Records hit, miss and eviction statistics.
+ * </ul>
+ * @see CacheIdentityMap
+ */
+public class ConcurrentCacheIdentityMap extends FullIdentityMap {
+
+    /** Number of accesses recorded by a buffer before it is drained. */
+    protected static final int READ_BUFFER_SIZE = 32;
+
+    /** Number of read buffers, a power of two so a thread can be mapped to a buffer by masking. */
+    protected static final int READ_BUFFERS = Integer.highestOneBit((Math.min(64, Runtime.getRuntime().availableProcessors() * 2) - 1) << 1);
+
+    /** Provide handles on the linked list, guarded by the eviction lock. */
+    protected LinkedCacheKey first;
+
+    /** Provide handles on the linked list, guarded by the eviction lock. */
+    protected LinkedCacheKey last;
+
+    /** Guards the linked list and draining of the buffers. */
+    protected ReentrantLock evictionLock;
+
+    /** Striped buffers of accessed keys. */
+    protected AtomicReferenceArray<LinkedCacheKey>[] readBuffers;
+
+    /** Number of accesses recorded into each read buffer since it was last drained. */
+    protected AtomicInteger[] readBufferCounts;
+
+    /** Keys that were added to the map but not yet to the linked list. */
+    protected Queue<LinkedCacheKey> writeBuffer;
+
+    protected LongAdder hitCount;
+    protected LongAdder missCount;
+    protected LongAdder evictionCount;
+
+    public ConcurrentCacheIdentityMap(int size, ClassDescriptor descriptor, AbstractSession session, boolean isolated) {
+        super(size, descriptor, session, isolated);
+        initialize();
+    }
+
+    /**
+     * Initialize the linked list, buffers and statistics.
+     */
+    @SuppressWarnings({"unchecked"})
+    protected void initialize() {
+        this.first = new LinkedCacheKey(CacheId.EMPTY, null, null, 0, isIsolated);
+        this.last = new LinkedCacheKey(CacheId.EMPTY, null, null, 0, isIsolated);
+        this.first.setNext(this.last);
+        this.last.setPrevious(this.first);
+        this.evictionLock = new ReentrantLock();
+        this.readBuffers = new AtomicReferenceArray[READ_BUFFERS];
+        this.readBufferCounts = new AtomicInteger[READ_BUFFERS];
+        for (int index = 0; index < READ_BUFFERS; index++) {
+            this.readBuffers[index] = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+            this.readBufferCounts[index] = new AtomicInteger();
+        }
+        this.writeBuffer = new ConcurrentLinkedQueue<>();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+    }
+
+    /**
+     * INTERNAL:
+     * Clones itself, the clone has its own linked list in the order of the cloned keys.
+     */
+    @Override
+    public Object clone() {
+        ConcurrentCacheIdentityMap clone = (ConcurrentCacheIdentityMap)super.clone();
+        clone.initialize();
+        for (CacheKey key : clone.getCacheKeys().values()) {
+            clone.insertLink((LinkedCacheKey)key);
+        }
+        return clone;
+    }
+
+    @Override
+    public CacheKey createCacheKey(Object primaryKey, Object object, Object writeLockValue, long readTime) {
+        return new LinkedCacheKey(primaryKey, object, writeLockValue, readTime, isIsolated);
+    }
+
+    /**
+     * Access the object within the table for the given primaryKey.
+     * The access is recorded in a read buffer, and applied to the LRU linked list when the buffer is drained.
+     * @param primaryKey is the primary key for the object to search for.
+     * @return the LinkedCacheKey or null if none found for primaryKey
+     */
+    @Override
+    public CacheKey getCacheKey(Object primaryKey, boolean forMerge) {
+        LinkedCacheKey cacheKey = (LinkedCacheKey)super.getCacheKey(primaryKey, forMerge);
+        if (cacheKey != null) {
+            this.hitCount.increment();
+            recordAccess(cacheKey);
+        } else {
+            this.missCount.increment();
+        }
+        return cacheKey;
+    }
+
+    /**
+     * Record the access to the key in the current thread's read buffer.
+     * The access is dropped if the buffer is full, a thread finding the buffer full tries to drain it.
+     */
+    protected void recordAccess(LinkedCacheKey key) {
+        int index = (int)Thread.currentThread().getId() & (READ_BUFFERS - 1);
+        int count = this.readBufferCounts[index].getAndIncrement();
+        if (count < READ_BUFFER_SIZE) {
+            this.readBuffers[index].lazySet(count, key);
+        }
+        if (count >= READ_BUFFER_SIZE - 1) {
+            tryDrainBuffers();
+        }
+    }
+
+    /**
+     * Drain the buffers if no other thread is doing so.
+     */
+    protected void tryDrainBuffers() {
+        if (this.evictionLock.tryLock()) {
+            try {
+                drainBuffers();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Apply the recorded accesses and additions to the linked list and evict any keys past the maximum size.
+     * Callers of this method must hold the eviction lock.
+     */
+    protected void drainBuffers() {
+        for (int index = 0; index < READ_BUFFERS; index++) {
+            AtomicInteger count = this.readBufferCounts[index];
+            int recorded = Math.min(count.get(), READ_BUFFER_SIZE);
+            if (recorded == 0) {
+                continue;
+            }
+            AtomicReferenceArray<LinkedCacheKey> buffer = this.readBuffers[index];
+            for (int slot = 0; slot < recorded; slot++) {
+                LinkedCacheKey key = buffer.getAndSet(slot, null);
+                // Ignore keys not yet linked or already removed.
+                if ((key != null) && (key.getPrevious() != null)) {
+                    removeLink(key);
+                    insertLink(key);
+                }
+            }
+            count.set(0);
+        }
+        LinkedCacheKey key = this.writeBuffer.poll();
+        while (key != null) {
+            // The key may have been removed before it was linked.
+            if (getCacheKeys().get(key.getKey()) == key) {
+                insertLink(key);
+            }
+            key = this.writeBuffer.poll();
+        }
+        ensureFixedSize();
+    }
+
+    /**
+     * Reduces the size of the receiver down to the maxSize removing objects from the
+     * end of the linked list.
+     * A key locked by another thread is skipped, as waiting for it while holding the
+     * eviction lock could deadlock with the thread holding the key.
+     * Callers of this method must hold the eviction lock.
+     */
+    protected void ensureFixedSize() {
+        // protect the case where someone attempts to break the cache by
+        // setting max size to 0.
+        if (getMaxSize() <= 0) {
+            return;
+        }
+        LinkedCacheKey victim = this.last.getPrevious();
+        while ((getSize() > getMaxSize()) && (victim != this.first)) {
+            LinkedCacheKey previous = victim.getPrevious();
+            if (victim.acquireNoWait()) {
+                getCacheKeys().remove(victim.getKey(), victim);
+                evicted(victim);
+                victim.setOwningMap(null);
+                victim.setInvalidationState(CacheKey.CACHE_KEY_INVALID);
+                victim.release();
+                removeLink(victim);
+                this.evictionCount.increment();
+            }
+            victim = previous;
+        }
+    }
+
+    /**
+     * Called when the key is evicted to keep the map within its maximum size,
+     * while the key is still locked by the evicting thread.
+     * Subclasses may keep the evicted object elsewhere.
+     */
+    protected void evicted(LinkedCacheKey key) {
+    }
+
+    /**
+     * Insert a new element into the linked list of LinkedCacheKeys.
+     * New elements (Recently Used) are added at the start (first).
+     * Callers of this method must hold the eviction lock.
+     * @return the added LinkedCacheKey
+     */
+    protected LinkedCacheKey insertLink(LinkedCacheKey key) {
+        this.first.getNext().setPrevious(key);
+        key.setNext(this.first.getNext());
+        key.setPrevious(this.first);
+        this.first.setNext(key);
+        return key;
+    }
+
+    /**
+     * Remove the LinkedCacheKey from the linked list.
+     * Callers of this method must hold the eviction lock.
+     * @return the removed LinkedCacheKey.
+     */
+    protected LinkedCacheKey removeLink(LinkedCacheKey key) {
+        if (key.getPrevious() == null || key.getNext() == null) {
+            // Not linked yet or already removed.
+            return key;
+        }
+        key.getPrevious().setNext(key.getNext());
+        key.getNext().setPrevious(key.getPrevious());
+        key.setNext(null);
+        key.setPrevious(null);
+        return key;
+    }
+
+    /**
+     * Record the added key in the write buffer.
+     * If the map has grown past its maximum size the buffers are drained,
+     * otherwise only if no other thread is draining them.
+     */
+    @Override
+    protected CacheKey putCacheKeyIfAbsent(CacheKey searchKey) {
+        CacheKey cacheKey = super.putCacheKeyIfAbsent(searchKey);
+        if (cacheKey == null) {
+            this.writeBuffer.add((LinkedCacheKey)searchKey);
+            if ((getMaxSize() > 0) && (getSize() > getMaxSize())) {
+                this.evictionLock.lock();
+                try {
+                    drainBuffers();
+                } finally {
+                    this.evictionLock.unlock();
+                }
+            } else {
+                tryDrainBuffers();
+            }
+        }
+        return cacheKey;
+    }
+
+    /**
+     * Remove the LinkedCacheKey from the cache as well as from the linked list.
+     * @return the object held within the removed LinkedCacheKey.
+     */
+    @Override
+    public Object remove(CacheKey key) {
+        // The key may be null if was missing, just null should be returned in this case.
+        if (key == null) {
+            return null;
+        }
+        // The key is locked when removed from the map, so must be removed before taking the eviction lock.
+        Object object = super.remove(key);
+        this.evictionLock.lock();
+        try {
+            removeLink((LinkedCacheKey)key);
+        } finally {
+            this.evictionLock.unlock();
+        }
+        return object;
+    }
+
+    /**
+     * INTERNAL:
+     * This method will be used to update the max cache size, any objects exceeding the max cache size will
+     * be removed from the cache.
+     */
+    @Override
+    public void updateMaxSize(int maxSize) {
+        this.evictionLock.lock();
+        try {
+            setMaxSize(maxSize);
+            drainBuffers();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of lookups that found a cache key.
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * Return the number of lookups that did not find a cache key.
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Return the ratio of lookups that found a cache key, or 0 if there were no lookups.
+     */
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return (total == 0) ? 0 : ((double)hits / total);
+    }
+
+    /**
+     * Return the number of cache keys removed to keep the map within its maximum size.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    /**
+     * Reset the hit, miss and eviction statistics.
+     */
+    public void resetStatistics() {
+        this.hitCount.reset();
+        this.missCount.reset();
+        this.evictionCount.reset();
+    }
+}
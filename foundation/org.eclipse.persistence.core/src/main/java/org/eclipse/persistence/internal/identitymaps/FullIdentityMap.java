@@ -46,7 +46,22 @@ public FullIdentityMap() {
 
     public FullIdentityMap(int size, ClassDescriptor descriptor, AbstractSession session, boolean isolated) {
         super(size, descriptor, session, isolated);
-        this.cacheKeys = new ConcurrentHashMap(size);
+        this.cacheKeys = buildCacheKeys(size);
+    }
+
+    /**
+     * Build the map to store the CacheKeys.
+     * PERF: A LongCacheKeyMap is used if the descriptor has a single Long or Integer primary key
+     * and its cache policy is set to use primitive cache keys.
+     */
+    protected Map<Object, CacheKey> buildCacheKeys(int size) {
+        if ((this.descriptor != null) && this.descriptor.getCachePolicy().shouldUsePrimitiveCacheKeys()) {
+            Class<?> keyClass = LongCacheKeyMap.getKeyClass(this.descriptor);
+            if (keyClass != null) {
+                return new LongCacheKeyMap(size, keyClass);
+            }
+        }
+        return new ConcurrentHashMap(size);
     }
 
     /**
@@ -56,7 +71,7 @@ public FullIdentityMap(int size, ClassDescriptor descriptor, AbstractSession ses
     @Override
     public Object clone() {
         FullIdentityMap clone = (FullIdentityMap)super.clone();
-        clone.setCacheKeys(new ConcurrentHashMap(this.cacheKeys.size()));
+        clone.setCacheKeys(clone.buildCacheKeys(this.cacheKeys.size()));
 
         for (Iterator<CacheKey> cacheKeysIterator = this.cacheKeys.values().iterator(); cacheKeysIterator.hasNext();) {
             CacheKey key = (CacheKey) cacheKeysIterator.next().clone();
@@ -24,6 +24,7 @@
 import java.io.Serializable;
 import java.io.StringWriter;
 import java.lang.reflect.Constructor;
+import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -57,6 +58,8 @@
 import org.eclipse.persistence.internal.security.PrivilegedAccessHelper;
 import org.eclipse.persistence.internal.sessions.AbstractRecord;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.queries.InMemoryQueryIndirectionPolicy;
@@ -88,6 +91,9 @@ public class IdentityMapManager implements Serializable, Cloneable {
     /** A map of class to list of queries that need to be invalidated when that class changes. */
     protected Map<Class<?>, Set> queryResultsInvalidationsByClass;
 
+    /** A map of query to the dependencies used to only invalidate the query results affected by a change. */
+    protected Map<Object, QueryResultsDependency> queryResultsDependencies;
+
     /** A map of indexes on the cache. */
     protected Map<CacheIndex, IdentityMap> cacheIndexes;
 
@@ -119,11 +125,13 @@ public IdentityMapManager(AbstractSession session) {
             this.identityMaps = new HashMap();
             this.queryResults = new HashMap();
             this.queryResultsInvalidationsByClass = new HashMap();
+            this.queryResultsDependencies = new HashMap();
             this.cacheIndexes = new HashMap();
         } else {
             this.identityMaps = new ConcurrentHashMap();
             this.queryResults = new ConcurrentHashMap();
             this.queryResultsInvalidationsByClass = new ConcurrentHashMap();
+            this.queryResultsDependencies = new ConcurrentHashMap();
             this.cacheIndexes = new ConcurrentHashMap();
         }
         checkIsCacheAccessPreCheckRequired();
@@ -389,6 +397,10 @@ protected <T extends IdentityMap> IdentityMap buildNewIdentityMap(
                 return new FullIdentityMap(size, descriptor, this.session, isIsolated);
             } else if (identityMapClass == ClassConstants.CacheIdentityMap_Class) {
                 return new CacheIdentityMap(size, descriptor, this.session, isIsolated);
+            } else if (identityMapClass == ClassConstants.ConcurrentCacheIdentityMap_Class) {
+                return new ConcurrentCacheIdentityMap(size, descriptor, this.session, isIsolated);
+            } else if (identityMapClass == ClassConstants.OffHeapCacheIdentityMap_Class) {
+                return new OffHeapCacheIdentityMap(size, descriptor, this.session, isIsolated);
             }
         }
         final Class<?>[] parameters = new Class<?>[]{ClassConstants.PINT, ClassDescriptor.class, AbstractSession.class, boolean.class};
@@ -448,6 +460,7 @@ public Object clone() {
     public void clearQueryCache() {
         this.queryResults = new ConcurrentHashMap();
         this.queryResultsInvalidationsByClass = new ConcurrentHashMap();
+        this.queryResultsDependencies = new ConcurrentHashMap();
     }
 
     /**
@@ -470,6 +483,7 @@ public void clearQueryCache(ReadQuery query) {
                 queryKey = query;
             }
             this.queryResults.remove(queryKey);
+            this.queryResultsDependencies.remove(queryKey);
         }
     }
 
@@ -493,6 +507,65 @@ public void invalidateQueryCache(Class<?> classThatChanged) {
         }
     }
 
+    /**
+     * Invalidate/remove the results for the class from the query cache that the committed changes could affect.
+     * The results of queries with dependencies are only removed if the changes to the class could affect them,
+     * the results of any other query of the class are removed.
+     * @see QueryResultsDependency
+     */
+    public void invalidateQueryCache(Class<?> classThatChanged, UnitOfWorkChangeSet changeSet) {
+        if ((this.queryResultsDependencies == null) || this.queryResultsDependencies.isEmpty() || (changeSet == null)) {
+            invalidateQueryCache(classThatChanged);
+            return;
+        }
+        Map<ObjectChangeSet, ObjectChangeSet> changes = changeSet.getObjectChanges().get(classThatChanged);
+        if (changes != null) {
+            for (ObjectChangeSet deleted : changeSet.getDeletedObjects().keySet()) {
+                if (deleted.getClassType(this.session) == classThatChanged) {
+                    changes = null;
+                    break;
+                }
+            }
+        }
+        invalidateQueryCache(classThatChanged, classThatChanged, (changes == null) ? null : changes.values());
+    }
+
+    /**
+     * Invalidate/remove the results of the queries of the class, or its superclasses,
+     * that the changes could affect, or all the results if the changes are not known.
+     */
+    protected void invalidateQueryCache(Class<?> queryClass, Class<?> classThatChanged, Collection<ObjectChangeSet> changes) {
+        Set invalidations = this.queryResultsInvalidationsByClass.get(queryClass);
+        if (invalidations != null) {
+            for (Object queryKey : invalidations) {
+                IdentityMap results = this.queryResults.get(queryKey);
+                if (results == null) {
+                    continue;
+                }
+                QueryResultsDependency dependency = this.queryResultsDependencies.get(queryKey);
+                boolean isInvalid = (dependency == null) || (changes == null);
+                if (!isInvalid) {
+                    ClassDescriptor descriptor = this.session.getDescriptor(classThatChanged);
+                    for (ObjectChangeSet change : changes) {
+                        Object object = getFromIdentityMap(change.getId(), classThatChanged, false, descriptor);
+                        if (!dependency.invalidate(results, change, classThatChanged, object)) {
+                            isInvalid = true;
+                            break;
+                        }
+                    }
+                }
+                if (isInvalid) {
+                    this.queryResults.remove(queryKey);
+                    this.session.incrementProfile(SessionProfiler.QueryResultsCacheInvalidations);
+                }
+            }
+        }
+        Class<?> superClass = queryClass.getSuperclass();
+        if ((superClass != null) && (superClass != ClassConstants.OBJECT)) {
+            invalidateQueryCache(superClass, classThatChanged, changes);
+        }
+    }
+
     /**
      * Return true if an CacheKey with the primary key is in the map.
      * User API.
@@ -1035,6 +1108,7 @@ public Object getQueryResult(ReadQuery query, List parameters, boolean shouldChe
         }
         IdentityMap map = this.queryResults.get(queryKey);
         if (map == null) {
+            this.session.incrementProfile(SessionProfiler.QueryResultsCacheMisses, query);
             return null;
         }
 
@@ -1047,8 +1121,10 @@ public Object getQueryResult(ReadQuery query, List parameters, boolean shouldChe
 
         CacheKey key = map.getCacheKey(lookupParameters, false);
         if ((key == null) || (shouldCheckExpiry && query.getQueryResultsCachePolicy().getCacheInvalidationPolicy().isInvalidated(key))) {
+            this.session.incrementProfile(SessionProfiler.QueryResultsCacheMisses, query);
             return null;
         }
+        this.session.incrementProfile(SessionProfiler.QueryResultsCacheHits, query);
         return key.getObject();
     }
 
@@ -1406,6 +1482,10 @@ public void putQueryResult(ReadQuery query, List parameters, Object results) {
             if (query.getQueryResultsCachePolicy().isNullIgnored()) {
                 return;
             }
+        } else if ((query.getQueryResultsCachePolicy().getMaximumResultSize() > 0) && (results instanceof Collection)
+                && (((Collection)results).size() > query.getQueryResultsCachePolicy().getMaximumResultSize())) {
+            // Too large to cache.
+            return;
         }
         // PERF: use query name, unless no name.
         Object queryKey = query.getName();
@@ -1423,6 +1503,14 @@ public void putQueryResult(ReadQuery query, List parameters, Object results) {
                         size = 1;
                     }
                     map = buildNewIdentityMap(query.getQueryResultsCachePolicy().getCacheType(), size, null, false);
+                    if (query.getQueryResultsCachePolicy().getInvalidateOnlyAffectedResults()) {
+                        QueryResultsDependency dependency = QueryResultsDependency.buildDependency(query);
+                        if (dependency != null) {
+                            this.queryResultsDependencies.put(queryKey, dependency);
+                        } else {
+                            this.queryResultsDependencies.remove(queryKey);
+                        }
+                    }
                     this.queryResults.put(queryKey, map);
                     // Mark the query to be invalidated for the query classes.
                     if (query.getQueryResultsCachePolicy().getInvalidateOnChange()) {
@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.persistence.annotations.CacheKeyType;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.helper.ClassConstants;
+
+/**
+ * <p><b>Purpose</b>: Map of CacheKeys for a single Long or Integer primary key.<p>
+ * Keys of the primary key's class are stored by their long value in an open addressing
+ * table with linear probing, other keys are stored in a ConcurrentHashMap,
+ * so as with a ConcurrentHashMap a Long and an Integer key of the same value are different keys.
+ * Compared to a ConcurrentHashMap no entry object is allocated per key and a lookup
+ * compares primitive longs in adjacent slots instead of calling equals on boxed keys.
+ * <p>
+ * Lookups do not lock, updates are done under a single lock,
+ * so it is only used if the cache policy is set to use primitive cache keys.
+ * A slot is assigned to a key once per table, removing a key leaves a tombstone
+ * that is reused if the key is added again, the table is rebuilt once a quarter of it are tombstones.
+ * @see FullIdentityMap
+ * @see org.eclipse.persistence.descriptors.CachePolicy#setShouldUsePrimitiveCacheKeys(boolean)
+ */
+public class LongCacheKeyMap extends AbstractMap<Object, CacheKey> implements ConcurrentMap<Object, CacheKey> {
+
+    /** Marks the slot of a removed key. */
+    protected static final CacheKey REMOVED = new CacheKey(null);
+
+    protected static final int MINIMUM_CAPACITY = 16;
+
+    /**
+     * A table is replaced rather than modified when resized,
+     * so a lookup can continue on the table it started with.
+     */
+    protected static final class Table {
+        protected final long[] keys;
+        protected final AtomicReferenceArray<CacheKey> values;
+        protected final int mask;
+        /** Number of slots assigned to a key, including removed keys. */
+        protected int used;
+
+        protected Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+    }
+
+    protected volatile Table table;
+
+    /** Number of keys in the table, guarded by the lock. */
+    protected volatile int size;
+
+    /** Keys that are not of the key class. */
+    protected final ConcurrentMap<Object, CacheKey> otherKeys;
+
+    /** Long or Integer, the class of the keys stored in the table. */
+    protected final Class<?> keyClass;
+
+    protected final ReentrantLock lock;
+
+    public LongCacheKeyMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public LongCacheKeyMap(int size) {
+        this(size, ClassConstants.LONG);
+    }
+
+    public LongCacheKeyMap(int size, Class<?> keyClass) {
+        if ((keyClass != ClassConstants.LONG) && (keyClass != ClassConstants.INTEGER)) {
+            throw new IllegalArgumentException(String.valueOf(keyClass));
+        }
+        this.table = new Table(capacityFor(size));
+        this.otherKeys = new ConcurrentHashMap<>();
+        this.keyClass = keyClass;
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Return the class of the descriptor's cache keys if they are the value of a single Long or Integer primary key,
+     * otherwise null.
+     */
+    public static Class<?> getKeyClass(ClassDescriptor descriptor) {
+        if ((descriptor == null) || (descriptor.getCachePolicy().getCacheKeyType() != CacheKeyType.ID_VALUE)
+                || (descriptor.getPrimaryKeyFields().size() != 1)) {
+            return null;
+        }
+        List<Class<?>> classifications = descriptor.getObjectBuilder().getPrimaryKeyClassifications();
+        Class<?> type = classifications.isEmpty() ? null : classifications.get(0);
+        if ((type == ClassConstants.LONG) || (type == ClassConstants.INTEGER)) {
+            return type;
+        }
+        return null;
+    }
+
+    /**
+     * Return if the descriptor's cache keys are the value of a single Long or Integer primary key.
+     */
+    public static boolean isSupported(ClassDescriptor descriptor) {
+        return getKeyClass(descriptor) != null;
+    }
+
+    /**
+     * Return the class of the keys stored in the table.
+     */
+    public Class<?> getKeyClass() {
+        return this.keyClass;
+    }
+
+    /**
+     * Return if the key is stored by its long value.
+     */
+    protected boolean isLongKey(Object key) {
+        return (key != null) && (key.getClass() == this.keyClass);
+    }
+
+    /**
+     * Return the key of the key class for the long value.
+     */
+    protected Object box(long key) {
+        if (this.keyClass == ClassConstants.INTEGER) {
+            return Integer.valueOf((int)key);
+        }
+        return Long.valueOf(key);
+    }
+
+    /**
+     * Return a power of two table capacity that keeps the load under a half for the size.
+     */
+    protected static int capacityFor(int size) {
+        int capacity = MINIMUM_CAPACITY;
+        while ((capacity < (1 << 30)) && (capacity < size * 2)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Spread the key's bits, as sequential ids would otherwise fill adjacent slots.
+     */
+    protected static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int)(hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Return the cache key for the primitive key, or null.
+     */
+    public CacheKey get(long key) {
+        Table table = this.table;
+        int index = hash(key) & table.mask;
+        while (true) {
+            CacheKey value = table.values.get(index);
+            if (value == null) {
+                return null;
+            }
+            // The key is written before the value is set, so is visible once the value is.
+            if (table.keys[index] == key) {
+                return (value == REMOVED) ? null : value;
+            }
+            index = (index + 1) & table.mask;
+        }
+    }
+
+    @Override
+    public CacheKey get(Object key) {
+        if (isLongKey(key)) {
+            return get(((Number)key).longValue());
+        } else if (key == null) {
+            return null;
+        }
+        return this.otherKeys.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public CacheKey putIfAbsent(Object key, CacheKey value) {
+        if (!isLongKey(key)) {
+            return this.otherKeys.putIfAbsent(key, value);
+        }
+        return put(((Number)key).longValue(), value, true);
+    }
+
+    @Override
+    public CacheKey put(Object key, CacheKey value) {
+        if (!isLongKey(key)) {
+            return this.otherKeys.put(key, value);
+        }
+        return put(((Number)key).longValue(), value, false);
+    }
+
+    /**
+     * Add the cache key, replacing any existing cache key unless only if absent.
+     * Return the existing cache key.
+     */
+    protected CacheKey put(long key, CacheKey value, boolean onlyIfAbsent) {
+        this.lock.lock();
+        try {
+            Table table = this.table;
+            int index = hash(key) & table.mask;
+            while (true) {
+                CacheKey existing = table.values.get(index);
+                if (existing == null) {
+                    if ((table.used + 1) * 3 > (table.mask + 1) * 2) {
+                        table = rebuild(this.size + 1);
+                        index = hash(key) & table.mask;
+                        continue;
+                    }
+                    table.keys[index] = key;
+                    table.values.set(index, value);
+                    table.used++;
+                    this.size++;
+                    return null;
+                }
+                if (table.keys[index] == key) {
+                    if (existing == REMOVED) {
+                        table.values.set(index, value);
+                        this.size++;
+                        return null;
+                    }
+                    if (!onlyIfAbsent) {
+                        table.values.set(index, value);
+                    }
+                    return existing;
+                }
+                index = (index + 1) & table.mask;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Copy the keys into a new table sized for the number of keys, dropping removed keys.
+     * Callers of this method must hold the lock.
+     */
+    protected Table rebuild(int size) {
+        Table oldTable = this.table;
+        Table newTable = new Table(capacityFor(size));
+        for (int oldIndex = 0; oldIndex <= oldTable.mask; oldIndex++) {
+            CacheKey value = oldTable.values.get(oldIndex);
+            if ((value != null) && (value != REMOVED)) {
+                long key = oldTable.keys[oldIndex];
+                int index = hash(key) & newTable.mask;
+                while (newTable.values.get(index) != null) {
+                    index = (index + 1) & newTable.mask;
+                }
+                newTable.keys[index] = key;
+                newTable.values.set(index, value);
+                newTable.used++;
+            }
+        }
+        this.table = newTable;
+        return newTable;
+    }
+
+    @Override
+    public CacheKey remove(Object key) {
+        if (!isLongKey(key)) {
+            return (key == null) ? null : this.otherKeys.remove(key);
+        }
+        return remove(((Number)key).longValue(), null);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (!isLongKey(key)) {
+            return (key != null) && (value != null) && this.otherKeys.remove(key, value);
+        }
+        return (value != null) && (remove(((Number)key).longValue(), value) != null);
+    }
+
+    /**
+     * Remove the cache key, if the given value is not null only if mapped to the value.
+     * Return the removed cache key.
+     */
+    protected CacheKey remove(long key, Object value) {
+        this.lock.lock();
+        try {
+            Table table = this.table;
+            int index = hash(key) & table.mask;
+            while (true) {
+                CacheKey existing = table.values.get(index);
+                if (existing == null) {
+                    return null;
+                }
+                if (table.keys[index] == key) {
+                    if ((existing == REMOVED) || ((value != null) && (value != existing))) {
+                        return null;
+                    }
+                    table.values.set(index, REMOVED);
+                    this.size--;
+                    // Slots are not reused for other keys, so drop the tombstones with a new table.
+                    if ((table.used - this.size) * 4 > table.mask + 1) {
+                        rebuild(this.size);
+                    }
+                    return existing;
+                }
+                index = (index + 1) & table.mask;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(Object key, CacheKey oldValue, CacheKey newValue) {
+        this.lock.lock();
+        try {
+            if (get(key) != oldValue) {
+                return false;
+            }
+            put(key, newValue);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheKey replace(Object key, CacheKey value) {
+        this.lock.lock();
+        try {
+            if (get(key) == null) {
+                return null;
+            }
+            return put(key, value);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.table = new Table(MINIMUM_CAPACITY);
+            this.size = 0;
+            this.otherKeys.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size + this.otherKeys.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * The entries are weakly consistent, as with a ConcurrentHashMap.
+     */
+    @Override
+    public Set<Map.Entry<Object, CacheKey>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, CacheKey>>() {
+            @Override
+            public Iterator<Map.Entry<Object, CacheKey>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return LongCacheKeyMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the table it started with, then the other keys.
+     */
+    protected class EntryIterator implements Iterator<Map.Entry<Object, CacheKey>> {
+        protected final Table table = LongCacheKeyMap.this.table;
+        protected final Iterator<Map.Entry<Object, CacheKey>> otherEntries = otherKeys.entrySet().iterator();
+        protected int index;
+        protected Map.Entry<Object, CacheKey> next;
+        protected Map.Entry<Object, CacheKey> last;
+        protected boolean isNextInOtherKeys;
+        protected boolean isLastInOtherKeys;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null) {
+                if (this.index <= this.table.mask) {
+                    CacheKey value = this.table.values.get(this.index);
+                    if ((value != null) && (value != REMOVED)) {
+                        this.next = new SimpleImmutableEntry<>(box(this.table.keys[this.index]), value);
+                    }
+                    this.index++;
+                } else if (this.otherEntries.hasNext()) {
+                    this.isNextInOtherKeys = true;
+                    this.next = this.otherEntries.next();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Object, CacheKey> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.isLastInOtherKeys = this.isNextInOtherKeys;
+            this.next = null;
+            return this.last;
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException();
+            }
+            if (this.isLastInOtherKeys) {
+                this.otherEntries.remove();
+            } else {
+                LongCacheKeyMap.this.remove(((Number)this.last.getKey()).longValue(), this.last.getValue());
+            }
+            this.last = null;
+        }
+    }
+}
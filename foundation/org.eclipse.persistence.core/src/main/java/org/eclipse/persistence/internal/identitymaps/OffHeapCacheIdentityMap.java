@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.eclipse.persistence.sessions.serializers.Serializer;
+
+/**
+ * <p><b>Purpose</b>: A fixed size LRU cache backed by a second tier of serialized objects stored off the Java heap.<p>
+ * Objects evicted from the LRU cache are serialized with the descriptor's off-heap serializer
+ * into an {@link OffHeapStore}. A lookup that misses the LRU cache checks the off-heap store,
+ * and the deserialized object is promoted back into the LRU cache with its original read time and write lock value.
+ * Promoted objects that have expired according to the descriptor's CacheInvalidationPolicy are dropped.
+ * <p>
+ * Only objects of descriptors without relationship mappings are stored off-heap,
+ * as a deserialized copy of a related object would not be the cached instance.
+ * Enumerating the keys or elements of the map only returns the objects in the LRU cache.
+ * <p><b>Responsibilities</b>:<ul>
+ *    <li> Guarantees identity through primary key values
+ *    <li> Moves objects between the LRU cache and the off-heap store.
+ * </ul>
+ * @see org.eclipse.persistence.descriptors.ClassDescriptor#useOffHeapCacheIdentityMap()
+ * @see org.eclipse.persistence.descriptors.CachePolicy#setOffHeapCacheSize(long)
+ */
+public class OffHeapCacheIdentityMap extends ConcurrentCacheIdentityMap {
+
+    /** Holds the serialized objects evicted from the LRU cache. */
+    protected OffHeapStore offHeapStore;
+
+    /** Serializes the objects stored off-heap. */
+    protected Serializer serializer;
+
+    /** If the descriptor's objects can be stored off-heap. */
+    protected boolean canStoreOffHeap;
+
+    protected LongAdder offHeapHitCount;
+    protected LongAdder offHeapStoreCount;
+
+    public OffHeapCacheIdentityMap(int size, ClassDescriptor descriptor, AbstractSession session, boolean isolated) {
+        this(size, descriptor, session, isolated,
+                (descriptor == null) ? 0 : descriptor.getCachePolicy().getOffHeapCacheSize(),
+                (descriptor == null) ? null : descriptor.getCachePolicy().getOffHeapSerializer());
+    }
+
+    public OffHeapCacheIdentityMap(int size, ClassDescriptor descriptor, AbstractSession session, boolean isolated, long offHeapSize, Serializer serializer) {
+        super(size, descriptor, session, isolated);
+        this.offHeapStore = new OffHeapStore(offHeapSize);
+        this.serializer = (serializer == null) ? JavaSerializer.instance : serializer;
+        this.canStoreOffHeap = (offHeapSize > 0) && !isolated && ((descriptor == null) || descriptor.getObjectBuilder().isSimple());
+        this.offHeapHitCount = new LongAdder();
+        this.offHeapStoreCount = new LongAdder();
+    }
+
+    /**
+     * INTERNAL:
+     * Clones itself, the clone starts with an empty off-heap store.
+     */
+    @Override
+    public Object clone() {
+        OffHeapCacheIdentityMap clone = (OffHeapCacheIdentityMap)super.clone();
+        clone.offHeapStore = new OffHeapStore((long)this.offHeapStore.slabs.length * this.offHeapStore.slabSize, this.offHeapStore.slabSize);
+        clone.offHeapHitCount = new LongAdder();
+        clone.offHeapStoreCount = new LongAdder();
+        return clone;
+    }
+
+    /**
+     * Access the object within the table for the given primaryKey.
+     * If the key is not in the LRU cache the object is promoted from the off-heap store.
+     * @param primaryKey is the primary key for the object to search for.
+     * @return the LinkedCacheKey or null if none found for primaryKey
+     */
+    @Override
+    public CacheKey getCacheKey(Object primaryKey, boolean forMerge) {
+        CacheKey cacheKey = super.getCacheKey(primaryKey, forMerge);
+        if ((cacheKey == null) && this.canStoreOffHeap && (primaryKey != null)) {
+            cacheKey = promote(primaryKey);
+        }
+        return cacheKey;
+    }
+
+    /**
+     * Move the object for the primary key from the off-heap store into the LRU cache.
+     * Return the cache key, or null if the object is not stored or has expired.
+     */
+    protected CacheKey promote(Object primaryKey) {
+        OffHeapStore.Entry entry = this.offHeapStore.getEntry(primaryKey);
+        if (entry == null) {
+            return null;
+        }
+        byte[] bytes = this.offHeapStore.getBytes(primaryKey, entry);
+        if (bytes == null) {
+            return null;
+        }
+        Object object = null;
+        try {
+            object = deserialize(bytes);
+        } catch (RuntimeException exception) {
+            logFailure(exception);
+        }
+        if (object == null) {
+            this.offHeapStore.remove(primaryKey, entry);
+            return null;
+        }
+        CacheKey newKey = createCacheKey(primaryKey, object, entry.getWriteLockValue(), entry.getReadTime());
+        if ((this.descriptor != null) && this.descriptor.getCacheInvalidationPolicy().isInvalidated(newKey)) {
+            this.offHeapStore.remove(primaryKey, entry);
+            return null;
+        }
+        CacheKey cacheKey = putCacheKeyIfAbsent(newKey);
+        this.offHeapStore.remove(primaryKey, entry);
+        if (cacheKey == null) {
+            // Another thread may have promoted the object first.
+            cacheKey = newKey;
+            this.offHeapHitCount.increment();
+        }
+        return cacheKey;
+    }
+
+    /**
+     * Store the evicted object off-heap, unless it is invalid or has expired.
+     */
+    @Override
+    protected void evicted(LinkedCacheKey key) {
+        Object object = key.getObject();
+        if (!this.canStoreOffHeap || (object == null) || (key.getInvalidationState() == CacheKey.CACHE_KEY_INVALID)
+                || ((this.descriptor != null) && this.descriptor.getCacheInvalidationPolicy().isInvalidated(key))) {
+            return;
+        }
+        try {
+            if (this.offHeapStore.put(key.getKey(), serialize(object), object.getClass(), key.getWriteLockValue(), key.getReadTime())) {
+                this.offHeapStoreCount.increment();
+            }
+        } catch (RuntimeException exception) {
+            logFailure(exception);
+        }
+    }
+
+    /**
+     * Remove any stale off-heap copy of the object being added.
+     */
+    @Override
+    protected CacheKey putCacheKeyIfAbsent(CacheKey searchKey) {
+        CacheKey cacheKey = super.putCacheKeyIfAbsent(searchKey);
+        if ((cacheKey == null) && this.canStoreOffHeap) {
+            this.offHeapStore.remove(searchKey.getKey());
+        }
+        return cacheKey;
+    }
+
+    /**
+     * Remove the LinkedCacheKey from the cache and the off-heap store.
+     * @return the object held within the removed LinkedCacheKey.
+     */
+    @Override
+    public Object remove(CacheKey key) {
+        if (key == null) {
+            return null;
+        }
+        Object object = super.remove(key);
+        this.offHeapStore.remove(key.getKey());
+        return object;
+    }
+
+    /**
+     * Remove the off-heap objects of the class or its subclasses.
+     * Used when the class is invalidated, as off-heap objects have no cache key to invalidate.
+     */
+    public void invalidateOffHeap(Class<?> objectClass) {
+        this.offHeapStore.removeAll(objectClass);
+    }
+
+    protected byte[] serialize(Object object) {
+        Object serialized = this.serializer.serialize(object, this.session);
+        if (serialized instanceof String) {
+            return ((String)serialized).getBytes(StandardCharsets.UTF_8);
+        }
+        return (byte[])serialized;
+    }
+
+    protected Object deserialize(byte[] bytes) {
+        if (this.serializer.getType() == String.class) {
+            return this.serializer.deserialize(new String(bytes, StandardCharsets.UTF_8), this.session);
+        }
+        return this.serializer.deserialize(bytes, this.session);
+    }
+
+    /**
+     * An object that cannot be serialized is only kept in the LRU cache.
+     */
+    protected void logFailure(RuntimeException exception) {
+        if (this.session != null) {
+            this.session.logThrowable(SessionLog.FINER, SessionLog.CACHE, exception);
+        }
+    }
+
+    /**
+     * Return the off-heap store.
+     */
+    public OffHeapStore getOffHeapStore() {
+        return offHeapStore;
+    }
+
+    /**
+     * Return the number of objects in the off-heap store.
+     */
+    public int getOffHeapSize() {
+        return this.offHeapStore.getSize();
+    }
+
+    /**
+     * Return the number of lookups that promoted an object from the off-heap store.
+     */
+    public long getOffHeapHitCount() {
+        return this.offHeapHitCount.sum();
+    }
+
+    /**
+     * Return the number of evicted objects that were stored off-heap.
+     */
+    public long getOffHeapStoreCount() {
+        return this.offHeapStoreCount.sum();
+    }
+
+    /**
+     * Reset the hit, miss and eviction statistics and the off-heap statistics.
+     */
+    @Override
+    public void resetStatistics() {
+        super.resetStatistics();
+        this.offHeapHitCount.reset();
+        this.offHeapStoreCount.reset();
+    }
+}
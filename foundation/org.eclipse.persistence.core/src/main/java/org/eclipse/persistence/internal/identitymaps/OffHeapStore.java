@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p><b>Purpose</b>: Store serialized objects outside of the Java heap.<p>
+ * The bytes are appended to direct ByteBuffer slabs allocated as required up to the capacity.
+ * When the last slab is full the oldest slab is reused, dropping all of the entries it holds,
+ * so the store behaves as a FIFO cache of a fixed number of bytes.
+ * The keys appended to each slab are recorded, so reusing a slab only visits its own entries.
+ * Only the index of entries (key, location, read time and write lock value) is kept on the heap.
+ * <p><b>Responsibilities</b>:<ul>
+ *    <li> Allocate and reuse the slabs.
+ *    <li> Copy entries in and out of the slabs.
+ * </ul>
+ * @see OffHeapCacheIdentityMap
+ */
+public class OffHeapStore {
+
+    /** The largest slab allocated, the capacity is split into slabs of this size. */
+    public static final int DEFAULT_SLAB_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The location of a serialized object in a slab,
+     * and the cache key state needed to rebuild its cache key.
+     */
+    public static class Entry {
+        protected final int slab;
+        protected final int offset;
+        protected final int length;
+        protected final Class<?> objectClass;
+        protected final Object writeLockValue;
+        protected final long readTime;
+
+        protected Entry(int slab, int offset, int length, Class<?> objectClass, Object writeLockValue, long readTime) {
+            this.slab = slab;
+            this.offset = offset;
+            this.length = length;
+            this.objectClass = objectClass;
+            this.writeLockValue = writeLockValue;
+            this.readTime = readTime;
+        }
+
+        public Class<?> getObjectClass() {
+            return objectClass;
+        }
+
+        public Object getWriteLockValue() {
+            return writeLockValue;
+        }
+
+        public long getReadTime() {
+            return readTime;
+        }
+    }
+
+    /** Slabs are allocated lazily, a null slab has not been used yet. */
+    protected final ByteBuffer[] slabs;
+
+    /** The size of each slab. */
+    protected final int slabSize;
+
+    /** The slab currently appended to. */
+    protected int currentSlab;
+
+    /** The keys appended to each slab since it was last reused, a key may be listed more than once. */
+    protected final List<List<Object>> slabKeys;
+
+    /** Index of the stored entries by key. */
+    protected final Map<Object, Entry> entries;
+
+    /** Reads copy from the slabs under the read lock, appending and reusing slabs require the write lock. */
+    protected final ReentrantReadWriteLock lock;
+
+    /**
+     * Create a store of the capacity in bytes.
+     */
+    public OffHeapStore(long capacity) {
+        this(capacity, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * Create a store of the capacity in bytes, split into slabs of at most the slab size.
+     */
+    public OffHeapStore(long capacity, int slabSize) {
+        this.slabSize = (int)Math.max(1, Math.min(capacity, slabSize));
+        this.slabs = new ByteBuffer[(int)Math.max(1, capacity / this.slabSize)];
+        this.slabKeys = new ArrayList<>(this.slabs.length);
+        for (int index = 0; index < this.slabs.length; index++) {
+            this.slabKeys.add(new ArrayList<>());
+        }
+        this.entries = new ConcurrentHashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Store the bytes for the key, replacing any previous entry.
+     * Return false if the bytes do not fit in a slab.
+     */
+    public boolean put(Object key, byte[] bytes, Class<?> objectClass, Object writeLockValue, long readTime) {
+        if (bytes.length > this.slabSize) {
+            this.entries.remove(key);
+            return false;
+        }
+        this.lock.writeLock().lock();
+        try {
+            ByteBuffer slab = this.slabs[this.currentSlab];
+            if ((slab == null) || (slab.remaining() < bytes.length)) {
+                slab = nextSlab();
+            }
+            int offset = slab.position();
+            slab.put(bytes);
+            this.slabKeys.get(this.currentSlab).add(key);
+            this.entries.put(key, new Entry(this.currentSlab, offset, bytes.length, objectClass, writeLockValue, readTime));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Move to the next slab, allocating it or dropping the entries it holds.
+     * Callers of this method must hold the write lock.
+     */
+    protected ByteBuffer nextSlab() {
+        if (this.slabs[this.currentSlab] != null) {
+            this.currentSlab = (this.currentSlab + 1) % this.slabs.length;
+        }
+        ByteBuffer slab = this.slabs[this.currentSlab];
+        if (slab == null) {
+            slab = ByteBuffer.allocateDirect(this.slabSize);
+            this.slabs[this.currentSlab] = slab;
+        } else {
+            // Only drop the entries still stored in the slab, a key may have been stored again in another slab since.
+            List<Object> keys = this.slabKeys.get(this.currentSlab);
+            for (Object key : keys) {
+                Entry entry = this.entries.get(key);
+                if ((entry != null) && (entry.slab == this.currentSlab)) {
+                    this.entries.remove(key, entry);
+                }
+            }
+            keys.clear();
+            slab.clear();
+        }
+        return slab;
+    }
+
+    /**
+     * Return the entry for the key, or null if it is not stored.
+     */
+    public Entry getEntry(Object key) {
+        return this.entries.get(key);
+    }
+
+    /**
+     * Return a copy of the bytes stored for the entry,
+     * or null if the entry was dropped.
+     */
+    public byte[] getBytes(Object key, Entry entry) {
+        this.lock.readLock().lock();
+        try {
+            // The slab may have been reused since the entry was read.
+            if (this.entries.get(key) != entry) {
+                return null;
+            }
+            byte[] bytes = new byte[entry.length];
+            ByteBuffer slab = this.slabs[entry.slab].duplicate();
+            slab.position(entry.offset);
+            slab.get(bytes);
+            return bytes;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the entry for the key.
+     */
+    public Entry remove(Object key) {
+        return this.entries.remove(key);
+    }
+
+    /**
+     * Remove the entry for the key, if it is still the given entry.
+     */
+    public boolean remove(Object key, Entry entry) {
+        return this.entries.remove(key, entry);
+    }
+
+    /**
+     * Remove all of the entries for objects of the class or its subclasses.
+     */
+    public void removeAll(Class<?> objectClass) {
+        this.entries.values().removeIf(entry -> (objectClass == null) || objectClass.isAssignableFrom(entry.objectClass));
+    }
+
+    /**
+     * Remove all of the entries and release the slabs.
+     */
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.entries.clear();
+            for (int index = 0; index < this.slabs.length; index++) {
+                this.slabs[index] = null;
+                this.slabKeys.set(index, new ArrayList<>());
+            }
+            this.currentSlab = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return the number of stored entries.
+     */
+    public int getSize() {
+        return this.entries.size();
+    }
+
+    /**
+     * Return the number of bytes allocated for the slabs.
+     */
+    public long getAllocatedBytes() {
+        this.lock.readLock().lock();
+        try {
+            long allocated = 0;
+            for (ByteBuffer slab : this.slabs) {
+                if (slab != null) {
+                    allocated += slab.capacity();
+                }
+            }
+            return allocated;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+}
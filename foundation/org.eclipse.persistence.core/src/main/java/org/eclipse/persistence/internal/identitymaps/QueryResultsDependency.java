@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.identitymaps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.expressions.Expression;
+import org.eclipse.persistence.expressions.ExpressionBuilder;
+import org.eclipse.persistence.expressions.ExpressionOperator;
+import org.eclipse.persistence.internal.expressions.ArgumentListFunctionExpression;
+import org.eclipse.persistence.internal.expressions.CollectionExpression;
+import org.eclipse.persistence.internal.expressions.ConstantExpression;
+import org.eclipse.persistence.internal.expressions.FunctionExpression;
+import org.eclipse.persistence.internal.expressions.LogicalExpression;
+import org.eclipse.persistence.internal.expressions.ParameterExpression;
+import org.eclipse.persistence.internal.expressions.QueryKeyExpression;
+import org.eclipse.persistence.internal.expressions.RelationExpression;
+import org.eclipse.persistence.internal.helper.InvalidObject;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.queries.ReadQuery;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+
+/**
+ * INTERNAL:
+ * The attributes a query's cached results depend on.
+ * <p>
+ * The cached results of an object query are the shared objects that committed changes are merged into,
+ * so an update to an attribute the query does not select or order by cannot change its results.
+ * An attribute the query compares for equality to a parameter can only change the results cached
+ * for its new value, and the results that already contain the object.
+ * Any other change, or a query the dependencies cannot be determined for,
+ * invalidates all of the query's cached results.
+ *
+ * @see IdentityMapManager#invalidateQueryCache(Class, org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet)
+ */
+public class QueryResultsDependency {
+    /** The query's reference class, changes to the other classes of the query invalidate all of its results. */
+    protected Class<?> referenceClass;
+
+    /** The attributes compared for equality to a parameter, and the index of the parameter. */
+    protected Map<String, Integer> parameterAttributes;
+
+    /** The attributes used by the query in any other way. */
+    protected Set<String> attributes;
+
+    protected QueryResultsDependency(Class<?> referenceClass) {
+        this.referenceClass = referenceClass;
+        this.parameterAttributes = new HashMap<>();
+        this.attributes = new HashSet<>();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the dependencies of the query's cached results,
+     * or null if they cannot be determined.
+     */
+    public static QueryResultsDependency buildDependency(ReadQuery query) {
+        if (!query.isObjectLevelReadQuery() || query.isReportQuery() || query.isCallQuery()
+                || (query.getDescriptor() == null) || (query.getReferenceClass() == null)) {
+            return null;
+        }
+        if (query.isReadObjectQuery() && ((((ReadObjectQuery)query).getSelectionId() != null) || (((ReadObjectQuery)query).getSelectionObject() != null))) {
+            return null;
+        }
+        ClassDescriptor descriptor = query.getDescriptor();
+        if (descriptor.getQueryManager().getAdditionalJoinExpression() != null) {
+            return null;
+        }
+        ObjectLevelReadQuery objectQuery = (ObjectLevelReadQuery)query;
+        QueryResultsDependency dependency = new QueryResultsDependency(query.getReferenceClass());
+        ExpressionBuilder builder = objectQuery.getExpressionBuilder();
+        List<Expression> expressions = new ArrayList<>(objectQuery.getOrderByExpressions());
+        if (objectQuery.hasJoining()) {
+            expressions.addAll(objectQuery.getJoinedAttributeManager().getJoinedAttributeExpressions());
+            expressions.addAll(objectQuery.getJoinedAttributeManager().getJoinedMappingExpressions());
+        }
+        if (objectQuery.hasNonFetchJoinedAttributeExpressions()) {
+            expressions.addAll(objectQuery.getNonFetchJoinAttributeExpressions());
+        }
+        if (!dependency.addDependencies(objectQuery.getSelectionCriteria(), builder, descriptor, query.getArguments(), true)) {
+            return null;
+        }
+        for (Expression expression : expressions) {
+            if (!dependency.addDependencies(expression, builder, descriptor, query.getArguments(), false)) {
+                return null;
+            }
+        }
+        // An attribute also used in another way cannot be limited to its parameter.
+        dependency.parameterAttributes.keySet().removeAll(dependency.attributes);
+        return dependency;
+    }
+
+    /**
+     * INTERNAL:
+     * Record the attributes used by the expression.
+     * Return false if the expression uses something other than the query's attributes, parameters and constants.
+     * An equality comparison of an attribute to a parameter is only recorded as such when it is part of the
+     * top level conjunction of the selection criteria.
+     */
+    protected boolean addDependencies(Expression expression, ExpressionBuilder builder, ClassDescriptor descriptor, List<String> arguments, boolean isConjunct) {
+        if (expression == null) {
+            return true;
+        }
+        Class<?> type = expression.getClass();
+        if (type == LogicalExpression.class) {
+            LogicalExpression logical = (LogicalExpression)expression;
+            boolean isConjunction = isConjunct && (logical.getOperator().getSelector() == ExpressionOperator.And);
+            return addDependencies(logical.getFirstChild(), builder, descriptor, arguments, isConjunction)
+                    && addDependencies(logical.getSecondChild(), builder, descriptor, arguments, isConjunction);
+        } else if (type == RelationExpression.class) {
+            RelationExpression relation = (RelationExpression)expression;
+            if (isConjunct && (relation.getOperator().getSelector() == ExpressionOperator.Equal)
+                    && (addParameterAttribute(relation.getFirstChild(), relation.getSecondChild(), builder, descriptor, arguments)
+                        || addParameterAttribute(relation.getSecondChild(), relation.getFirstChild(), builder, descriptor, arguments))) {
+                return true;
+            }
+            return addDependencies(relation.getFirstChild(), builder, descriptor, arguments, false)
+                    && addDependencies(relation.getSecondChild(), builder, descriptor, arguments, false);
+        } else if (type == QueryKeyExpression.class) {
+            QueryKeyExpression queryKey = (QueryKeyExpression)expression;
+            String name = queryKey.getName();
+            // A query key that is not an attribute cannot be matched to the changed attributes.
+            if ((descriptor.getObjectBuilder().getMappingForAttributeName(name) == null) && (descriptor.getQueryKeyNamed(name) != null)) {
+                return false;
+            }
+            this.attributes.add(name);
+            return addDependencies(queryKey.getBaseExpression(), builder, descriptor, arguments, false);
+        } else if ((type == FunctionExpression.class) || (type == ArgumentListFunctionExpression.class)) {
+            for (Expression child : ((FunctionExpression)expression).getChildren()) {
+                if (!addDependencies(child, builder, descriptor, arguments, false)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (type == CollectionExpression.class) {
+            Object value = ((CollectionExpression)expression).getValue();
+            if (value instanceof Collection) {
+                for (Object element : (Collection)value) {
+                    if (element instanceof Expression) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } else if ((type == ParameterExpression.class) || (type == ConstantExpression.class)) {
+            return true;
+        }
+        // A parallel expression builder joins other objects.
+        return expression == builder;
+    }
+
+    /**
+     * INTERNAL:
+     * Record the direct attribute of the query's objects compared to the parameter.
+     */
+    protected boolean addParameterAttribute(Expression attribute, Expression parameter, ExpressionBuilder builder, ClassDescriptor descriptor, List<String> arguments) {
+        if ((attribute.getClass() != QueryKeyExpression.class) || (parameter.getClass() != ParameterExpression.class)
+                || (((QueryKeyExpression)attribute).getBaseExpression() != builder)) {
+            return false;
+        }
+        String name = ((QueryKeyExpression)attribute).getName();
+        DatabaseMapping mapping = descriptor.getObjectBuilder().getMappingForAttributeName(name);
+        if ((mapping == null) || !mapping.isDirectToFieldMapping()) {
+            return false;
+        }
+        int index = arguments.indexOf(((ParameterExpression)parameter).getField().getName());
+        Integer existing = this.parameterAttributes.get(name);
+        if ((index < 0) || ((existing != null) && (existing != index))) {
+            return false;
+        }
+        this.parameterAttributes.put(name, index);
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Remove the cached results the change to the object could affect.
+     * Return false if all of the cached results must be removed.
+     *
+     * @param results the query's cached results
+     * @param changeSet the committed change
+     * @param changeClass the class of the changed object
+     * @param object the shared object the change was merged into, or null if not known
+     */
+    public boolean invalidate(IdentityMap results, ObjectChangeSet changeSet, Class<?> changeClass, Object object) {
+        if (!this.referenceClass.isAssignableFrom(changeClass) || (changeSet.getSynchronizationType() == ClassDescriptor.INVALIDATE_CHANGED_OBJECTS)) {
+            return false;
+        }
+        Map<Integer, Object> newValues = new HashMap<>();
+        if (changeSet.isNew()) {
+            // A new object may be in the results for any parameters, unless one of its attributes must equal a parameter.
+            if (this.parameterAttributes.isEmpty()) {
+                return false;
+            }
+            for (Map.Entry<String, Integer> entry : this.parameterAttributes.entrySet()) {
+                if (!addNewValue(changeSet, entry.getKey(), entry.getValue(), newValues)) {
+                    return false;
+                }
+            }
+            removeResults(results, newValues, null);
+            return true;
+        }
+        for (String attribute : changeSet.getChangedAttributeNames()) {
+            if (this.attributes.contains(attribute)) {
+                return false;
+            }
+            Integer index = this.parameterAttributes.get(attribute);
+            if ((index != null) && !addNewValue(changeSet, attribute, index, newValues)) {
+                return false;
+            }
+        }
+        if (newValues.isEmpty()) {
+            return true;
+        }
+        if (object == null) {
+            return false;
+        }
+        // The object may leave the results it is in, and join the results for its new values.
+        removeResults(results, newValues, object);
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Record the new value of the attribute compared to the parameter at the index.
+     */
+    protected boolean addNewValue(ObjectChangeSet changeSet, String attribute, Integer index, Map<Integer, Object> newValues) {
+        // The changes are searched as the attribute index is not kept by the change sets from other sessions.
+        for (ChangeRecord record : changeSet.getChanges()) {
+            if (attribute.equals(record.getAttribute())) {
+                if (!(record instanceof DirectToFieldChangeRecord)) {
+                    return false;
+                }
+                newValues.put(index, ((DirectToFieldChangeRecord)record).getNewValue());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * INTERNAL:
+     * Remove the results whose parameters could equal the new values, or that contain the object.
+     */
+    protected void removeResults(IdentityMap results, Map<Integer, Object> newValues, Object object) {
+        for (Enumeration<CacheKey> keys = results.keys(false); keys.hasMoreElements();) {
+            CacheKey key = keys.nextElement();
+            if (matches(key.getKey(), newValues) || ((object != null) && contains(key.getObject(), object))) {
+                results.remove(key);
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the parameters of the cached results could equal the new values.
+     * Values of different types are assumed to be equal, as they may be converted for the comparison.
+     */
+    protected boolean matches(Object parameters, Map<Integer, Object> newValues) {
+        if (!(parameters instanceof CacheId)) {
+            return true;
+        }
+        Object[] values = ((CacheId)parameters).getPrimaryKey();
+        for (Map.Entry<Integer, Object> entry : newValues.entrySet()) {
+            if (entry.getKey() >= values.length) {
+                return true;
+            }
+            Object parameter = values[entry.getKey()];
+            Object value = entry.getValue();
+            if ((parameter != null) && (value != null) && (parameter.getClass() == value.getClass())
+                    && !parameter.getClass().isArray() && !parameter.equals(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the cached result could contain the object.
+     */
+    protected boolean contains(Object result, Object object) {
+        if (result == object) {
+            return true;
+        }
+        if ((result == null) || (result == InvalidObject.instance())) {
+            return false;
+        }
+        if (result instanceof Collection) {
+            for (Object element : (Collection)result) {
+                if (element == object) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        // Assume any other container contains the object.
+        return !this.referenceClass.isInstance(result);
+    }
+}
@@ -113,6 +113,7 @@ public class ExceptionLocalizationResource extends ListResourceBundle {
                                            { "cant_refresh_not_managed_object", "Cannot refresh unmanaged object: {0}." },
                                            { "entity_no_longer_exists_in_db", "Entity no longer exists in the database: {0}." },
                                            { "incorrect_query_for_get_result_list", "You cannot call getResultList() on this query.  It is the incorrect query type." },
+                                           { "async_query_in_transaction", "You cannot call getResultListAsync() in a transaction, the persistence context cannot be used by another thread." },
                                            { "incorrect_query_for_get_result_collection", "You cannot call getResultCollection() on this query.  It is the incorrect query type." },
                                            { "incorrect_query_for_get_single_result", "You cannot call getSingleResult() on this query.  It is the incorrect query type." },
                                            { "incorrect_spq_query_for_execute", "You cannot call execute() on this stored procedure query.  It is the incorrect query type." },
@@ -146,8 +146,10 @@ public class LoggingLocalizationResource extends ListResourceBundle {
         { "received_corrupt_announcement", "Warning: Discovery manager could not process service announcement due to {0} - ignoring announcement" },
         { "missing_converter", "Warning: Cannot convert command {0} due to missing CommandConverter - ignoring command" },
         { "failed_command_propagation", "Error: Failed trying to propagate command to {0} due to {1}" },
+        { "failed_command_batch_propagation", "Error: Failed trying to propagate batch of {0} commands due to {1}" },
         { "exception_thrown_when_attempting_to_close_connection", "Warning: exception thrown when attempting to close connection" },
         { "error_executing_remote_command", "{0} command failed due to: {1}" },
+        { "error_reading_remote_command_socket", "Warning: Closing remote command socket from {0} due to: {1}" },
         { "problem_adding_connection", "Could not add remote connection from {0} due to error: {1}" },
         { "problem_reconnect_to_jms", "Could not reconnect to JMS Topic name {0} due to error: {1}" },
 
@@ -362,6 +364,7 @@ public class LoggingLocalizationResource extends ListResourceBundle {
         { "cannot_weave_virtual_one_to_one", "Class {0} has attribute {1} that uses a OneToOne or ManyToOne mapping on a virtual attribute.  Weaving of these types of mappings is not supported.  Weaving will be disabled for {0}."},
 
         { "overriding_cache_isolation", "Parent Entity {0} has an isolation level of: {1} which is more protective then the subclass {2} with isolation: {3} so the subclass has been set to the isolation level {1}."},
+        { "off_heap_cache_size_ignored", "Entity {0} sets an off-heap cache size of {1} bytes, but uses the identity map {2}. The off-heap cache size is only used by the off-heap cache identity map, objects will not be stored off-heap."},
         { "locking_required_for_database_change_notification", "Entity {0} is not using version locking, but has multiple tables or relationships, and is using Oracle database change notification, changes to relationships or secondary tables may not invalidate the cache."},
 
         { "field_type_set_to_java_lang_string", "The default table generator could not locate or convert a java type ({1}) into a database type for database field ({0}). The generator uses \"java.lang.String\" as default java type for the field." },
@@ -99,6 +99,30 @@ public class ToStringLocalizationResource extends ListResourceBundle {
                                            { "staticweave_commandline_help_message_18of19", "    and output to C:\\\\foo-target.jar:" },
                                            { "staticweave_commandline_help_message_19of19", "    StaticWeave -persistenceinfo C:\\\\foo-containing-persistence-xml.jar -classpath C:\\\\classpath1;C:\\\\classpath2 C:\\\\foo-source.jar C:\\\\foo-target.jar"},
 
+                                           { "staticprecompile_commandline_help_message_1of23", "  Usage: StaticPrecompile [options] source target" },
+                                           { "staticprecompile_commandline_help_message_2of23", "  Options:" },
+                                           { "staticprecompile_commandline_help_message_3of23", "    -classpath classpath" },
+                                           { "staticprecompile_commandline_help_message_4of23", "           Set the user class path.  Use \";\" as delimiter in Windows and \":\" in Unix." },
+                                           { "staticprecompile_commandline_help_message_5of23", "    -persistenceinfo" },
+                                           { "staticprecompile_commandline_help_message_6of23", "           Explicitly identify where META-INF/persistence.xml is stored.  It must be the root of META-INF/persistence.xml." },
+                                           { "staticprecompile_commandline_help_message_7of23", "    -persistencexml" },
+                                           { "staticprecompile_commandline_help_message_8of23", "           Identify the location of the persistence.xml relative to the root of the persistence unit if it is somewhere other that META-INF/persistence.xml" },
+                                           { "staticprecompile_commandline_help_message_9of23", "    -persistenceunit" },
+                                           { "staticprecompile_commandline_help_message_10of23", "           Specify the name of the persistence unit to precompile.  It is required if persistence.xml defines several persistence units." },
+                                           { "staticprecompile_commandline_help_message_11of23", "    -projectclass" },
+                                           { "staticprecompile_commandline_help_message_12of23", "           Specify the fully qualified name of the project class to generate (required)." },
+                                           { "staticprecompile_commandline_help_message_13of23", "    -weave" },
+                                           { "staticprecompile_commandline_help_message_14of23", "           Also statically weave the classes in the source, and output them to the specified location." },
+                                           { "staticprecompile_commandline_help_message_15of23", "    -log" },
+                                           { "staticprecompile_commandline_help_message_16of23", "           Specify logging file." },
+                                           { "staticprecompile_commandline_help_message_17of23", "    -loglevel" },
+                                           { "staticprecompile_commandline_help_message_18of23", "           Specify a literal value for the logging level (OFF,SEVERE,WARNING,INFO,CONFIG,FINE,FINER,FINEST,ALL).  The generated SQL of the named queries is logged at FINE." },
+                                           { "staticprecompile_commandline_help_message_19of23", "    The classpath must contain all the classes necessary to load the classes in the source." },
+                                           { "staticprecompile_commandline_help_message_20of23", "    The source of the project class is generated in the target directory.  To deploy the persistence unit from it, set eclipselink.project-cache to project-class and eclipselink.project-cache.project-class to the project class name." },
+                                           { "staticprecompile_commandline_help_message_21of23", "  Example:" },
+                                           { "staticprecompile_commandline_help_message_22of23", "    To generate the com.acme.AcmeProject project class for the entities contained in C:\\\\foo-source.jar, and output it to C:\\\\generated-sources:" },
+                                           { "staticprecompile_commandline_help_message_23of23", "    StaticPrecompile -projectclass com.acme.AcmeProject -classpath C:\\\\classpath1;C:\\\\classpath2 C:\\\\foo-source.jar C:\\\\generated-sources" },
+
                                            { "sdo_classgenerator_usage_help_1of8", "{0} Usage: org.eclipse.persistence.sdo.helper.{0} [-options]" },
                                            { "sdo_classgenerator_usage_help_2of8", "Options:" },
                                            { "sdo_classgenerator_usage_help_3of8", "    -help                        Prints the help message text" },
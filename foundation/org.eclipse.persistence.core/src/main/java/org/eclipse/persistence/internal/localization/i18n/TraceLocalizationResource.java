@@ -321,17 +321,21 @@ public class TraceLocalizationResource extends ListResourceBundle {
         { "sequencing_afterTransactionCommitted", "local sequencing preallocation is copied to preallocation after transaction commit" },
         { "sequencing_afterTransactionRolledBack", "local sequencing preallocation is discarded after transaction roll back" },
         { "sequencing_preallocation", "sequencing preallocation for {0}: objects: {1} , first: {2}, last: {3}" },
+        { "sequencing_prefetch", "sequencing prefetch for {0}: objects: {1} , first: {2}, last: {3}" },
         { "starting_rcm", "Starting Remote Command Manager {0}" },
         { "stopping_rcm", "Stopping Remote Command Manager {0}" },
         { "initializing_discovery_resources", "Initializing discovery resources - group={0} port={1}" },
         { "sending_announcement", "Sending service announcement..." },
         { "register_local_connection_in_jndi", "Registering local connection in JNDI under name {0}" },
         { "register_local_connection_in_registry", "Registering local connection in RMIRegistry under name {0}" },
+        { "register_local_connection_on_socket", "Listening for remote commands on socket {0}" },
         { "context_props_for_remote_lookup", "Remote context properties: {0}" },
         { "looking_up_remote_conn_in_jndi", "Looking up remote connection in JNDI under name {0} at URL {1}" },
         { "looking_up_remote_conn_in_registry", "Looking up remote connection in RMIRegistry at {0}" },
         { "unable_to_look_up_remote_conn_in_jndi", "Unable to look up remote connection in JNDI under name {0} at URL {1}" },
         { "unable_to_look_up_remote_conn_in_registry", "Unable to look up remote connection in RMIRegistry under name {0}" },
+        { "connecting_to_remote_socket", "Connecting to remote command socket at {0}" },
+        { "unable_to_connect_to_remote_socket", "Unable to connect to remote command socket at {0}" },
         { "converting_to_toplink_command", "Converting {0} to TopLink Command format" },
         { "converting_to_user_command", "Converting {0} from TopLink Command format to user format" },
         { "executing_merge_changeset", "Executing MergeChangeSet command from {0}" },
@@ -341,6 +345,7 @@ public class TraceLocalizationResource extends ListResourceBundle {
         { "sync_propagation", "Propagating command synchronously" },
         { "async_propagation", "Propagating command asynchronously" },
         { "propagate_command_to", "Propagating command {0} to {1}" },
+        { "propagate_command_batch", "Propagating batch of {0} commands, {1} ms after the first command" },
         { "discovery_manager_active", "RCM Discovery Manager active" },
         { "discovery_manager_stopped", "RCM Discovery Manager stopped" },
         { "announcement_sent", "RCM service announcement sent out to cluster" },
@@ -464,6 +469,10 @@ public class TraceLocalizationResource extends ListResourceBundle {
         { "composite_member_begin_call", "Begin {0} on composite member Persistence Unit {1}; state {2}"},
         { "composite_member_end_call", "End {0} on composite member Persistence Unit {1}; state {2}"},
         { "loading_session_xml", "Loading persistence unit from sessions-xml file: {0}, session-name: {1}"},
+        { "project_cache_snapshot_stale", "Ignoring project cache snapshot {0}, it was written by another version or the entity classes have changed."},
+        { "static_precompile_project_class", "Generated project class {0} for persistence unit {1} to {2}."},
+        { "static_precompile_query_sql", "Named query {0} SQL: {1}"},
+        { "static_precompile_query_sql_deferred", "Named query {0} SQL cannot be generated until it is executed: {1}"},
 
         { "default_tables_created", "The table ({0}) is created."},
         { "cannot_create_table", "The table ({0}) could not be created due to exception: {1}" },
@@ -1078,9 +1078,9 @@ public AbstractRecord processDataResults(AbstractRecord row, Cursor cursor, bool
         while (true) {
             AbstractRecord nextRow = null;
             if (forward) {
-                nextRow = cursor.getAccessor().cursorRetrieveNextRow(cursor.getFields(), cursor.getResultSet(), session);
+                nextRow = cursor.getAccessor().cursorRetrieveNextRow(cursor.getFields(), cursor.getFieldsArray(), cursor.getResultSet(), cursor.getResultSetMetaData(), session);
             } else {
-                nextRow = cursor.getAccessor().cursorRetrievePreviousRow(cursor.getFields(), cursor.getResultSet(), session);
+                nextRow = cursor.getAccessor().cursorRetrievePreviousRow(cursor.getFields(), cursor.getFieldsArray(), cursor.getResultSet(), cursor.getResultSetMetaData(), session);
             }
             if (nextRow == null) {
                 break;
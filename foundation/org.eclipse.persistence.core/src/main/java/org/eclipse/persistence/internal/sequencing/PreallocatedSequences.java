@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sequencing;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The preallocated values of a sequence.
+ * A block of consecutive Long values, as allocated by table and native sequences,
+ * is held as a range that values are taken from by an atomic increment.
+ * Other values (such as from a custom or UUID sequence) are held individually.
+ * Values can be concurrently polled without locking.
+ * @see PreallocationHandler
+ */
+class PreallocatedSequences {
+    /** Ranges and individual values, in the order they were allocated. */
+    protected Queue<Object> blocks;
+
+    /** Set while the next block is being fetched in the background. */
+    protected AtomicBoolean isPrefetching;
+
+    public PreallocatedSequences() {
+        this.blocks = new ConcurrentLinkedQueue<>();
+        this.isPrefetching = new AtomicBoolean();
+    }
+
+    /**
+     * Remove and return the next value, or null if there are none.
+     */
+    public Object poll() {
+        Object block = this.blocks.peek();
+        while (block != null) {
+            if (block instanceof Range) {
+                long value = ((Range)block).next.getAndIncrement();
+                if (value <= ((Range)block).last) {
+                    return value;
+                }
+                // Exhausted, ranges are only equal to themselves.
+                this.blocks.remove(block);
+            } else if (this.blocks.remove(block)) {
+                return block;
+            }
+            block = this.blocks.peek();
+        }
+        return null;
+    }
+
+    /**
+     * Add the allocated values, as a range if they are consecutive Long values.
+     */
+    public void addAll(List<?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (isRange(values)) {
+            this.blocks.add(new Range((Long)values.get(0), (Long)values.get(values.size() - 1)));
+        } else {
+            this.blocks.addAll(values);
+        }
+    }
+
+    /**
+     * Return if the values are ascending consecutive Long values.
+     */
+    protected static boolean isRange(List<?> values) {
+        Object first = values.get(0);
+        if (!(first instanceof Long)) {
+            return false;
+        }
+        long expected = (Long)first;
+        for (Object value : values) {
+            if (!(value instanceof Long) || ((Long)value != expected)) {
+                return false;
+            }
+            expected++;
+        }
+        return true;
+    }
+
+    /**
+     * Return the number of values remaining.
+     */
+    public long size() {
+        long size = 0;
+        for (Object block : this.blocks) {
+            if (block instanceof Range) {
+                size = size + Math.max(0, ((Range)block).last - ((Range)block).next.get() + 1);
+            } else {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Return true if the caller should fetch the next block in the background,
+     * false if another thread is already doing so.
+     */
+    public boolean startPrefetch() {
+        return this.isPrefetching.compareAndSet(false, true);
+    }
+
+    /**
+     * Record the background fetch of the next block is done.
+     */
+    public void endPrefetch() {
+        this.isPrefetching.set(false);
+    }
+
+    /**
+     * A block of consecutive values, the next value to return and the last value of the block.
+     */
+    static final class Range {
+        final AtomicLong next;
+        final long last;
+
+        Range(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
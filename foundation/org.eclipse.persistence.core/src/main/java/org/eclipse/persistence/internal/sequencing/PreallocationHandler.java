@@ -23,27 +23,22 @@
  * @see SequencingManager
  */
 class PreallocationHandler implements SequencingLogInOut {
-    protected Map<String, Queue<Object>> preallocatedSequences;
+    protected Map<String, PreallocatedSequences> preallocatedSequences;
 
     public PreallocationHandler() {
         super();
     }
 
     /**
-     * Returns the Queue of sequences from the global sequences for the seqName.
-     * If there is not one, a new empty Queue is registered.
-     * This queue is thread-safe, and threads can concurrent poll the queue to remove the first element.
+     * Returns the preallocated sequences from the global sequences for the seqName.
+     * If there is not one, a new empty one is registered.
+     * This is thread-safe, and threads can concurrent poll it to remove the next value.
      */
-    public Queue<Object> getPreallocated(String sequenceName) {
-        Queue<Object> sequences = preallocatedSequences.get(sequenceName);
+    public PreallocatedSequences getPreallocated(String sequenceName) {
+        PreallocatedSequences sequences = preallocatedSequences.get(sequenceName);
         if (sequences == null) {
-            synchronized (preallocatedSequences) {
-                sequences = preallocatedSequences.get(sequenceName);
-                if (sequences == null) {
-                    sequences = new ConcurrentLinkedQueue<>();
-                    preallocatedSequences.put(sequenceName, sequences);
-                }
-            }
+            // computeIfAbsent avoids a monitor that would pin a virtual thread.
+            sequences = preallocatedSequences.computeIfAbsent(sequenceName, name -> new PreallocatedSequences());
         }
         return sequences;
     }
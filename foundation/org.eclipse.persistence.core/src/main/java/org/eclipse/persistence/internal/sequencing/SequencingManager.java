@@ -18,7 +18,6 @@
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -127,6 +126,7 @@ class SequencingManager implements SequencingHome, SequencingServer, SequencingC
     private int maxPoolSize = -1;
     private int initialPoolSize = -1;
     private ConnectionPool connectionPool;
+    private int prefetchThreshold;
 
     public SequencingManager(DatabaseSessionImpl ownerSession) {
         this.ownerSession = ownerSession;
@@ -269,6 +269,16 @@ public void setInitialPoolSize(int size) {
         this.initialPoolSize = size;
     }
 
+    @Override
+    public int getPrefetchThreshold() {
+        return prefetchThreshold;
+    }
+
+    @Override
+    public void setPrefetchThreshold(int prefetchThreshold) {
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
     @Override
     public boolean isConnected() {
         return states != null;
@@ -329,13 +339,7 @@ protected Map<String, ConcurrencyManager> getLocks() {
     protected ConcurrencyManager acquireLock(String sequenceName) {
         ConcurrencyManager manager = getLocks().get(sequenceName);
         if (manager == null) {
-            synchronized (getLocks()) {
-                manager = getLocks().get(sequenceName);
-                if (manager == null) {
-                    manager = new ConcurrencyManager();
-                    getLocks().put(sequenceName, manager);
-                }
-            }
+            manager = getLocks().computeIfAbsent(sequenceName, name -> new ConcurrencyManager());
         }
         manager.acquire();
         return manager;
@@ -347,6 +351,86 @@ protected Sequence getSequence(Class<?> cls) {
         return getSequence(seqName);
     }
 
+    /**
+     * Allocate the sequence values in a transaction on an accessor from the sequencing connection handler.
+     */
+    protected Vector<?> getGeneratedVectorWithAccessor(Sequence sequence, AbstractSession writeSession) {
+        // note that accessor.getLogin().shouldUseExternalTransactionController()
+        // should be set to false
+        Accessor accessor = getConnectionHandler().acquireAccessor();
+        try {
+            accessor.beginTransaction(writeSession);
+            try {
+                Vector<?> sequences = sequence.getGeneratedVector(accessor, writeSession);
+                accessor.commitTransaction(writeSession);
+                return sequences;
+            } catch (RuntimeException ex) {
+                try {
+                    // make sure to rollback the transaction we've begun
+                    accessor.rollbackTransaction(writeSession);
+                } catch (Exception rollbackException) {
+                    // ignore rollback exception
+                }
+                // don't eat the original exception
+                throw ex;
+            }
+        } finally {
+            getConnectionHandler().releaseAccessor(accessor);
+        }
+    }
+
+    /**
+     * Fetch the next block of values in the background once the prefetch threshold of the current block is used,
+     * so threads do not wait for the database when the block runs out.
+     * The block is fetched under the sequence lock, a thread finding the sequence empty waits for it.
+     * Only the default context is prefetched, as the block is fetched with the owner session.
+     */
+    protected void prefetchIfRequired(Sequence sequence, PreallocatedSequences sequencesForName, String context, boolean useAccessor) {
+        int threshold = this.prefetchThreshold;
+        if ((threshold <= 0) || !"default".equals(context)) {
+            return;
+        }
+        long remaining = ((long)sequence.getPreallocationSize() * (100 - Math.min(threshold, 100))) / 100;
+        if ((sequencesForName.size() > remaining) || !sequencesForName.startPrefetch()) {
+            return;
+        }
+        String seqName = sequence.getName();
+        try {
+            getOwnerSession().getServerPlatform().launchContainerRunnable(() -> {
+                ConcurrencyManager lock = acquireLock(seqName);
+                try {
+                    // Another thread may have fetched the block while this one waited for the lock.
+                    if (sequencesForName.size() <= remaining) {
+                        Vector<?> sequences;
+                        if (useAccessor) {
+                            sequences = getGeneratedVectorWithAccessor(sequence, getOwnerSession());
+                        } else {
+                            sequences = sequence.getGeneratedVector(null, getOwnerSession());
+                        }
+                        sequencesForName.addAll(sequences);
+                        logDebugPrefetch(seqName, sequences);
+                    }
+                } catch (RuntimeException exception) {
+                    // The block is fetched by the thread that finds the sequence empty.
+                    getOwnerSession().logThrowable(SessionLog.WARNING, SessionLog.SEQUENCING, exception);
+                } finally {
+                    lock.release();
+                    sequencesForName.endPrefetch();
+                }
+            });
+        } catch (RuntimeException exception) {
+            sequencesForName.endPrefetch();
+            throw exception;
+        }
+    }
+
+    protected void logDebugPrefetch(String seqName, Vector<?> sequences) {
+        if (getOwnerSession().shouldLog(SessionLog.FINEST, SessionLog.SEQUENCING) && !sequences.isEmpty()) {
+            Object[] args = { seqName, sequences.size(), sequences.firstElement(), sequences.lastElement() };
+            getOwnerSession().log(SessionLog.FINEST, SessionLog.SEQUENCING, "sequencing_prefetch", args);
+        }
+    }
+
     protected void logDebugPreallocation(String seqName, Object firstSequenceValue, Vector<?> sequences) {
         if (getOwnerSession().shouldLog(SessionLog.FINEST, SessionLog.SEQUENCING)) {
             // the first value has been already removed from sequences vector
@@ -465,7 +549,7 @@ SequencingCallbackImpl getCallbackImpl(AbstractSession writeSession, Accessor ac
         public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
             String seqName = sequence.getName();
             if(sequence.getPreallocationSize() > 1) {
-                Queue<Object> sequencesForName = getPreallocationHandler(getContext(writeSession)).getPreallocated(seqName);
+                PreallocatedSequences sequencesForName = getPreallocationHandler(getContext(writeSession)).getPreallocated(seqName);
                 // First grab the first sequence value without locking, a lock is only required if empty.
                 Object sequenceValue = sequencesForName.poll();
                 if (sequenceValue != null) {
@@ -600,11 +684,13 @@ class Preallocation_Transaction_Accessor_State extends State {
         public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
             String seqName = sequence.getName();
             if(sequence.getPreallocationSize() > 1) {
-                PreallocationHandler handler = getPreallocationHandler(getContext(writeSession));
-                Queue<Object> sequencesForName = handler.getPreallocated(seqName);
+                String context = getContext(writeSession);
+                PreallocationHandler handler = getPreallocationHandler(context);
+                PreallocatedSequences sequencesForName = handler.getPreallocated(seqName);
                 // First try to get the next sequence value without locking.
                 Object sequenceValue = sequencesForName.poll();
                 if (sequenceValue != null) {
+                    prefetchIfRequired(sequence, sequencesForName, context, true);
                     return sequenceValue;
                 }
                 // Sequences are empty, so must lock and allocate next batch of sequences.
@@ -614,60 +700,19 @@ public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
                     if (sequenceValue != null) {
                         return sequenceValue;
                     }
-                    // note that accessor.getLogin().shouldUseExternalTransactionController()
-                    // should be set to false
-                    Accessor accessor = getConnectionHandler().acquireAccessor();
-                    try {
-                        accessor.beginTransaction(writeSession);
-                        try {
-                            Vector<?> sequences = sequence.getGeneratedVector(accessor, writeSession);
-                            accessor.commitTransaction(writeSession);
-                            // Remove the first value before adding to the global cache to ensure this thread gets one.
-                            sequenceValue = sequences.remove(0);
-                            // copy remaining values to global cache.
-                            handler.setPreallocated(seqName, sequences);
-                            logDebugPreallocation(seqName, sequenceValue, sequences);
-                        } catch (RuntimeException ex) {
-                            try {
-                                // make sure to rollback the transaction we've begun
-                                accessor.rollbackTransaction(writeSession);
-                            } catch (Exception rollbackException) {
-                                // ignore rollback exception
-                            }
-                            // don't eat the original exception
-                            throw ex;
-                        }
-                    } finally {
-                        getConnectionHandler().releaseAccessor(accessor);
-                    }
+                    Vector<?> sequences = getGeneratedVectorWithAccessor(sequence, writeSession);
+                    // Remove the first value before adding to the global cache to ensure this thread gets one.
+                    sequenceValue = sequences.remove(0);
+                    // copy remaining values to global cache.
+                    handler.setPreallocated(seqName, sequences);
+                    logDebugPreallocation(seqName, sequenceValue, sequences);
                 } finally {
                     lock.release();
                 }
                 return sequenceValue;
             } else {
-                // note that accessor.getLogin().shouldUseExternalTransactionController()
-                // should be set to false
-                Accessor accessor = getConnectionHandler().acquireAccessor();
-                try {
-                    accessor.beginTransaction(writeSession);
-                    try {
-                        // preallocation size is 1 - just return the first (and only) element of the allocated vector.
-                        Object sequenceValue = sequence.getGeneratedVector(accessor, writeSession).firstElement();
-                        accessor.commitTransaction(writeSession);
-                        return sequenceValue;
-                    } catch (RuntimeException ex) {
-                        try {
-                            // make sure to rollback the transaction we've begun
-                            accessor.rollbackTransaction(writeSession);
-                        } catch (Exception rollbackException) {
-                            // ignore rollback exception
-                        }
-                        // don't eat the original exception
-                        throw ex;
-                    }
-                } finally {
-                    getConnectionHandler().releaseAccessor(accessor);
-                }
+                // preallocation size is 1 - just return the first (and only) element of the allocated vector.
+                return getGeneratedVectorWithAccessor(sequence, writeSession).firstElement();
             }
         }
     }
@@ -682,11 +727,16 @@ class Preallocation_NoTransaction_State extends State {
         public Object getNextValue(Sequence sequence, AbstractSession writeSession) {
             String seqName = sequence.getName();
             if(sequence.getPreallocationSize() > 1) {
-                PreallocationHandler handler = getPreallocationHandler(getContext(writeSession));
-                Queue<Object> sequencesForName = handler.getPreallocated(seqName);
+                String context = getContext(writeSession);
+                PreallocationHandler handler = getPreallocationHandler(context);
+                PreallocatedSequences sequencesForName = handler.getPreallocated(seqName);
                 // First try to get the next sequence value without locking.
                 Object sequenceValue = sequencesForName.poll();
                 if (sequenceValue != null) {
+                    // Sequence objects can only be fetched concurrently through the read connection pool of a server session.
+                    if (getOwnerSession().isServerSession()) {
+                        prefetchIfRequired(sequence, sequencesForName, context, false);
+                    }
                     return sequenceValue;
                 }
                 // Sequences are empty, so must lock and allocate next batch of sequences.
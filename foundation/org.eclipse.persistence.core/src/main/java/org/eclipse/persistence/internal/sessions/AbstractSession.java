@@ -39,6 +39,7 @@
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -49,7 +50,15 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.config.ReferenceMode;
@@ -104,6 +113,7 @@
 import org.eclipse.persistence.platform.server.ServerPlatform;
 import org.eclipse.persistence.queries.AttributeGroup;
 import org.eclipse.persistence.queries.Call;
+import org.eclipse.persistence.queries.CursorPublisher;
 import org.eclipse.persistence.queries.DataModifyQuery;
 import org.eclipse.persistence.queries.DataReadQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
@@ -116,6 +126,7 @@
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
 import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.queries.ReadQuery;
 import org.eclipse.persistence.queries.SQLCall;
 import org.eclipse.persistence.queries.UpdateObjectQuery;
 import org.eclipse.persistence.queries.WriteObjectQuery;
@@ -131,6 +142,7 @@
 import org.eclipse.persistence.sessions.coordination.CommandProcessor;
 import org.eclipse.persistence.sessions.coordination.MetadataRefreshListener;
 import org.eclipse.persistence.sessions.serializers.Serializer;
+import org.eclipse.persistence.sessions.server.ConnectionPool;
 
 /**
  * Implementation of org.eclipse.persistence.sessions.Session
@@ -336,6 +348,24 @@ public abstract class AbstractSession extends CoreAbstractSession<ClassDescripto
     /** Allow CDI injection of entity listeners **/
     transient protected InjectionManager<?> injectionManager;
 
+    /** The executor of the asynchronous queries, by default the parent session's. */
+    transient protected volatile Executor queryExecutor;
+
+    /** The thread pool built for the asynchronous queries, shutdown on logout. */
+    transient protected ExecutorService queryThreadPool;
+
+    /** The last asynchronous query, a session that is not thread safe executes them in order. */
+    transient protected CompletableFuture<?> lastAsyncQuery;
+
+    /** The executor the objects of large results are built on in parallel, by default the parent session's. */
+    transient protected volatile Executor objectBuildingExecutor;
+
+    /** The thread pool built for building objects in parallel, shutdown on logout. */
+    transient protected ExecutorService objectBuildingThreadPool;
+
+    /** Guards the last asynchronous query and the lazy build of the default executors. */
+    protected ReentrantLock asyncQueryLock = new ReentrantLock();
+
     /**
      * Indicates whether ObjectLevelReadQuery should by default use ResultSet Access optimization.
     * Optimization specified by the session is ignored if incompatible with other query settings.
@@ -1788,6 +1818,261 @@ public Object executeQuery(DatabaseQuery query, List argumentValues) throws Data
         return executeQuery(query, row);
     }
 
+    /**
+     * PUBLIC:
+     * Execute the database query asynchronously on the session's query executor.
+     * The returned future completes with the result of the query, or the exception it threw.
+     * A ServerSession, or a ClientSession outside of a transaction, executes each query concurrently
+     * with a connection from the server's pools, other sessions are not thread safe, so execute their
+     * asynchronous queries one at a time, and must not be used for anything else until the queries are complete.
+     *
+     * @see #setQueryExecutor(Executor)
+     */
+    @Override
+    public CompletableFuture<Object> executeQueryAsync(DatabaseQuery query) {
+        if (query == null) {
+            throw QueryException.queryNotDefined();
+        }
+        return executeAsync(() -> executeQuery(query));
+    }
+
+    /**
+     * PUBLIC:
+     * Execute the database query asynchronously with the arguments on the session's query executor.
+     *
+     * @see #executeQueryAsync(DatabaseQuery)
+     */
+    @Override
+    public CompletableFuture<Object> executeQueryAsync(DatabaseQuery query, List argumentValues) {
+        if (query == null) {
+            throw QueryException.queryNotDefined();
+        }
+        return executeAsync(() -> executeQuery(query, argumentValues));
+    }
+
+    /**
+     * PUBLIC:
+     * Return a publisher of the results of the read query.
+     * Each subscriber executes the query with a cursor, the objects are read a page at a time
+     * as the subscriber requests them, and are emitted on the session's query executor.
+     * The objects emitted are released from a unit of work, so it does not grow with the result.
+     *
+     * @see CursorPublisher
+     */
+    @Override
+    public CursorPublisher<Object> executeQueryPublisher(ReadQuery query) {
+        return executeQueryPublisher(query, null);
+    }
+
+    /**
+     * PUBLIC:
+     * Return a publisher of the results of the read query executed with the arguments.
+     *
+     * @see #executeQueryPublisher(ReadQuery)
+     */
+    @Override
+    public CursorPublisher<Object> executeQueryPublisher(ReadQuery query, List argumentValues) {
+        if (query == null) {
+            throw QueryException.queryNotDefined();
+        }
+        return new CursorPublisher<>(this, query, argumentValues);
+    }
+
+    /**
+     * INTERNAL:
+     * Run the operation on the session's query executor and return a future of its result.
+     * The operations of a session that is not thread safe are run one at a time, in order.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<T> operation) {
+        Executor executor = getQueryExecutor();
+        if (isConcurrentReadSupported()) {
+            return CompletableFuture.supplyAsync(operation, executor);
+        }
+        this.asyncQueryLock.lock();
+        try {
+            CompletableFuture<T> future;
+            if ((this.lastAsyncQuery == null) || this.lastAsyncQuery.isDone()) {
+                future = CompletableFuture.supplyAsync(operation, executor);
+            } else {
+                future = this.lastAsyncQuery.handle((result, exception) -> null).thenApplyAsync(ignore -> operation.get(), executor);
+            }
+            this.lastAsyncQuery = future;
+            return future;
+        } finally {
+            this.asyncQueryLock.unlock();
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Return the executor the asynchronous queries are executed on.
+     * By default client sessions and units of work use their parent's executor,
+     * and a root session uses a virtual thread per query when the JDK supports them,
+     * otherwise the server platform's threads or a pool shutdown on logout.
+     */
+    public Executor getQueryExecutor() {
+        if (this.queryExecutor == null) {
+            AbstractSession parent = getParent();
+            if (parent != null) {
+                return parent.getQueryExecutor();
+            }
+            this.asyncQueryLock.lock();
+            try {
+                if (this.queryExecutor == null) {
+                    this.queryExecutor = buildDefaultQueryExecutor();
+                }
+                return this.queryExecutor;
+            } finally {
+                this.asyncQueryLock.unlock();
+            }
+        }
+        return this.queryExecutor;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the executor the asynchronous queries are executed on.
+     * The executor is not shutdown by the session.
+     */
+    public void setQueryExecutor(Executor queryExecutor) {
+        this.queryExecutor = queryExecutor;
+    }
+
+    /**
+     * PUBLIC:
+     * Execute the asynchronous queries on a pool of the number of threads,
+     * this bounds the number of connections they use concurrently.
+     * The pool is shutdown on logout.
+     * A size of 0 uses the default executor.
+     */
+    public void setQueryThreadPoolSize(int size) {
+        ExecutorService oldPool = this.queryThreadPool;
+        if (size > 0) {
+            this.queryThreadPool = buildThreadPool(size, "EclipseLink-Query");
+        } else {
+            this.queryThreadPool = null;
+        }
+        this.queryExecutor = this.queryThreadPool;
+        if (oldPool != null) {
+            oldPool.shutdown();
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Return the executor the objects of large results are built on in parallel.
+     * By default client sessions and units of work use their parent's executor,
+     * and a root session uses a pool of a thread per processor.
+     *
+     * @see org.eclipse.persistence.queries.ReadAllQuery#setShouldBuildObjectsInParallel(boolean)
+     */
+    public Executor getObjectBuildingExecutor() {
+        if (this.objectBuildingExecutor == null) {
+            AbstractSession parent = getParent();
+            if (parent != null) {
+                return parent.getObjectBuildingExecutor();
+            }
+            this.asyncQueryLock.lock();
+            try {
+                if (this.objectBuildingExecutor == null) {
+                    setObjectBuildingThreadPoolSize(Runtime.getRuntime().availableProcessors());
+                }
+                return this.objectBuildingExecutor;
+            } finally {
+                this.asyncQueryLock.unlock();
+            }
+        }
+        return this.objectBuildingExecutor;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the executor the objects of large results are built on in parallel.
+     * The thread building the objects of a query also builds them, so it is not required to have free threads.
+     * The executor is not shutdown by the session.
+     */
+    public void setObjectBuildingExecutor(Executor objectBuildingExecutor) {
+        this.objectBuildingExecutor = objectBuildingExecutor;
+    }
+
+    /**
+     * PUBLIC:
+     * Build the objects of large results in parallel on a pool of the number of threads.
+     * The pool is shutdown on logout.
+     * A size of 0 uses the default executor.
+     */
+    public void setObjectBuildingThreadPoolSize(int size) {
+        ExecutorService oldPool = this.objectBuildingThreadPool;
+        if (size > 0) {
+            this.objectBuildingThreadPool = buildThreadPool(size, "EclipseLink-ObjectBuilding");
+        } else {
+            this.objectBuildingThreadPool = null;
+        }
+        this.objectBuildingExecutor = this.objectBuildingThreadPool;
+        if (oldPool != null) {
+            oldPool.shutdown();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Build a pool of the number of daemon threads, its idle threads end after a minute.
+     */
+    protected ExecutorService buildThreadPool(int size, String name) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * INTERNAL:
+     * Shutdown the thread pools built for the asynchronous queries and for building objects in parallel.
+     */
+    protected void shutdownQueryThreadPool() {
+        if (this.queryThreadPool != null) {
+            this.queryThreadPool.shutdown();
+            if (this.queryExecutor == this.queryThreadPool) {
+                this.queryExecutor = null;
+            }
+            this.queryThreadPool = null;
+        }
+        if (this.objectBuildingThreadPool != null) {
+            this.objectBuildingThreadPool.shutdown();
+            if (this.objectBuildingExecutor == this.objectBuildingThreadPool) {
+                this.objectBuildingExecutor = null;
+            }
+            this.objectBuildingThreadPool = null;
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the default executor of the asynchronous queries.
+     * Queries mostly wait on the database, so a virtual thread per query is used when the JDK supports them,
+     * otherwise the server platform's threads, or without a server platform a pool of as many threads
+     * as the default maximum of connections of a connection pool.
+     * The executor built by the session is shutdown on logout.
+     */
+    protected Executor buildDefaultQueryExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            this.queryThreadPool = (ExecutorService)factory.invoke(null);
+            return this.queryThreadPool;
+        } catch (ReflectiveOperationException | RuntimeException notSupported) {
+            // Virtual threads require JDK 21.
+        }
+        ServerPlatform platform = getServerPlatform();
+        if (platform != null) {
+            return platform::launchContainerRunnable;
+        }
+        this.queryThreadPool = buildThreadPool(ConnectionPool.MAX_CONNECTIONS, "EclipseLink-Query");
+        return this.queryThreadPool;
+    }
+
     /**
      * INTERNAL:
      * Return the results from executing the database query.
@@ -2398,7 +2683,9 @@ public ClassDescriptor getClassDescriptor(Object domainObject) {
      */
     @Override
     public ClassDescriptor getClassDescriptorForAlias(String alias) {
-        return project.getDescriptorForAlias(alias);
+        ClassDescriptor descriptor = project.getDescriptorForAlias(alias);
+        initializeLazyDescriptor(descriptor);
+        return descriptor;
     }
 
     /**
@@ -2416,7 +2703,7 @@ public ClassDescriptor getDescriptor(Class<?> theClass) {
 
         // Optimize descriptor lookup through caching the last one accessed.
         ClassDescriptor descriptor = this.lastDescriptorAccessed;
-        if ((descriptor != null) && (descriptor.getJavaClass() == theClass)) {
+        if ((descriptor != null) && (descriptor.getJavaClass() == theClass) && (descriptor.getLazyInitializationSession() == null)) {
             return descriptor;
         }
 
@@ -2461,12 +2748,27 @@ public ClassDescriptor getDescriptor(Class<?> theClass) {
             }
         }
 
+        initializeLazyDescriptor(descriptor);
+
         // Cache for optimization.
         this.lastDescriptorAccessed = descriptor;
 
         return descriptor;
     }
 
+    /**
+     * INTERNAL:
+     * Initialize the descriptor if its initialization was deferred to its first use.
+     */
+    protected void initializeLazyDescriptor(ClassDescriptor descriptor) {
+        if (descriptor != null) {
+            DatabaseSessionImpl lazyInitializationSession = descriptor.getLazyInitializationSession();
+            if (lazyInitializationSession != null) {
+                lazyInitializationSession.initializeLazyDescriptor(descriptor);
+            }
+        }
+    }
+
     /**
      * ADVANCED:
      * Return the descriptor specified for the object's class.
@@ -2500,6 +2802,7 @@ public ClassDescriptor getDescriptorForAlias(final String alias) {
         if (desc != null && desc.hasMultitenantPolicy() && this.descriptors != null) {
             return this.descriptors.get(desc.getJavaClass());
         } else {
+            initializeLazyDescriptor(desc);
             return desc;
         }
     }
@@ -2805,16 +3108,12 @@ protected CacheKey getCacheKeyFromTargetSessionForMerge(Object implementation, O
                cacheKey.acquireDeferredLock();
                original = cacheKey.getObject();
                if (original == null) {
-                   synchronized (cacheKey) {
-                       if (cacheKey.isAcquired()) {
-                           try {
-                               cacheKey.wait();
-                           } catch (InterruptedException e) {
-                               //ignore and return
-                           }
-                       }
-                       original = cacheKey.getObject();
+                   try {
+                       cacheKey.waitWhileAcquired(0);
+                   } catch (InterruptedException e) {
+                       //ignore and return
                    }
+                   original = cacheKey.getObject();
                }
                cacheKey.releaseDeferredLock();
            }
@@ -3520,6 +3819,15 @@ public boolean isServerSession() {
         return false;
     }
 
+    /**
+     * INTERNAL:
+     * Return if the session can be used by concurrent threads to read.
+     * Only a ServerSession, or a ClientSession reading through its pools, is thread safe.
+     */
+    public boolean isConcurrentReadSupported() {
+        return false;
+    }
+
     /**
      * PUBLIC:
      * Return if this session is a session broker.
@@ -483,6 +483,8 @@ public void initializeCommitOrder() {
 
         // Must ensure uniqueness, some descriptor my be register twice for interfaces.
         descriptors = Helper.addAllUniqueToVector(new Vector<>(descriptors.size()), descriptors);
+        // Descriptors whose initialization is deferred are ordered once initialized.
+        descriptors.removeIf(descriptor -> (descriptor.getLazyInitializationSession() != null) && !descriptor.isFullyInitialized());
         ClassDescriptor[] descriptorsArray = new ClassDescriptor[descriptors.size()];
         for (int index = 0; index < descriptors.size(); index++) {
             descriptorsArray[index] = descriptors.elementAt(index);
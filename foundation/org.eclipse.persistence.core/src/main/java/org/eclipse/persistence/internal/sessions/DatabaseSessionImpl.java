@@ -38,28 +38,46 @@
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.InheritancePolicy;
 import org.eclipse.persistence.descriptors.partitioning.PartitioningPolicy;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.EclipseLinkException;
 import org.eclipse.persistence.exceptions.IntegrityException;
 import org.eclipse.persistence.exceptions.OptimisticLockException;
 import org.eclipse.persistence.exceptions.ValidationException;
+import org.eclipse.persistence.exceptions.IntegrityChecker;
 import org.eclipse.persistence.internal.databaseaccess.Platform;
 import org.eclipse.persistence.internal.helper.DBPlatformHelper;
 import org.eclipse.persistence.internal.sequencing.Sequencing;
 import org.eclipse.persistence.internal.sequencing.SequencingFactory;
 import org.eclipse.persistence.internal.sequencing.SequencingHome;
 import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.mappings.AggregateMapping;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.mappings.ForeignReferenceMapping;
 import org.eclipse.persistence.platform.database.DatabasePlatform;
 import org.eclipse.persistence.platform.database.OraclePlatform;
 import org.eclipse.persistence.platform.database.events.DatabaseEventListener;
@@ -138,6 +156,49 @@ public class DatabaseSessionImpl extends AbstractSession implements org.eclipse.
     //Bug#3440544 Used to stop the attempt to login more than once.
     protected volatile boolean isLoggedIn;
 
+    /**
+     * Indicate if independent descriptors are initialized in parallel on login.
+     */
+    protected boolean shouldInitializeDescriptorsInParallel;
+
+    /**
+     * Indicate if descriptors and JPA named queries are initialized on their first use instead of on login.
+     */
+    protected boolean shouldInitializeDescriptorsLazily;
+
+    /**
+     * The group of related descriptors each descriptor pending initialization is initialized with.
+     */
+    protected Map<ClassDescriptor, List<ClassDescriptor>> lazyDescriptorGroups;
+
+    /**
+     * The lock of the group of each descriptor pending initialization, shared by the descriptors of the group.
+     * A group is initialized holding its lock, so unrelated groups are initialized concurrently.
+     */
+    protected Map<ClassDescriptor, ReentrantLock> lazyDescriptorGroupLocks;
+
+    /**
+     * The JPA named queries pending processing, by name.
+     */
+    protected Map<String, List<DatabaseQuery>> lazyJPAQueries;
+
+    /**
+     * The lock of each name of JPA named queries pending processing.
+     */
+    protected Map<String, ReentrantLock> lazyJPAQueryLocks;
+
+    /**
+     * The integrity checker of the descriptors being initialized by the thread.
+     * Descriptors initialized lazily may be initialized by several threads, or during the initialization
+     * of other descriptors, so each initialization reports its errors to its own checker.
+     */
+    protected transient ThreadLocal<IntegrityChecker> descriptorInitializationChecker = new ThreadLocal<>();
+
+    /**
+     * Guards the session state changed by the descriptors initialized in parallel.
+     */
+    protected final ReentrantLock parallelInitializationLock = new ReentrantLock();
+
     /**
      * INTERNAL:
      * Set the SequencingHome object used by the session.
@@ -167,6 +228,52 @@ public boolean isLoggedIn() {
         return isLoggedIn;
     }
 
+    /**
+     * PUBLIC:
+     * Return if independent descriptors are initialized in parallel on login.
+     */
+    public boolean shouldInitializeDescriptorsInParallel() {
+        return shouldInitializeDescriptorsInParallel;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if independent descriptors are initialized in parallel on login.
+     * The descriptors are split into groups that do not depend on each other through inheritance,
+     * aggregates or relationships, and each phase of the initialization of the groups is run concurrently
+     * on a pool of a thread per processor, the descriptors of a group are initialized in order.
+     * Descriptors using interfaces or custom mappings are initialized serially.
+     * By default descriptors are initialized serially.
+     */
+    public void setShouldInitializeDescriptorsInParallel(boolean shouldInitializeDescriptorsInParallel) {
+        this.shouldInitializeDescriptorsInParallel = shouldInitializeDescriptorsInParallel;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if descriptors and JPA named queries are initialized on their first use instead of on login.
+     */
+    public boolean shouldInitializeDescriptorsLazily() {
+        return shouldInitializeDescriptorsLazily;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if descriptors and JPA named queries are initialized on their first use instead of on login.
+     * On login only the descriptors whose dependencies are not known are initialized, the other descriptors
+     * are initialized with the group of descriptors they are related to the first time one of them is
+     * looked up from the session, and JPA named queries are parsed the first time they are looked up by name.
+     * This reduces the time and memory used by login when only a few of the project's classes are used,
+     * but errors in the mappings or queries of these descriptors are only raised on their first use.
+     * Descriptors using multitenancy are always initialized on login.
+     * By default all descriptors and queries are initialized on login.
+     *
+     * @see #initializeLazyDescriptors()
+     */
+    public void setShouldInitializeDescriptorsLazily(boolean shouldInitializeDescriptorsLazily) {
+        this.shouldInitializeDescriptorsLazily = shouldInitializeDescriptorsLazily;
+    }
+
     /**
      * Return the database event listener, this allows database events to invalidate the cache.
      */
@@ -626,6 +733,10 @@ public void initializeDescriptorIfSessionAlive(ClassDescriptor descriptor) {
     public void initializeDescriptors() {
         // Must clone to avoid modification of the map while enumerating.
         initializeDescriptors((Map)((HashMap)getDescriptors()).clone(), true);
+        if (this.shouldInitializeDescriptorsLazily && !this.jpaQueriesProcessed && (this.lazyJPAQueries == null)) {
+            this.lazyJPAQueries = new ConcurrentHashMap<>();
+            this.lazyJPAQueryLocks = new ConcurrentHashMap<>();
+        }
         // Initialize serializer
         if (this.serializer != null) {
             this.serializer.initialize(null, null, this);
@@ -644,23 +755,113 @@ public void initializeDescriptors() {
         processJPAQueries();
 
         // Configure default query cache for all named queries.
+        for (List<DatabaseQuery> queries : getQueries().values()) {
+            initializeDefaultQueryResultsCachePolicy(queries);
+        }
+        for (AttributeGroup group : getProject().getAttributeGroups().values()){
+            getAttributeGroups().put(group.getName(), group);
+            this.getDescriptor(group.getType()).addAttributeGroup(group);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Configure the project's default query results cache for the queries.
+     */
+    protected void initializeDefaultQueryResultsCachePolicy(List<DatabaseQuery> queries) {
         QueryResultsCachePolicy defaultQueryCachePolicy = getProject().getDefaultQueryResultsCachePolicy();
         if (defaultQueryCachePolicy != null) {
-            for (List<DatabaseQuery> queries : getQueries().values()) {
-                for (DatabaseQuery query : queries) {
-                    if (query.isReadQuery() && (query.getDescriptor() != null) && !query.getDescriptor().getCachePolicy().isIsolated()) {
-                        ReadQuery readQuery = (ReadQuery)query;
-                        if (!readQuery.shouldCacheQueryResults()) {
-                            readQuery.setQueryResultsCachePolicy(defaultQueryCachePolicy.clone());
-                        }
+            for (DatabaseQuery query : queries) {
+                if (query.isReadQuery() && (query.getDescriptor() != null) && !query.getDescriptor().getCachePolicy().isIsolated()) {
+                    ReadQuery readQuery = (ReadQuery)query;
+                    if (!readQuery.shouldCacheQueryResults()) {
+                        readQuery.setQueryResultsCachePolicy(defaultQueryCachePolicy.clone());
                     }
                 }
             }
         }
-        for (AttributeGroup group : getProject().getAttributeGroups().values()){
-            getAttributeGroups().put(group.getName(), group);
-            this.getDescriptor(group.getType()).addAttributeGroup(group);
+    }
+
+    /**
+     * INTERNAL:
+     * Process the JPA named query into an EclipseLink Session query.
+     * If descriptors are initialized lazily, the query is processed the first time it is looked up by name.
+     */
+    @Override
+    protected void processJPAQuery(DatabaseQuery jpaQuery) {
+        if ((this.lazyJPAQueries != null) && !this.jpaQueriesProcessed && (jpaQuery.getName() != null)) {
+            this.lazyJPAQueries.computeIfAbsent(jpaQuery.getName(), name -> new ArrayList<>()).add(jpaQuery);
+            // Reserve the name, so the queries map is not modified when the query is looked up.
+            getQueries().computeIfAbsent(jpaQuery.getName(), name -> new ArrayList<>());
+            return;
         }
+        super.processJPAQuery(jpaQuery);
+    }
+
+    /**
+     * INTERNAL:
+     * Process the JPA named queries of the name pending processing.
+     */
+    protected void processLazyJPAQueries(String name) {
+        ReentrantLock lock = this.lazyJPAQueryLocks.computeIfAbsent(name, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            List<DatabaseQuery> jpaQueries = this.lazyJPAQueries.get(name);
+            if (jpaQueries == null) {
+                // Processed by another thread.
+                return;
+            }
+            try {
+                for (DatabaseQuery jpaQuery : jpaQueries) {
+                    super.processJPAQuery(jpaQuery);
+                }
+                initializeDefaultQueryResultsCachePolicy(getQueries().get(name));
+            } finally {
+                this.lazyJPAQueries.remove(name);
+                this.lazyJPAQueryLocks.remove(name);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the query from the session pre-defined queries with the given name and argument types,
+     * processing it first if it is a JPA named query pending processing.
+     */
+    @Override
+    public DatabaseQuery getQuery(String name, Vector arguments, boolean shouldSearchParent) {
+        if ((this.lazyJPAQueries != null) && (name != null) && this.lazyJPAQueries.containsKey(name)) {
+            processLazyJPAQueries(name);
+        }
+        return super.getQuery(name, arguments, shouldSearchParent);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the pre-defined queries in this session, processing the JPA named queries pending processing.
+     */
+    @Override
+    public List<DatabaseQuery> getAllQueries() {
+        if (this.lazyJPAQueries != null) {
+            for (String name : this.lazyJPAQueries.keySet()) {
+                processLazyJPAQueries(name);
+            }
+        }
+        return super.getAllQueries();
+    }
+
+    /**
+     * PUBLIC:
+     * Remove all queries with the given queryName regardless of the argument types.
+     */
+    @Override
+    public void removeQuery(String queryName) {
+        if (this.lazyJPAQueries != null) {
+            this.lazyJPAQueries.remove(queryName);
+        }
+        super.removeQuery(queryName);
     }
 
     /**
@@ -703,11 +904,42 @@ public void initializeDescriptors(Collection descriptors, boolean shouldInitiali
             addDescriptorsToSequencing(descriptors);
         }
 
+        List<List<ClassDescriptor>> groups = null;
+        if ((this.shouldInitializeDescriptorsInParallel || this.shouldInitializeDescriptorsLazily) && !isBroker()) {
+            groups = buildDescriptorInitializationGroups(descriptors);
+        }
+        if ((groups != null) && this.shouldInitializeDescriptorsLazily) {
+            // Only the descriptors whose dependencies are not known are initialized now.
+            deferDescriptorInitialization(groups.subList(1, groups.size()));
+            descriptors = groups.get(0);
+            groups = null;
+        } else if ((groups != null) && (groups.size() < 3)) {
+            // A single group is not worth initializing in parallel.
+            groups = null;
+        }
+        initializeDescriptorPhases(descriptors, groups);
+
+        getCommitManager().initializeCommitOrder();
+    }
+
+    /**
+     * INTERNAL:
+     * Run the pre-initialize, initialize and post-initialize phases on the descriptors,
+     * and raise the errors of the descriptors once all phases have run.
+     * If the descriptors were split into groups, the groups are initialized in parallel.
+     */
+    protected void initializeDescriptorPhases(Collection<ClassDescriptor> descriptors, List<List<ClassDescriptor>> groups) {
+        // Descriptors initialized lazily may be initialized during the initialization of other descriptors.
+        IntegrityChecker outerChecker = this.descriptorInitializationChecker.get();
+        IntegrityChecker checker = buildDescriptorInitializationChecker();
+        this.descriptorInitializationChecker.set(checker);
+        ExecutorService executor = null;
+        if (groups != null) {
+            executor = buildDescriptorInitializationPool(groups.size() - 1);
+        }
         try {
             // First initialize basic properties (things that do not depend on anything else)
-            Iterator iterator = descriptors.iterator();
-            while (iterator.hasNext()) {
-                ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
+            initializeDescriptorsPhase(descriptors, groups, executor, SessionProfiler.DescriptorPreInitialize, descriptor -> {
                 try {
                     AbstractSession session = getSessionForClass(descriptor.getJavaClass());
                     if (descriptor.requiresInitialization(session)) {
@@ -716,7 +948,12 @@ public void initializeDescriptors(Collection descriptors, boolean shouldInitiali
                         // If the descriptor doesn't require initialization and
                         // has a table per tenant policy then add to the list
                         // to be cloned and initialized per client session.
-                        addTablePerTenantDescriptor(descriptor);
+                        this.parallelInitializationLock.lock();
+                        try {
+                            addTablePerTenantDescriptor(descriptor);
+                        } finally {
+                            this.parallelInitializationLock.unlock();
+                        }
                     }
 
                     //check if inheritance is involved in aggregate relationship, and let the parent know the child descriptor
@@ -726,12 +963,10 @@ public void initializeDescriptors(Collection descriptors, boolean shouldInitiali
                 } catch (RuntimeException exception) {
                     getIntegrityChecker().handleError(exception);
                 }
-            }
+            });
 
             // Second initialize basic mappings
-            iterator = descriptors.iterator();
-            while (iterator.hasNext()) {
-                ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
+            initializeDescriptorsPhase(descriptors, groups, executor, SessionProfiler.DescriptorInitialize, descriptor -> {
                 try {
                     AbstractSession session = getSessionForClass(descriptor.getJavaClass());
                     if (descriptor.requiresInitialization(session)) {
@@ -740,12 +975,10 @@ public void initializeDescriptors(Collection descriptors, boolean shouldInitiali
                 } catch (RuntimeException exception) {
                     getIntegrityChecker().handleError(exception);
                 }
-            }
+            });
 
             // Third initialize child dependencies
-            iterator = descriptors.iterator();
-            while (iterator.hasNext()) {
-                ClassDescriptor descriptor = (ClassDescriptor)iterator.next();
+            initializeDescriptorsPhase(descriptors, groups, executor, SessionProfiler.DescriptorPostInitialize, descriptor -> {
                 try {
                     AbstractSession session = getSessionForClass(descriptor.getJavaClass());
                     if (descriptor.requiresInitialization(session)) {
@@ -754,17 +987,367 @@ public void initializeDescriptors(Collection descriptors, boolean shouldInitiali
                 } catch (RuntimeException exception) {
                     getIntegrityChecker().handleError(exception);
                 }
-            }
+            });
 
-            if (getIntegrityChecker().hasErrors()) {
+            if (checker.hasErrors()) {
                 //CR#4011
-                handleSevere(new IntegrityException(getIntegrityChecker()));
+                handleSevere(new IntegrityException(checker));
             }
         } finally {
-            clearIntegrityChecker();
+            if (outerChecker == null) {
+                this.descriptorInitializationChecker.remove();
+            } else {
+                this.descriptorInitializationChecker.set(outerChecker);
+            }
+            if (executor != null) {
+                executor.shutdown();
+            }
         }
+    }
 
-        getCommitManager().initializeCommitOrder();
+    /**
+     * INTERNAL:
+     * Return a new integrity checker for an initialization of descriptors, with the settings of the session's checker.
+     * Its errors are built up front, so descriptors initialized in parallel can report to it concurrently.
+     */
+    protected IntegrityChecker buildDescriptorInitializationChecker() {
+        IntegrityChecker sessionChecker = super.getIntegrityChecker();
+        IntegrityChecker checker = new IntegrityChecker();
+        checker.setShouldCatchExceptions(sessionChecker.shouldCatchExceptions());
+        checker.setShouldCheckDatabase(sessionChecker.shouldCheckDatabase());
+        checker.setShouldCheckInstantiationPolicy(sessionChecker.shouldCheckInstantiationPolicy());
+        checker.getCaughtExceptions();
+        checker.getTables();
+        return checker;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the integrity checker of the descriptors being initialized by the thread, otherwise the session's.
+     */
+    @Override
+    public IntegrityChecker getIntegrityChecker() {
+        if (this.descriptorInitializationChecker != null) {
+            IntegrityChecker checker = this.descriptorInitializationChecker.get();
+            if (checker != null) {
+                return checker;
+            }
+        }
+        return super.getIntegrityChecker();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the pool the groups of descriptors are initialized on, with a thread per processor,
+     * the thread initializing the descriptors also initializes groups.
+     * The pool is only used for the initialization, so its threads do not outlive it.
+     */
+    protected ExecutorService buildDescriptorInitializationPool(int groups) {
+        int size = Math.max(Math.min(groups, Runtime.getRuntime().availableProcessors()) - 1, 1);
+        return Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "EclipseLink-DescriptorInitialization");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * INTERNAL:
+     * Defer the initialization of the groups of descriptors to the first lookup of one of their descriptors.
+     */
+    protected void deferDescriptorInitialization(List<List<ClassDescriptor>> groups) {
+        if (this.lazyDescriptorGroups == null) {
+            this.lazyDescriptorGroups = new ConcurrentHashMap<>();
+            this.lazyDescriptorGroupLocks = new ConcurrentHashMap<>();
+        }
+        for (List<ClassDescriptor> group : groups) {
+            ReentrantLock lock = new ReentrantLock();
+            for (ClassDescriptor descriptor : group) {
+                this.lazyDescriptorGroups.put(descriptor, group);
+                this.lazyDescriptorGroupLocks.put(descriptor, lock);
+            }
+        }
+        // Mark the descriptors last, so a marked descriptor always has its group.
+        for (List<ClassDescriptor> group : groups) {
+            for (ClassDescriptor descriptor : group) {
+                descriptor.setLazyInitializationSession(this);
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Initialize the descriptor and the descriptors related to it, if their initialization was deferred.
+     * This is called on the first lookup of the descriptor from the session, the descriptors are
+     * only published to other threads once they are fully initialized.
+     * Only the lock of the descriptor's group is held, so unrelated groups are initialized concurrently.
+     * A descriptor accessed during the initialization of its own group, through a relationship
+     * to itself or another descriptor of the group, is returned as is, as in a serial initialization.
+     */
+    public void initializeLazyDescriptor(ClassDescriptor descriptor) {
+        if (this.lazyDescriptorGroupLocks == null) {
+            return;
+        }
+        ReentrantLock lock = this.lazyDescriptorGroupLocks.get(descriptor);
+        if ((lock == null) || lock.isHeldByCurrentThread()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (descriptor.getLazyInitializationSession() == null) {
+                // Initialized by another thread.
+                return;
+            }
+            List<ClassDescriptor> group = this.lazyDescriptorGroups.get(descriptor);
+            if (group != null) {
+                initializeLazyDescriptorGroup(group);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Initialize all of the descriptors whose initialization was deferred.
+     * This is required before processing all of the descriptors, such as to build the metamodel or the DDL.
+     * The groups are initialized one at a time, holding only the lock of the group being initialized.
+     */
+    public void initializeLazyDescriptors() {
+        if ((this.lazyDescriptorGroups == null) || this.lazyDescriptorGroups.isEmpty()) {
+            return;
+        }
+        Set<List<ClassDescriptor>> groups = Collections.newSetFromMap(new IdentityHashMap<>());
+        groups.addAll(this.lazyDescriptorGroups.values());
+        for (List<ClassDescriptor> group : groups) {
+            initializeLazyDescriptor(group.get(0));
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Initialize the group of descriptors and recompute the commit order, then publish the descriptors.
+     * Must be called holding the lock of the group.
+     */
+    protected void initializeLazyDescriptorGroup(List<ClassDescriptor> group) {
+        initializeDescriptorPhases(group, null);
+        this.parallelInitializationLock.lock();
+        try {
+            getCommitManager().initializeCommitOrder();
+        } finally {
+            this.parallelInitializationLock.unlock();
+        }
+        for (ClassDescriptor descriptor : group) {
+            this.lazyDescriptorGroups.remove(descriptor);
+            this.lazyDescriptorGroupLocks.remove(descriptor);
+            // Publish the initialized descriptor, lookups no longer lock once they see it unmarked.
+            descriptor.setLazyInitializationSession(null);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Run the initialization phase on the descriptors, and profile its time.
+     * If the descriptors were split into groups, the first group is run first on its own,
+     * then the other groups are run concurrently by the executor's threads and the calling thread.
+     */
+    protected void initializeDescriptorsPhase(Collection<ClassDescriptor> descriptors, List<List<ClassDescriptor>> groups, Executor executor, String phaseName, Consumer<ClassDescriptor> phase) {
+        startOperationProfile(phaseName);
+        try {
+            if (groups == null) {
+                for (ClassDescriptor descriptor : descriptors) {
+                    phase.accept(descriptor);
+                }
+                return;
+            }
+            for (ClassDescriptor descriptor : groups.get(0)) {
+                phase.accept(descriptor);
+            }
+            // The descriptors may load classes through the context loader, and report their errors to the thread's checker.
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            IntegrityChecker checker = this.descriptorInitializationChecker.get();
+            List<List<ClassDescriptor>> parallelGroups = groups.subList(1, groups.size());
+            AtomicInteger nextGroup = new AtomicInteger();
+            CountDownLatch initializedGroups = new CountDownLatch(parallelGroups.size());
+            AtomicReference<RuntimeException> error = new AtomicReference<>();
+            Runnable initializer = () -> {
+                Thread thread = Thread.currentThread();
+                ClassLoader previousLoader = thread.getContextClassLoader();
+                if (previousLoader != loader) {
+                    thread.setContextClassLoader(loader);
+                }
+                IntegrityChecker previousChecker = this.descriptorInitializationChecker.get();
+                this.descriptorInitializationChecker.set(checker);
+                try {
+                    int index;
+                    while ((index = nextGroup.getAndIncrement()) < parallelGroups.size()) {
+                        try {
+                            for (ClassDescriptor descriptor : parallelGroups.get(index)) {
+                                phase.accept(descriptor);
+                            }
+                        } catch (RuntimeException exception) {
+                            error.compareAndSet(null, exception);
+                        } finally {
+                            initializedGroups.countDown();
+                        }
+                    }
+                } finally {
+                    if (previousChecker == null) {
+                        this.descriptorInitializationChecker.remove();
+                    } else {
+                        this.descriptorInitializationChecker.set(previousChecker);
+                    }
+                    if (previousLoader != loader) {
+                        thread.setContextClassLoader(previousLoader);
+                    }
+                }
+            };
+            int helpers = Math.min(parallelGroups.size(), Runtime.getRuntime().availableProcessors()) - 1;
+            for (int helper = 0; helper < helpers; helper++) {
+                executor.execute(initializer);
+            }
+            initializer.run();
+            boolean interrupted = false;
+            while (initializedGroups.getCount() > 0) {
+                try {
+                    initializedGroups.await();
+                } catch (InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (error.get() != null) {
+                throw error.get();
+            }
+        } finally {
+            endOperationProfile(phaseName);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Split the descriptors into groups that can be initialized independently, or return null if there are none.
+     * Descriptors related through inheritance, aggregates or relationships are in the same group, in their original order.
+     * The first group contains the descriptors whose dependencies are not known, such as descriptors using interfaces,
+     * custom mappings or related to descriptors not being initialized, and is initialized on its own.
+     */
+    protected List<List<ClassDescriptor>> buildDescriptorInitializationGroups(Collection<ClassDescriptor> descriptors) {
+        Map<Class<?>, ClassDescriptor> descriptorsByClass = new HashMap<>(descriptors.size());
+        Map<ClassDescriptor, ClassDescriptor> roots = new IdentityHashMap<>(descriptors.size());
+        for (ClassDescriptor descriptor : descriptors) {
+            if (descriptor.getJavaClass() != null) {
+                descriptorsByClass.put(descriptor.getJavaClass(), descriptor);
+            }
+            roots.put(descriptor, descriptor);
+        }
+        List<ClassDescriptor> unknownDependencies = new ArrayList<>();
+        for (ClassDescriptor descriptor : descriptors) {
+            if (!addDescriptorDependencies(descriptor, descriptorsByClass, roots)) {
+                unknownDependencies.add(descriptor);
+            }
+        }
+        Set<ClassDescriptor> serialRoots = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ClassDescriptor descriptor : unknownDependencies) {
+            serialRoots.add(findDescriptorRoot(descriptor, roots));
+        }
+        List<ClassDescriptor> serialGroup = new ArrayList<>();
+        Map<ClassDescriptor, List<ClassDescriptor>> groups = new LinkedHashMap<>();
+        for (ClassDescriptor descriptor : descriptors) {
+            ClassDescriptor root = findDescriptorRoot(descriptor, roots);
+            if (serialRoots.contains(root)) {
+                serialGroup.add(descriptor);
+            } else {
+                groups.computeIfAbsent(root, key -> new ArrayList<>()).add(descriptor);
+            }
+        }
+        if (groups.isEmpty()) {
+            return null;
+        }
+        List<List<ClassDescriptor>> result = new ArrayList<>(groups.size() + 1);
+        result.add(serialGroup);
+        result.addAll(groups.values());
+        return result;
+    }
+
+    /**
+     * INTERNAL:
+     * Join the descriptor's group with the groups of the descriptors it depends on.
+     * Return false if the dependencies of the descriptor are not known,
+     * multitenant descriptors are also treated as such as they depend on the session's tenant properties.
+     */
+    protected boolean addDescriptorDependencies(ClassDescriptor descriptor, Map<Class<?>, ClassDescriptor> descriptorsByClass, Map<ClassDescriptor, ClassDescriptor> roots) {
+        if (descriptor.getJavaClass() == null || descriptor.hasInterfacePolicy() || descriptor.isDescriptorForInterface()
+                || descriptor.hasMultitenantPolicy()) {
+            return false;
+        }
+        if (descriptor.hasInheritance()) {
+            InheritancePolicy policy = descriptor.getInheritancePolicy();
+            if (policy.getParentClass() != null) {
+                if (!joinDescriptorGroups(descriptor, descriptorsByClass.get(policy.getParentClass()), roots)) {
+                    return false;
+                }
+            } else if (policy.getParentClassName() != null) {
+                return false;
+            }
+        }
+        for (DatabaseMapping mapping : descriptor.getMappings()) {
+            Class<?> referenceClass;
+            String referenceClassName;
+            if (mapping.isForeignReferenceMapping()) {
+                referenceClass = ((ForeignReferenceMapping)mapping).getReferenceClass();
+                referenceClassName = ((ForeignReferenceMapping)mapping).getReferenceClassName();
+            } else if (mapping.isAggregateMapping()) {
+                referenceClass = ((AggregateMapping)mapping).getReferenceClass();
+                referenceClassName = ((AggregateMapping)mapping).getReferenceClassName();
+            } else if (mapping.isAbstractDirectMapping() || mapping.isTransformationMapping()) {
+                continue;
+            } else {
+                return false;
+            }
+            if (referenceClass != null) {
+                if (!joinDescriptorGroups(descriptor, descriptorsByClass.get(referenceClass), roots)) {
+                    return false;
+                }
+            } else if (referenceClassName != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Join the groups of the descriptors, return false if the other descriptor is not being initialized.
+     */
+    protected boolean joinDescriptorGroups(ClassDescriptor descriptor, ClassDescriptor otherDescriptor, Map<ClassDescriptor, ClassDescriptor> roots) {
+        if ((otherDescriptor == null) || !roots.containsKey(otherDescriptor)) {
+            return false;
+        }
+        ClassDescriptor root = findDescriptorRoot(descriptor, roots);
+        ClassDescriptor otherRoot = findDescriptorRoot(otherDescriptor, roots);
+        if (root != otherRoot) {
+            roots.put(otherRoot, root);
+        }
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the descriptor representing the descriptor's group.
+     */
+    protected ClassDescriptor findDescriptorRoot(ClassDescriptor descriptor, Map<ClassDescriptor, ClassDescriptor> roots) {
+        ClassDescriptor root = descriptor;
+        ClassDescriptor parent = roots.get(root);
+        while (parent != root) {
+            // Shorten the path for the next lookups.
+            ClassDescriptor grandParent = roots.get(parent);
+            roots.put(root, grandParent);
+            root = parent;
+            parent = grandParent;
+        }
+        return root;
     }
 
     /**
@@ -979,6 +1562,8 @@ public void logout() throws DatabaseException {
             throw DatabaseException.logoutWhileTransactionInProgress();
         }
 
+        shutdownQueryThreadPool();
+
         if (getAccessor() == null) {
             return;
         }
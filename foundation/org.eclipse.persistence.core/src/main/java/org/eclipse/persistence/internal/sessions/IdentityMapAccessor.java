@@ -36,6 +36,7 @@
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
 import org.eclipse.persistence.internal.identitymaps.IdentityMap;
 import org.eclipse.persistence.internal.identitymaps.IdentityMapManager;
+import org.eclipse.persistence.internal.identitymaps.OffHeapCacheIdentityMap;
 import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.queries.InMemoryQueryIndirectionPolicy;
 import org.eclipse.persistence.queries.ReadQuery;
@@ -864,6 +865,9 @@ public void invalidateClass(Class<?> myClass, boolean recurseAndInvalidateToPare
                 key.setInvalidationState(CacheKey.CACHE_KEY_INVALID);
             }
         }
+        if (identityMap instanceof OffHeapCacheIdentityMap) {
+            ((OffHeapCacheIdentityMap)identityMap).invalidateOffHeap(recurseAndInvalidateToParentRoot ? null : myClass);
+        }
         invalidateQueryCache(myClass);
         if (session.getProject().allowExtendedCacheLogging()) {
             session.log(SessionLog.FINEST, SessionLog.CACHE, "cache_class_invalidation", new Object[] {myClass, Thread.currentThread().getId(), Thread.currentThread().getName()});
@@ -879,6 +883,15 @@ public void invalidateQueryCache(Class<?> classThatChanged) {
         getIdentityMapManager().invalidateQueryCache(classThatChanged);
     }
 
+    /**
+     * INTERNAL:
+     * Invalidate/remove the results for the class from the query cache that the committed changes could affect.
+     * If the changes are not known, all of the results for the class are removed.
+     */
+    public void invalidateQueryCache(Class<?> classThatChanged, UnitOfWorkChangeSet changeSet) {
+        getIdentityMapManager().invalidateQueryCache(classThatChanged, changeSet);
+    }
+
     /**
      * ADVANCED:
      * Set all of the objects from all identity maps to be invalid in the cache.
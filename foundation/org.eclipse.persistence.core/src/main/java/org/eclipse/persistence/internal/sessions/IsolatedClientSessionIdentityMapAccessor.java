@@ -15,6 +15,7 @@
 package org.eclipse.persistence.internal.sessions;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.persistence.internal.identitymaps.*;
 import org.eclipse.persistence.queries.*;
@@ -263,7 +264,8 @@ protected Object getAndCloneCacheKeyFromParent(Object primaryKey, Object objectT
         // in which GC could remove the object and we would end up with a null pointer
         // as well we must inspect the cacheKey without locking on it.
         if ((cacheKey != null) && (shouldReturnInvalidatedObjects || !descriptor.getCacheInvalidationPolicy().isInvalidated(cacheKey))) {
-            synchronized (cacheKey) {
+            cacheKey.getInstanceLock().lock();
+            try {
                 //if the object in the cachekey is null but the key is acquired then
                 //someone must be rebuilding it or creating a new one.  Sleep until
                 // it's finished. A plain wait here would be more efficient but we may not
@@ -272,13 +274,15 @@ protected Object getAndCloneCacheKeyFromParent(Object primaryKey, Object objectT
                 objectFromCache = cacheKey.getObject();
                 try {
                     while (cacheKey.isAcquired() && (objectFromCache == null)) {
-                        cacheKey.wait(5);
+                        cacheKey.getLockReleasedCondition().await(5, TimeUnit.MILLISECONDS);
                     }
                 } catch (InterruptedException ex) {
                 }
                 if (objectFromCache == null) {
                     return null;
                 }
+            } finally {
+                cacheKey.getInstanceLock().unlock();
             }
         } else {
             return null;
@@ -539,6 +543,19 @@ public void invalidateQueryCache(Class<?> classThatChanged) {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Invalidate/remove the results for the class from the query cache that the committed changes could affect.
+     */
+    @Override
+    public void invalidateQueryCache(Class<?> classThatChanged, UnitOfWorkChangeSet changeSet) {
+        if (!session.getDescriptor(classThatChanged).getCachePolicy().isSharedIsolation()) {
+            getIdentityMapManager().invalidateQueryCache(classThatChanged, changeSet);
+        } else {
+            ((IsolatedClientSession)session).getParent().getIdentityMapAccessorInstance().invalidateQueryCache(classThatChanged, changeSet);
+        }
+    }
+
     /**
      * PUBLIC:
      * Reset the entire local object cache.
@@ -668,6 +668,7 @@ protected static class BatchWritingProp extends Prop {
             valueArray = new Object[] {
                 BatchWriting.None,
                 BatchWriting.JDBC,
+                BatchWriting.JDBCGrouped,
                 BatchWriting.Buffered,
                 BatchWriting.OracleJDBC
             };
@@ -3430,8 +3430,10 @@ protected void mergeChangesIntoParent() {
 
                 postMergeChanges(classesChanged);
 
+                // The deleted objects are not in the change set yet, so the changes are not known.
+                UnitOfWorkChangeSet changes = hasDeletedObjects() ? null : uowChangeSet;
                 for (Class<?> changedClass : classesChanged) {
-                    this.parent.getIdentityMapAccessorInstance().invalidateQueryCache(changedClass);
+                    this.parent.getIdentityMapAccessorInstance().invalidateQueryCache(changedClass, changes);
                 }
                 // If change propagation enabled through RemoteCommandManager then go for it
                 if (this.parent.shouldPropagateChanges() && (this.parent.getCommandManager() != null)) {
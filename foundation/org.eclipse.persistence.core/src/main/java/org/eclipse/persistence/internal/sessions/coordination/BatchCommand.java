@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions.coordination;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.persistence.exceptions.RemoteCommandManagerException;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.eclipse.persistence.sessions.serializers.Serializer;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Send several commands to the remote services as a single command.
+ * </p>
+ * <p>
+ * <b>Description</b>: The serialized commands are compressed together, and
+ * executed in order by the receiving RCM.
+ * </p>
+ * @see CommandBatcher
+ */
+public class BatchCommand extends RCMCommand {
+
+    /** The compressed serialized commands */
+    protected byte[] commandBytes;
+
+    /** The number of commands in the batch */
+    protected int size;
+
+    public BatchCommand(List<byte[]> commands) {
+        super();
+        this.size = commands.size();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream stream = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            stream.writeInt(commands.size());
+            for (byte[] command : commands) {
+                stream.writeInt(command.length);
+                stream.write(command);
+            }
+        } catch (IOException exception) {
+            throw RemoteCommandManagerException.errorSerializeOrDeserialzeCommand(exception);
+        }
+        this.commandBytes = bytes.toByteArray();
+    }
+
+    /**
+     * INTERNAL:
+     * Return the number of commands in the batch.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * INTERNAL:
+     * Decompress and deserialize the commands of the batch.
+     */
+    public List<Command> getCommands(RemoteCommandManager rcm) {
+        Serializer serializer = rcm.getSerializer();
+        if (serializer == null) {
+            serializer = JavaSerializer.instance;
+        }
+        AbstractSession session = (AbstractSession)rcm.getCommandProcessor();
+        try (DataInputStream stream = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(this.commandBytes)))) {
+            int size = stream.readInt();
+            List<Command> commands = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                byte[] command = new byte[stream.readInt()];
+                stream.readFully(command);
+                commands.add((Command)serializer.deserialize(command, session));
+            }
+            return commands;
+        } catch (IOException exception) {
+            throw RemoteCommandManagerException.errorSerializeOrDeserialzeCommand(exception);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Execute each of the commands of the batch in order.
+     */
+    @Override
+    public void executeWithRCM(RemoteCommandManager rcm) {
+        for (Command command : getCommands(rcm)) {
+            rcm.processBatchedCommand(command);
+        }
+    }
+
+    @Override
+    public void executeWithSession(AbstractSession session) {
+        // Internal RCM commands do not implement this method
+    }
+}
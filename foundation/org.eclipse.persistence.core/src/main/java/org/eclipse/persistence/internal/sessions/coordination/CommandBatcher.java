@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions.coordination;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.eclipse.persistence.sessions.serializers.Serializer;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Coalesce the commands propagated asynchronously into batches.
+ * </p>
+ * <p>
+ * <b>Description</b>: Commands are serialized when added, and sent together as a single
+ * compressed {@link BatchCommand} once the batch size is reached, or the batch delay
+ * has passed since the first command of the batch was added.
+ * An object invalidated by a merge command is not invalidated again by the later
+ * commands of the same batch, as the receiver will invalidate it when applying the batch.
+ * Commands are serialized outside of the batcher's lock, a batch is not sent
+ * until the commands coalesced against it have been added.
+ * </p>
+ * @see RemoteCommandManager#setCommandBatchSize(int)
+ * @see RemoteCommandManager#setCommandBatchDelay(long)
+ */
+public class CommandBatcher implements Runnable {
+
+    /** Reference to manager to get serializer, connections, etc. */
+    protected RemoteCommandManager rcm;
+
+    /** The serialized commands of the current batch */
+    protected List<byte[]> commands;
+
+    /** The ids of the objects invalidated by the current batch, by class name */
+    protected Map<String, Set<Object>> invalidatedIds;
+
+    /** The time the first command of the current batch was added */
+    protected long batchStartTime;
+
+    /** Set while a flush of the current batch is scheduled */
+    protected boolean isFlushScheduled;
+
+    /** Number of commands coalesced against the current batch and being serialized */
+    protected int pendingCommands;
+
+    /** Set while a flush waits for the pending commands, new commands wait for the next batch */
+    protected boolean isFlushing;
+
+    /** Total of the invalidations removed by coalescing, and of the commands sent in batches, for the profiler */
+    protected long coalescedChanges;
+    protected long batchedCommands;
+
+    /** Guards the current batch */
+    protected final ReentrantLock lock;
+
+    /** Signaled when a command is added to the current batch, and when a batch is taken to be sent */
+    protected final Condition commandAdded;
+
+    public CommandBatcher(RemoteCommandManager rcm) {
+        this.rcm = rcm;
+        this.commands = new ArrayList<>();
+        this.invalidatedIds = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.commandAdded = this.lock.newCondition();
+    }
+
+    /**
+     * INTERNAL:
+     * Add the command to the current batch.
+     * The batch is sent in the background once full, otherwise a send is scheduled
+     * for the end of the batch delay.
+     */
+    public void addCommand(Command command) {
+        boolean shouldFlush = false;
+        this.lock.lock();
+        try {
+            while (this.isFlushing) {
+                this.commandAdded.awaitUninterruptibly();
+            }
+            if (!coalesce(command)) {
+                return;
+            }
+            // The command must be added to the same batch it was coalesced against,
+            // so the batch is not sent until the command is added.
+            this.pendingCommands++;
+        } finally {
+            this.lock.unlock();
+        }
+        byte[] commandBytes = null;
+        try {
+            commandBytes = serialize(command);
+        } finally {
+            this.lock.lock();
+            try {
+                this.pendingCommands--;
+                if (commandBytes != null) {
+                    if (this.commands.isEmpty()) {
+                        this.batchStartTime = System.nanoTime();
+                    }
+                    this.commands.add(commandBytes);
+                    if (!this.isFlushScheduled) {
+                        this.isFlushScheduled = true;
+                        shouldFlush = true;
+                    }
+                }
+                this.commandAdded.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        if (shouldFlush) {
+            this.rcm.getServerPlatform().launchContainerRunnable(this);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Remove the invalidations of objects already invalidated by the current batch.
+     * Return false if nothing remains to be sent for the command.
+     * Callers of this method must hold the lock.
+     */
+    protected boolean coalesce(Command command) {
+        if (!(command instanceof MergeChangeSetCommand)) {
+            return true;
+        }
+        UnitOfWorkChangeSet changeSet = ((MergeChangeSetCommand)command).getChangeSet(null);
+        if (changeSet == null) {
+            return true;
+        }
+        int coalesced = 0;
+        Iterator<ObjectChangeSet> changeSets = changeSet.getAllChangeSets().keySet().iterator();
+        while (changeSets.hasNext()) {
+            ObjectChangeSet objectChangeSet = changeSets.next();
+            if ((objectChangeSet.getSynchronizationType() != ClassDescriptor.INVALIDATE_CHANGED_OBJECTS)
+                    || objectChangeSet.isNew() || objectChangeSet.shouldBeDeleted() || (objectChangeSet.getId() == null)) {
+                continue;
+            }
+            Set<Object> ids = this.invalidatedIds.computeIfAbsent(objectChangeSet.getClassName(), className -> new HashSet<>());
+            if (!ids.add(objectChangeSet.getId())) {
+                changeSets.remove();
+                coalesced++;
+            }
+        }
+        if (coalesced > 0) {
+            this.coalescedChanges += coalesced;
+            this.rcm.getCommandProcessor().updateProfile(SessionProfiler.RcmCoalescedChanges, this.coalescedChanges);
+            if (changeSet.getAllChangeSets().isEmpty() && !changeSet.hasDeletedObjects()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * INTERNAL:
+     * Serialize the command with the RCM's serializer.
+     */
+    protected byte[] serialize(Command command) {
+        Serializer serializer = this.rcm.getSerializer();
+        if (serializer == null) {
+            serializer = JavaSerializer.instance;
+        }
+        this.rcm.getCommandProcessor().startOperationProfile(SessionProfiler.CacheCoordinationSerialize);
+        try {
+            return (byte[])serializer.serialize(command, (AbstractSession)this.rcm.getCommandProcessor());
+        } finally {
+            this.rcm.getCommandProcessor().endOperationProfile(SessionProfiler.CacheCoordinationSerialize);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Wait until the batch is full or the batch delay has passed, then send it.
+     */
+    @Override
+    public void run() {
+        this.lock.lock();
+        try {
+            long delay = TimeUnit.MILLISECONDS.toNanos(this.rcm.getCommandBatchDelay());
+            long remaining = delay - (System.nanoTime() - this.batchStartTime);
+            while ((remaining > 0) && (this.commands.size() < this.rcm.getCommandBatchSize())) {
+                try {
+                    this.commandAdded.awaitNanos(remaining);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = delay - (System.nanoTime() - this.batchStartTime);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        flush();
+    }
+
+    /**
+     * INTERNAL:
+     * Send the current batch, if any, on the current thread.
+     */
+    public void flush() {
+        List<byte[]> batch;
+        long lag;
+        long totalBatchedCommands;
+        this.lock.lock();
+        try {
+            // Wait for the commands coalesced against the batch, a failed serialization also signals.
+            this.isFlushing = true;
+            try {
+                while (this.pendingCommands > 0) {
+                    this.commandAdded.awaitUninterruptibly();
+                }
+            } finally {
+                this.isFlushing = false;
+                this.commandAdded.signalAll();
+            }
+            this.isFlushScheduled = false;
+            if (this.commands.isEmpty()) {
+                return;
+            }
+            batch = this.commands;
+            lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.batchStartTime);
+            this.commands = new ArrayList<>();
+            this.invalidatedIds = new HashMap<>();
+            this.batchedCommands += batch.size();
+            totalBatchedCommands = this.batchedCommands;
+        } finally {
+            this.lock.unlock();
+        }
+        this.rcm.getCommandProcessor().startOperationProfile(SessionProfiler.CacheCoordination);
+        try {
+            BatchCommand command = new BatchCommand(batch);
+            command.setServiceId(this.rcm.getServiceId());
+            Object[] args = { batch.size(), lag };
+            this.rcm.logDebug("propagate_command_batch", args);
+            this.rcm.getCommandProcessor().incrementProfile(SessionProfiler.RcmBatchesSent);
+            this.rcm.getCommandProcessor().updateProfile(SessionProfiler.RcmBatchedCommands, totalBatchedCommands);
+            this.rcm.getCommandProcessor().updateProfile(SessionProfiler.RcmBatchLag, lag);
+            CommandPropagator propagator = new CommandPropagator(this.rcm, command, serialize(command));
+            propagator.run();
+        } catch (RuntimeException exception) {
+            // Failures to send to a connection are counted by the propagator.
+            Object[] args = { batch.size(), exception };
+            this.rcm.logWarning("failed_command_batch_propagation", args);
+        } finally {
+            this.rcm.getCommandProcessor().endOperationProfile(SessionProfiler.CacheCoordination);
+        }
+    }
+}
@@ -139,6 +139,7 @@ public void propagateCommand(RemoteConnection connection) {
      * and throw it on this, the client side.
      */
     public void handleExceptionFromRemoteExecution(RemoteConnection conn, String exString) {
+        rcm.getCommandProcessor().incrementProfile(SessionProfiler.RcmFailedSends);
         // Log the error and pass the exception off to the handler
         Object[] args = { conn.getServiceId(), exString };
         rcm.logWarning("failed_command_propagation", args);
@@ -157,7 +158,9 @@ public void handleExceptionFromRemoteExecution(RemoteConnection conn, String exS
      */
     public void handleCommunicationException(RemoteConnection conn, CommunicationException comEx) {
         // If the removeOnError flag is set then just log a warning and discard connection
+        rcm.getCommandProcessor().incrementProfile(SessionProfiler.RcmFailedSends);
         if (rcm.getTransportManager().shouldRemoveConnectionOnError()) {
+            rcm.getCommandProcessor().incrementProfile(SessionProfiler.RcmDroppedConnections);
             Object[] args = { conn.getServiceId(), comEx.getInternalException() };
             rcm.logWarning("drop_connection_on_error", args);
             rcm.getTransportManager().removeConnectionToExternalService(conn);
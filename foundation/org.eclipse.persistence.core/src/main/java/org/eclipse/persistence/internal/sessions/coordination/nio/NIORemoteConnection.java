@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions.coordination.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.InterruptedByTimeoutException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.persistence.exceptions.CommunicationException;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.eclipse.persistence.sessions.serializers.Serializer;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Send commands to a remote service over a persistent NIO socket.
+ * </p>
+ * <p>
+ * <b>Description</b>: Each command is written as a frame, the length of the serialized command
+ * followed by its bytes.
+ * The frames are queued, and the thread that finds the channel idle writes all of the queued frames
+ * with a single gathering write, so concurrent commits share the system calls.
+ * The queue is bounded, when the remote service cannot keep up the senders wait for space
+ * up to the send timeout, then fail so the connection can be dropped.
+ * The channel is non-blocking, a write the remote service does not read within the send timeout
+ * also fails and closes the connection, so a stalled remote service never blocks a committing thread.
+ * </p>
+ * @see NIOServerConnection
+ * @see org.eclipse.persistence.sessions.coordination.nio.NIOTransportManager
+ */
+public class NIORemoteConnection extends RemoteConnection {
+
+    /** The maximum number of frames written by a single gathering write */
+    protected static final int MAX_FRAMES_PER_WRITE = 256;
+
+    protected transient RemoteCommandManager rcm;
+    protected transient SocketChannel channel;
+    /** The selector waiting for the channel to be writable, only used by the writing thread */
+    protected transient Selector selector;
+    protected transient BlockingQueue<byte[]> frames;
+    protected transient AtomicBoolean isWriting;
+    protected long sendTimeout;
+
+    /** The write failure, once the channel has failed no more commands can be sent */
+    protected volatile IOException failure;
+
+    /**
+     * INTERNAL:
+     * Create a connection over the connected channel, the channel is switched to non-blocking mode.
+     */
+    public NIORemoteConnection(RemoteCommandManager rcm, SocketChannel channel, int sendQueueSize, long sendTimeout) throws IOException {
+        this.rcm = rcm;
+        this.channel = channel;
+        this.channel.configureBlocking(false);
+        this.selector = Selector.open();
+        this.channel.register(this.selector, SelectionKey.OP_WRITE);
+        this.frames = new ArrayBlockingQueue<>(sendQueueSize);
+        this.isWriting = new AtomicBoolean();
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the channel to the remote service.
+     */
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * INTERNAL:
+     * Serialize and send the command to the remote service.
+     */
+    @Override
+    public Object executeCommand(Command command) throws CommunicationException {
+        Serializer serializer = this.rcm.getSerializer();
+        if (serializer == null) {
+            serializer = JavaSerializer.instance;
+        }
+        return executeCommand((byte[])serializer.serialize(command, (AbstractSession)this.rcm.getCommandProcessor()));
+    }
+
+    /**
+     * INTERNAL:
+     * Send the serialized command to the remote service.
+     * Null is returned once the command is queued, errors processing the command
+     * are logged by the remote service.
+     */
+    @Override
+    public Object executeCommand(byte[] command) throws CommunicationException {
+        if (this.failure != null) {
+            throw CommunicationException.errorInInvocation(this.failure);
+        }
+        try {
+            if (!this.frames.offer(command, this.sendTimeout, TimeUnit.MILLISECONDS)) {
+                throw CommunicationException.unableToPropagateChanges(getServiceId().toString(), new TimeoutException());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw CommunicationException.unableToPropagateChanges(getServiceId().toString(), exception);
+        }
+        try {
+            writeFrames();
+        } catch (IOException exception) {
+            this.failure = exception;
+            close();
+            throw CommunicationException.errorInInvocation(exception);
+        }
+        return null;
+    }
+
+    /**
+     * INTERNAL:
+     * Write the queued frames unless another thread is already writing them.
+     * The queue is checked again once released, as a frame may have been queued after the last write.
+     * The frames must be written within the send timeout, otherwise the write fails.
+     */
+    protected void writeFrames() throws IOException {
+        ByteBuffer[] buffers = null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.sendTimeout);
+        do {
+            if (!this.isWriting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (buffers == null) {
+                    buffers = new ByteBuffer[MAX_FRAMES_PER_WRITE * 2];
+                }
+                int count = 0;
+                byte[] frame;
+                while ((count < buffers.length) && ((frame = this.frames.poll()) != null)) {
+                    buffers[count++] = ByteBuffer.allocate(4).putInt(frame.length).flip();
+                    buffers[count++] = ByteBuffer.wrap(frame);
+                }
+                while ((count > 0) && buffers[count - 1].hasRemaining()) {
+                    if (this.channel.write(buffers, 0, count) == 0) {
+                        awaitWritable(deadline);
+                    }
+                }
+            } finally {
+                this.isWriting.set(false);
+            }
+        } while (!this.frames.isEmpty());
+    }
+
+    /**
+     * INTERNAL:
+     * Wait for the channel to accept more bytes, the remote service is not reading
+     * if it does not before the deadline.
+     */
+    protected void awaitWritable(long deadline) throws IOException {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+            throw new InterruptedByTimeoutException();
+        }
+        try {
+            this.selector.select(remaining);
+            this.selector.selectedKeys().clear();
+        } catch (ClosedSelectorException exception) {
+            // The connection was closed while waiting.
+            throw new AsynchronousCloseException();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Close the channel to the remote service.
+     */
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException ignore) {
+            // Already closing.
+        }
+        try {
+            this.selector.close();
+        } catch (IOException ignore) {
+            // Already closing.
+        }
+    }
+}
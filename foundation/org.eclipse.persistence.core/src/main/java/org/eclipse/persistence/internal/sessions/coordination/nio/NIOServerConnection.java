@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.sessions.coordination.nio;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+import org.eclipse.persistence.exceptions.CommunicationException;
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.sessions.coordination.Command;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Receive the commands sent by the remote services over NIO sockets.
+ * </p>
+ * <p>
+ * <b>Description</b>: The local connection of the NIOTransportManager.
+ * A single thread accepts the connections of the remote services and reads
+ * their length prefixed frames from non-blocking channels.
+ * Each frame is a serialized command, and is processed by the RCM on the listening thread,
+ * so the commands from each remote service are processed in the order they were sent.
+ * A channel sending a frame larger than the maximum frame size is closed.
+ * </p>
+ * @see NIORemoteConnection
+ * @see org.eclipse.persistence.sessions.coordination.nio.NIOTransportManager
+ */
+public class NIOServerConnection extends RemoteConnection implements Runnable {
+
+    /** The size of the buffer the channels are read into */
+    protected static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    protected transient RemoteCommandManager rcm;
+    protected transient Selector selector;
+    protected transient ServerSocketChannel serverChannel;
+    protected transient ByteBuffer readBuffer;
+    protected volatile boolean isActive;
+
+    /** The maximum length of a frame, as the frame's buffer is allocated from the length sent */
+    protected int maxFrameSize;
+
+    public NIOServerConnection(RemoteCommandManager rcm, InetSocketAddress address, int maxFrameSize) throws IOException {
+        this.rcm = rcm;
+        this.maxFrameSize = maxFrameSize;
+        this.selector = Selector.open();
+        try {
+            this.serverChannel = ServerSocketChannel.open();
+            this.serverChannel.bind(address);
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException exception) {
+            this.selector.close();
+            if (this.serverChannel != null) {
+                this.serverChannel.close();
+            }
+            throw exception;
+        }
+        this.readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        this.isActive = true;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the port the connection is listening on.
+     */
+    public int getLocalPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * INTERNAL:
+     * Accept and read the remote connections until the connection is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (this.isActive) {
+                this.selector.select();
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read(key);
+                    }
+                }
+            }
+        } catch (IOException exception) {
+            if (this.isActive) {
+                this.rcm.handleException(CommunicationException.errorInInvocation(exception));
+            }
+        } finally {
+            for (SelectionKey key : this.selector.keys()) {
+                closeChannel(key);
+            }
+            try {
+                this.selector.close();
+            } catch (IOException ignore) {
+                // Already closing.
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Accept the connection of a remote service.
+     */
+    protected void accept() {
+        SocketChannel channel = null;
+        try {
+            channel = this.serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(this.selector, SelectionKey.OP_READ, new FrameReader(this.maxFrameSize));
+        } catch (IOException exception) {
+            Object[] args = { (channel == null) ? null : channel.socket().getRemoteSocketAddress(), exception };
+            this.rcm.logWarning("error_reading_remote_command_socket", args);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                    // Already failed.
+                }
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Read the available bytes of the channel, and process each complete frame.
+     * A channel that fails or sends a corrupt frame is closed, the remote service will reconnect.
+     */
+    protected void read(SelectionKey key) {
+        SocketChannel channel = (SocketChannel)key.channel();
+        FrameReader reader = (FrameReader)key.attachment();
+        try {
+            this.readBuffer.clear();
+            if (channel.read(this.readBuffer) < 0) {
+                closeChannel(key);
+                return;
+            }
+            this.readBuffer.flip();
+            while (this.readBuffer.hasRemaining()) {
+                byte[] frame = reader.read(this.readBuffer);
+                if (frame != null) {
+                    executeCommand(frame);
+                }
+            }
+        } catch (IOException exception) {
+            Object[] args = { channel.socket().getRemoteSocketAddress(), exception };
+            this.rcm.logWarning("error_reading_remote_command_socket", args);
+            closeChannel(key);
+        }
+    }
+
+    protected void closeChannel(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignore) {
+            // Already closing.
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Process the command locally.
+     */
+    @Override
+    public Object executeCommand(Command command) {
+        try {
+            this.rcm.processCommandFromRemoteConnection(command);
+        } catch (Exception exception) {
+            Object[] args = { Helper.getShortClassName(command), Helper.printStackTraceToString(exception) };
+            this.rcm.logWarning("error_executing_remote_command", args);
+            return exception.toString();
+        }
+        return null;
+    }
+
+    /**
+     * INTERNAL:
+     * Process the serialized command locally.
+     */
+    @Override
+    public Object executeCommand(byte[] command) {
+        try {
+            this.rcm.processCommandFromRemoteConnection(command);
+        } catch (Exception exception) {
+            Object[] args = { Helper.getShortClassName(command), Helper.printStackTraceToString(exception) };
+            this.rcm.logWarning("error_executing_remote_command", args);
+            return exception.toString();
+        }
+        return null;
+    }
+
+    /**
+     * INTERNAL:
+     * Stop listening, the channels are closed by the listening thread.
+     */
+    @Override
+    public void close() {
+        this.isActive = false;
+        try {
+            this.serverChannel.close();
+        } catch (IOException ignore) {
+            // Already closing.
+        }
+        this.selector.wakeup();
+    }
+
+    /**
+     * Assembles the frames of a channel from the bytes read.
+     * Each frame is the length of the command as an int, followed by the serialized command.
+     */
+    protected static class FrameReader {
+        protected final ByteBuffer header = ByteBuffer.allocate(4);
+        protected final int maxFrameSize;
+        protected byte[] frame;
+        protected int position;
+
+        protected FrameReader(int maxFrameSize) {
+            this.maxFrameSize = maxFrameSize;
+        }
+
+        /**
+         * Consume the bytes of the buffer up to the end of the current frame,
+         * and return the frame if it is complete.
+         */
+        protected byte[] read(ByteBuffer buffer) throws IOException {
+            if (this.frame == null) {
+                while (this.header.hasRemaining() && buffer.hasRemaining()) {
+                    this.header.put(buffer.get());
+                }
+                if (this.header.hasRemaining()) {
+                    return null;
+                }
+                int length = this.header.getInt(0);
+                if ((length < 0) || (length > this.maxFrameSize)) {
+                    throw new StreamCorruptedException("Invalid frame length: " + length);
+                }
+                this.frame = new byte[length];
+                this.position = 0;
+            }
+            int count = Math.min(buffer.remaining(), this.frame.length - this.position);
+            buffer.get(this.frame, this.position, count);
+            this.position = this.position + count;
+            if (this.position < this.frame.length) {
+                return null;
+            }
+            byte[] result = this.frame;
+            this.frame = null;
+            this.header.clear();
+            return result;
+        }
+    }
+}
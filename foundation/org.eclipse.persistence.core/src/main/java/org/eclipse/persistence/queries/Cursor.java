@@ -46,6 +46,12 @@ public abstract class Cursor implements Enumeration, Iterator, java.io.Serializa
     /** The fields expected in the result set. */
     protected transient Vector<DatabaseField> fields;
 
+    /** PERF: The fields array shared by every row built from the result set. */
+    protected transient DatabaseField[] fieldsArray;
+
+    /** PERF: Cache the result set meta-data to avoid fetching it for each row. */
+    protected transient ResultSetMetaData metaData;
+
     /** Cached size of the stream. */
     protected int size = -1;
 
@@ -88,6 +94,7 @@ protected Cursor(DatabaseCall call, CursorPolicy policy) {
         this.executionSession = session.getExecutionSession(query);
         this.statement = call.getStatement();
         this.fields = call.getFields();
+        this.fieldsArray = call.getFieldsArray();
         this.resultSet = call.getResult();
         this.policy = policy;
         this.objectCollection = new Vector();
@@ -137,6 +144,7 @@ public void close() throws DatabaseException {
             }
             this.statement = null;
             this.resultSet = null;
+            this.metaData = null;
             this.nextRow = null;
         } catch (SQLException sqlException) {
             throw DatabaseException.sqlException(sqlException, getAccessor(), getSession(), false);
@@ -178,6 +186,33 @@ public Vector<DatabaseField> getFields() {
         return fields;
     }
 
+    /**
+     * INTERNAL:
+     * Return the fields for the stream as an array, shared by the rows of the stream.
+     */
+    public DatabaseField[] getFieldsArray() {
+        return fieldsArray;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the meta-data of the result set.
+     * This is fetched once for the stream, instead of for each row.
+     * Return null if the stream is closed.
+     */
+    public ResultSetMetaData getResultSetMetaData() throws DatabaseException {
+        if ((this.metaData == null) && (this.resultSet != null)) {
+            try {
+                this.metaData = this.resultSet.getMetaData();
+            } catch (SQLException exception) {
+                DatabaseException commException = getAccessor().processExceptionForCommError(this.session, exception, null);
+                if (commException != null) throw commException;
+                throw DatabaseException.sqlException(exception, getAccessor(), this.session, false);
+            }
+        }
+        return this.metaData;
+    }
+
     /**
      * INTERNAL:
      * Conforming instances found in memory when building the result.
@@ -325,6 +360,11 @@ protected Object buildAndRegisterObject(AbstractRecord row) {
      */
     protected void setFields(Vector<DatabaseField> fields) {
         this.fields = fields;
+        if (fields != null) {
+            this.fieldsArray = fields.toArray(new DatabaseField[fields.size()]);
+        } else {
+            this.fieldsArray = null;
+        }
     }
 
     /**
@@ -368,6 +408,7 @@ protected void setPosition(int value) {
      */
     protected void setResultSet(ResultSet result) {
         resultSet = result;
+        metaData = null;
     }
 
     /**
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.queries;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.persistence.exceptions.QueryException;
+import org.eclipse.persistence.internal.descriptors.DescriptorIterator;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
+
+/**
+ * <p><b>Purpose</b>:
+ * Publish the results of a read query to reactive subscribers with back-pressure.
+ *
+ * <p><b>Responsibilities</b>:
+ * Each subscription executes the query with a cursor when the subscriber first requests results,
+ * and only reads and builds the pages of objects needed for the subscriber's demand.
+ * The objects are emitted on the session's query executor, so no thread is held while there is no demand.
+ * The objects emitted are released from the cursor after each page, and from the unit of work if the query
+ * is executed in one, so the memory used is constant however large the result is.
+ * The cursor is closed when all of the results have been emitted, the subscription is cancelled, or the query fails.
+ *
+ * @see org.eclipse.persistence.sessions.Session#executeQueryPublisher(ReadQuery)
+ * @see CursoredStream
+ */
+public class CursorPublisher<T> implements Flow.Publisher<T> {
+
+    /** The default number of objects read from the cursor at a time. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    protected AbstractSession session;
+    protected ReadQuery query;
+    protected List argumentValues;
+    protected Supplier<? extends Cursor> cursorSupplier;
+    protected int pageSize;
+    protected boolean shouldReleaseObjects;
+
+    /**
+     * PUBLIC:
+     * Create a publisher of the results of the query executed with the arguments by the session.
+     * The query must be a ReadAllQuery or DataReadQuery, it is executed as a CursoredStream.
+     */
+    public CursorPublisher(AbstractSession session, ReadQuery query, List argumentValues) {
+        if (!query.isReadAllQuery() && !query.isDataReadQuery()) {
+            throw QueryException.incorrectQueryObjectFound(query, ReadAllQuery.class);
+        }
+        this.session = session;
+        this.query = query;
+        this.argumentValues = argumentValues;
+        this.cursorSupplier = this::openCursor;
+        this.pageSize = DEFAULT_PAGE_SIZE;
+        this.shouldReleaseObjects = true;
+    }
+
+    /**
+     * PUBLIC:
+     * Create a publisher of the cursors opened by the supplier.
+     * This allows a query configured to return a cursor to be published.
+     */
+    public CursorPublisher(AbstractSession session, Supplier<? extends Cursor> cursorSupplier) {
+        this.session = session;
+        this.cursorSupplier = cursorSupplier;
+        this.pageSize = DEFAULT_PAGE_SIZE;
+        this.shouldReleaseObjects = true;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of objects read from the cursor at a time.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of objects read from the cursor at a time,
+     * and released once they have been emitted.
+     * The default is 100.
+     */
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Return if the objects emitted are released from the unit of work.
+     */
+    public boolean shouldReleaseObjects() {
+        return shouldReleaseObjects;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if the objects emitted are released from the unit of work the query is executed in.
+     * The released objects are detached, so changes made to them are not committed.
+     * This should be disabled if the objects are read to be changed in the unit of work.
+     * The default is true.
+     */
+    public void setShouldReleaseObjects(boolean shouldReleaseObjects) {
+        this.shouldReleaseObjects = shouldReleaseObjects;
+    }
+
+    /**
+     * PUBLIC:
+     * Subscribe to the results, the query is executed when the subscriber first requests results.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException();
+        }
+        CursorSubscription subscription = new CursorSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * INTERNAL:
+     * Execute a copy of the query as a cursored stream reading a page at a time.
+     */
+    protected Cursor openCursor() {
+        ReadQuery cursorQuery = (ReadQuery)this.query.clone();
+        CursoredStreamPolicy policy = new CursoredStreamPolicy(cursorQuery, this.pageSize, this.pageSize);
+        if (cursorQuery.isReadAllQuery()) {
+            ((ReadAllQuery)cursorQuery).setContainerPolicy(policy);
+        } else {
+            ((DataReadQuery)cursorQuery).setContainerPolicy(policy);
+        }
+        if (this.argumentValues == null) {
+            return (Cursor)this.session.executeQuery(cursorQuery);
+        }
+        return (Cursor)this.session.executeQuery(cursorQuery, this.argumentValues);
+    }
+
+    /**
+     * INTERNAL:
+     * Release the object emitted from the unit of work the cursor's query is executed in.
+     */
+    protected void release(Cursor cursor, Object object) {
+        AbstractSession cursorSession = cursor.getSession();
+        if ((cursorSession != null) && cursorSession.isUnitOfWork() && cursor.getQuery().isObjectLevelReadQuery()
+                && !cursor.getQuery().isReportQuery()) {
+            ((UnitOfWorkImpl)cursorSession).unregisterObject(object, DescriptorIterator.NoCascading, true);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * The subscription of a subscriber, its demand is emitted by a single task at a time on the session's executor.
+     */
+    protected class CursorSubscription implements Flow.Subscription {
+        protected final Flow.Subscriber<? super T> subscriber;
+        protected final AtomicLong requested = new AtomicLong();
+        protected final AtomicInteger pendingSignals = new AtomicInteger();
+        protected volatile boolean isCancelled;
+        protected volatile IllegalArgumentException requestError;
+        protected boolean isDone;
+        protected Cursor cursor;
+        protected int emittedInPage;
+
+        protected CursorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long count) {
+            if (count <= 0) {
+                // A non-positive request is a subscriber error, the subscription is cancelled.
+                this.requestError = new IllegalArgumentException("Non-positive request: " + count);
+                this.isCancelled = true;
+            } else {
+                this.requested.accumulateAndGet(count, (current, added) -> {
+                    long total = current + added;
+                    return (total < 0) ? Long.MAX_VALUE : total;
+                });
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            this.isCancelled = true;
+            signal();
+        }
+
+        /**
+         * Emit the demand on the executor, unless a task is already emitting, it will see the new demand.
+         */
+        protected void signal() {
+            if (this.pendingSignals.getAndIncrement() == 0) {
+                session.executeAsync(() -> {
+                    emitAll();
+                    return null;
+                });
+            }
+        }
+
+        protected void emitAll() {
+            int signals = 1;
+            do {
+                emit();
+                signals = this.pendingSignals.addAndGet(-signals);
+            } while (signals != 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        protected void emit() {
+            if (this.isDone) {
+                return;
+            }
+            try {
+                if (this.isCancelled) {
+                    finish();
+                    if (this.requestError != null) {
+                        this.subscriber.onError(this.requestError);
+                    }
+                    return;
+                }
+                if (this.cursor == null) {
+                    this.cursor = cursorSupplier.get();
+                }
+                long demand = this.requested.get();
+                long emitted = 0;
+                while ((emitted < demand) && !this.isCancelled) {
+                    if (!this.cursor.hasNext()) {
+                        finish();
+                        this.subscriber.onComplete();
+                        return;
+                    }
+                    Object next = this.cursor.next();
+                    if (shouldReleaseObjects) {
+                        release(this.cursor, next);
+                    }
+                    this.subscriber.onNext((T)next);
+                    emitted++;
+                    this.emittedInPage++;
+                    if (this.emittedInPage >= pageSize) {
+                        // Release the objects of the page emitted from the cursor.
+                        this.cursor.clear();
+                        this.emittedInPage = 0;
+                    }
+                }
+                if (demand != Long.MAX_VALUE) {
+                    this.requested.addAndGet(-emitted);
+                }
+                if (this.isCancelled) {
+                    finish();
+                }
+            } catch (RuntimeException exception) {
+                try {
+                    finish();
+                } catch (RuntimeException ignore) {
+                    // Report the original failure.
+                }
+                this.subscriber.onError(exception);
+            }
+        }
+
+        /**
+         * Close the cursor, no more signals are sent to the subscriber.
+         */
+        protected void finish() {
+            this.isDone = true;
+            if (this.cursor != null) {
+                Cursor cursor = this.cursor;
+                this.cursor = null;
+                cursor.close();
+            }
+        }
+    }
+}
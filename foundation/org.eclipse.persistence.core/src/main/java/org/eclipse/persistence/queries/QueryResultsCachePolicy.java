@@ -47,6 +47,10 @@ public class QueryResultsCachePolicy implements Serializable, Cloneable {
     protected boolean invalidateOnChange;
     /** Stores the set of classes that should trigger the query cached results to be invalidated. */
     protected Set<Class<?>> invalidationClasses;
+    /** Allows only the results a change could affect to be invalidated. */
+    protected boolean invalidateOnlyAffectedResults;
+    /** Specifies the maximum number of objects in a cached result. */
+    protected int maximumResultSize;
 
     /**
      * PUBLIC:
@@ -72,6 +76,8 @@ public QueryResultsCachePolicy(CacheInvalidationPolicy policy, int maximumResult
         this.isNullIgnored = false;
         this.invalidateOnChange = true;
         this.invalidationClasses = new HashSet<>();
+        this.invalidateOnlyAffectedResults = false;
+        this.maximumResultSize = 0;
     }
 
     @Override
@@ -140,6 +146,49 @@ public void setInvalidateOnChange(boolean invalidateOnChange) {
         this.invalidateOnChange = invalidateOnChange;
     }
 
+    /**
+     * PUBLIC:
+     * Return if a change should only invalidate the query results it could affect.
+     * By default any change to the query classes invalidates all of the query results.
+     */
+    public boolean getInvalidateOnlyAffectedResults() {
+        return invalidateOnlyAffectedResults;
+    }
+
+    /**
+     * PUBLIC:
+     * Configure if a change should only invalidate the query results it could affect.
+     * When set, a change to an object of the query class only invalidates the results for the parameter values
+     * the object's old and new values match, and the results containing the object,
+     * unless the change is to an attribute the query depends on in some other way.
+     * This is only used for queries on the attributes of the query class, with invalidate on change,
+     * the results of other queries are invalidated as normal.
+     * By default any change to the query classes invalidates all of the query results.
+     */
+    public void setInvalidateOnlyAffectedResults(boolean invalidateOnlyAffectedResults) {
+        this.invalidateOnlyAffectedResults = invalidateOnlyAffectedResults;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the maximum number of objects in a cached result.
+     * Larger results are not cached, 0 means there is no maximum.
+     */
+    public int getMaximumResultSize() {
+        return maximumResultSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum number of objects in a cached result.
+     * Larger results are not cached, so together with the maximum cached results
+     * this bounds the memory used by the query results.
+     * By default 0, there is no maximum.
+     */
+    public void setMaximumResultSize(int maximumResultSize) {
+        this.maximumResultSize = maximumResultSize;
+    }
+
     /**
      * PUBLIC:
      * Return the type of the cache used for the query results.
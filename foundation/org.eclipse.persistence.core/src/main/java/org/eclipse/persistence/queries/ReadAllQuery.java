@@ -80,6 +80,9 @@ public class ReadAllQuery extends ObjectLevelReadQuery {
     protected List<Expression> orderSiblingsByExpressions;
     protected Direction direction;
 
+    /** Allow the objects of large results to be built on parallel threads. */
+    protected boolean shouldBuildObjectsInParallel;
+
     /**
      * Specifies the direction in which the hierarchy is traversed in a
      * hierarchical query.
@@ -702,6 +705,28 @@ public Object extractRemoteResult(Transporter transporter) {
         return ((DistributedSession)getSession()).getObjectsCorrespondingToAll(transporter.getObject(), transporter.getObjectDescriptors(), new IdentityHashMap(), this, getContainerPolicy());
     }
 
+    /**
+     * PUBLIC:
+     * Return if the objects of large results are built on parallel threads.
+     */
+    public boolean shouldBuildObjectsInParallel() {
+        return shouldBuildObjectsInParallel;
+    }
+
+    /**
+     * PUBLIC:
+     * Set if the objects of large results are built on parallel threads.
+     * The rows are split into batches that are built into the shared cache by the session's object building executor,
+     * and the objects are added to the result in the order of the rows.
+     * This is only used for queries executed against a thread safe session, such as read-only queries,
+     * and without joined or batch fetched attributes, otherwise the objects are built serially.
+     * Event listeners and the object's methods called while building must be thread safe.
+     * By default objects are built serially.
+     */
+    public void setShouldBuildObjectsInParallel(boolean shouldBuildObjectsInParallel) {
+        this.shouldBuildObjectsInParallel = shouldBuildObjectsInParallel;
+    }
+
     /**
      * INTERNAL:
      * Return the query's container policy.
@@ -184,6 +184,26 @@ public interface SequencingControl {
      */
     void setInitialPoolSize(int size);
 
+    /**
+     * PUBLIC:
+     * Return the percentage of a preallocated block of sequence values used
+     * before the next block is fetched in the background.
+     * By default is 0, the next block is fetched when the current block is used.
+     */
+    int getPrefetchThreshold();
+
+    /**
+     * PUBLIC:
+     * Set the percentage of a preallocated block of sequence values used
+     * before the next block is fetched in the background, i.e. 80.
+     * This avoids inserting threads waiting for the database when a block is used.
+     * Only used for sequences allocated outside of the transaction,
+     * i.e. table sequencing with a separate sequencing connection pool,
+     * or sequence objects with a server session.
+     * 0 (the default) disables prefetching.
+     */
+    void setPrefetchThreshold(int percentage);
+
     /**
      * ADVANCED:
      * Removes all preallocated sequencing objects.
@@ -44,11 +44,13 @@
 import org.eclipse.persistence.internal.helper.ClassConstants;
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.identitymaps.CacheIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.ConcurrentCacheIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
 import org.eclipse.persistence.internal.identitymaps.FullIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.HardCacheWeakIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.IdentityMap;
 import org.eclipse.persistence.internal.identitymaps.NoIdentityMap;
+import org.eclipse.persistence.internal.identitymaps.OffHeapCacheIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.SoftCacheWeakIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.SoftIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.WeakIdentityMap;
@@ -387,6 +389,59 @@ public Integer getNumberOfObjectsInIdentityMapSubCache(String className) throws
         return result;
     }
 
+    /**
+     * This method is used to return the ratio of lookups that found an object in a particular Identity Map.
+     * Only works for those identity Maps that keep statistics (ie Concurrent Cache Identity Map),
+     * -1 is returned for other identity maps.
+     * @param className the fully qualified name of the class to get the hit ratio of.
+     * @exception ClassNotFoundException thrown then the IdentityMap for that class name could not be found
+     */
+    public Double getIdentityMapHitRatio(String className) throws ClassNotFoundException {
+        Class<?> classToChange = getSession().getDatasourcePlatform().getConversionManager().convertObject(className, ClassConstants.CLASS);
+        IdentityMap map = getSession().getIdentityMapAccessorInstance().getIdentityMap(classToChange);
+        if (map instanceof ConcurrentCacheIdentityMap) {
+            return ((ConcurrentCacheIdentityMap)map).getHitRatio();
+        }
+        return -1.0;
+    }
+
+    /**
+     * This method is used to return the number of objects evicted from a particular Identity Map to keep it within its size.
+     * Only works for those identity Maps that keep statistics (ie Concurrent Cache Identity Map),
+     * -1 is returned for other identity maps.
+     * @param className the fully qualified name of the class to get the eviction count of.
+     * @exception ClassNotFoundException thrown then the IdentityMap for that class name could not be found
+     */
+    public Long getIdentityMapEvictionCount(String className) throws ClassNotFoundException {
+        Class<?> classToChange = getSession().getDatasourcePlatform().getConversionManager().convertObject(className, ClassConstants.CLASS);
+        IdentityMap map = getSession().getIdentityMapAccessorInstance().getIdentityMap(classToChange);
+        if (map instanceof ConcurrentCacheIdentityMap) {
+            return ((ConcurrentCacheIdentityMap)map).getEvictionCount();
+        }
+        return -1L;
+    }
+
+    /**
+     * This method is used to return the ratio of lookups that found a parsed query in the JPQL parse cache.
+     */
+    public Double getJPQLParseCacheHitRatio() {
+        return getSession().getProject().getJPQLParseCache().getHitRatio();
+    }
+
+    /**
+     * This method is used to return the number of parsed queries evicted from the JPQL parse cache to keep it within its size.
+     */
+    public Long getJPQLParseCacheEvictionCount() {
+        return getSession().getProject().getJPQLParseCache().getEvictionCount();
+    }
+
+    /**
+     * This method is used to return the number of parsed queries in the JPQL parse cache.
+     */
+    public Integer getJPQLParseCacheSize() {
+        return getSession().getProject().getJPQLParseCache().getCache().size();
+    }
+
     /**
      * <p>
      * Return the log level
@@ -842,6 +897,10 @@ public Vector<String> getMappedClassNamesUsingFilter(String filter) {
      protected String getCacheTypeFor(Class<?> identityMapClass) {
          if (identityMapClass == CacheIdentityMap.class) {
              return "Cache";
+         } else if (identityMapClass == ConcurrentCacheIdentityMap.class) {
+             return "ConcurrentCache";
+         } else if (identityMapClass == OffHeapCacheIdentityMap.class) {
+             return "OffHeapCache";
          } else if (identityMapClass == FullIdentityMap.class) {
              return "Full";
          } else if (identityMapClass == HardCacheWeakIdentityMap.class) {
@@ -151,6 +151,35 @@ public interface MBeanRuntimeServicesMBean {
      */
     Integer getNumberOfObjectsInIdentityMapSubCache(String className) throws ClassNotFoundException;
 
+    /**
+     *        This method is used to return the ratio of lookups that found an object in a particular Identity Map.
+     * Only works for those identity Maps that keep statistics (IE Concurrent Cache Identity Map), otherwise -1 is returned.
+     * If ClassNotFoundException is thrown then the IdenityMap for that class name could not be found
+     */
+    Double getIdentityMapHitRatio(String className) throws ClassNotFoundException;
+
+    /**
+     *        This method is used to return the number of objects evicted from a particular Identity Map.
+     * Only works for those identity Maps that keep statistics (IE Concurrent Cache Identity Map), otherwise -1 is returned.
+     * If ClassNotFoundException is thrown then the IdenityMap for that class name could not be found
+     */
+    Long getIdentityMapEvictionCount(String className) throws ClassNotFoundException;
+
+    /**
+     * This method is used to return the ratio of lookups that found a parsed query in the JPQL parse cache.
+     */
+    Double getJPQLParseCacheHitRatio();
+
+    /**
+     * This method is used to return the number of parsed queries evicted from the JPQL parse cache to keep it within its size.
+     */
+    Long getJPQLParseCacheEvictionCount();
+
+    /**
+     * This method is used to return the number of parsed queries in the JPQL parse cache.
+     */
+    Integer getJPQLParseCacheSize();
+
     /**
      * Return the DMS sensor weight
      */
@@ -22,6 +22,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.persistence.config.ReferenceMode;
@@ -46,6 +48,7 @@
 import org.eclipse.persistence.queries.JPQLCall;
 import org.eclipse.persistence.queries.ReadAllQuery;
 import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.queries.ReadQuery;
 import org.eclipse.persistence.queries.SQLCall;
 import org.eclipse.persistence.sessions.serializers.Serializer;
 
@@ -350,6 +353,65 @@ public interface Session extends CoreSession<ClassDescriptor, Login, Platform, P
      */
     Object executeQuery(DatabaseQuery query, List argumentValues);
 
+    /**
+     * PUBLIC:
+     * Execute the database query asynchronously on the session's query executor.
+     * The returned future completes with the result of the query, or the exception it threw.
+     * A ServerSession, or a ClientSession outside of a transaction, executes each query concurrently
+     * with a connection from the server's pools, other sessions are not thread safe,
+     * so execute their asynchronous queries one at a time.
+     * By default the query is executed on the calling thread and a completed future returned.
+     *
+     * @see #executeQuery(DatabaseQuery)
+     */
+    default CompletableFuture<Object> executeQueryAsync(DatabaseQuery query) {
+        try {
+            return CompletableFuture.completedFuture(executeQuery(query));
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Execute the database query asynchronously with the arguments on the session's query executor.
+     * By default the query is executed on the calling thread and a completed future returned.
+     *
+     * @see #executeQueryAsync(DatabaseQuery)
+     */
+    default CompletableFuture<Object> executeQueryAsync(DatabaseQuery query, List argumentValues) {
+        try {
+            return CompletableFuture.completedFuture(executeQuery(query, argumentValues));
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Return a publisher of the results of the read query.
+     * Each subscriber executes the query with a cursor, the objects are read a page at a time
+     * as the subscriber requests them, and are emitted on the session's query executor.
+     * This allows a large result to be processed with back-pressure and constant memory.
+     * The query must be a ReadAllQuery or a DataReadQuery.
+     *
+     * @see org.eclipse.persistence.queries.CursorPublisher
+     */
+    default Flow.Publisher<Object> executeQueryPublisher(ReadQuery query) {
+        return executeQueryPublisher(query, null);
+    }
+
+    /**
+     * PUBLIC:
+     * Return a publisher of the results of the read query executed with the arguments.
+     * By default publishing is not supported.
+     *
+     * @see #executeQueryPublisher(ReadQuery)
+     */
+    default Flow.Publisher<Object> executeQueryPublisher(ReadQuery query, List argumentValues) {
+        throw ValidationException.operationNotSupported("executeQueryPublisher");
+    }
+
     /**
      * PUBLIC:
      * Execute the call on the database and return the result.
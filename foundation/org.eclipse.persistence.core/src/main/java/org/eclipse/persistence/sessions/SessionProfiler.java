@@ -34,6 +34,7 @@ public interface SessionProfiler {
     String SessionName = "Info:SessionName";
     String LoginTime = "Info:LoginTime";
     String RcmStatus = "Info:CacheCoordinationStatus";
+    String RcmBatchLag = "Info:CacheCoordinationBatchLag";
     String CacheSize = "Info:CacheSize";//TODO
 
     String ClientSessionCreated = "Counter:ClientSessionCreates";
@@ -45,17 +46,36 @@ public interface SessionProfiler {
     String OptimisticLockException = "Counter:OptimisticLocks";
     String RcmReceived = "Counter:MessagesReceived";
     String RcmSent = "Counter:MessagesSent";
+    String RcmFailedSends = "Counter:MessagesFailed";
+    String RcmDroppedConnections = "Counter:CacheCoordinationDroppedConnections";
+    String RcmBatchesSent = "Counter:CacheCoordinationBatches";
+    String RcmBatchedCommands = "Counter:CacheCoordinationBatchedCommands";
+    String RcmCoalescedChanges = "Counter:CacheCoordinationCoalescedChanges";
     String RemoteChangeSet = "Counter:RemoteChangeSets";
     String Connects = "Counter:ConnectCalls";
     String Disconnects = "Counter:DisconnectCalls";
     String CacheHits = "Counter:CacheHits";
     String CacheMisses = "Counter:CacheMisses";
+    String QueryResultsCacheHits = "Counter:QueryResultsCacheHits";
+    String QueryResultsCacheMisses = "Counter:QueryResultsCacheMisses";
+    String QueryResultsCacheInvalidations = "Counter:QueryResultsCacheInvalidations";
     String ChangeSetsProcessed = "Counter:ChangesProcessed";
     String ChangeSetsNotProcessed = "Counter:ChangesNotProcessed";
+    String StatementCacheHits = "Counter:StatementCacheHits";
+    String StatementCacheMisses = "Counter:StatementCacheMisses";
+    String StatementCacheEvictions = "Counter:StatementCacheEvictions";
+    String BatchWriteStatements = "Counter:BatchWriteStatements";
+    String BatchWriteFlushes = "Counter:BatchWriteFlushes";
+    String JpqlParseCacheHits = "Counter:JPQLParseCacheHits";
+    String JpqlParseCacheMisses = "Counter:JPQLParseCacheMisses";
 
     String DescriptorEvent = "Timer:DescriptorEvents";
+    String DescriptorPreInitialize = "Timer:DescriptorPreInitialize";
+    String DescriptorInitialize = "Timer:DescriptorInitialize";
+    String DescriptorPostInitialize = "Timer:DescriptorPostInitialize";
     String SessionEvent = "Timer:SessionEvents";
     String QueryPreparation = "Timer:QueryPreparation";
+    String JpqlParse = "Timer:JPQLParse";
     String SqlGeneration = "Timer:SqlGeneration";
     String SqlPrepare = "Timer:SqlPrepare";
     String StatementExecute = "Timer:StatementExecute";
@@ -26,6 +26,7 @@
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.internal.sessions.coordination.CommandBatcher;
 import org.eclipse.persistence.internal.sessions.coordination.CommandPropagator;
 import org.eclipse.persistence.internal.sessions.coordination.RCMCommand;
 import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
@@ -78,6 +79,7 @@
 public class RemoteCommandManager implements org.eclipse.persistence.sessions.coordination.CommandManager {
     public static final String DEFAULT_CHANNEL = "EclipseLinkCommandChannel";
     public static final boolean DEFAULT_ASYNCHRONOUS_MODE = true;
+    public static final long DEFAULT_COMMAND_BATCH_DELAY = 10;
 
     /** Uniquely identifies this service in the cluster */
     protected ServiceId serviceId;
@@ -106,6 +108,15 @@ public class RemoteCommandManager implements org.eclipse.persistence.sessions.co
     /** Set the Serializer to use for serialization of commands. */
     protected Serializer serializer;
 
+    /** The maximum number of commands sent together in asynchronous mode, 0 if commands are not batched */
+    protected int commandBatchSize;
+
+    /** The maximum time in milliseconds a command waits for the rest of its batch */
+    protected long commandBatchDelay;
+
+    /** Coalesces the commands into batches, if batching */
+    protected CommandBatcher commandBatcher;
+
     //** Indicates whether RCM is active. In case there's discoveryManager it mirrors discoveryManager.isDiscoveryStopped()
     protected boolean isStopped = true;
 
@@ -122,6 +133,7 @@ public RemoteCommandManager(CommandProcessor commandProcessor) {
         this.serviceId.setChannel(DEFAULT_CHANNEL);
         this.isAsynchronous = DEFAULT_ASYNCHRONOUS_MODE;
         this.serializer = JavaSerializer.instance;
+        this.commandBatchDelay = DEFAULT_COMMAND_BATCH_DELAY;
 
         // Set the command processor to point back to this command manager
         commandProcessor.setCommandManager(this);
@@ -197,6 +209,10 @@ public void shutdown() {
             newDmgr.shallowCopy(discoveryManager);
             discoveryManager = newDmgr;
         }
+        // Send any commands still waiting for their batch.
+        if (commandBatcher != null) {
+            commandBatcher.flush();
+        }
         isStopped = true;
         transportManager.discardConnections();
     }
@@ -234,6 +250,12 @@ public void propagateCommand(Object command) {
             // Set our service id on the command to indicate that it came from us
             newCommand.setServiceId(getServiceId());
 
+            // The command will be serialized and sent with the rest of its batch
+            if (shouldBatchCommands()) {
+                getCommandBatcher().addCommand(newCommand);
+                return;
+            }
+
             // PERF: Support plugable serialization.
             Serializer serializer = getSerializer();
             byte[] commandBytes = null;
@@ -295,23 +317,45 @@ public void processCommandFromRemoteConnection(Command command) {
                 ((RCMCommand)command).executeWithRCM(this);
                 return;
             }
-
-            // Convert command if neccessary
-            Object newCommand = command;
-            if (commandConverter != null) {
-                logDebug("converting_to_user_command", args);
-                newCommand = commandConverter.convertToUserCommand(command);
-            }
-
-            // process command with command processor
-            logDebug("processing_remote_command", args);
-            this.commandProcessor.processCommand(newCommand);
+            executeCommand(command, args);
         } finally {
             this.commandProcessor.endOperationProfile(SessionProfiler.CacheCoordination);
         }
         this.commandProcessor.incrementProfile(SessionProfiler.RemoteChangeSet);
     }
 
+    /**
+     * INTERNAL:
+     * Process a command received as part of a batch.
+     * The batch is already being processed, so is only profiled once.
+     */
+    public void processBatchedCommand(Command command) {
+        Object[] args = { command.getClass().getName(), command.getServiceId() };
+        if (command.isInternalCommand() || command instanceof RCMCommand) {
+            logDebug("processing_internal_command", args);
+            ((RCMCommand)command).executeWithRCM(this);
+            return;
+        }
+        executeCommand(command, args);
+        this.commandProcessor.incrementProfile(SessionProfiler.RemoteChangeSet);
+    }
+
+    /**
+     * Convert the command if necessary and have the command processor process it.
+     */
+    protected void executeCommand(Command command, Object[] args) {
+        // Convert command if neccessary
+        Object newCommand = command;
+        if (commandConverter != null) {
+            logDebug("converting_to_user_command", args);
+            newCommand = commandConverter.convertToUserCommand(command);
+        }
+
+        // process command with command processor
+        logDebug("processing_remote_command", args);
+        this.commandProcessor.processCommand(newCommand);
+    }
+
     @Override
     public CommandProcessor getCommandProcessor() {
         return commandProcessor;
@@ -537,6 +581,66 @@ public void setShouldPropagateAsynchronously(boolean asyncMode) {
         isAsynchronous = asyncMode;
     }
 
+    /**
+     * PUBLIC:
+     * Return the maximum number of commands sent together to the cluster.
+     * Batching is only used when propagating asynchronously, 0 means commands are not batched.
+     */
+    public int getCommandBatchSize() {
+        return commandBatchSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum number of commands sent together to the cluster.
+     * When propagating asynchronously, the commands propagated within the batch delay
+     * are coalesced into a single compressed command, that the remote services apply in order.
+     * Objects invalidated by several commands of a batch are only invalidated once.
+     * By default commands are not batched (0).
+     * @see #setCommandBatchDelay(long)
+     */
+    public void setCommandBatchSize(int commandBatchSize) {
+        this.commandBatchSize = commandBatchSize;
+        if ((commandBatchSize > 0) && (this.commandBatcher == null)) {
+            this.commandBatcher = new CommandBatcher(this);
+        }
+    }
+
+    /**
+     * PUBLIC:
+     * Return the maximum time in milliseconds a command waits for the rest of its batch to be sent.
+     */
+    public long getCommandBatchDelay() {
+        return commandBatchDelay;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum time in milliseconds a command waits for the rest of its batch to be sent.
+     * The batch is sent once it reaches the batch size, or the delay has passed since its first command.
+     * The default is 10 milliseconds.
+     * @see #setCommandBatchSize(int)
+     */
+    public void setCommandBatchDelay(long commandBatchDelay) {
+        this.commandBatchDelay = commandBatchDelay;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the commands should be coalesced into batches.
+     */
+    public boolean shouldBatchCommands() {
+        return (this.commandBatchSize > 0) && this.isAsynchronous;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the batcher that coalesces the commands into batches.
+     */
+    public CommandBatcher getCommandBatcher() {
+        return this.commandBatcher;
+    }
+
     /**
      * ADVANCED:
      * Allow user to replace the $HOST subString of the local host URL with the user user input at runtime.
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.sessions.coordination.nio;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+
+import org.eclipse.persistence.exceptions.RemoteCommandManagerException;
+import org.eclipse.persistence.internal.sessions.coordination.RemoteConnection;
+import org.eclipse.persistence.internal.sessions.coordination.nio.NIORemoteConnection;
+import org.eclipse.persistence.internal.sessions.coordination.nio.NIOServerConnection;
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.coordination.TransportManager;
+
+/**
+ * <p>
+ * <b>Purpose</b>: Provide a low latency socket transport implementation for RCM.
+ * </p><p>
+ * <b>Description</b>: This class listens for the commands of the other RCM service instances
+ * on a non-blocking NIO server socket, and keeps a persistent socket to each of the other
+ * service instances to send its commands.
+ * The URL of the service is "<code>nio://host:port</code>", a port of 0 listens on any free port.
+ * Service instances find each other through the multicast announcements of the DiscoveryManager,
+ * as for RMI, but no naming service is required.
+ * </p>
+ * @see NIOServerConnection
+ * @see NIORemoteConnection
+ */
+public class NIOTransportManager extends TransportManager {
+
+    public static final String NIO_URL_PROTOCOL = "nio";
+
+    /** The default number of commands that can be queued to a remote service */
+    public static final int DEFAULT_SEND_QUEUE_SIZE = 10000;
+
+    /** The default number of milliseconds to wait for space in the queue to, or a write to, a remote service */
+    public static final long DEFAULT_SEND_TIMEOUT = 5000;
+
+    /** The default maximum size in bytes of a command received from a remote service */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+    /** The default number of milliseconds to wait to connect to a remote service */
+    public static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+
+    protected int sendQueueSize;
+    protected long sendTimeout;
+    protected int maxFrameSize;
+    protected int connectTimeout;
+
+    public NIOTransportManager() {
+    }
+
+    public NIOTransportManager(RemoteCommandManager rcm) {
+        this.rcm = rcm;
+        this.initialize();
+    }
+
+    /**
+     * INTERNAL:
+     * Initialize default properties.
+     */
+    @Override
+    public void initialize() {
+        super.initialize();
+        this.sendQueueSize = DEFAULT_SEND_QUEUE_SIZE;
+        this.sendTimeout = DEFAULT_SEND_TIMEOUT;
+        this.maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+        this.connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of commands that can be queued to a remote service
+     * before the sender has to wait.
+     */
+    public int getSendQueueSize() {
+        return sendQueueSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of commands that can be queued to a remote service
+     * before the sender has to wait.
+     * The default is 10000.
+     */
+    public void setSendQueueSize(int sendQueueSize) {
+        this.sendQueueSize = sendQueueSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of milliseconds a sender waits for the queue to a remote service,
+     * or for the remote service to read the queued commands,
+     * before the connection is considered to have failed and is closed.
+     */
+    public long getSendTimeout() {
+        return sendTimeout;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of milliseconds a sender waits for the queue to a remote service,
+     * or for the remote service to read the queued commands,
+     * before the connection is considered to have failed and is closed.
+     * The default is 5000 milliseconds.
+     */
+    public void setSendTimeout(long sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the maximum size in bytes of a serialized command received from a remote service.
+     */
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the maximum size in bytes of a serialized command received from a remote service.
+     * A remote service sending a larger command is disconnected, as the command is read into memory.
+     * This must be set before the local connection is created.
+     * The default is 64 MB.
+     */
+    public void setMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of milliseconds to wait to connect to a remote service.
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * PUBLIC:
+     * Set the number of milliseconds to wait to connect to a remote service,
+     * so an unreachable service announced by discovery does not hold up the command manager.
+     * A timeout of 0 waits until the operating system gives up.
+     * The default is 5000 milliseconds.
+     */
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * INTERNAL:
+     * Open a socket to the specified service and return a connection over it.
+     */
+    @Override
+    public RemoteConnection createConnection(ServiceId connectionServiceId) {
+        Object[] args = { connectionServiceId.getURL() };
+        rcm.logDebug("connecting_to_remote_socket", args);
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.socket().connect(getAddress(connectionServiceId.getURL()), this.connectTimeout);
+            channel.socket().setTcpNoDelay(true);
+            RemoteConnection connection = new NIORemoteConnection(rcm, channel, this.sendQueueSize, this.sendTimeout);
+            connection.setServiceId(connectionServiceId);
+            return connection;
+        } catch (Exception exception) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                    // Already failed.
+                }
+            }
+            try {
+                rcm.handleException(RemoteCommandManagerException.errorLookingUpRemoteConnection(connectionServiceId.getId(), connectionServiceId.getURL(), exception));
+            } catch (Exception ex2) {
+                // Must catch this exception and log a debug message
+                rcm.logDebug("unable_to_connect_to_remote_socket", args);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * INTERNAL:
+     * Listen for the commands of the other services on the socket of the service URL.
+     * If the URL has no port, or a port of 0, the URL is updated with the port chosen
+     * so it can be announced to the other services.
+     */
+    @Override
+    public void createLocalConnection() {
+        if (rcm.getUrl() == null) {
+            rcm.setUrl(getDefaultLocalUrl());
+        }
+        try {
+            InetSocketAddress address = getAddress(rcm.getUrl());
+            NIOServerConnection connection = new NIOServerConnection(rcm, address, this.maxFrameSize);
+            if (address.getPort() == 0) {
+                rcm.setUrl(NIO_URL_PROTOCOL + "://" + address.getHostString() + ":" + connection.getLocalPort());
+            }
+            Object[] args = { rcm.getUrl() };
+            rcm.logDebug("register_local_connection_on_socket", args);
+            connection.setServiceId(rcm.getServiceId());
+            localConnection = connection;
+            rcm.getServerPlatform().launchContainerRunnable(connection);
+        } catch (IOException exception) {
+            rcm.handleException(RemoteCommandManagerException.errorBindingConnection(rcm.getUrl(), exception));
+        }
+    }
+
+    /**
+     * ADVANCED:
+     * Stop listening for the commands of the other services.
+     * This method is invoked internally by EclipseLink when the RCM is shutdown and should not be invoked by user's application.
+     */
+    @Override
+    public void removeLocalConnection() {
+        if (localConnection != null) {
+            localConnection.close();
+            localConnection = null;
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the default local URL, the local host with any free port.
+     */
+    public String getDefaultLocalUrl() {
+        try {
+            return NIO_URL_PROTOCOL + "://" + InetAddress.getLocalHost().getHostName() + ":0";
+        } catch (IOException exception) {
+            throw RemoteCommandManagerException.errorGettingHostName(exception);
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the socket address of the "<code>nio://host:port</code>" URL.
+     */
+    protected InetSocketAddress getAddress(String url) {
+        String address = url;
+        int index = address.indexOf("://");
+        if (index >= 0) {
+            address = address.substring(index + 3);
+        }
+        index = address.indexOf('/');
+        if (index >= 0) {
+            address = address.substring(0, index);
+        }
+        int port = 0;
+        index = address.lastIndexOf(':');
+        if (index >= 0) {
+            port = Integer.parseInt(address.substring(index + 1));
+            address = address.substring(0, index);
+        }
+        return new InetSocketAddress(address, port);
+    }
+}
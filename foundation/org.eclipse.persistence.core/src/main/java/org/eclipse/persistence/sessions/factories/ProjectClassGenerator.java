@@ -258,6 +258,11 @@ protected void addDescriptorPropertyLines(NonreflectiveMethodDefinition method,
                 method.addLine("descriptor.useFullIdentityMap();");
             } else if (descriptor.shouldUseCacheIdentityMap()) {
                 method.addLine("descriptor.useCacheIdentityMap();");
+            } else if (descriptor.shouldUseConcurrentCacheIdentityMap()) {
+                method.addLine("descriptor.useConcurrentCacheIdentityMap();");
+            } else if (descriptor.shouldUseOffHeapCacheIdentityMap()) {
+                method.addLine("descriptor.useOffHeapCacheIdentityMap();");
+                method.addLine("descriptor.getCachePolicy().setOffHeapCacheSize(" + descriptor.getCachePolicy().getOffHeapCacheSize() + "L);");
             } else if (descriptor.shouldUseSoftCacheWeakIdentityMap()) {
                 method.addLine("descriptor.useSoftCacheWeakIdentityMap();");
             } else if (descriptor.shouldUseHardCacheWeakIdentityMap()) {
@@ -338,6 +343,9 @@ protected void addDescriptorPropertyLines(NonreflectiveMethodDefinition method,
         if (descriptor.getCachePolicy().shouldOnlyRefreshCacheIfNewerVersion()) {
             method.addLine("descriptor.onlyRefreshCacheIfNewerVersion();");
         }
+        if (descriptor.getCachePolicy().shouldUsePrimitiveCacheKeys()) {
+            method.addLine("descriptor.getCachePolicy().setShouldUsePrimitiveCacheKeys(true);");
+        }
 
         // ClassDescriptor alias
         if (descriptor.getAlias() != null) {
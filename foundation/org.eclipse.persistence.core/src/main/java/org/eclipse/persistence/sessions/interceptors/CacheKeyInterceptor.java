@@ -14,6 +14,9 @@
 //     Gordon Yorke - Interceptor feature https://bugs.eclipse.org/bugs/show_bug.cgi?id=219683
 package org.eclipse.persistence.sessions.interceptors;
 
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.eclipse.persistence.internal.identitymaps.AbstractIdentityMap;
 import org.eclipse.persistence.internal.identitymaps.CacheKey;
 import org.eclipse.persistence.internal.identitymaps.IdentityMap;
@@ -124,6 +127,22 @@ public Thread getActiveThread() {
             return wrappedKey.getActiveThread();
         }
 
+        /**
+         * Return the lock of the wrapped cache key.
+         */
+        @Override
+        public ReentrantLock getInstanceLock() {
+            return wrappedKey.getInstanceLock();
+        }
+
+        /**
+         * Return the condition signalled when the wrapped cache key's lock is released.
+         */
+        @Override
+        public Condition getLockReleasedCondition() {
+            return wrappedKey.getLockReleasedCondition();
+        }
+
         @Override
         public Object clone() {
             return new CacheKeyInterceptor((CacheKey)wrappedKey.clone());
@@ -228,6 +247,22 @@ public void releaseReadLock() {
             wrappedKey.releaseReadLock();
         }
 
+        /**
+         * Wait on the wrapped cache key's lock until it is released or the timeout expires.
+         */
+        @Override
+        public void waitWhileAcquired(long timeout) throws InterruptedException {
+            wrappedKey.waitWhileAcquired(timeout);
+        }
+
+        /**
+         * Wait until the wrapped cache key's object is set, and return it.
+         */
+        @Override
+        public Object waitForObject() {
+            return wrappedKey.waitForObject();
+        }
+
         /**
          * Removes this cacheKey from the owning map
          */
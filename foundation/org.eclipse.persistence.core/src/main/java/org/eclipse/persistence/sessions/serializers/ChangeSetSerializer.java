@@ -0,0 +1,544 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.sessions.serializers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.mappings.DatabaseMapping;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+
+/**
+ * Compact binary serializer for cache coordination change sets.
+ * <p>
+ * A {@link MergeChangeSetCommand} is written using the index of the descriptor and mapping
+ * instead of the class and attribute names, variable length encoded primary keys and versions,
+ * and only the changed direct values. All the services of the cluster must use the same project,
+ * this is checked when reading the command.
+ * <p>
+ * Change sets using other kinds of change records (such as relationships or aggregates),
+ * and any other object, are written using Java serialization.
+ * @see org.eclipse.persistence.sessions.coordination.RemoteCommandManager#setSerializer(Serializer)
+ */
+public class ChangeSetSerializer extends AbstractSerializer {
+
+    protected static final byte JAVA_FORMAT = 0;
+    protected static final byte COMPACT_FORMAT = 1;
+
+    protected static final byte NULL = 0;
+    protected static final byte STRING = 1;
+    protected static final byte INTEGER = 2;
+    protected static final byte LONG = 3;
+    protected static final byte SHORT = 4;
+    protected static final byte BYTE = 5;
+    protected static final byte TRUE = 6;
+    protected static final byte FALSE = 7;
+    protected static final byte DOUBLE = 8;
+    protected static final byte FLOAT = 9;
+    protected static final byte BIG_DECIMAL = 10;
+    protected static final byte BIG_INTEGER = 11;
+    protected static final byte CHARACTER = 12;
+    protected static final byte BYTES = 13;
+    protected static final byte TIMESTAMP = 14;
+    protected static final byte SQL_DATE = 15;
+    protected static final byte TIME = 16;
+    protected static final byte DATE = 17;
+    protected static final byte CACHE_ID = 18;
+    protected static final byte OBJECT = 19;
+
+    /** The session the indexes were built for. */
+    protected transient Session indexedSession;
+
+    /** The descriptor class names, by index. */
+    protected transient String[] classNames;
+    protected transient Map<String, Integer> classIndexes;
+
+    /** The mapping attribute names of each descriptor, by index. */
+    protected transient String[][] attributeNames;
+    protected transient Map<String, Integer>[] attributeIndexes;
+
+    /** Hash of the indexed names, to detect services using a different project. */
+    protected transient int schemaHash;
+
+    @Override
+    public void initialize(Class<?> serializeClass, String serializePackage, Session session) {
+        buildIndexes(session);
+    }
+
+    /**
+     * Index the descriptors by class name, and their mappings by attribute name.
+     */
+    @SuppressWarnings("unchecked")
+    protected synchronized void buildIndexes(Session session) {
+        if ((session == null) || (this.indexedSession == session)) {
+            return;
+        }
+        List<ClassDescriptor> descriptors = new ArrayList<>(session.getProject().getDescriptors().values());
+        descriptors.sort((left, right) -> left.getJavaClassName().compareTo(right.getJavaClassName()));
+        String[] classNames = new String[descriptors.size()];
+        Map<String, Integer> classIndexes = new HashMap<>();
+        String[][] attributeNames = new String[descriptors.size()][];
+        Map<String, Integer>[] attributeIndexes = new Map[descriptors.size()];
+        int hash = 1;
+        for (int index = 0; index < classNames.length; index++) {
+            ClassDescriptor descriptor = descriptors.get(index);
+            classNames[index] = descriptor.getJavaClassName();
+            classIndexes.put(classNames[index], index);
+            hash = 31 * hash + classNames[index].hashCode();
+            List<DatabaseMapping> mappings = descriptor.getMappings();
+            attributeNames[index] = new String[mappings.size()];
+            attributeIndexes[index] = new HashMap<>();
+            for (int mappingIndex = 0; mappingIndex < mappings.size(); mappingIndex++) {
+                String attributeName = mappings.get(mappingIndex).getAttributeName();
+                attributeNames[index][mappingIndex] = attributeName;
+                attributeIndexes[index].put(attributeName, mappingIndex);
+                hash = 31 * hash + ((attributeName == null) ? 0 : attributeName.hashCode());
+            }
+        }
+        this.classNames = classNames;
+        this.classIndexes = classIndexes;
+        this.attributeNames = attributeNames;
+        this.attributeIndexes = attributeIndexes;
+        this.schemaHash = hash;
+        this.indexedSession = session;
+    }
+
+    @Override
+    public Object serialize(Object object, Session session) {
+        buildIndexes(session);
+        if ((session != null) && (object instanceof MergeChangeSetCommand)) {
+            UnitOfWorkChangeSet changeSet = ((MergeChangeSetCommand)object).getChangeSet(null);
+            if ((changeSet != null) && isCompactable(changeSet)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (DataOutputStream stream = new DataOutputStream(bytes)) {
+                    stream.writeByte(COMPACT_FORMAT);
+                    stream.writeInt(this.schemaHash);
+                    writeServiceId(((MergeChangeSetCommand)object).getServiceId(), stream);
+                    writeChangeSet(changeSet, stream);
+                } catch (IOException exception) {
+                    throw new RuntimeException(exception);
+                }
+                return bytes.toByteArray();
+            }
+        }
+        byte[] javaBytes = (byte[])JavaSerializer.instance.serialize(object, session);
+        byte[] bytes = new byte[javaBytes.length + 1];
+        bytes[0] = JAVA_FORMAT;
+        System.arraycopy(javaBytes, 0, bytes, 1, javaBytes.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(Object object, Session session) {
+        byte[] bytes = (byte[])object;
+        if (bytes[0] == JAVA_FORMAT) {
+            return JavaSerializer.instance.deserialize(Arrays.copyOfRange(bytes, 1, bytes.length), session);
+        }
+        buildIndexes(session);
+        try (DataInputStream stream = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            if (stream.readInt() != this.schemaHash) {
+                throw new StreamCorruptedException("Change set was written for a different project");
+            }
+            MergeChangeSetCommand command = new MergeChangeSetCommand();
+            command.setServiceId(readServiceId(stream));
+            command.setChangeSet(readChangeSet(stream));
+            return command;
+        } catch (IOException | ClassNotFoundException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Return if the change set only contains change sets of indexed descriptors with direct changes.
+     */
+    protected boolean isCompactable(UnitOfWorkChangeSet changeSet) {
+        for (ObjectChangeSet objectChangeSet : changeSet.getAllChangeSets().keySet()) {
+            if (!isCompactable(objectChangeSet)) {
+                return false;
+            }
+        }
+        if (changeSet.hasDeletedObjects()) {
+            for (ObjectChangeSet objectChangeSet : changeSet.getDeletedObjects().keySet()) {
+                if (!isCompactable(objectChangeSet)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    protected boolean isCompactable(ObjectChangeSet objectChangeSet) {
+        Integer classIndex = this.classIndexes.get(objectChangeSet.getClassName());
+        if ((classIndex == null) || objectChangeSet.isAggregate() || (objectChangeSet.getOldKey() != null)
+                || (objectChangeSet.getNewKey() != null) || (objectChangeSet.getProtectedForeignKeys() != null)) {
+            return false;
+        }
+        if (shouldWriteChanges(objectChangeSet)) {
+            for (ChangeRecord record : objectChangeSet.getChanges()) {
+                if ((record.getClass() != DirectToFieldChangeRecord.class)
+                        || !this.attributeIndexes[classIndex].containsKey(record.getAttribute())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Only the identity is sent for deleted and invalidated objects, as with Java serialization.
+     */
+    protected boolean shouldWriteChanges(ObjectChangeSet objectChangeSet) {
+        int syncType = objectChangeSet.getSynchronizationType();
+        return !(objectChangeSet.shouldBeDeleted() || (syncType == ClassDescriptor.DO_NOT_SEND_CHANGES) || (syncType == ClassDescriptor.INVALIDATE_CHANGED_OBJECTS));
+    }
+
+    protected void writeChangeSet(UnitOfWorkChangeSet changeSet, DataOutputStream stream) throws IOException {
+        stream.writeBoolean(changeSet.hasChanges());
+        Map<ObjectChangeSet, Integer> written = new IdentityHashMap<>();
+        writeVarInt(changeSet.getAllChangeSets().size(), stream);
+        for (ObjectChangeSet objectChangeSet : changeSet.getAllChangeSets().keySet()) {
+            written.put(objectChangeSet, written.size());
+            writeObjectChangeSet(objectChangeSet, stream);
+        }
+        if (!changeSet.hasDeletedObjects()) {
+            writeVarInt(0, stream);
+            return;
+        }
+        writeVarInt(changeSet.getDeletedObjects().size(), stream);
+        for (ObjectChangeSet objectChangeSet : changeSet.getDeletedObjects().keySet()) {
+            // A deleted change set may also be in the changes, write a reference to it.
+            Integer index = written.get(objectChangeSet);
+            if (index == null) {
+                writeVarInt(0, stream);
+                writeObjectChangeSet(objectChangeSet, stream);
+            } else {
+                writeVarInt(index + 1, stream);
+            }
+        }
+    }
+
+    protected UnitOfWorkChangeSet readChangeSet(DataInputStream stream) throws IOException, ClassNotFoundException {
+        UnitOfWorkChangeSet changeSet = new UnitOfWorkChangeSet();
+        changeSet.setHasChanges(stream.readBoolean());
+        int size = readVarInt(stream);
+        List<ObjectChangeSet> read = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            ObjectChangeSet objectChangeSet = readObjectChangeSet(stream);
+            read.add(objectChangeSet);
+            changeSet.getAllChangeSets().put(objectChangeSet, objectChangeSet);
+        }
+        size = readVarInt(stream);
+        for (int index = 0; index < size; index++) {
+            int reference = readVarInt(stream);
+            ObjectChangeSet objectChangeSet = (reference == 0) ? readObjectChangeSet(stream) : read.get(reference - 1);
+            changeSet.getDeletedObjects().put(objectChangeSet, objectChangeSet);
+        }
+        return changeSet;
+    }
+
+    protected void writeObjectChangeSet(ObjectChangeSet objectChangeSet, DataOutputStream stream) throws IOException {
+        int classIndex = this.classIndexes.get(objectChangeSet.getClassName());
+        writeVarInt(classIndex, stream);
+        writeVarInt(zigZag(objectChangeSet.getSynchronizationType()), stream);
+        Boolean shouldModifyVersionField = objectChangeSet.shouldModifyVersionField();
+        int flags = (objectChangeSet.shouldBeDeleted() ? 1 : 0)
+                | (objectChangeSet.isInvalid() ? 2 : 0)
+                | (objectChangeSet.isNew() ? 4 : 0)
+                | (objectChangeSet.hasVersionChange() ? 8 : 0)
+                | ((shouldModifyVersionField != null) ? 16 : 0)
+                | (Boolean.TRUE.equals(shouldModifyVersionField) ? 32 : 0);
+        stream.writeByte(flags);
+        writeValue(objectChangeSet.getId(), stream);
+        writeValue(objectChangeSet.getWriteLockValue(), stream);
+        writeValue(objectChangeSet.getInitialWriteLockValue(), stream);
+        if (!shouldWriteChanges(objectChangeSet)) {
+            return;
+        }
+        List<ChangeRecord> changes = objectChangeSet.getChanges();
+        writeVarInt(changes.size(), stream);
+        for (ChangeRecord record : changes) {
+            writeVarInt(this.attributeIndexes[classIndex].get(record.getAttribute()), stream);
+            writeValue(((DirectToFieldChangeRecord)record).getNewValue(), stream);
+        }
+    }
+
+    protected ObjectChangeSet readObjectChangeSet(DataInputStream stream) throws IOException, ClassNotFoundException {
+        ObjectChangeSet objectChangeSet = new ObjectChangeSet();
+        int classIndex = readVarInt(stream);
+        objectChangeSet.setClassName(this.classNames[classIndex]);
+        objectChangeSet.setSynchronizationType(unZigZag(readVarInt(stream)));
+        int flags = stream.readByte();
+        objectChangeSet.setShouldBeDeleted((flags & 1) != 0);
+        objectChangeSet.setIsInvalid((flags & 2) != 0);
+        objectChangeSet.setIsNew((flags & 4) != 0);
+        if ((flags & 16) != 0) {
+            objectChangeSet.setShouldModifyVersionField((flags & 32) != 0);
+        }
+        objectChangeSet.setId(readValue(stream));
+        Object writeLockValue = readValue(stream);
+        if (writeLockValue != null) {
+            objectChangeSet.setWriteLockValue(writeLockValue);
+        }
+        objectChangeSet.setHasVersionChange((flags & 8) != 0);
+        objectChangeSet.setInitialWriteLockValue(readValue(stream));
+        if (!shouldWriteChanges(objectChangeSet)) {
+            return objectChangeSet;
+        }
+        int size = readVarInt(stream);
+        List<ChangeRecord> changes = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            DirectToFieldChangeRecord record = new DirectToFieldChangeRecord(objectChangeSet);
+            record.setAttribute(this.attributeNames[classIndex][readVarInt(stream)]);
+            record.setNewValue(readValue(stream));
+            changes.add(record);
+        }
+        objectChangeSet.setChanges(changes);
+        return objectChangeSet;
+    }
+
+    protected void writeServiceId(ServiceId serviceId, DataOutputStream stream) throws IOException {
+        stream.writeBoolean(serviceId != null);
+        if (serviceId != null) {
+            writeValue(serviceId.getChannel(), stream);
+            writeValue(serviceId.getId(), stream);
+            writeValue(serviceId.getURL(), stream);
+        }
+    }
+
+    protected ServiceId readServiceId(DataInputStream stream) throws IOException, ClassNotFoundException {
+        if (!stream.readBoolean()) {
+            return null;
+        }
+        return new ServiceId((String)readValue(stream), (String)readValue(stream), (String)readValue(stream));
+    }
+
+    /**
+     * Write the value with a type tag, using a variable length encoding for integral values.
+     * Other types are written using Java serialization.
+     */
+    protected void writeValue(Object value, DataOutputStream stream) throws IOException {
+        if (value == null) {
+            stream.writeByte(NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            stream.writeByte(STRING);
+            writeBytes(((String)value).getBytes(StandardCharsets.UTF_8), stream);
+        } else if (type == Long.class) {
+            stream.writeByte(LONG);
+            writeVarLong(zigZag((Long)value), stream);
+        } else if (type == Integer.class) {
+            stream.writeByte(INTEGER);
+            writeVarInt(zigZag((Integer)value), stream);
+        } else if (type == Short.class) {
+            stream.writeByte(SHORT);
+            writeVarInt(zigZag((Short)value), stream);
+        } else if (type == Byte.class) {
+            stream.writeByte(BYTE);
+            stream.writeByte((Byte)value);
+        } else if (type == Boolean.class) {
+            stream.writeByte((Boolean)value ? TRUE : FALSE);
+        } else if (type == Double.class) {
+            stream.writeByte(DOUBLE);
+            stream.writeDouble((Double)value);
+        } else if (type == Float.class) {
+            stream.writeByte(FLOAT);
+            stream.writeFloat((Float)value);
+        } else if (type == BigDecimal.class) {
+            stream.writeByte(BIG_DECIMAL);
+            writeVarInt(zigZag(((BigDecimal)value).scale()), stream);
+            writeBytes(((BigDecimal)value).unscaledValue().toByteArray(), stream);
+        } else if (type == BigInteger.class) {
+            stream.writeByte(BIG_INTEGER);
+            writeBytes(((BigInteger)value).toByteArray(), stream);
+        } else if (type == Character.class) {
+            stream.writeByte(CHARACTER);
+            stream.writeChar((Character)value);
+        } else if (type == byte[].class) {
+            stream.writeByte(BYTES);
+            writeBytes((byte[])value, stream);
+        } else if (type == java.sql.Timestamp.class) {
+            stream.writeByte(TIMESTAMP);
+            writeVarLong(zigZag(((java.sql.Timestamp)value).getTime()), stream);
+            writeVarInt(((java.sql.Timestamp)value).getNanos(), stream);
+        } else if (type == java.sql.Date.class) {
+            stream.writeByte(SQL_DATE);
+            writeVarLong(zigZag(((java.util.Date)value).getTime()), stream);
+        } else if (type == java.sql.Time.class) {
+            stream.writeByte(TIME);
+            writeVarLong(zigZag(((java.util.Date)value).getTime()), stream);
+        } else if (type == java.util.Date.class) {
+            stream.writeByte(DATE);
+            writeVarLong(zigZag(((java.util.Date)value).getTime()), stream);
+        } else if (type == CacheId.class) {
+            stream.writeByte(CACHE_ID);
+            Object[] primaryKey = ((CacheId)value).getPrimaryKey();
+            writeVarInt(primaryKey.length, stream);
+            for (Object keyValue : primaryKey) {
+                writeValue(keyValue, stream);
+            }
+        } else {
+            stream.writeByte(OBJECT);
+            writeBytes((byte[])JavaSerializer.instance.serialize(value, this.indexedSession), stream);
+        }
+    }
+
+    protected Object readValue(DataInputStream stream) throws IOException, ClassNotFoundException {
+        byte tag = stream.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return new String(readBytes(stream), StandardCharsets.UTF_8);
+            case LONG:
+                return unZigZag(readVarLong(stream));
+            case INTEGER:
+                return unZigZag(readVarInt(stream));
+            case SHORT:
+                return (short)unZigZag(readVarInt(stream));
+            case BYTE:
+                return stream.readByte();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case DOUBLE:
+                return stream.readDouble();
+            case FLOAT:
+                return stream.readFloat();
+            case BIG_DECIMAL:
+                int scale = unZigZag(readVarInt(stream));
+                return new BigDecimal(new BigInteger(readBytes(stream)), scale);
+            case BIG_INTEGER:
+                return new BigInteger(readBytes(stream));
+            case CHARACTER:
+                return stream.readChar();
+            case BYTES:
+                return readBytes(stream);
+            case TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(unZigZag(readVarLong(stream)));
+                timestamp.setNanos(readVarInt(stream));
+                return timestamp;
+            case SQL_DATE:
+                return new java.sql.Date(unZigZag(readVarLong(stream)));
+            case TIME:
+                return new java.sql.Time(unZigZag(readVarLong(stream)));
+            case DATE:
+                return new java.util.Date(unZigZag(readVarLong(stream)));
+            case CACHE_ID:
+                Object[] primaryKey = new Object[readVarInt(stream)];
+                for (int index = 0; index < primaryKey.length; index++) {
+                    primaryKey[index] = readValue(stream);
+                }
+                return new CacheId(primaryKey);
+            case OBJECT:
+                return JavaSerializer.instance.deserialize(readBytes(stream), this.indexedSession);
+            default:
+                throw new StreamCorruptedException("Unknown value type: " + tag);
+        }
+    }
+
+    protected static void writeBytes(byte[] bytes, DataOutputStream stream) throws IOException {
+        writeVarInt(bytes.length, stream);
+        stream.write(bytes);
+    }
+
+    protected static byte[] readBytes(DataInputStream stream) throws IOException {
+        byte[] bytes = new byte[readVarInt(stream)];
+        stream.readFully(bytes);
+        return bytes;
+    }
+
+    protected static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    protected static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    protected static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    protected static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Write the unsigned value 7 bits at a time, the high bit set if more bytes follow.
+     */
+    protected static void writeVarInt(int value, DataOutputStream stream) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            stream.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        stream.writeByte(value);
+    }
+
+    protected static int readVarInt(DataInputStream stream) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int next = stream.readUnsignedByte();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable length int");
+    }
+
+    protected static void writeVarLong(long value, DataOutputStream stream) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            stream.writeByte((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        stream.writeByte((int)value);
+    }
+
+    protected static long readVarLong(DataInputStream stream) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int next = stream.readUnsignedByte();
+            value |= (long)(next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable length long");
+    }
+}
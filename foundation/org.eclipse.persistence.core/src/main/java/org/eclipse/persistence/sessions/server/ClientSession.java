@@ -644,6 +644,17 @@ public boolean isClientSession() {
         return true;
     }
 
+    /**
+     * INTERNAL:
+     * Return if the session can be used by concurrent threads to read.
+     * Outside of a transaction the reads are executed by the parent with its pools,
+     * but an isolated client session has its own cache.
+     */
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return !isInTransaction() && !isIsolatedClientSession();
+    }
+
     /**
      * INTERNAL:
      * Was PUBLIC: customer will be redirected to {@link org.eclipse.persistence.sessions.Session}.
@@ -15,6 +15,10 @@
 package org.eclipse.persistence.sessions.server;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.persistence.internal.databaseaccess.*;
 import org.eclipse.persistence.sessions.Login;
@@ -26,10 +30,17 @@
 /**
  * <p>
  * <b>Purpose</b>: Used to specify how connection should be pooled in a server session.
+ * <p>
+ * The pool state is guarded by a lock that is only held to move connections between the lists.
+ * New connections are built outside of the lock, and a released connection is handed directly
+ * to the thread that has been waiting the longest, so waiting threads are served in arrival order.
  * @see ServerSession
  */
 public class ConnectionPool {
     protected static final String MONITOR_HEADER = "Info:ConnectionPool:";
+    protected static final String WAIT_TIME_MONITOR_SUFFIX = ":WaitTime";
+    protected static final String WAITING_MONITOR_SUFFIX = ":Waiting";
+    protected static final String WAITS_COUNTER_HEADER = "Counter:ConnectionPoolWaits:";
 
     protected boolean isConnected;
     protected int maxNumberOfConnections;
@@ -47,6 +58,17 @@ public class ConnectionPool {
     protected volatile boolean isDead;
     protected List<String> failoverConnectionPools;
 
+    /** Guards the connection lists, the waiters and the number of connections being built. */
+    protected final ReentrantLock poolLock = new ReentrantLock();
+    /** Threads waiting for a connection, in arrival order. */
+    protected final Deque<ConnectionWaiter> waiters = new ArrayDeque<>();
+    /** Connections being built outside of the pool lock, they count against the maximum number of connections. */
+    protected int numberOfConnectionsBeingBuilt;
+    /** Number of acquires that had to wait for a connection because the pool was exhausted. */
+    protected final AtomicLong numberOfWaits = new AtomicLong();
+    /** Total time in nanoseconds spent waiting for a connection. */
+    protected final AtomicLong totalWaitTime = new AtomicLong();
+
     public static final long DEAD_CHECK_TIME = 1000 * 60 * 10; // 10 minutes.
     public static final int MAX_CONNECTIONS = 32;
     public static final int MIN_CONNECTIONS = 32;
@@ -124,47 +146,125 @@ public Accessor failover() {
     /**
      * INTERNAL:
      * Wait until a connection is available and allocate the connection for the client.
+     * If no connection is available and the pool is not at its maximum size a new connection is built,
+     * otherwise the thread is queued until a connection is handed to it by {@link #releaseConnection(Accessor)}.
      */
-    public synchronized Accessor acquireConnection() throws ConcurrencyException {
+    public Accessor acquireConnection() throws ConcurrencyException {
         // Check for dead database and fail-over.
         if (this.isDead) {
             return failover();
         }
-        // PERF: Using direct variable access to minimize concurrency bottleneck.
-        while (this.connectionsAvailable.isEmpty()) {
-            if ((this.connectionsUsed.size() + this.connectionsAvailable.size()) < this.maxNumberOfConnections) {
-                Accessor connection = null;
+        Accessor connection = null;
+        boolean shouldBuildConnection = false;
+        long waitStartTime = 0;
+        this.poolLock.lock();
+        try {
+            // Threads already waiting are served first, a new thread only takes a connection if nobody is queued.
+            if (this.waiters.isEmpty()) {
+                connection = acquireAvailableConnection();
+                if ((connection == null) && hasCapacityForNewConnection()) {
+                    this.numberOfConnectionsBeingBuilt++;
+                    shouldBuildConnection = true;
+                }
+            }
+            if ((connection == null) && !shouldBuildConnection) {
+                waitStartTime = System.nanoTime();
+                ConnectionWaiter waiter = new ConnectionWaiter(this.poolLock.newCondition());
+                this.waiters.addLast(waiter);
+                if (this.owner.isInProfile()) {
+                    this.owner.updateProfile(MONITOR_HEADER + this.name + WAITING_MONITOR_SUFFIX, this.waiters.size());
+                }
                 try {
-                    connection = buildConnection();
-                } catch (RuntimeException failed) {
-                    if (!this.failoverConnectionPools.isEmpty()) {
-                        this.isDead = true;
-                        this.timeOfDeath = System.currentTimeMillis();
-                        this.owner.logThrowable(SessionLog.WARNING, SessionLog.SQL, failed);
-                        return acquireConnection();
-                    } else {
-                        throw failed;
+                    while ((waiter.connection == null) && !waiter.shouldBuildConnection) {
+                        if (this.waitTimeout > 0) {
+                            // Connections are handed over when released, re-check in case the pool was changed by other means.
+                            if (!waiter.condition.await(this.waitTimeout, TimeUnit.MILLISECONDS)) {
+                                serveWaiters();
+                            }
+                        } else {
+                            waiter.condition.await();
+                        }
+                    }
+                } catch (InterruptedException exception) {
+                    this.waiters.remove(waiter);
+                    // Pass on anything that was handed to this thread while it was interrupted.
+                    if (waiter.connection != null) {
+                        this.connectionsUsed.remove(waiter.connection);
+                        this.connectionsAvailable.add(waiter.connection);
+                    } else if (waiter.shouldBuildConnection) {
+                        this.numberOfConnectionsBeingBuilt--;
                     }
+                    serveWaiters();
+                    throw ConcurrencyException.waitFailureOnClientSession(exception);
                 }
-                this.connectionsUsed.add(connection);
-                if (this.owner.isInProfile()) {
-                    this.owner.updateProfile(MONITOR_HEADER + this.name, this.connectionsUsed.size());
+                connection = waiter.connection;
+                shouldBuildConnection = (connection == null);
+            }
+        } finally {
+            this.poolLock.unlock();
+        }
+        if (waitStartTime != 0) {
+            long waitTime = System.nanoTime() - waitStartTime;
+            this.numberOfWaits.incrementAndGet();
+            this.totalWaitTime.addAndGet(waitTime);
+            if (this.owner.isInProfile()) {
+                this.owner.incrementProfile(WAITS_COUNTER_HEADER + this.name);
+                this.owner.updateProfile(MONITOR_HEADER + this.name + WAIT_TIME_MONITOR_SUFFIX, this.totalWaitTime.get());
+            }
+        }
+        if (shouldBuildConnection) {
+            // The connection slot is reserved, the connection is built without holding the pool lock.
+            try {
+                connection = buildConnection();
+            } catch (RuntimeException failed) {
+                this.poolLock.lock();
+                try {
+                    this.numberOfConnectionsBeingBuilt--;
+                    serveWaiters();
+                } finally {
+                    this.poolLock.unlock();
                 }
-                if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
-                    Object[] args = new Object[1];
-                    args[0] = this.name;
-                    this.owner.log(SessionLog.FINEST, SessionLog.CONNECTION, "acquire_connection", args, connection);
+                if (!this.failoverConnectionPools.isEmpty()) {
+                    this.isDead = true;
+                    this.timeOfDeath = System.currentTimeMillis();
+                    this.owner.logThrowable(SessionLog.WARNING, SessionLog.SQL, failed);
+                    return acquireConnection();
+                } else {
+                    throw failed;
                 }
-                return connection;
             }
+            this.poolLock.lock();
             try {
-                wait(this.waitTimeout);// Notify is called when connections are released.
-            } catch (InterruptedException exception) {
-                throw ConcurrencyException.waitFailureOnClientSession(exception);
+                this.numberOfConnectionsBeingBuilt--;
+                this.connectionsUsed.add(connection);
+            } finally {
+                this.poolLock.unlock();
             }
         }
+        if (this.owner.isInProfile()) {
+            this.owner.updateProfile(MONITOR_HEADER + this.name, this.connectionsUsed.size());
+        }
+        if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
+            Object[] args = new Object[1];
+            args[0] = this.name;
+            this.owner.log(SessionLog.FINEST, SessionLog.CONNECTION, "acquire_connection", args, connection);
+        }
+        return connection;
+    }
 
+    /**
+     * INTERNAL:
+     * Remove a connection from the available connections and mark it as used.
+     * If the pool has encountered a connection failure the available connections are checked first.
+     * Return null if no connection is available.
+     * The caller must hold the pool lock.
+     */
+    protected Accessor acquireAvailableConnection() {
+        // PERF: Using direct variable access to minimize concurrency bottleneck.
         int connectionSize = this.connectionsAvailable.size();
+        if (connectionSize == 0) {
+            return null;
+        }
         // Always used the last connection to avoid shift list and to use "hot" connection.
         Accessor connection = this.connectionsAvailable.remove(connectionSize-1);
         if (this.checkConnections) {
@@ -184,7 +284,7 @@ public synchronized Accessor acquireConnection() throws ConcurrencyException {
                     if (this.connectionsAvailable.isEmpty()) {
                         this.checkConnections = false;
                         //we have emptied out all connections so let's have the connection pool build more
-                        return acquireConnection();
+                        return null;
                     } else {
                         //test next connection
                         --connectionSize;
@@ -198,17 +298,40 @@ public synchronized Accessor acquireConnection() throws ConcurrencyException {
             }
         }
         this.connectionsUsed.add(connection);
-        if (this.owner.isInProfile()) {
-            this.owner.updateProfile(MONITOR_HEADER + this.name, this.connectionsUsed.size());
-        }
-        if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
-            Object[] args = new Object[1];
-            args[0] = this.name;
-            this.owner.log(SessionLog.FINEST, SessionLog.CONNECTION, "acquire_connection", args, connection);
-        }
         return connection;
     }
 
+    /**
+     * INTERNAL:
+     * Return if a new connection can be built without exceeding the maximum number of connections.
+     * The caller must hold the pool lock.
+     */
+    protected boolean hasCapacityForNewConnection() {
+        return (this.connectionsUsed.size() + this.connectionsAvailable.size() + this.numberOfConnectionsBeingBuilt) < this.maxNumberOfConnections;
+    }
+
+    /**
+     * INTERNAL:
+     * Hand available connections, or the right to build a new connection, to the waiting threads in arrival order.
+     * The caller must hold the pool lock.
+     */
+    protected void serveWaiters() {
+        while (!this.waiters.isEmpty()) {
+            ConnectionWaiter waiter = this.waiters.peekFirst();
+            Accessor connection = acquireAvailableConnection();
+            if (connection != null) {
+                waiter.connection = connection;
+            } else if (hasCapacityForNewConnection()) {
+                this.numberOfConnectionsBeingBuilt++;
+                waiter.shouldBuildConnection = true;
+            } else {
+                return;
+            }
+            this.waiters.removeFirst();
+            waiter.condition.signal();
+        }
+    }
+
     /**
      * INTERNAL:
      * Create a new connection, accessors are used as connections.
@@ -323,7 +446,7 @@ public boolean isThereConflictBetweenLoginAndType() {
      * INTERNAL:
      * Add the connection as single that a new connection is available.
      */
-    public synchronized void releaseConnection(Accessor connection) throws DatabaseException {
+    public void releaseConnection(Accessor connection) throws DatabaseException {
         if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
             Object[] args = new Object[1];
             args[0] = this.name;
@@ -331,26 +454,48 @@ public synchronized void releaseConnection(Accessor connection) throws DatabaseE
         }
         connection.reset();
 
-        this.connectionsUsed.remove(connection);
-
-        if (!connection.isValid()) {
-            this.checkConnections = true;
-            try {
-                connection.disconnect(this.owner);
-            } catch (DatabaseException ex) {
-                //this is an invalid connection so expect an exception.
-            }
-        } else {
-            if ((this.connectionsUsed.size() + this.connectionsAvailable.size()) < this.minNumberOfConnections) {
-                this.connectionsAvailable.add(connection);
+        boolean isValid = connection.isValid();
+        boolean shouldDisconnect = false;
+        this.poolLock.lock();
+        try {
+            if (!isValid) {
+                this.connectionsUsed.remove(connection);
+                this.checkConnections = true;
+                shouldDisconnect = true;
+            } else if (!this.waiters.isEmpty()) {
+                // Hand the connection directly to the longest waiting thread, it remains in use.
+                ConnectionWaiter waiter = this.waiters.removeFirst();
+                waiter.connection = connection;
+                waiter.condition.signal();
             } else {
+                this.connectionsUsed.remove(connection);
+                if ((this.connectionsUsed.size() + this.connectionsAvailable.size()) < this.minNumberOfConnections) {
+                    this.connectionsAvailable.add(connection);
+                } else {
+                    shouldDisconnect = true;
+                }
+            }
+            if (shouldDisconnect) {
+                // The connection is about to be discarded, its slot can be used to build a new one.
+                serveWaiters();
+            }
+        } finally {
+            this.poolLock.unlock();
+        }
+        if (shouldDisconnect) {
+            if (isValid) {
                 connection.disconnect(getOwner());
+            } else {
+                try {
+                    connection.disconnect(this.owner);
+                } catch (DatabaseException ex) {
+                    //this is an invalid connection so expect an exception.
+                }
             }
         }
         if (this.owner.isInProfile()) {
             this.owner.updateProfile(MONITOR_HEADER + this.name, this.connectionsUsed.size());
         }
-        notify();
     }
 
     /**
@@ -471,40 +616,50 @@ protected void setOwner(ServerSession owner) {
      * INTERNAL:
      * Disconnect all connections.
      */
-    public synchronized void shutDown() {
-        setIsConnected(false);
+    public void shutDown() {
+        this.poolLock.lock();
+        try {
+            setIsConnected(false);
 
-        for (Iterator<Accessor> iterator = getConnectionsAvailable().iterator(); iterator.hasNext();) {
-            try {
-                iterator.next().disconnect(getOwner());
-            } catch (DatabaseException exception) {
-                // Ignore.
+            for (Iterator<Accessor> iterator = getConnectionsAvailable().iterator(); iterator.hasNext();) {
+                try {
+                    iterator.next().disconnect(getOwner());
+                } catch (DatabaseException exception) {
+                    // Ignore.
+                }
             }
-        }
 
-        for (Iterator<Accessor> iterator = getConnectionsUsed().iterator(); iterator.hasNext();) {
-            try {
-                iterator.next().disconnect(getOwner());
-            } catch (DatabaseException exception) {
-                // Ignore.
+            for (Iterator<Accessor> iterator = getConnectionsUsed().iterator(); iterator.hasNext();) {
+                try {
+                    iterator.next().disconnect(getOwner());
+                } catch (DatabaseException exception) {
+                    // Ignore.
+                }
             }
+            resetConnections();
+        } finally {
+            this.poolLock.unlock();
         }
-        resetConnections();
     }
 
     /**
      * INTERNAL:
      * Allocate the minimum connections.
      */
-    public synchronized void startUp() {
-        if (isConnected()) {
-            return;
-        }
-        for (int index = getInitialNumberOfConnections(); index > 0; index--) {
-            getConnectionsAvailable().add(buildConnection());
-        }
+    public void startUp() {
+        this.poolLock.lock();
+        try {
+            if (isConnected()) {
+                return;
+            }
+            for (int index = getInitialNumberOfConnections(); index > 0; index--) {
+                getConnectionsAvailable().add(buildConnection());
+            }
 
-        setIsConnected(true);
+            setIsConnected(true);
+        } finally {
+            this.poolLock.unlock();
+        }
     }
 
     /**
@@ -517,6 +672,36 @@ public String toString() {
         return Helper.getShortClassName(getClass()) + ToStringLocalization.buildMessage("min_max", args);
     }
 
+    /**
+     * PUBLIC:
+     * Return the number of times a thread had to wait for a connection because the pool was exhausted.
+     * This is an indication of the pool saturation.
+     */
+    public long getNumberOfWaits() {
+        return numberOfWaits.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the total time in nanoseconds threads have spent waiting for a connection.
+     */
+    public long getTotalWaitTime() {
+        return totalWaitTime.get();
+    }
+
+    /**
+     * PUBLIC:
+     * Return the number of threads currently waiting for a connection.
+     */
+    public int getNumberOfWaitingThreads() {
+        this.poolLock.lock();
+        try {
+            return this.waiters.size();
+        } finally {
+            this.poolLock.unlock();
+        }
+    }
+
     /**
      * PUBLIC:
      * Return the time in milliseconds to wait for a available connection.
@@ -581,4 +766,19 @@ public void setFailoverConnectionPools(List<String> failoverConnectionPools) {
     public boolean addFailoverConnectionPool(String poolName) {
         return this.failoverConnectionPools.add(poolName);
     }
+
+    /**
+     * INTERNAL:
+     * A thread waiting for a connection.
+     * The releasing thread either hands it a connection, or reserves a slot for it to build a new one.
+     */
+    protected static final class ConnectionWaiter {
+        protected final Condition condition;
+        protected Accessor connection;
+        protected boolean shouldBuildConnection;
+
+        protected ConnectionWaiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
 }
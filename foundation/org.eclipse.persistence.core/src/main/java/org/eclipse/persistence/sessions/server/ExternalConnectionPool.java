@@ -139,9 +139,14 @@ public void setCheckConnections() {
      * This mehtod is a no-op for external pools.
      */
     @Override
-    public synchronized void shutDown() {
-        //do nothing
-        setIsConnected(false);
+    public void shutDown() {
+        this.poolLock.lock();
+        try {
+            //do nothing
+            setIsConnected(false);
+        } finally {
+            this.poolLock.unlock();
+        }
     }
 
     /**
@@ -150,8 +155,13 @@ public synchronized void shutDown() {
      * This validates that connect will work and sets up the parent accessor to clone.
      */
     @Override
-    public synchronized void startUp() {
-        setCachedConnection(buildConnection());
-        setIsConnected(true);
+    public void startUp() {
+        this.poolLock.lock();
+        try {
+            setCachedConnection(buildConnection());
+            setIsConnected(true);
+        } finally {
+            this.poolLock.unlock();
+        }
     }
 }
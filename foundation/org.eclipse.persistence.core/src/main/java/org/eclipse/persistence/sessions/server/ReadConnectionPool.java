@@ -14,6 +14,10 @@
 //     Oracle - initial API and implementation from Oracle TopLink
 package org.eclipse.persistence.sessions.server;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+
 import org.eclipse.persistence.internal.databaseaccess.*;
 import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.sessions.Login;
@@ -28,6 +32,9 @@
  */
 public class ReadConnectionPool extends ConnectionPool {
 
+    /** Signalled when a connection built outside of the pool lock is added to the pool, or failed to be built. */
+    protected final Condition connectionBuiltCondition = this.poolLock.newCondition();
+
     /**
      * PUBLIC:
      * Build a new read connection pool.
@@ -62,57 +69,96 @@ public ReadConnectionPool(String name, Login login, int initialNumberOfConnectio
 
     /**
      * INTERNAL:
-     * Wait until a connection is available and allocate the connection for the client.
+     * Allocate the least busy connection for the client.
+     * A new connection is built outside of the pool lock if none is idle and the pool is not at its maximum size.
      */
     @Override
-    public synchronized Accessor acquireConnection() throws ConcurrencyException {
+    public Accessor acquireConnection() throws ConcurrencyException {
         // Check for dead database and fail-over.
         if (this.isDead) {
             return failover();
         }
         Accessor leastBusyConnection = null;
-
-        // Search for an unused connection, also find the least busy in case all are used.
-        int size = this.connectionsAvailable.size();
-        for (int index = 0; index < size; index++) {
-            Accessor connection = this.connectionsAvailable.get(index);
-            //if the pool has encountered a connection failure on one of the accessors lets test the others.
-            if (this.checkConnections){
-                if (this.owner.getLogin().isConnectionHealthValidatedOnError() && this.owner.getServerPlatform().wasFailureCommunicationBased(null, connection, this.owner)){
-                    this.connectionsAvailable.remove(index);
-                    try {
-                        //connection failed connect test
-                        connection.closeConnection();
-                    } catch (Exception ex){
-                        //ignore
-                    } finally {
-                        connection.releaseCustomizer();
+        List<Accessor> failedConnections = null;
+        boolean shouldBuildConnection = false;
+        this.poolLock.lock();
+        try {
+            while (true) {
+                // Search for an unused connection, also find the least busy in case all are used.
+                int size = this.connectionsAvailable.size();
+                for (int index = 0; index < size; index++) {
+                    Accessor connection = this.connectionsAvailable.get(index);
+                    //if the pool has encountered a connection failure on one of the accessors lets test the others.
+                    if (this.checkConnections){
+                        if (this.owner.getLogin().isConnectionHealthValidatedOnError() && this.owner.getServerPlatform().wasFailureCommunicationBased(null, connection, this.owner)){
+                            this.connectionsAvailable.remove(index);
+                            // The failed connection is closed once the pool lock is released.
+                            if (failedConnections == null) {
+                                failedConnections = new ArrayList<>();
+                            }
+                            failedConnections.add(connection);
+                            //reset index as we just removed a connection and should check at the same index again
+                            --index;
+                            //reset size as there are one less connection in the pool now.
+                            --size;
+                            continue; //skip back to beginning of loop
+                        } else {
+                            this.checkConnections = false;
+                        }
+                    }
+                    if (connection.getCallCount() == 0) {
+                        leastBusyConnection = connection;
+                        break;
+                    }
+                    if ((leastBusyConnection == null) || (leastBusyConnection.getCallCount() > connection.getCallCount())) {
+                        leastBusyConnection = connection;
                     }
-                    //reset index as we just removed a connection and should check at the same index again
-                    --index;
-                    //reset size as there are one less connection in the pool now.
-                    --size;
-                    continue; //skip back to beginning of loop
-                } else {
-                    this.checkConnections = false;
+                }
+
+                // If still not at max, reserve a new connection, it is built once the pool lock is released.
+                if (((leastBusyConnection == null) || (leastBusyConnection.getCallCount() != 0)) && hasCapacityForNewConnection()) {
+                    this.numberOfConnectionsBeingBuilt++;
+                    shouldBuildConnection = true;
+                    break;
+                }
+                if (leastBusyConnection != null) {
+                    // Use the least busy connection.
+                    leastBusyConnection.incrementCallCount(getOwner());
+                    break;
+                }
+                // Every connection of the pool is being built, wait for one of them.
+                try {
+                    this.connectionBuiltCondition.await();
+                } catch (InterruptedException exception) {
+                    throw ConcurrencyException.waitFailureOnClientSession(exception);
                 }
             }
-            if (connection.getCallCount() == 0) {
-                leastBusyConnection = connection;
-                break;
-            }
-            if ((leastBusyConnection == null) || (leastBusyConnection.getCallCount() > connection.getCallCount())) {
-                leastBusyConnection = connection;
+        } finally {
+            this.poolLock.unlock();
+        }
+        if (failedConnections != null) {
+            for (Accessor connection : failedConnections) {
+                try {
+                    //connection failed connect test
+                    connection.closeConnection();
+                } catch (Exception ex){
+                    //ignore
+                } finally {
+                    connection.releaseCustomizer();
+                }
             }
         }
-
-        // If still not at max, add a new connection.
-        if (((leastBusyConnection == null) || (leastBusyConnection.getCallCount() != 0))
-                    && (this.connectionsAvailable.size() + this.connectionsUsed.size()) < this.maxNumberOfConnections) {
-            Accessor connection = null;
+        if (shouldBuildConnection) {
             try {
-                connection = buildConnection();
+                leastBusyConnection = buildConnection();
             } catch (RuntimeException failed) {
+                this.poolLock.lock();
+                try {
+                    this.numberOfConnectionsBeingBuilt--;
+                    this.connectionBuiltCondition.signalAll();
+                } finally {
+                    this.poolLock.unlock();
+                }
                 if (!this.failoverConnectionPools.isEmpty()) {
                     this.isDead = true;
                     this.timeOfDeath = System.currentTimeMillis();
@@ -122,12 +168,16 @@ public synchronized Accessor acquireConnection() throws ConcurrencyException {
                     throw failed;
                 }
             }
-            this.connectionsAvailable.add(connection);
-            leastBusyConnection = connection;
+            this.poolLock.lock();
+            try {
+                this.numberOfConnectionsBeingBuilt--;
+                this.connectionsAvailable.add(leastBusyConnection);
+                leastBusyConnection.incrementCallCount(getOwner());
+                this.connectionBuiltCondition.signalAll();
+            } finally {
+                this.poolLock.unlock();
+            }
         }
-
-        // Use the least busy connection.
-        leastBusyConnection.incrementCallCount(getOwner());
         if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
             Object[] args = new Object[1];
             args[0] = this.name;
@@ -150,16 +200,24 @@ public boolean hasConnectionAvailable() {
      * Because connections are not exclusive nothing is required.
      */
     @Override
-    public synchronized void releaseConnection(Accessor connection) throws DatabaseException {
+    public void releaseConnection(Accessor connection) throws DatabaseException {
         if (this.owner.shouldLog(SessionLog.FINEST, SessionLog.CONNECTION)) {
             Object[] args = new Object[1];
             args[0] = this.name;
             this.owner.log(SessionLog.FINEST, SessionLog.CONNECTION, "release_connection", args, connection);
         }
-        connection.decrementCallCount();
-        if (!connection.isValid()){
-            this.checkConnections = true;
-            this.connectionsAvailable.remove(connection);
+        boolean isValid = connection.isValid();
+        this.poolLock.lock();
+        try {
+            connection.decrementCallCount();
+            if (!isValid){
+                this.checkConnections = true;
+                this.connectionsAvailable.remove(connection);
+            }
+        } finally {
+            this.poolLock.unlock();
+        }
+        if (!isValid) {
             try{
                 connection.disconnect(getOwner());
             }catch (Exception ex){
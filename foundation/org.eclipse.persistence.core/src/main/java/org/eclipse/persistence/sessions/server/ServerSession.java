@@ -26,6 +26,8 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.exceptions.ConcurrencyException;
@@ -80,6 +82,10 @@ public class ServerSession extends DatabaseSessionImpl implements Server {
     protected ConnectionPolicy defaultConnectionPolicy;
     protected int numberOfNonPooledConnectionsUsed;
     protected int maxNumberOfNonPooledConnections;
+    /** Guards the non-pooled connection count, a lock is used instead of the session monitor to avoid pinning virtual threads. */
+    protected final ReentrantLock nonPooledConnectionsLock = new ReentrantLock();
+    /** Signaled when a non-pooled connection is released. */
+    protected final Condition nonPooledConnectionReleased = nonPooledConnectionsLock.newCondition();
 
     public static final int NO_MAX = -1;
     public static final String DEFAULT_POOL = "default";
@@ -271,15 +277,18 @@ public void acquireClientConnection(ClientSession clientSession) throws Database
             clientSession.addWriteConnection(pool.getName(), accessor);
         } else {
             if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                synchronized (this) {
+                this.nonPooledConnectionsLock.lock();
+                try {
                     while (this.numberOfNonPooledConnectionsUsed >= this.maxNumberOfNonPooledConnections) {
                         try {
-                            wait();// Notify is called when connections are released.
+                            this.nonPooledConnectionReleased.await();// Signal is called when connections are released.
                         } catch (InterruptedException exception) {
                             throw ConcurrencyException.waitFailureOnServerSession(exception);
                         }
                     }
                     this.numberOfNonPooledConnectionsUsed++;
+                } finally {
+                    this.nonPooledConnectionsLock.unlock();
                 }
             }
             try {
@@ -290,10 +299,7 @@ public void acquireClientConnection(ClientSession clientSession) throws Database
                 // A DatabaseException was thrown, undo the numberOfNonPooledConnectionsUsed counter increment otherwise
                 // the counter will be out of synch with the actual number of connections.
                 if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                    synchronized (this) {
-                        this.numberOfNonPooledConnectionsUsed--;
-                        notify();
-                    }
+                    releaseNonPooledConnection();
                 }
                 throw dbe;
             }
@@ -813,6 +819,16 @@ public boolean isServerSession() {
         return true;
     }
 
+    /**
+     * INTERNAL:
+     * Return if the session can be used by concurrent threads to read.
+     * Each read acquires its own connection from the pools.
+     */
+    @Override
+    public boolean isConcurrentReadSupported() {
+        return true;
+    }
+
     /**
      * PUBLIC:
      * Shutdown the server session, also shutdown all of the connection pools.
@@ -851,10 +867,7 @@ public void releaseInvalidClientSession(ClientSession clientSession) throws Data
                     }
                     } finally {
                     if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                        synchronized (this) {
-                            this.numberOfNonPooledConnectionsUsed--;
-                            notify();
-                        }
+                        releaseNonPooledConnection();
                     }
                 }
                 }
@@ -863,6 +876,20 @@ public void releaseInvalidClientSession(ClientSession clientSession) throws Data
         }
     }
 
+    /**
+     * INTERNAL:
+     * Decrement the number of non-pooled connections in use and wake up a thread waiting for one.
+     */
+    protected void releaseNonPooledConnection() {
+        this.nonPooledConnectionsLock.lock();
+        try {
+            this.numberOfNonPooledConnectionsUsed--;
+            this.nonPooledConnectionReleased.signal();
+        } finally {
+            this.nonPooledConnectionsLock.unlock();
+        }
+    }
+
     /**
      * INTERNAL:
      * Release the clients connection resource.
@@ -894,10 +921,7 @@ public void releaseClientSession(ClientSession clientSession) throws DatabaseExc
             }
             clientSession.setWriteConnections(null);
             if (this.maxNumberOfNonPooledConnections != NO_MAX) {
-                synchronized (this) {
-                    this.numberOfNonPooledConnectionsUsed--;
-                    notify();
-                }
+                releaseNonPooledConnection();
             }
         }
     }
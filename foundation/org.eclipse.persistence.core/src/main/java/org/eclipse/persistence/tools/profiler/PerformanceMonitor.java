@@ -34,6 +34,10 @@
 public class PerformanceMonitor implements Serializable, Cloneable, SessionProfiler {
     protected static final String COUNTER = "Counter:";
     protected static final String TIMER = "Timer:";
+    protected static final String STATEMENT_CACHE = COUNTER + "StatementCache";
+
+    /** The default number of statement cache counters kept for individual sql strings. */
+    public static final int DEFAULT_STATEMENT_COUNTERS_SIZE = 100;
 
     transient protected AbstractSession session;
     protected Map<String, Object> operationTimings;
@@ -41,6 +45,9 @@ public class PerformanceMonitor implements Serializable, Cloneable, SessionProfi
     protected long lastDumpTime;
     protected long dumpTime;
     protected int profileWeight;
+    /** The statement cache counters of the individual sql strings, only the most recently used are kept. */
+    protected Map<String, Long> statementCounters;
+    protected int statementCountersSize;
 
     /**
      * PUBLIC:
@@ -53,6 +60,8 @@ public PerformanceMonitor() {
         this.lastDumpTime = System.currentTimeMillis();
         this.dumpTime = 60000; // 1 minute
         this.profileWeight = SessionProfiler.ALL;
+        this.statementCounters = new LinkedHashMap<>(16, 0.75f, true);
+        this.statementCountersSize = DEFAULT_STATEMENT_COUNTERS_SIZE;
     }
 
     /**
@@ -69,6 +78,23 @@ public void setDumpTime(long dumpTime) {
         this.dumpTime = dumpTime;
     }
 
+    /**
+     * Return the number of statement cache counters kept for individual sql strings.
+     */
+    public int getStatementCountersSize() {
+        return statementCountersSize;
+    }
+
+    /**
+     * Set the number of statement cache counters kept for individual sql strings.
+     * The counters of the least recently used sql strings are dropped,
+     * so a workload with many distinct statements does not grow the monitor.
+     * The default is 100.
+     */
+    public void setStatementCountersSize(int statementCountersSize) {
+        this.statementCountersSize = statementCountersSize;
+    }
+
     @Override
     public PerformanceMonitor clone() {
         try {
@@ -96,10 +122,14 @@ public void dumpResults() {
         writer.write("\nPerformance Monitor:");
         writer.write(String.valueOf(this.lastDumpTime));
         writer.write("\nOperation\tValue (ns)\n");
-        Set<String> operations = new TreeSet<>(this.operationTimings.keySet());
+        Map<String, Object> timings = new TreeMap<>(this.operationTimings);
+        synchronized (this.statementCounters) {
+            timings.putAll(this.statementCounters);
+        }
         NumberFormat formater = NumberFormat.getInstance();
-        for (String operation : operations) {
-            Object value = this.operationTimings.get(operation);
+        for (Map.Entry<String, Object> timing : timings.entrySet()) {
+            String operation = timing.getKey();
+            Object value = timing.getValue();
             if (value == null) {
                 value = 0L;
             }
@@ -176,7 +206,13 @@ protected Map<Integer, Map<String, Long>> getOperationStartTimesByThread() {
     }
 
     public Object getOperationTime(String operation) {
-        return this.operationTimings.get(operation);
+        Object value = this.operationTimings.get(operation);
+        if ((value == null) && isStatementCounter(operation)) {
+            synchronized (this.statementCounters) {
+                value = this.statementCounters.get(operation);
+            }
+        }
+        return value;
     }
 
     public Map<String, Object> getOperationTimings() {
@@ -248,6 +284,10 @@ public void occurred(String operationName, AbstractSession session) {
         if (this.profileWeight < SessionProfiler.NORMAL) {
             return;
         }
+        if (isStatementCounter(operationName)) {
+            incrementStatementCounter(operationName);
+            return;
+        }
         synchronized (this.operationTimings) {
             Long occurred = (Long)this.operationTimings.get(operationName);
             if (occurred == null) {
@@ -267,6 +307,31 @@ public void occurred(String operationName, DatabaseQuery query, AbstractSession
         occurred(COUNTER + query.getMonitorName() + ":" + operationName.substring(COUNTER.length(), operationName.length()), session);
     }
 
+    /**
+     * Return if the operation is the statement cache counter of an individual sql string.
+     */
+    protected boolean isStatementCounter(String operationName) {
+        return operationName.startsWith(STATEMENT_CACHE) && (operationName.indexOf(':', STATEMENT_CACHE.length()) != -1);
+    }
+
+    /**
+     * Increment the statement cache counter of an individual sql string,
+     * dropping the least recently used counter if there are too many.
+     */
+    protected void incrementStatementCounter(String operationName) {
+        synchronized (this.statementCounters) {
+            Long occurred = this.statementCounters.get(operationName);
+            if (occurred == null) {
+                if (!this.statementCounters.isEmpty() && (this.statementCounters.size() >= this.statementCountersSize)) {
+                    this.statementCounters.remove(this.statementCounters.keySet().iterator().next());
+                }
+                this.statementCounters.put(operationName, 1L);
+            } else {
+                this.statementCounters.put(operationName, occurred + 1);
+            }
+        }
+    }
+
     /**
      * Set the level of profiling.
      * One of ALL, HEAVY, NORMAL, NONE.
@@ -53,6 +53,8 @@
 import org.eclipse.persistence.testing.tests.jpa.advanced.ReportQueryConstructorExpressionTestSuite;
 import org.eclipse.persistence.testing.tests.jpa.advanced.ReportQueryMultipleReturnTestSuite;
 import org.eclipse.persistence.testing.tests.jpa.advanced.SQLResultSetMappingTestSuite;
+import org.eclipse.persistence.testing.tests.jpa.advanced.LazyMetamodelTest;
+import org.eclipse.persistence.testing.tests.jpa.advanced.StaticPrecompileTest;
 import org.eclipse.persistence.testing.tests.jpa.advanced.UpdateAllQueryAdvancedJunitTest;
 import org.eclipse.persistence.testing.tests.jpa.advanced.compositepk.AdvancedCompositePKJunitTest;
 import org.eclipse.persistence.testing.tests.jpa.advanced.concurrency.ConcurrencyTest;
@@ -371,6 +373,10 @@ public static TestSuite suite4() {
         // Persistence Unit Processor tests.
         fullSuite.addTest(PersistenceUnitProcessorTest.suite());
 
+        // Static precompile tests.
+        fullSuite.addTest(StaticPrecompileTest.suite());
+        fullSuite.addTest(LazyMetamodelTest.suite());
+
         return fullSuite;
     }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.jpa.advanced;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.jpa.PersistenceProvider;
+import org.eclipse.persistence.testing.framework.junit.JUnitTestCase;
+import org.eclipse.persistence.testing.framework.junit.JUnitTestCaseHelper;
+
+/**
+ * Test the metamodel of a persistence unit with lazily initialized descriptors
+ * is initialized once on concurrent first access.
+ */
+public class LazyMetamodelTest extends JUnitTestCase {
+
+    private static final String PU_NAME = "lazy-metamodel";
+    private static final int THREADS = 8;
+
+    public LazyMetamodelTest() {
+        super();
+    }
+
+    public LazyMetamodelTest(String name) {
+        super(name);
+    }
+
+    public static Test suite() {
+        TestSuite suite = new TestSuite();
+        suite.setName("LazyMetamodelTest");
+        suite.addTest(new LazyMetamodelTest("testConcurrentFirstAccess"));
+        return suite;
+    }
+
+    /**
+     * Access the metamodel of a new factory from several threads at once,
+     * all of them must see the same, fully initialized, managed types.
+     */
+    public void testConcurrentFirstAccess() throws Exception {
+        // The persistence unit is deployed with its own properties.
+        if (isOnServer()) {
+            return;
+        }
+        File source = createPersistenceUnit();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { source.toURI().toURL() }, getClass().getClassLoader())) {
+            Map<String, Object> properties = new HashMap<>(JUnitTestCaseHelper.getDatabaseProperties());
+            properties.put(PersistenceUnitProperties.CLASSLOADER, loader);
+            properties.put(PersistenceUnitProperties.LAZY_DESCRIPTOR_INITIALIZATION, "true");
+            EntityManagerFactory factory = new PersistenceProvider().createEntityManagerFactory(PU_NAME, properties);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                Class<?> orderClass = loader.loadClass("lazymetamodel.Order");
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<EntityType<?>>> results = new ArrayList<>();
+                for (int index = 0; index < THREADS; index++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return factory.getMetamodel().entity(orderClass);
+                    }));
+                }
+                start.countDown();
+
+                Metamodel metamodel = factory.getMetamodel();
+                EntityType<?> order = metamodel.entity(orderClass);
+                for (Future<EntityType<?>> result : results) {
+                    assertSame("The metamodel was initialized more than once", order, result.get(30, TimeUnit.SECONDS));
+                }
+                assertEquals(2, metamodel.getEntities().size());
+                assertNotNull("The metamodel is not initialized", order.getAttribute("customer"));
+                EntityType<?> customer = metamodel.entity(loader.loadClass("lazymetamodel.Customer"));
+                assertNotNull("The metamodel is not initialized", customer.getAttribute("orders"));
+            } finally {
+                executor.shutdownNow();
+                factory.close();
+            }
+        }
+    }
+
+    /**
+     * Create and compile a persistence unit of two related entities.
+     */
+    private File createPersistenceUnit() throws IOException {
+        File source = Files.createTempDirectory("lazy-metamodel").toFile();
+        File customer = write(new File(source, "lazymetamodel/Customer.java"),
+                "package lazymetamodel;\n"
+                + "@jakarta.persistence.Entity\n"
+                + "@jakarta.persistence.Table(name=\"LAZY_MM_CUSTOMER\")\n"
+                + "public class Customer {\n"
+                + "    @jakarta.persistence.Id\n"
+                + "    private long id;\n"
+                + "    private String name;\n"
+                + "    @jakarta.persistence.OneToMany(mappedBy=\"customer\")\n"
+                + "    private java.util.List<Order> orders;\n"
+                + "}\n");
+        File order = write(new File(source, "lazymetamodel/Order.java"),
+                "package lazymetamodel;\n"
+                + "@jakarta.persistence.Entity\n"
+                + "@jakarta.persistence.Table(name=\"LAZY_MM_ORDER\")\n"
+                + "public class Order {\n"
+                + "    @jakarta.persistence.Id\n"
+                + "    private long id;\n"
+                + "    @jakarta.persistence.ManyToOne\n"
+                + "    private Customer customer;\n"
+                + "}\n");
+        write(new File(source, "META-INF/persistence.xml"),
+                "<persistence xmlns=\"https://jakarta.ee/xml/ns/persistence\" version=\"3.0\">\n"
+                + "    <persistence-unit name=\"" + PU_NAME + "\" transaction-type=\"RESOURCE_LOCAL\">\n"
+                + "        <provider>org.eclipse.persistence.jpa.PersistenceProvider</provider>\n"
+                + "        <class>lazymetamodel.Customer</class>\n"
+                + "        <class>lazymetamodel.Order</class>\n"
+                + "        <exclude-unlisted-classes>true</exclude-unlisted-classes>\n"
+                + "        <properties>\n"
+                + "            <property name=\"" + PersistenceUnitProperties.WEAVING + "\" value=\"false\"/>\n"
+                + "        </properties>\n"
+                + "    </persistence-unit>\n"
+                + "</persistence>\n");
+        compile(source, customer, order);
+        return source;
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Compile the source files to the directory.
+     */
+    private static void compile(File directory, File... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = System.getProperty("java.class.path") + File.pathSeparator + directory.getPath();
+        List<String> arguments = new ArrayList<>(List.of("-classpath", classPath, "-d", directory.getPath()));
+        for (File source : sources) {
+            arguments.add(source.getPath());
+        }
+        int result = compiler.run(null, null, null, arguments.toArray(new String[0]));
+        assertEquals("Compilation failed", 0, result);
+    }
+}
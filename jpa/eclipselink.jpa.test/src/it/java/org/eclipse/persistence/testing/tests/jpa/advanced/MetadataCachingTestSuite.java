@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -17,16 +17,27 @@
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
 import jakarta.persistence.EntityManager;
 
 import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.internal.jpa.deployment.SEPersistenceUnitInfo;
 import org.eclipse.persistence.jpa.JpaHelper;
 import org.eclipse.persistence.jpa.metadata.FileBasedProjectCache;
+import org.eclipse.persistence.jpa.metadata.SnapshotProjectCache;
+import org.eclipse.persistence.logging.AbstractSessionLog;
 import org.eclipse.persistence.logging.SessionLog;
 import org.eclipse.persistence.sessions.Project;
 import org.eclipse.persistence.sessions.Session;
@@ -56,6 +67,8 @@ public static Test suite() {
         TestSuite suite = new TestSuite();
         suite.setName("MetadataCachingTestSuite");
         suite.addTest(new MetadataCachingTestSuite("testProjectCacheALLWithDefaultPU"));
+        suite.addTest(new MetadataCachingTestSuite("testProjectCacheSnapshotWithDefaultPU"));
+        suite.addTest(new MetadataCachingTestSuite("testProjectCacheSnapshotStaleOnScannedClass"));
         return suite;
     }
 
@@ -133,6 +146,84 @@ public void testProjectCacheALLWithDefaultPU(){
         testFileBasedProjectCacheLoading("default");
     }
 
+    /* Test project cache snapshot in runtime with default persistence unit*/
+    public void testProjectCacheSnapshotWithDefaultPU(){
+        testSetup();
+        Map properties = getProperties();
+        properties.put(PersistenceUnitProperties.PROJECT_CACHE, "snapshot");
+
+        EntityManager em = createEntityManager("default");
+        beginTransaction(em);
+        try {
+            JpaHelper.getEntityManagerFactory(em).refreshMetadata(properties);
+        } finally {
+            commitTransaction(em);
+            closeEntityManager(em);
+        }
+        if (!new File(fileName).exists()) {
+            fail("the project cache file was not created on deployment using PROJECT_CACHE 'snapshot'");
+        }
+
+        Session session = getServerSession("default");
+        Project project = new SnapshotProjectCache().retrieveProject(properties, session.getDatasourcePlatform().getConversionManager().getLoader(), session.getSessionLog());
+        if (project == null) {
+            fail("Project returned from SnapshotProjectCache.retrieveProject() was null");
+        }
+
+        em = createEntityManager("default");
+        beginTransaction(em);
+        try {
+            JpaHelper.getEntityManagerFactory(em).refreshMetadata(properties);
+        } finally {
+            commitTransaction(em);
+            closeEntityManager(em);
+        }
+    }
+
+    /* Test project cache snapshot is stale once a class is added to the root of a persistence unit that does not exclude unlisted classes*/
+    public void testProjectCacheSnapshotStaleOnScannedClass() throws Exception {
+        File root = Files.createTempDirectory("snapshot-root").toFile();
+        compile(root, write(new File(root, "scanned/Item.java"), "package scanned;\npublic class Item {\n}\n"));
+        File snapshot = new File(root, "snapshot.file");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PersistenceUnitProperties.PROJECT_CACHE_FILE, snapshot.getPath());
+        SessionLog log = AbstractSessionLog.getLog();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { root.toURI().toURL() }, getClass().getClassLoader())) {
+            SEPersistenceUnitInfo info = new SEPersistenceUnitInfo();
+            info.setPersistenceUnitName("snapshot");
+            info.setPersistenceUnitRootUrl(root.toURI().toURL());
+            info.setExcludeUnlistedClasses(false);
+            info.setClassLoader(loader);
+
+            SnapshotProjectCache cache = new SnapshotProjectCache();
+            cache.setPersistenceUnitInfo(info);
+            cache.retrieveProject(properties, loader, log);
+            cache.storeProject(new Project(), properties, log);
+            assertTrue("the project cache snapshot was not written", snapshot.exists());
+
+            cache = new SnapshotProjectCache();
+            cache.setPersistenceUnitInfo(info);
+            assertNotNull("the project cache snapshot of an unchanged persistence unit is stale", cache.retrieveProject(properties, loader, log));
+
+            compile(root, write(new File(root, "scanned/Other.java"), "package scanned;\npublic class Other {\n}\n"));
+            cache = new SnapshotProjectCache();
+            cache.setPersistenceUnitInfo(info);
+            assertNull("the project cache snapshot is not stale after adding a class to the persistence unit root", cache.retrieveProject(properties, loader, log));
+        }
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void compile(File directory, File source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals("Compilation failed: " + source, 0, compiler.run(null, null, null, "-d", directory.getPath(), source.getPath()));
+    }
+
     /* Test project cache in runtime on JEE with default persistence unit*/
     public void testProjectCacheWithDefaultPU(){
         testFileBasedProjectCacheLoading("default");
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.tests.jpa.advanced;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.jpa.PersistenceProvider;
+import org.eclipse.persistence.testing.framework.junit.JUnitTestCase;
+import org.eclipse.persistence.testing.framework.junit.JUnitTestCaseHelper;
+import org.eclipse.persistence.tools.weaving.jpa.StaticPrecompileProcessor;
+
+/**
+ * Test the project class generated by the StaticPrecompile tool deploys the persistence unit.
+ */
+public class StaticPrecompileTest extends JUnitTestCase {
+
+    private static final String PU_NAME = "precompile";
+    private static final String PROJECT_CLASS = "precompile.ItemProject";
+
+    public StaticPrecompileTest() {
+        super();
+    }
+
+    public StaticPrecompileTest(String name) {
+        super(name);
+    }
+
+    public static Test suite() {
+        TestSuite suite = new TestSuite();
+        suite.setName("StaticPrecompileTest");
+        suite.addTest(new StaticPrecompileTest("testPrecompiledProjectClass"));
+        suite.addTest(new StaticPrecompileTest("testInvalidQueryFailsPrecompiling"));
+        return suite;
+    }
+
+    /**
+     * Precompile a persistence unit, compile its project class, and run a named query
+     * of the persistence unit deployed from the project class.
+     */
+    public void testPrecompiledProjectClass() throws Exception {
+        // The persistence unit is deployed with its own properties.
+        if (isOnServer()) {
+            return;
+        }
+        File source = createPersistenceUnit("SELECT i FROM Item i WHERE i.name = :name");
+        File target = Files.createTempDirectory("precompile-target").toFile();
+        StaticPrecompileProcessor processor = new StaticPrecompileProcessor(source, target);
+        processor.setProjectClassName(PROJECT_CLASS);
+        processor.performPrecompiling();
+
+        File projectClass = new File(target, PROJECT_CLASS.replace('.', File.separatorChar) + ".java");
+        assertTrue("The project class was not generated: " + projectClass, projectClass.exists());
+        compile(source, projectClass);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { source.toURI().toURL() }, getClass().getClassLoader())) {
+            Map<String, Object> properties = new HashMap<>(JUnitTestCaseHelper.getDatabaseProperties());
+            properties.put(PersistenceUnitProperties.CLASSLOADER, loader);
+            properties.put(PersistenceUnitProperties.PROJECT_CACHE, "project-class");
+            properties.put(PersistenceUnitProperties.PROJECT_CACHE_CLASS, PROJECT_CLASS);
+            properties.put(PersistenceUnitProperties.DDL_GENERATION, PersistenceUnitProperties.DROP_AND_CREATE);
+            properties.put(PersistenceUnitProperties.DDL_GENERATION_MODE, PersistenceUnitProperties.DDL_DATABASE_GENERATION);
+            EntityManagerFactory factory = new PersistenceProvider().createEntityManagerFactory(PU_NAME, properties);
+            try {
+                EntityManager em = factory.createEntityManager();
+                try {
+                    assertEquals("The persistence unit was not deployed from the project class",
+                            PROJECT_CLASS, JpaHelper.getServerSession(factory).getProject().getClass().getName());
+                    Class<?> itemClass = loader.loadClass("precompile.Item");
+                    em.getTransaction().begin();
+                    em.persist(itemClass.getConstructor(long.class, String.class).newInstance(1L, "precompiled"));
+                    em.persist(itemClass.getConstructor(long.class, String.class).newInstance(2L, "other"));
+                    em.getTransaction().commit();
+                    em.clear();
+
+                    List<?> items = em.createNamedQuery("Item.findByName").setParameter("name", "precompiled").getResultList();
+                    assertEquals(1, items.size());
+                    assertSame(itemClass, items.get(0).getClass());
+                } finally {
+                    if (em.getTransaction().isActive()) {
+                        em.getTransaction().rollback();
+                    }
+                    em.close();
+                }
+            } finally {
+                factory.close();
+            }
+        }
+    }
+
+    /**
+     * Precompiling a persistence unit with an invalid named query fails, without generating the project class.
+     */
+    public void testInvalidQueryFailsPrecompiling() throws Exception {
+        File source = createPersistenceUnit("SELECT i FROM Item i WHERE i.missing = :name");
+        File target = Files.createTempDirectory("precompile-target").toFile();
+        StaticPrecompileProcessor processor = new StaticPrecompileProcessor(source, target);
+        processor.setProjectClassName(PROJECT_CLASS);
+        try {
+            processor.performPrecompiling();
+            fail("Precompiling an invalid named query should fail");
+        } catch (RuntimeException expected) {
+            // Expected.
+        }
+        File projectClass = new File(target, PROJECT_CLASS.replace('.', File.separatorChar) + ".java");
+        assertFalse("The project class was generated for an invalid named query", projectClass.exists());
+    }
+
+    /**
+     * Create and compile a persistence unit of one entity with the named query.
+     */
+    private File createPersistenceUnit(String jpql) throws IOException {
+        File source = Files.createTempDirectory("precompile-source").toFile();
+        File entity = write(new File(source, "precompile/Item.java"),
+                "package precompile;\n"
+                + "@jakarta.persistence.Entity\n"
+                + "@jakarta.persistence.Table(name=\"PRECOMPILE_ITEM\")\n"
+                + "@jakarta.persistence.NamedQuery(name=\"Item.findByName\", query=\"" + jpql + "\")\n"
+                + "public class Item {\n"
+                + "    @jakarta.persistence.Id\n"
+                + "    private long id;\n"
+                + "    private String name;\n"
+                + "    public Item() {\n"
+                + "    }\n"
+                + "    public Item(long id, String name) {\n"
+                + "        this.id = id;\n"
+                + "        this.name = name;\n"
+                + "    }\n"
+                + "}\n");
+        write(new File(source, "META-INF/persistence.xml"),
+                "<persistence xmlns=\"https://jakarta.ee/xml/ns/persistence\" version=\"3.0\">\n"
+                + "    <persistence-unit name=\"" + PU_NAME + "\" transaction-type=\"RESOURCE_LOCAL\">\n"
+                + "        <provider>org.eclipse.persistence.jpa.PersistenceProvider</provider>\n"
+                + "        <class>precompile.Item</class>\n"
+                + "        <exclude-unlisted-classes>true</exclude-unlisted-classes>\n"
+                + "        <properties>\n"
+                + "            <property name=\"" + PersistenceUnitProperties.WEAVING + "\" value=\"false\"/>\n"
+                + "        </properties>\n"
+                + "    </persistence-unit>\n"
+                + "</persistence>\n");
+        compile(source, entity);
+        return source;
+    }
+
+    private static File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Compile the source file to the directory.
+     */
+    private static void compile(File directory, File source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = System.getProperty("java.class.path") + File.pathSeparator + directory.getPath();
+        int result = compiler.run(null, null, null, "-classpath", classPath, "-d", directory.getPath(), source.getPath());
+        assertEquals("Compilation failed: " + source, 0, result);
+    }
+}
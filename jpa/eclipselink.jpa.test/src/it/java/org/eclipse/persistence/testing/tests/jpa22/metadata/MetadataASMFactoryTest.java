@@ -16,6 +16,11 @@
 //       - 535250: Test meta-annotations with dependency cycle
 package org.eclipse.persistence.testing.tests.jpa22.metadata;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataLogger;
 import org.eclipse.persistence.internal.jpa.metadata.accessors.objects.MetadataAnnotation;
@@ -45,6 +50,7 @@ public static Test suite() {
         suite.addTest(new MetadataASMFactoryTest("testMetadataAnnotations"));
         suite.addTest(new MetadataASMFactoryTest("testAnnotationsWithCycle"));
         suite.addTest(new MetadataASMFactoryTest("testAnnotationsWithPrimitiveCycle"));
+        suite.addTest(new MetadataASMFactoryTest("testParallelLoadMatchesSerialLoad"));
         return suite;
     }
 
@@ -88,4 +94,46 @@ public void testAnnotationsWithPrimitiveCycle() {
         }
     }
 
+    /**
+     * Check the classes loaded in parallel are the same as the classes loaded one at a time.
+     */
+    public void testParallelLoadMatchesSerialLoad() {
+        List<String> classNames = Arrays.asList(Employee.class.getName(), LogListener.class.getName(),
+                CycleA.class.getName(), CycleB.class.getName(), CycleSelf.class.getName(),
+                MetadataASMFactoryTest.class.getName(), "org.eclipse.persistence.testing.tests.jpa22.metadata.Missing");
+        ContentsFactory serialFactory = new ContentsFactory();
+        for (String className : classNames) {
+            serialFactory.getMetadataClass(className);
+        }
+        ContentsFactory parallelFactory = new ContentsFactory();
+        parallelFactory.loadMetadataClasses(classNames, false);
+
+        Assert.assertEquals(serialFactory.getClassNames(), parallelFactory.getClassNames());
+        for (String className : classNames) {
+            MetadataClass serialClass = serialFactory.getMetadataClass(className);
+            MetadataClass parallelClass = parallelFactory.getMetadataClass(className);
+            Assert.assertEquals(className, serialClass.getName(), parallelClass.getName());
+            Assert.assertEquals(className, serialClass.getSuperclassName(), parallelClass.getSuperclassName());
+            Assert.assertEquals(className, serialClass.getInterfaces(), parallelClass.getInterfaces());
+            Assert.assertEquals(className, serialClass.getModifiers(), parallelClass.getModifiers());
+            Assert.assertEquals(className, serialClass.isLazy(), parallelClass.isLazy());
+            Assert.assertEquals(className, serialClass.getFields().keySet(), parallelClass.getFields().keySet());
+            Assert.assertEquals(className, serialClass.getMethods().keySet(), parallelClass.getMethods().keySet());
+            Assert.assertEquals(className, serialClass.getAnnotations().keySet(), parallelClass.getAnnotations().keySet());
+        }
+    }
+
+    /**
+     * Factory exposing the names of the classes it contains.
+     */
+    static class ContentsFactory extends MetadataAsmFactory {
+        ContentsFactory() {
+            super(new MetadataLogger(null), MetadataASMFactoryTest.class.getClassLoader());
+        }
+
+        Set<String> getClassNames() {
+            return new HashSet<>(m_metadataClasses.keySet());
+        }
+    }
+
 }
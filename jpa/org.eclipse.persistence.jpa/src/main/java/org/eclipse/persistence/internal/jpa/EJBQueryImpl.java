@@ -28,8 +28,16 @@
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.LockModeType;
@@ -39,6 +47,7 @@
 import jakarta.persistence.TemporalType;
 import jakarta.persistence.TypedQuery;
 
+import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.exceptions.QueryException;
 import org.eclipse.persistence.expressions.Expression;
 import org.eclipse.persistence.internal.databaseaccess.DatasourcePlatform;
@@ -51,6 +60,7 @@
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.jpa.JpaQuery;
 import org.eclipse.persistence.queries.Cursor;
+import org.eclipse.persistence.queries.CursorPublisher;
 import org.eclipse.persistence.queries.DataReadQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.JPAQueryBuilder;
@@ -61,6 +71,7 @@
 import org.eclipse.persistence.queries.ReadQuery;
 import org.eclipse.persistence.queries.ResultSetMappingQuery;
 import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.SessionProfiler;
 
 /**
  * Concrete JPA query class. The JPA query wraps a DatabaseQuery which is
@@ -135,10 +146,20 @@ public static DatabaseQuery buildEJBQLDatabaseQuery(String queryName, String jpq
         DatabaseQuery databaseQuery = null;
         if (isCacheable) {
             databaseQuery = (DatabaseQuery) session.getProject().getJPQLParseCache().get(jpqlQuery);
+            if ((databaseQuery == null) || (!databaseQuery.isPrepared())) {
+                session.incrementProfile(SessionProfiler.JpqlParseCacheMisses);
+            } else {
+                session.incrementProfile(SessionProfiler.JpqlParseCacheHits);
+            }
         }
         if ((databaseQuery == null) || (!databaseQuery.isPrepared())) {
             JPAQueryBuilder queryBuilder = session.getQueryBuilder();
-            databaseQuery = queryBuilder.buildQuery(jpqlQuery, session);
+            session.startOperationProfile(SessionProfiler.JpqlParse, null, SessionProfiler.ALL);
+            try {
+                databaseQuery = queryBuilder.buildQuery(jpqlQuery, session);
+            } finally {
+                session.endOperationProfile(SessionProfiler.JpqlParse, null, SessionProfiler.ALL);
+            }
 
             // If the query uses fetch joins, need to use JPA default of not
             // filtering duplicates.
@@ -296,6 +317,143 @@ public EJBQueryImpl setLockMode(LockModeType lockMode) {
         return (EJBQueryImpl) super.setLockMode(lockMode);
     }
 
+    /**
+     * Non-standard method to execute the query asynchronously on the session's query executor.
+     * The query and its arguments are captured on the calling thread and executed concurrently by the
+     * read-only session, so the results are not managed by the persistence context.
+     * The persistence context is not thread safe, so the query cannot be executed asynchronously in a transaction.
+     *
+     * @return future of the results
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<X>> getResultListAsync() {
+        // bug51411440: need to throw IllegalStateException if query
+        // executed on closed em
+        this.entityManager.verifyOpenWithSetRollbackOnly();
+        if (this.lockMode != null && !this.lockMode.equals(LockModeType.NONE)) {
+            // A pessimistic lock requires a transaction, throw TransactionRequiredException without one.
+            this.entityManager.checkForTransaction(true);
+        }
+        if (this.entityManager.checkForTransaction(false) != null) {
+            throw new IllegalStateException(ExceptionLocalization.buildMessage("async_query_in_transaction"));
+        }
+        setAsSQLReadQuery();
+        propagateResultProperties();
+        DatabaseQuery query = getDatabaseQueryInternal();
+        if (query.isReadAllQuery()) {
+            Class<?> containerClass = ((ReadAllQuery) query).getContainerPolicy().getContainerClass();
+            if (!Helper.classImplementsInterface(containerClass, ClassConstants.List_Class)) {
+                throw new PersistenceException(QueryException.invalidContainerClass(containerClass, ClassConstants.List_Class));
+            }
+        } else if (!query.isReadQuery()) {
+            throw new IllegalStateException(ExceptionLocalization.buildMessage("incorrect_query_for_get_result_list"));
+        }
+        List<Object> parameterValues = processParameters();
+        boolean isReadObjectQuery = query.isReadObjectQuery();
+        return this.entityManager.getReadOnlySession().executeQueryAsync(query, parameterValues).handle((result, exception) -> {
+            if (exception != null) {
+                Throwable cause = (exception instanceof CompletionException) ? exception.getCause() : exception;
+                if (cause instanceof PersistenceException) {
+                    throw (PersistenceException) cause;
+                }
+                throw new PersistenceException(cause);
+            }
+            if (isReadObjectQuery) {
+                List<X> resultList = new ArrayList<>();
+                if (result != null) {
+                    resultList.add((X) result);
+                }
+                return resultList;
+            }
+            return (List<X>) result;
+        });
+    }
+
+    /**
+     * Non-standard method to return a publisher of the results of the query.
+     * The query is executed as a cursor by each subscriber on the session's query executor,
+     * a CursoredStream is used if the query does not use a cursor, this query is not changed.
+     *
+     * @return publisher of the results
+     */
+    @Override
+    public Flow.Publisher<X> getResultPublisher() {
+        this.entityManager.verifyOpenWithSetRollbackOnly();
+        EJBQueryImpl<X> cursorQuery = this;
+        if (!usesCursor(getDatabaseQueryInternal())) {
+            // The cursor hints are set on a copy, so the query can still be executed as a list.
+            cursorQuery = copy();
+            cursorQuery.setHint(QueryHints.CURSOR_INITIAL_SIZE, CursorPublisher.DEFAULT_PAGE_SIZE);
+            cursorQuery.setHint(QueryHints.CURSOR_PAGE_SIZE, CursorPublisher.DEFAULT_PAGE_SIZE);
+        }
+        AbstractSession session = (AbstractSession) getActiveSession();
+        return new CursorPublisher<>(session, cursorQuery::getResultCursor);
+    }
+
+    /**
+     * INTERNAL:
+     * Return a copy of the query, with its parameters and settings, wrapping a clone of its database query.
+     */
+    protected EJBQueryImpl<X> copy() {
+        EJBQueryImpl<X> copy = new EJBQueryImpl<>((DatabaseQuery) getDatabaseQueryInternal().clone(), this.entityManager);
+        copy.isShared = false;
+        copy.queryName = this.queryName;
+        copy.parameterValues.putAll(this.parameterValues);
+        copy.parameters = this.parameters;
+        copy.firstResultIndex = this.firstResultIndex;
+        copy.maxResults = this.maxResults;
+        copy.lockMode = this.lockMode;
+        return copy;
+    }
+
+    /**
+     * Execute the query and return the query results as a Stream.
+     * A query using a cursor, such as with the "eclipselink.cursor.detached" hint, is streamed
+     * from the cursor, the objects read are released from the cursor a page at a time,
+     * and closing the stream closes the cursor.
+     *
+     * @return a stream of the results
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<X> getResultStream() {
+        if (!usesCursor(getDatabaseQueryInternal())) {
+            return getResultList().stream();
+        }
+        Cursor cursor = getResultCursor();
+        int pageSize = Math.max(cursor.getPageSize(), 1);
+        Iterator<X> iterator = new Iterator<X>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public X next() {
+                Object next = cursor.next();
+                this.read++;
+                if (this.read == pageSize) {
+                    // Release the objects read so far.
+                    cursor.clear();
+                    this.read = 0;
+                }
+                return (X) next;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false).onClose(cursor::close);
+    }
+
+    /**
+     * Return if the query returns a cursor.
+     */
+    protected boolean usesCursor(DatabaseQuery query) {
+        return (query.isReadAllQuery() && ((ReadAllQuery) query).getContainerPolicy().isCursorPolicy())
+                || (query.isDataReadQuery() && ((DataReadQuery) query).getContainerPolicy().isCursorPolicy());
+    }
+
     /**
      * Non-standard method to return results of a ReadQuery that has a
      * containerPolicy that returns objects as a collection rather than a List
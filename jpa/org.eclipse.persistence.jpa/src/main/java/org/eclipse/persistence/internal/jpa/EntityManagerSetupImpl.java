@@ -155,6 +155,7 @@
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
@@ -254,8 +255,10 @@
 import org.eclipse.persistence.internal.sessions.PropertiesHandler;
 import org.eclipse.persistence.internal.sessions.remote.RemoteConnection;
 import org.eclipse.persistence.jpa.metadata.FileBasedProjectCache;
+import org.eclipse.persistence.jpa.metadata.GeneratedProjectCache;
 import org.eclipse.persistence.jpa.metadata.MetadataSource;
 import org.eclipse.persistence.jpa.metadata.ProjectCache;
+import org.eclipse.persistence.jpa.metadata.SnapshotProjectCache;
 import org.eclipse.persistence.jpa.metadata.XMLMetadataSource;
 import org.eclipse.persistence.logging.AbstractSessionLog;
 import org.eclipse.persistence.logging.SessionLog;
@@ -284,6 +287,7 @@
 import org.eclipse.persistence.sessions.coordination.TransportManager;
 import org.eclipse.persistence.sessions.coordination.jms.JMSPublishingTransportManager;
 import org.eclipse.persistence.sessions.coordination.jms.JMSTopicTransportManager;
+import org.eclipse.persistence.sessions.coordination.nio.NIOTransportManager;
 import org.eclipse.persistence.sessions.coordination.rmi.RMITransportManager;
 import org.eclipse.persistence.sessions.factories.SessionManager;
 import org.eclipse.persistence.sessions.factories.XMLSessionConfigLoader;
@@ -355,6 +359,10 @@ public class EntityManagerSetupImpl implements MetadataRefreshListener {
     /** Reference to the Metamodel for this deployment and session.
      * Please use the accessor and not the instance variable directly*/
     private Metamodel metaModel;
+    /** The metamodel once fully initialized, read without locking on later accesses. */
+    private volatile Metamodel initializedMetamodel;
+    /** Guards the first access initialization of the metamodel, as lazy descriptors may be initialized by any thread. */
+    private final ReentrantLock metamodelLock = new ReentrantLock();
 
     protected List<StructConverter> structConverters = null;
     // factoryCount==0; session==null
@@ -828,10 +836,13 @@ public Object handleException(RuntimeException exception) {
                     isLockAcquired = false;
                 }
                 // 266912: Initialize the Metamodel, a login should have already occurred.
-                try {
-                    this.getMetamodel(classLoaderToUse);
-                } catch (Exception e) {
-                    this.session.log(SessionLog.FINEST, SessionLog.METAMODEL, "metamodel_init_failed", new Object[]{e.getMessage()});
+                // The metamodel requires all descriptors, so with lazy initialization it is initialized on first access.
+                if (!getDatabaseSession().shouldInitializeDescriptorsLazily()) {
+                    try {
+                        this.getMetamodel(classLoaderToUse);
+                    } catch (Exception e) {
+                        this.session.log(SessionLog.FINEST, SessionLog.METAMODEL, "metamodel_init_failed", new Object[]{e.getMessage()});
+                    }
                 }
             }
             // Clear the weaver's reference to meta-data information, as it is held by the class loader and will never gc.
@@ -2027,6 +2038,7 @@ public synchronized ClassTransformer predeploy(PersistenceUnitInfo info, Map ext
 
                         // Create an instance of MetadataProcessor for specified persistence unit info
                         processor = new MetadataProcessor(persistenceUnitInfo, session, classLoaderToUse, weaveLazy, weaveEager, weaveFetchGroups, usesMultitenantSharedEmf, usesMultitenantSharedCache, predeployProperties, compositeProcessor);
+                        processor.setShouldProcessInParallel("true".equalsIgnoreCase(EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.PARALLEL_METADATA_PROCESSING, predeployProperties, "false", session)));
 
                         //need to use the real classloader to create the repository class
                         updateMetadataRepository(predeployProperties, classLoaderToUse);
@@ -2268,9 +2280,13 @@ protected void updateCacheCoordination(Map m, ClassLoader loader) {
                         transport.setShouldReuseJMSTopicPublisher(reuse_publisher.equalsIgnoreCase("true"));
                     }
 
-                } else if (protocol.equalsIgnoreCase(CacheCoordinationProtocol.RMI) || protocol.equalsIgnoreCase(CacheCoordinationProtocol.RMIIIOP)) {
+                } else if (protocol.equalsIgnoreCase(CacheCoordinationProtocol.RMI) || protocol.equalsIgnoreCase(CacheCoordinationProtocol.RMIIIOP)
+                        || protocol.equalsIgnoreCase(CacheCoordinationProtocol.NIO)) {
                     if (protocol.equalsIgnoreCase(CacheCoordinationProtocol.RMIIIOP)) {
                         ((RMITransportManager) rcm.getTransportManager()).setIsRMIOverIIOP(true);
+                    } else if (protocol.equalsIgnoreCase(CacheCoordinationProtocol.NIO)) {
+                        // Uses the same discovery as RMI.
+                        rcm.setTransportManager(new NIOTransportManager(rcm));
                     }
                     // Default protocol.
                     String delay = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_RMI_ANNOUNCEMENT_DELAY, m, this.session);
@@ -2341,6 +2357,18 @@ protected void updateCacheCoordination(Map m, ClassLoader loader) {
                 if (asynch != null) {
                     rcm.setShouldPropagateAsynchronously(asynch.equalsIgnoreCase("true"));
                 }
+                String batchSize = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_BATCH_SIZE, m, this.session);
+                property = PersistenceUnitProperties.COORDINATION_BATCH_SIZE;
+                value = batchSize;
+                if (batchSize != null) {
+                    rcm.setCommandBatchSize(Integer.parseInt(batchSize));
+                }
+                String batchDelay = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_BATCH_DELAY, m, this.session);
+                property = PersistenceUnitProperties.COORDINATION_BATCH_DELAY;
+                value = batchDelay;
+                if (batchDelay != null) {
+                    rcm.setCommandBatchDelay(Long.parseLong(batchDelay));
+                }
                 String threadPoolSize = getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.COORDINATION_THREAD_POOL_SIZE, m, this.session);
                 property = PersistenceUnitProperties.COORDINATION_THREAD_POOL_SIZE;
                 value = threadPoolSize;
@@ -2883,6 +2911,7 @@ protected void updateSession(Map m, ClassLoader loader) {
             updateNativeSQLSetting(m);
             updateSequencing(m);
             updateSequencingStart(m);
+            updateSequencingPrefetch(m);
             updateAllowNativeSQLQueriesSetting(m);
             updateSQLCastSetting(m);
             updateUppercaseSetting(m);
@@ -2901,6 +2930,10 @@ protected void updateSession(Map m, ClassLoader loader) {
             updatePessimisticLockTimeoutUnit(m);
             updateQueryTimeout(m);
             updateQueryTimeoutUnit(m);
+            updateQueryAsyncThreadPoolSize(m);
+            updateQueryParallelBuildThreadPoolSize(m);
+            updateParallelDescriptorInitialization(m);
+            updateLazyDescriptorInitialization(m);
             updateLockingTimestampDefault(m);
             updateSQLCallDeferralDefault(m);
             updateNamingIntoIndexed(m);
@@ -3234,6 +3267,10 @@ protected void updateBatchWritingSetting(Map persistenceProperties, ClassLoader
              if (batchWritingSettingString == BatchWriting.JDBC) {
                  this.session.getPlatform().setUsesJDBCBatchWriting(true);
                  this.session.getPlatform().setUsesNativeBatchWriting(false);
+             } else if (batchWritingSettingString == BatchWriting.JDBCGrouped) {
+                 this.session.getPlatform().setUsesJDBCBatchWriting(true);
+                 this.session.getPlatform().setUsesNativeBatchWriting(false);
+                 this.session.getPlatform().setUsesGroupedBatchWriting(true);
              } else if (batchWritingSettingString == BatchWriting.Buffered) {
                  this.session.getPlatform().setUsesJDBCBatchWriting(false);
                  this.session.getPlatform().setUsesNativeBatchWriting(false);
@@ -3270,6 +3307,10 @@ protected void updateBatchWritingSetting(Map persistenceProperties, ClassLoader
                 session.handleException(ValidationException.invalidValueForProperty(sizeString, PersistenceUnitProperties.BATCH_WRITING_SIZE, invalid));
             }
         }
+        String pipelined = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.BATCH_WRITING_PIPELINED, persistenceProperties, this.session);
+        if (pipelined != null) {
+            this.session.getPlatform().setUsesPipelinedBatchWriting("true".equalsIgnoreCase(pipelined));
+        }
     }
 
     /**
@@ -3404,6 +3445,17 @@ protected void updateSequencingStart(Map m) {
         }
     }
 
+    protected void updateSequencingPrefetch(Map m) {
+        String threshold = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.SEQUENCING_PREFETCH_THRESHOLD, m, session);
+        try {
+            if (threshold != null) {
+                getDatabaseSession().getSequencingControl().setPrefetchThreshold(Integer.parseInt(threshold.trim()));
+            }
+        } catch (NumberFormatException exception) {
+            this.session.handleException(ValidationException.invalidValueForProperty(threshold, PersistenceUnitProperties.SEQUENCING_PREFETCH_THRESHOLD, exception));
+        }
+    }
+
     /**
      * Load the projectCacheAccessor for JPA project caching
      */
@@ -3416,6 +3468,10 @@ protected void updateProjectCache(Map m, ClassLoader loader){
                 String accessorType = (String)accessor;
                 if (accessorType.equalsIgnoreCase("java-serialization")) {
                     projectCacheAccessor = new FileBasedProjectCache();
+                } else if (accessorType.equalsIgnoreCase("snapshot")) {
+                    projectCacheAccessor = new SnapshotProjectCache();
+                } else if (accessorType.equalsIgnoreCase("project-class")) {
+                    projectCacheAccessor = new GeneratedProjectCache();
                 } else {
                     try {
                         Class<? extends ProjectCache> transportClass = findClassForProperty(accessorType, PersistenceUnitProperties.PROJECT_CACHE, loader);
@@ -3425,6 +3481,9 @@ protected void updateProjectCache(Map m, ClassLoader loader){
                     }
                 }
             }
+            if ((projectCacheAccessor instanceof SnapshotProjectCache) && (((SnapshotProjectCache)projectCacheAccessor).getPersistenceUnitInfo() == null)) {
+                ((SnapshotProjectCache)projectCacheAccessor).setPersistenceUnitInfo(getPersistenceUnitInfo());
+            }
         }
     }
 
@@ -3717,6 +3776,54 @@ private void updateQueryTimeoutUnit(Map persistenceProperties) {
         }
     }
 
+    private void updateQueryAsyncThreadPoolSize(Map persistenceProperties) {
+        String size = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.QUERY_ASYNC_THREAD_POOL_SIZE, persistenceProperties, session);
+        try {
+            if (size != null) {
+                session.setQueryThreadPoolSize(Integer.parseInt(size.trim()));
+            }
+        } catch (NumberFormatException exception) {
+            this.session.handleException(ValidationException.invalidValueForProperty(size, PersistenceUnitProperties.QUERY_ASYNC_THREAD_POOL_SIZE, exception));
+        }
+    }
+
+    private void updateQueryParallelBuildThreadPoolSize(Map persistenceProperties) {
+        String size = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.QUERY_PARALLEL_BUILD_THREAD_POOL_SIZE, persistenceProperties, session);
+        try {
+            if (size != null) {
+                session.setObjectBuildingThreadPoolSize(Integer.parseInt(size.trim()));
+            }
+        } catch (NumberFormatException exception) {
+            this.session.handleException(ValidationException.invalidValueForProperty(size, PersistenceUnitProperties.QUERY_PARALLEL_BUILD_THREAD_POOL_SIZE, exception));
+        }
+    }
+
+    private void updateParallelDescriptorInitialization(Map persistenceProperties) {
+        String parallel = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.PARALLEL_DESCRIPTOR_INITIALIZATION, persistenceProperties, session);
+        if (parallel != null) {
+            if (parallel.equalsIgnoreCase("true")) {
+                getDatabaseSession().setShouldInitializeDescriptorsInParallel(true);
+            } else if (parallel.equalsIgnoreCase("false")) {
+                getDatabaseSession().setShouldInitializeDescriptorsInParallel(false);
+            } else {
+                session.handleException(ValidationException.invalidBooleanValueForProperty(parallel, PersistenceUnitProperties.PARALLEL_DESCRIPTOR_INITIALIZATION));
+            }
+        }
+    }
+
+    private void updateLazyDescriptorInitialization(Map persistenceProperties) {
+        String lazy = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.LAZY_DESCRIPTOR_INITIALIZATION, persistenceProperties, session);
+        if (lazy != null) {
+            if (lazy.equalsIgnoreCase("true")) {
+                getDatabaseSession().setShouldInitializeDescriptorsLazily(true);
+            } else if (lazy.equalsIgnoreCase("false")) {
+                getDatabaseSession().setShouldInitializeDescriptorsLazily(false);
+            } else {
+                session.handleException(ValidationException.invalidBooleanValueForProperty(lazy, PersistenceUnitProperties.LAZY_DESCRIPTOR_INITIALIZATION));
+            }
+        }
+    }
+
     private void updateLockingTimestampDefault(Map persistenceProperties) {
         String local = EntityManagerFactoryProvider.getConfigPropertyAsStringLogDebug(PersistenceUnitProperties.USE_LOCAL_TIMESTAMP, persistenceProperties, session);
         try {
@@ -4059,13 +4166,28 @@ private static ValidationMode getValidationMode(PersistenceUnitInfo persitenceUn
      * @since Java Persistence 2.0
      */
     public Metamodel getMetamodel(ClassLoader classLoader) {
-        preInitializeMetamodel();
-        if (!((MetamodelImpl)metaModel).isInitialized()){
-            ((MetamodelImpl)metaModel).initialize(classLoader);
-            // If the canonical metamodel classes exist, initialize them
-            initializeCanonicalMetamodel(metaModel);
+        Metamodel metamodel = this.initializedMetamodel;
+        if (metamodel != null) {
+            return metamodel;
+        }
+        this.metamodelLock.lock();
+        try {
+            metamodel = this.initializedMetamodel;
+            if (metamodel == null) {
+                preInitializeMetamodel();
+                metamodel = this.metaModel;
+                if (!((MetamodelImpl)metamodel).isInitialized()){
+                    getDatabaseSession().initializeLazyDescriptors();
+                    ((MetamodelImpl)metamodel).initialize(classLoader);
+                    // If the canonical metamodel classes exist, initialize them
+                    initializeCanonicalMetamodel(metamodel);
+                }
+                this.initializedMetamodel = metamodel;
+            }
+            return metamodel;
+        } finally {
+            this.metamodelLock.unlock();
         }
-        return metaModel;
     }
 
     /**
@@ -4118,7 +4240,13 @@ protected void initializeCanonicalMetamodel(Metamodel model) {
      * @since Java Persistence 2.0
      */
     public void setMetamodel(Metamodel aMetamodel) {
-        this.metaModel = aMetamodel;
+        this.metamodelLock.lock();
+        try {
+            this.metaModel = aMetamodel;
+            this.initializedMetamodel = null;
+        } finally {
+            this.metamodelLock.unlock();
+        }
     }
 
     public boolean mustBeCompositeMember() {
@@ -4589,6 +4717,7 @@ public void writeDDL(Map props, DatabaseSessionImpl session, ClassLoader classLo
      * utilizes the EclipseLink DDL properties.
      */
     protected void writeDDL(String ddlGeneration, Map props, DatabaseSessionImpl session, ClassLoader classLoader) {
+        session.initializeLazyDescriptors();
         // By default the table creation type will be 'none'.
         TableCreationType ddlType = TableCreationType.NONE;
 
@@ -4656,6 +4785,7 @@ protected void writeDDL(String ddlGeneration, Map props, DatabaseSessionImpl ses
      * Generate the DDL per the properties given.
      */
     protected void writeDDL(String generationSourceProperty, String scriptGenerationSourceProperty, TableCreationType tableCreationType, Map props, DatabaseSessionImpl session, ClassLoader loader) {
+        session.initializeLazyDescriptors();
         String generationSource = getConfigPropertyAsString(generationSourceProperty, props);
         Object scriptGenerationSource = getConfigProperty(scriptGenerationSourceProperty, props);
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.internal.jpa;
+
+import java.io.Writer;
+import java.util.Map;
+
+import org.eclipse.persistence.exceptions.StaticWeaveException;
+import org.eclipse.persistence.internal.codegen.ClassDefinition;
+import org.eclipse.persistence.internal.codegen.NonreflectiveMethodDefinition;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.factories.ProjectClassGenerator;
+
+/**
+ * INTERNAL:
+ * <p><b>Purpose</b>: Generate the project class of a processed persistence unit,
+ * including its JPQL named queries, so the persistence unit can be deployed
+ * from the class without processing its annotations and mapping files.
+ *
+ * @see org.eclipse.persistence.tools.weaving.jpa.StaticPrecompileProcessor
+ * @see org.eclipse.persistence.jpa.metadata.GeneratedProjectCache
+ */
+public class JPAProjectClassGenerator extends ProjectClassGenerator {
+
+    /**
+     * INTERNAL:
+     * Create a new generator to output the project class to the writer.
+     */
+    public JPAProjectClassGenerator(Project project, String projectClassName, Writer outputWriter) {
+        super(project, projectClassName, outputWriter);
+    }
+
+    @Override
+    protected ClassDefinition generateProjectClass() {
+        ClassDefinition classDefinition = super.generateProjectClass();
+        if (!getProject().getJPAQueries().isEmpty()) {
+            classDefinition.addImport("org.eclipse.persistence.internal.jpa.JPAQuery");
+            classDefinition.addMethod(buildJPAQueriesMethod());
+        }
+        return classDefinition;
+    }
+
+    @Override
+    protected NonreflectiveMethodDefinition buildConstructor() {
+        NonreflectiveMethodDefinition method = super.buildConstructor();
+        if (!getProject().getJPAQueries().isEmpty()) {
+            method.addLine("");
+            method.addLine("addJPAQueries();");
+        }
+        return method;
+    }
+
+    /**
+     * INTERNAL:
+     * Build the method adding the JPQL named queries, they are parsed when the session is logged in.
+     * Native and stored procedure named queries depend on result mappings that are not generated,
+     * so are not supported.
+     */
+    protected NonreflectiveMethodDefinition buildJPAQueriesMethod() {
+        NonreflectiveMethodDefinition method = new NonreflectiveMethodDefinition();
+        method.setName("addJPAQueries");
+        int index = 0;
+        for (DatabaseQuery query : getProject().getJPAQueries()) {
+            if (!(query instanceof JPAQuery) || !((JPAQuery)query).isJPQLQuery()) {
+                throw StaticWeaveException.precompilingQueryNotSupported(query.getName());
+            }
+            JPAQuery jpaQuery = (JPAQuery)query;
+            String hintsName = "null";
+            Map<String, Object> hints = jpaQuery.getHints();
+            if ((hints != null) && !hints.isEmpty()) {
+                hintsName = "hints" + index;
+                method.addLine("java.util.Map<String, Object> " + hintsName + " = new java.util.HashMap<>();");
+                for (Map.Entry<String, Object> hint : hints.entrySet()) {
+                    method.addLine(hintsName + ".put(" + printQuotedString(hint.getKey()) + ", " + printHintValue(hint.getValue()) + ");");
+                }
+            }
+            method.addLine("addJPAQuery(new JPAQuery(" + printQuotedString(jpaQuery.getName()) + ", "
+                    + printQuotedString(jpaQuery.getJPQLString()) + ", " + printQuotedString(jpaQuery.getLockMode()) + ", " + hintsName + "));");
+            index++;
+        }
+        return method;
+    }
+
+    /**
+     * INTERNAL:
+     * Return the hint value as Java source, hints are normally strings.
+     */
+    protected String printHintValue(Object value) {
+        if (value instanceof String) {
+            return printQuotedString((String)value);
+        }
+        return printString(value);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the string as a Java string literal.
+     */
+    protected String printQuotedString(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder literal = new StringBuilder(value.length() + 2);
+        literal.append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            switch (character) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    literal.append(character);
+            }
+        }
+        literal.append('"');
+        return literal.toString();
+    }
+}
@@ -145,6 +145,13 @@ public Map<String, Object> getHints(){
         return hints;
     }
 
+    /**
+     * Return the name of the lock mode of the JPQL query.
+     */
+    public String getLockMode(){
+        return lockMode;
+    }
+
     /**
      * Return the JPQL string.
      */
@@ -263,6 +263,7 @@ protected static abstract class Hint {
             addHint(new FetchHint());
             addHint(new LeftFetchHint());
             addHint(new ReadOnlyHint());
+            addHint(new ParallelObjectBuildingHint());
             addHint(new JDBCTimeoutHint());
             //Enhancement
             addHint(new QueryTimeoutUnitHint());
@@ -289,6 +290,7 @@ protected static abstract class Hint {
             addHint(new CursorPageSizeHint());
             addHint(new ScrollableCursorHint());
             addHint(new CursorSizeHint());
+            addHint(new CursorDetachedHint());
             addHint(new FetchGroupHint());
             addHint(new FetchGraphHint());
             addHint(new FetchGroupNameHint());
@@ -310,6 +312,8 @@ protected static abstract class Hint {
             addHint(new QueryCacheIgnoreNullHint());
             addHint(new QueryCacheInvalidateOnChangeHint());
             addHint(new QueryCacheRandomizedExpiryHint());
+            addHint(new QueryCacheInvalidateOnlyAffectedHint());
+            addHint(new QueryCacheMaxResultSizeHint());
             // 325167: Make reserved # bind parameter char generic to enable native SQL pass through
             addHint(new ParameterDelimiterHint());
             addHint(new CompositeMemberHint());
@@ -1335,6 +1339,61 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    /**
+     * Define the query cache invalidate only affected results hint.
+     * Only reset the query cache if unset (as other query cache properties may be set first).
+     */
+    protected static class QueryCacheInvalidateOnlyAffectedHint extends Hint {
+        QueryCacheInvalidateOnlyAffectedHint() {
+            super(QueryHints.QUERY_RESULTS_CACHE_INVALIDATE_ONLY_AFFECTED, HintValues.FALSE);
+            valueArray = new Object[][] {
+                {HintValues.FALSE, Boolean.FALSE},
+                {HintValues.TRUE, Boolean.TRUE}
+            };
+        }
+
+        @Override
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadQuery()) {
+                if (((ReadQuery)query).getQueryResultsCachePolicy() == null) {
+                    ((ReadQuery)query).cacheQueryResults();
+                }
+                ((ReadQuery)query).getQueryResultsCachePolicy().setInvalidateOnlyAffectedResults((Boolean) valueToApply);
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
+    /**
+     * Define the query cache maximum result size hint.
+     * Only reset the query cache if unset (as other query cache properties may be set first).
+     */
+    protected static class QueryCacheMaxResultSizeHint extends Hint {
+        QueryCacheMaxResultSizeHint() {
+            super(QueryHints.QUERY_RESULTS_CACHE_MAX_RESULT_SIZE, "");
+        }
+
+        @Override
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadQuery()) {
+                ReadQuery readQuery = (ReadQuery)query;
+                if (readQuery.getQueryResultsCachePolicy() == null) {
+                    readQuery.cacheQueryResults();
+                }
+                try {
+                    readQuery.getQueryResultsCachePolicy().setMaximumResultSize(Integer.parseInt((String)valueToApply));
+                } catch (NumberFormatException exception) {
+                    throw QueryException.queryHintContainedInvalidIntegerValue(QueryHints.QUERY_RESULTS_CACHE_MAX_RESULT_SIZE, valueToApply, exception);
+                }
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
     /**
      * Define the query cache randomized expiry hint.
      * Only reset the query cache if unset (as other query cache properties may be set first).
@@ -1452,6 +1511,8 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
                     readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.HardCacheWeakIdentityMap_Class);
                 } else if (valueToApply.equals(CacheType.CACHE.name())) {
                     readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.CacheIdentityMap_Class);
+                } else if (valueToApply.equals(CacheType.CONCURRENT_CACHE.name())) {
+                    readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.ConcurrentCacheIdentityMap_Class);
                 } else if (valueToApply.equals(CacheType.NONE.name())) {
                     readQuery.getQueryResultsCachePolicy().setCacheType(ClassConstants.NoIdentityMap_Class);
                 } else {
@@ -1704,6 +1765,26 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    protected static class ParallelObjectBuildingHint extends Hint {
+        ParallelObjectBuildingHint() {
+            super(QueryHints.PARALLEL_OBJECT_BUILDING, HintValues.FALSE);
+            valueArray = new Object[][] {
+                {HintValues.FALSE, Boolean.FALSE},
+                {HintValues.TRUE, Boolean.TRUE}
+            };
+        }
+
+        @Override
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (query.isReadAllQuery()) {
+                ((ReadAllQuery)query).setShouldBuildObjectsInParallel((Boolean) valueToApply);
+            } else {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            return query;
+        }
+    }
+
     protected static class NativeConnectionHint extends Hint {
         NativeConnectionHint() {
             super(QueryHints.NATIVE_CONNECTION, HintValues.FALSE);
@@ -1761,6 +1842,38 @@ DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, Cla
         }
     }
 
+    protected static class CursorDetachedHint extends Hint {
+        CursorDetachedHint() {
+            super(QueryHints.CURSOR_DETACHED, HintValues.FALSE);
+            valueArray = new Object[][] {
+                {HintValues.FALSE, Boolean.FALSE},
+                {HintValues.TRUE, Boolean.TRUE}
+            };
+        }
+
+        @Override
+        DatabaseQuery applyToDatabaseQuery(Object valueToApply, DatabaseQuery query, ClassLoader loader, AbstractSession activeSession) {
+            if (!(Boolean) valueToApply) {
+                // The query's read-only, cache and cursor settings may come from other hints, so are left as they are.
+                return query;
+            }
+            if (!query.isReadAllQuery()) {
+                throw new IllegalArgumentException(ExceptionLocalization.buildMessage("ejb30-wrong-type-for-query-hint",new Object[]{getQueryId(query), name, getPrintValue(valueToApply)}));
+            }
+            ReadAllQuery readAllQuery = (ReadAllQuery) query;
+            // Build the objects from the rows without registering them anywhere.
+            readAllQuery.setIsReadOnly(true);
+            readAllQuery.setShouldMaintainCache(false);
+            if (!readAllQuery.getContainerPolicy().isCursoredStreamPolicy()) {
+                readAllQuery.useCursoredStream();
+            }
+
+            query.setIsPrepared(false);
+
+            return query;
+        }
+    }
+
     protected static class CursorInitialSizeHint extends Hint {
         CursorInitialSizeHint() {
             super(QueryHints.CURSOR_INITIAL_SIZE, "");
@@ -97,6 +97,7 @@ public class MetadataProcessor {
     protected MetadataProcessor m_compositeProcessor;
     protected Set<MetadataProcessor> m_compositeMemberProcessors;
     protected MetadataSource m_metadataSource;
+    protected boolean m_shouldProcessInParallel;
 
     /**
      * INTERNAL:
@@ -344,6 +345,13 @@ protected void initPersistenceUnitClasses() {
             unlistedClasses = PersistenceUnitProcessor.getClassNamesFromURL(persistenceUnitInfo.getPersistenceUnitRootUrl(), m_loader, m_predeployProperties);
         }
 
+        // Read the class byte codes of all the classes up front, they are
+        // independent so can be read concurrently.
+        if (m_shouldProcessInParallel) {
+            m_factory.loadMetadataClasses(classNames, false);
+            m_factory.loadMetadataClasses(unlistedClasses, true);
+        }
+
         // 5 - Go through all the class names we found and add those classes
         // that have not yet been added. Be sure to check that the accessor
         // does not already exist since adding an accessor will merge its
@@ -596,6 +604,23 @@ public void setClassLoader(ClassLoader loader) {
         }
     }
 
+    /**
+     * INTERNAL:
+     * Set if the classes of the persistence unit should be read concurrently.
+     * The metadata processing of the classes read is not changed.
+     */
+    public void setShouldProcessInParallel(boolean shouldProcessInParallel) {
+        m_shouldProcessInParallel = shouldProcessInParallel;
+    }
+
+    /**
+     * INTERNAL:
+     * Return if the classes of the persistence unit are read concurrently.
+     */
+    public boolean shouldProcessInParallel() {
+        return m_shouldProcessInParallel;
+    }
+
     /**
      * INTERNAL:
      * Use this method to set the MetadataSource class to use for loading
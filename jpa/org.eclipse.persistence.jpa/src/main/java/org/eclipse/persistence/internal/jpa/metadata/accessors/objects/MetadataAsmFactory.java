@@ -32,7 +32,11 @@
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.persistence.internal.helper.Helper;
 import org.eclipse.persistence.internal.jpa.metadata.MetadataDescriptor;
@@ -88,6 +92,19 @@ public MetadataAsmFactory(MetadataLogger logger, ClassLoader loader) {
      * byte codes.
      */
     protected void buildClassMetadata(MetadataClass metadataClass, String className, boolean isLazy) {
+        MetadataClass classMetadata = readClassMetadata(metadataClass, className, isLazy);
+        if ((classMetadata != null) && (classMetadata != metadataClass)) {
+            addMetadataClass(classMetadata);
+        }
+    }
+
+    /**
+     * Read the class metadata for the class name using ASM to read the class
+     * byte codes. The metadata class is updated, or a new metadata class is
+     * returned if it is null or not for the class read. The class read is not
+     * added to the factory, so several classes can be read concurrently.
+     */
+    protected MetadataClass readClassMetadata(MetadataClass metadataClass, String className, boolean isLazy) {
         ClassMetadataVisitor visitor = new ClassMetadataVisitor(metadataClass, isLazy);
         InputStream stream = null;
         try {
@@ -131,10 +148,10 @@ public InputStream run() {
                         entry.setMessage(ExceptionLocalization.buildMessage("unsupported_classfile_version", new Object[] { className }));
                         log.log(entry);
                     }
-                    addMetadataClass(getVirtualMetadataClass(className));
+                    return getVirtualMetadataClass(className);
                 }
             } else {
-                addMetadataClass(getVirtualMetadataClass(className));
+                return getVirtualMetadataClass(className);
             }
         } catch (Exception exception) {
             SessionLog log = getLogger().getSession() != null
@@ -142,7 +159,7 @@ public InputStream run() {
             if (log.shouldLog(SessionLog.FINEST, SessionLog.METADATA)) {
                 log.logThrowable(SessionLog.FINEST, SessionLog.METADATA, exception);
             }
-            addMetadataClass(getVirtualMetadataClass(className));
+            return getVirtualMetadataClass(className);
         } finally {
             try {
                 if (stream != null) {
@@ -152,6 +169,7 @@ public InputStream run() {
                 // Ignore.
             }
         }
+        return visitor.classMetadata;
     }
 
     /**
@@ -183,6 +201,43 @@ public MetadataClass getMetadataClass(String className, boolean isLazy) {
         return metaClass;
     }
 
+    /**
+     * INTERNAL:
+     * Read the class byte codes of the classes concurrently. Each class is read
+     * independently, then the classes are added to the factory in the order of
+     * the class names, so the result does not depend on the order the reads
+     * complete in.
+     */
+    @Override
+    public void loadMetadataClasses(Collection<String> classNames, boolean isLazy) {
+        List<String> classNamesToRead = new ArrayList<>();
+        List<MetadataClass> existingClasses = new ArrayList<>();
+        for (String className : new LinkedHashSet<>(classNames)) {
+            if (className == null) {
+                continue;
+            }
+            MetadataClass metaClass = m_metadataClasses.get(className);
+            if ((metaClass == null) || (!isLazy && metaClass.isLazy())) {
+                if (metaClass != null) {
+                    metaClass.setIsLazy(false);
+                }
+                classNamesToRead.add(className);
+                existingClasses.add(metaClass);
+            }
+        }
+
+        List<MetadataClass> classesRead = IntStream.range(0, classNamesToRead.size()).parallel()
+                .mapToObj(index -> readClassMetadata(existingClasses.get(index), classNamesToRead.get(index), isLazy))
+                .collect(Collectors.toList());
+
+        for (int index = 0; index < classesRead.size(); index++) {
+            MetadataClass metaClass = classesRead.get(index);
+            if ((metaClass != null) && (metaClass != existingClasses.get(index))) {
+                addMetadataClass(metaClass);
+            }
+        }
+    }
+
     /**
      * INTERNAL: This method resolves generic types based on the ASM class
      * metadata. Unless every other factory (e.g. APT mirror factory) respects
@@ -257,8 +312,8 @@ public class ClassMetadataVisitor extends EclipseLinkClassVisitor {
         public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
             String className = toClassName(name);
             if ((this.classMetadata == null) || !this.classMetadata.getName().equals(className)) {
+                // The class is added to the factory by the caller, classes may be read concurrently.
                 this.classMetadata = new MetadataClass(MetadataAsmFactory.this, className, isLazy);
-                addMetadataClass(this.classMetadata);
             }
             this.classMetadata.setName(className);
             this.classMetadata.setSuperclassName(toClassName(superName));
@@ -14,6 +14,7 @@
 //     James Sutherland - initial impl
 package org.eclipse.persistence.internal.jpa.metadata.accessors.objects;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -116,6 +117,18 @@ protected boolean metadataClassExists(String className) {
      */
     public abstract MetadataClass getMetadataClass(String className, boolean isLazy);
 
+    /**
+     * INTERNAL:
+     * Load the class metadata for the class names, so the classes are not read
+     * when they are looked up. Factories that can read classes concurrently
+     * should override this method.
+     */
+    public void loadMetadataClasses(Collection<String> classNames, boolean isLazy) {
+        for (String className : classNames) {
+            getMetadataClass(className, isLazy);
+        }
+    }
+
     /**
      * INTERNAL:
      */
@@ -15,6 +15,9 @@
 package org.eclipse.persistence.jpa;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 import org.eclipse.persistence.queries.Cursor;
 import org.eclipse.persistence.queries.DatabaseQuery;
@@ -56,6 +59,33 @@
      */
     Cursor getResultCursor();
 
+    /**
+     * PUBLIC:
+     * Non-standard method to execute the query asynchronously on the session's query executor.
+     * The returned future completes with the results of the query, or the exception it threw.
+     * The query and its parameters are captured on the calling thread, and the query is executed
+     * concurrently with a connection from the server's pools, so the entities returned are not managed
+     * by the persistence context and must be treated as read-only.
+     * The persistence context is not thread safe, so the query cannot be executed asynchronously in a transaction.
+     * @throws IllegalStateException if called in a transaction
+     * @return future of the results
+     * @see org.eclipse.persistence.sessions.Session#executeQueryAsync(DatabaseQuery)
+     */
+    CompletableFuture<List<X>> getResultListAsync();
+
+    /**
+     * PUBLIC:
+     * Non-standard method to return a publisher of the results of the query.
+     * Each subscriber executes the query as a cursor, the results are read a page at a time as the
+     * subscriber requests them, and are emitted on the session's query executor.
+     * The entities emitted are detached from the persistence context, so it does not grow with the result.
+     * If the query does not use a cursor, a CursoredStream is used with a page size of 100.
+     * The EntityManager must not be used while the results are emitted.
+     * @return publisher of the results
+     * @see org.eclipse.persistence.queries.CursorPublisher
+     */
+    Flow.Publisher<X> getResultPublisher();
+
     /**
      * PUBLIC:
      * Replace the cached query with the given query.
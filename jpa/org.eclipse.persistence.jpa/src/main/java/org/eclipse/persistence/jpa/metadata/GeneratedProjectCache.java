@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.jpa.metadata;
+
+import java.util.Map;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.sessions.Project;
+
+/**
+ * <p><b>Purpose</b>: Support retrieving a project representing application metadata
+ * from a project class generated at build time, without processing the metadata.
+ *
+ * <p>The project class is generated by the {@code StaticPrecompile} tool, which processes the
+ * persistence unit's metadata and validates its named queries when the application is built.
+ * As the project class references the entity classes, they are loaded when the project is retrieved,
+ * so the entity classes must be statically woven, or weaving disabled.
+ * The project is never stored, if the project class is not found the metadata is processed.
+ *
+ * @see PersistenceUnitProperties#PROJECT_CACHE
+ * @see PersistenceUnitProperties#PROJECT_CACHE_CLASS
+ * @see org.eclipse.persistence.tools.weaving.jpa.StaticPrecompile
+ */
+public class GeneratedProjectCache implements ProjectCache {
+
+    /**
+     * Default constructor.
+     */
+    public GeneratedProjectCache() {
+    }
+
+    @Override
+    public Project retrieveProject(Map<String, ?> properties, ClassLoader loader, SessionLog log) {
+        String className = (String)getConfigPropertyLogDebug(
+                PersistenceUnitProperties.PROJECT_CACHE_CLASS,
+                properties, log);
+        if (className == null || className.length() == 0) {
+            return null;
+        }
+        try {
+            Class<?> projectClass = Class.forName(className, true, loader);
+            return (Project)projectClass.getConstructor().newInstance();
+        } catch (Exception e) {
+            log.logThrowable(SessionLog.WARNING, SessionLog.JPA, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void storeProject(Project project, Map<String, ?> properties, SessionLog log) {
+        // The project class is generated at build time.
+    }
+
+    /**
+     * Check the provided map for an object with the given name.  If that object is not available, check the
+     * System properties.  Log the value returned if logging is enabled at the FINEST level
+     * @param propertyName property name
+     * @param properties properties
+     * @param log logger
+     * @return object for the given name, null if not found
+     */
+    public Object getConfigPropertyLogDebug(final String propertyName, Map<String, ?> properties, SessionLog log) {
+        return PropertyHelper.getConfigPropertyLogDebug(propertyName, properties, log);
+    }
+}
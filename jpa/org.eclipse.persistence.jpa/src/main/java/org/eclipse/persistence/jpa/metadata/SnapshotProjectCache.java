@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.jpa.metadata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32C;
+
+import jakarta.persistence.spi.PersistenceUnitInfo;
+
+import org.eclipse.persistence.Version;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
+import org.eclipse.persistence.internal.jpa.metadata.MetadataHelper;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.sessions.Project;
+
+/**
+ * <p><b>Purpose</b>: Support storing a project representing application metadata
+ * to a versioned binary snapshot file, and retrieving it without processing the metadata.
+ *
+ * <p>The snapshot starts with a header containing the snapshot format and EclipseLink versions,
+ * and a checksum of the metadata, followed by the serialized project.
+ * The checksum covers the class files of the project's descriptors, and when the persistence unit
+ * is known, its managed class names, the class files of the archives searched for unlisted entities,
+ * its mapping files and the properties of its persistence.xml.
+ * The snapshot is ignored if it was written by another version or the metadata has changed since,
+ * in which case the metadata is processed and the snapshot is written again.
+ * The snapshot is written to a temporary file that then replaces it, so it can be read concurrently.
+ *
+ * @see PersistenceUnitProperties#PROJECT_CACHE
+ * @see PersistenceUnitProperties#PROJECT_CACHE_FILE
+ */
+public class SnapshotProjectCache extends FileBasedProjectCache {
+
+    /** Identifies a project snapshot file. */
+    public static final int MAGIC = 0x454C5053;
+
+    /** Version of the snapshot format, a snapshot of another format version is ignored. */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Loader of the application classes, used to read the class files the checksum is computed from. */
+    protected ClassLoader loader;
+
+    /** The persistence unit the project is built from, its metadata is included in the checksum. */
+    protected PersistenceUnitInfo persistenceUnitInfo;
+
+    /**
+     * Default constructor.
+     */
+    public SnapshotProjectCache() {
+    }
+
+    /**
+     * INTERNAL:
+     * Return the persistence unit the project is built from.
+     */
+    public PersistenceUnitInfo getPersistenceUnitInfo() {
+        return persistenceUnitInfo;
+    }
+
+    /**
+     * INTERNAL:
+     * Set the persistence unit the project is built from,
+     * a change to its managed or scanned classes, mapping files or properties makes the snapshot stale.
+     */
+    public void setPersistenceUnitInfo(PersistenceUnitInfo persistenceUnitInfo) {
+        this.persistenceUnitInfo = persistenceUnitInfo;
+    }
+
+    @Override
+    public Project retrieveProject(Map<String, ?> properties, ClassLoader loader, SessionLog log) {
+        this.loader = loader;
+        String fileName = (String)getConfigPropertyLogDebug(
+                PersistenceUnitProperties.PROJECT_CACHE_FILE,
+                properties, log);
+        if (fileName == null || fileName.length() == 0) {
+            return null;
+        }
+        Path path = Paths.get(fileName);
+        if (!Files.isRegularFile(path)) {
+            // Nothing cached yet, the snapshot is written on deployment.
+            return null;
+        }
+        // The file is not memory-mapped, a mapping would lock it against being replaced on Windows until garbage collected.
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if ((in.readInt() != MAGIC) || (in.readInt() != FORMAT_VERSION) || !Version.getVersionString().equals(in.readUTF())) {
+                log.log(SessionLog.FINER, SessionLog.JPA, "project_cache_snapshot_stale", new Object[] { fileName }, true);
+                return null;
+            }
+            int size = in.readInt();
+            List<String> classNames = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                classNames.add(in.readUTF());
+            }
+            if (in.readLong() != computeChecksum(classNames, loader)) {
+                log.log(SessionLog.FINER, SessionLog.JPA, "project_cache_snapshot_stale", new Object[] { fileName }, true);
+                return null;
+            }
+            return (Project)new ObjectInputStream(in).readObject();
+        } catch (Exception e) {
+            log.logThrowable(SessionLog.WARNING, SessionLog.JPA, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void storeProject(Project project, Map<String, ?> properties, SessionLog log) {
+        String fileName = (String)getConfigPropertyLogDebug(
+                PersistenceUnitProperties.PROJECT_CACHE_FILE,
+                properties, log);
+        if (fileName == null || fileName.length() == 0) {
+            return;
+        }
+        Path path = Paths.get(fileName).toAbsolutePath();
+        Path temporary = null;
+        try {
+            ClassLoader classLoader = (this.loader == null) ? Thread.currentThread().getContextClassLoader() : this.loader;
+            List<String> classNames = getClassNames(project);
+            temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(Version.getVersionString());
+                out.writeInt(classNames.size());
+                for (String className : classNames) {
+                    out.writeUTF(className);
+                }
+                out.writeLong(computeChecksum(classNames, classLoader));
+                ObjectOutputStream objectOut = new ObjectOutputStream(out);
+                objectOut.writeObject(project);
+                objectOut.flush();
+            }
+            try {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException notSupported) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temporary = null;
+        } catch (Exception e) {
+            //the session is still usable, just not cachable so log a warning
+            log.logThrowable(SessionLog.WARNING, SessionLog.JPA, e);
+        } finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignore) {}
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the sorted names of the classes of the project's descriptors and mapped superclasses.
+     */
+    protected List<String> getClassNames(Project project) {
+        Set<String> classNames = new TreeSet<>();
+        for (ClassDescriptor descriptor : project.getOrderedDescriptors()) {
+            if (descriptor.getJavaClassName() != null) {
+                classNames.add(descriptor.getJavaClassName());
+            }
+        }
+        if (project.hasMappedSuperclasses()) {
+            classNames.addAll(project.getMappedSuperclassDescriptors().keySet());
+        }
+        return new ArrayList<>(classNames);
+    }
+
+    /**
+     * INTERNAL:
+     * Return the checksum of the class files of the classes, and of the persistence unit if known.
+     * Classes that are not found, such as dynamic classes, only contribute their name.
+     */
+    protected long computeChecksum(List<String> classNames, ClassLoader classLoader) throws IOException {
+        CRC32C checksum = new CRC32C();
+        byte[] bytes = new byte[8192];
+        for (String className : classNames) {
+            checksum.update(className.getBytes(StandardCharsets.UTF_8));
+            if (classLoader == null) {
+                continue;
+            }
+            try (InputStream stream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+                update(checksum, stream, bytes);
+            }
+        }
+        if (this.persistenceUnitInfo != null) {
+            updatePersistenceUnitChecksum(checksum, classLoader, bytes);
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * INTERNAL:
+     * Add the persistence unit's managed class names, the class files of its scanned classes,
+     * its mapping files and persistence.xml properties to the checksum.
+     * A managed class without a descriptor, such as an embeddable only referenced from a mapping file,
+     * or a property changing how the metadata is processed, would otherwise not make the snapshot stale.
+     */
+    protected void updatePersistenceUnitChecksum(CRC32C checksum, ClassLoader classLoader, byte[] bytes) throws IOException {
+        List<String> managedClassNames = this.persistenceUnitInfo.getManagedClassNames();
+        if (managedClassNames != null) {
+            for (String className : new TreeSet<>(managedClassNames)) {
+                checksum.update(className.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        for (String className : getScannedClassNames()) {
+            checksum.update(className.getBytes(StandardCharsets.UTF_8));
+            if (classLoader == null) {
+                continue;
+            }
+            try (InputStream stream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+                update(checksum, stream, bytes);
+            }
+        }
+        Set<String> mappingFileNames = new TreeSet<>();
+        mappingFileNames.add(MetadataHelper.JPA_ORM_FILE);
+        mappingFileNames.add(MetadataHelper.ECLIPSELINK_ORM_FILE);
+        if (this.persistenceUnitInfo.getMappingFileNames() != null) {
+            mappingFileNames.addAll(this.persistenceUnitInfo.getMappingFileNames());
+        }
+        for (String mappingFileName : mappingFileNames) {
+            checksum.update(mappingFileName.getBytes(StandardCharsets.UTF_8));
+            if (classLoader == null) {
+                continue;
+            }
+            for (URL url : Collections.list(classLoader.getResources(mappingFileName))) {
+                try (InputStream stream = url.openStream()) {
+                    update(checksum, stream, bytes);
+                }
+            }
+        }
+        Properties properties = this.persistenceUnitInfo.getProperties();
+        if (properties != null) {
+            Map<String, String> sortedProperties = new TreeMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                sortedProperties.put(name, properties.getProperty(name));
+            }
+            for (Map.Entry<String, String> property : sortedProperties.entrySet()) {
+                checksum.update(property.getKey().getBytes(StandardCharsets.UTF_8));
+                checksum.update(property.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the sorted names of the classes the persistence unit's metadata is searched for in,
+     * the classes of its jar files, and of its root unless it excludes unlisted classes.
+     * A class added to or annotated in an archive would otherwise not make the snapshot stale.
+     */
+    protected Set<String> getScannedClassNames() {
+        Set<String> classNames = new TreeSet<>();
+        List<URL> jarFileUrls = this.persistenceUnitInfo.getJarFileUrls();
+        if (jarFileUrls != null) {
+            for (URL url : jarFileUrls) {
+                classNames.addAll(PersistenceUnitProcessor.getClassNamesFromURL(url, this.persistenceUnitInfo.getClassLoader(), null));
+            }
+        }
+        URL rootUrl = this.persistenceUnitInfo.getPersistenceUnitRootUrl();
+        if (!this.persistenceUnitInfo.excludeUnlistedClasses() && (rootUrl != null)) {
+            classNames.addAll(PersistenceUnitProcessor.getClassNamesFromURL(rootUrl, this.persistenceUnitInfo.getClassLoader(), null));
+        }
+        return classNames;
+    }
+
+    /**
+     * INTERNAL:
+     * Add the content of the stream to the checksum, a null stream is ignored.
+     */
+    protected void update(CRC32C checksum, InputStream stream, byte[] bytes) throws IOException {
+        if (stream == null) {
+            return;
+        }
+        int read;
+        while ((read = stream.read(bytes)) != -1) {
+            checksum.update(bytes, 0, read);
+        }
+    }
+}
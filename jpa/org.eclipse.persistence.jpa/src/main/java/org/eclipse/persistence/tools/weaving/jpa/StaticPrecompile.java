@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.tools.weaving.jpa;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.eclipse.persistence.exceptions.StaticWeaveException;
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.localization.ToStringLocalization;
+import org.eclipse.persistence.logging.AbstractSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
+
+/**
+* <p>
+* <b>Description</b>: This is the static precompile command line processing class that verifies command options and invokes
+* StaticPrecompileProcessor to generate the project class of a persistence unit when the application is built.
+* It can be run from a build, for example with the exec or antrun Maven plugins.
+* <p>
+*&nbsp;<b>Usage</b>:<br>
+*&nbsp;&nbsp;StaticPrecompile [options] source target<br>
+*&nbsp;<b>Options</b>:<br>
+*&nbsp;&nbsp;-classpath<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;Set the user class path, use ";" as the delimiter in Window system and ":" in Unix system.<br>
+*&nbsp;&nbsp;-persistenceinfo<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;The path contains META-INF/persistence.xml. This is ONLY required when the source does not include it.<br>
+*&nbsp;&nbsp;-persistencexml<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;The location of persistence.xml if it is not META-INF/persistence.xml.<br>
+*&nbsp;&nbsp;-persistenceunit<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;The name of the persistence unit, ONLY required when persistence.xml defines several persistence units.<br>
+*&nbsp;&nbsp;-projectclass<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;The fully qualified name of the project class to generate (required).<br>
+*&nbsp;&nbsp;-weave<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;The location the classes are also statically woven to.<br>
+*&nbsp;&nbsp;-log <br>
+*&nbsp;&nbsp;&nbsp;&nbsp;The path of log file, the standard output will be the default.<br>
+*&nbsp;&nbsp;-loglevel<br>
+*&nbsp;&nbsp;&nbsp;&nbsp;Specify a literal value for eclipselink log level(OFF,SEVERE,WARNING,INFO,CONFIG,FINE,FINER,FINEST). The default value is OFF.<br>
+*&nbsp;The classpath must contain all the classes necessary in oder to process the persistence unit.<br><br>
+*&nbsp;The source of the project class is generated in the target directory, the persistence unit is deployed from it
+*&nbsp;by setting "eclipselink.project-cache" to "project-class" and "eclipselink.project-cache.project-class" to its name.<br>
+*<b>Example</b>:<br>
+*&nbsp;To generate the project class com.acme.AcmeProject for the entities contained in c:\foo-source.jar, and output it to c:\generated-sources,<br>
+*&nbsp;StaticPrecompile -projectclass com.acme.AcmeProject -classpath c:\classpath1;c:\classpath2 c:\foo-source.jar c:\generated-sources
+*
+* @see org.eclipse.persistence.jpa.metadata.GeneratedProjectCache
+**/
+
+public class StaticPrecompile {
+
+        // command line arguments
+        private String[] argv;
+
+        // The location path of the source, null if none was given
+        private String source;
+
+        // The location path containing persistence.xml, null if none was given
+        private String persistenceinfopath;
+
+        private String persistenceXmlLocation;
+
+        private String persistenceUnitName;
+
+        private String projectClassName;
+
+        // The location path the classes are woven to, null if they are not woven
+        private String weaveTarget;
+
+        // The directory the project class is generated to, null if none was given
+        private String target;
+
+        private int loglevel=SessionLog.OFF;
+
+        private Writer logWriter;
+
+        private PrintStream vout = System.out;
+
+        private String[] classpaths;
+
+        public static void main(String[] argv) {
+
+            StaticPrecompile staticprecompiler = new StaticPrecompile(argv);
+
+            try {
+                // Verify the command line arguments
+                staticprecompiler.processCommandLine();
+                staticprecompiler.start();
+            } catch (Exception e) {
+                throw StaticWeaveException.exceptionPerformPrecompiling(e, argv);
+            }
+        }
+
+
+        public StaticPrecompile(String[] argv) {
+            this.argv = argv;
+        }
+
+        /**
+         * Invoke StaticPrecompileProcessor to generate the project class.
+         */
+        public void start() throws Exception {
+
+            StaticPrecompileProcessor staticPrecompileProcessor = new StaticPrecompileProcessor(this.source,this.target);
+            if(persistenceinfopath!=null){
+                staticPrecompileProcessor.setPersistenceInfo(this.persistenceinfopath);
+            }
+            if (persistenceXmlLocation != null){
+                staticPrecompileProcessor.setPersistenceXMLLocation(this.persistenceXmlLocation);
+            }
+            staticPrecompileProcessor.setPersistenceUnitName(this.persistenceUnitName);
+            staticPrecompileProcessor.setProjectClassName(this.projectClassName);
+            staticPrecompileProcessor.setWeaveTarget(this.weaveTarget);
+            if(classpaths!=null){
+                staticPrecompileProcessor.setClassLoader(getClassLoader());
+            }
+            if(logWriter!=null){
+               staticPrecompileProcessor.setLog(logWriter);
+            }
+            staticPrecompileProcessor.setLogLevel(loglevel);
+            staticPrecompileProcessor.performPrecompiling();
+        }
+
+
+        /*
+         * Verify command line option.
+         */
+        void processCommandLine() throws Exception
+        {
+            if (argv.length < 4 || argv.length>20) {
+                printUsage();
+                System.exit(1);
+            }
+            for (int i=0;i<this.argv.length;i++){
+                if (argv[i].equalsIgnoreCase("-classpath")) {
+                    // Make sure we did not run out of arguments
+                    if ((i + 1) >= argv.length ){
+                        printUsage();
+                        System.exit(1);
+                    }
+                    classpaths=argv[i+1].split(File.pathSeparator);
+                    i++;
+                    continue;
+                }
+
+                if (argv[i].equalsIgnoreCase("-persistenceinfo")) {
+                    if ((i + 1) >= argv.length ){
+                           printUsage();
+                           System.exit(1);
+                    }
+                    persistenceinfopath=argv[i+1];
+                    i++;
+                    continue;
+                }
+
+                if (argv[i].equalsIgnoreCase("-persistencexml")) {
+                    if ((i + 1) >= argv.length ){
+                           printUsage();
+                           System.exit(1);
+                    }
+                    persistenceXmlLocation=argv[i+1];
+                    i++;
+                    continue;
+                }
+
+                if (argv[i].equalsIgnoreCase("-persistenceunit")) {
+                    if ((i + 1) >= argv.length ){
+                           printUsage();
+                           System.exit(1);
+                    }
+                    persistenceUnitName=argv[i+1];
+                    i++;
+                    continue;
+                }
+
+                if (argv[i].equalsIgnoreCase("-projectclass")) {
+                    if ((i + 1) >= argv.length ){
+                           printUsage();
+                           System.exit(1);
+                    }
+                    projectClassName=argv[i+1];
+                    i++;
+                    continue;
+                }
+
+                if (argv[i].equalsIgnoreCase("-weave")) {
+                    if ((i + 1) >= argv.length ){
+                           printUsage();
+                           System.exit(1);
+                    }
+                    weaveTarget=argv[i+1];
+                    i++;
+                    continue;
+                }
+
+                if (argv[i].equalsIgnoreCase("-log")) {
+                    if ((i + 1) >= argv.length ){
+                           printUsage();
+                           System.exit(1);
+                    }
+                    logWriter=new FileWriter(argv[i+1]);
+                    i++;
+                    continue;
+                }
+
+                if (argv[i].equalsIgnoreCase("-loglevel")) {
+                    if ((i + 1) >= argv.length ) {
+                           printUsage();
+                           System.exit(1);
+                    }
+
+                   if ( argv[i+1].equalsIgnoreCase("OFF") ||
+                        argv[i+1].equalsIgnoreCase("SEVERE") ||
+                        argv[i+1].equalsIgnoreCase("WARNING") ||
+                        argv[i+1].equalsIgnoreCase("INFO") ||
+                        argv[i+1].equalsIgnoreCase("CONFIG") ||
+                        argv[i+1].equalsIgnoreCase("FINE") ||
+                        argv[i+1].equalsIgnoreCase("FINER") ||
+                        argv[i+1].equalsIgnoreCase("FINEST") ||
+                        argv[i+1].equalsIgnoreCase("ALL")) {
+                       loglevel=AbstractSessionLog.translateStringToLoggingLevel(argv[i+1].toUpperCase());
+                    } else{
+                        printUsage();
+                        System.exit(1);
+                    }
+                    i++;
+                    continue;
+                }
+
+                if(source!=null){
+                    printUsage();
+                    System.exit(1);
+                }
+
+                source=argv[i];
+                if((i+1)>=argv.length){
+                    printUsage();
+                    System.exit(1);
+                }
+                i++;
+                target=argv[i];
+            }
+
+
+           //Ensure source, target and project class have been specified
+           if(source==null){
+                printUsage();
+                throw StaticWeaveException.missingSource();
+           }
+           if(target==null){
+                printUsage();
+                throw StaticWeaveException.missingTarget();
+           }
+           if(projectClassName==null){
+                printUsage();
+                throw StaticWeaveException.missingProjectClass();
+           }
+        }
+
+        /*
+         * print command help message
+         */
+        private void printUsage() {
+            PrintStream o = vout;
+
+            // The message is broken up into separate lines, as Helper.cr() cannot be used inside of message bundles.
+            String messageString = ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_1of23");
+            messageString += Helper.cr() + Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_2of23");
+            for (int line = 3; line <= 18; line++) {
+                messageString += Helper.cr();
+                messageString += ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_" + line + "of23");
+            }
+            messageString += Helper.cr() + Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_19of23");
+            messageString += Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_20of23");
+            messageString += Helper.cr() + Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_21of23");
+            messageString += Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_22of23");
+            messageString += Helper.cr() + Helper.cr();
+            messageString += ToStringLocalization.buildMessage("staticprecompile_commandline_help_message_23of23");
+            messageString += Helper.cr() + Helper.cr();
+
+            o.println(messageString);
+        }
+
+        /*
+         * Convert the specified classpath array to URL array where new classloader will build on.
+         */
+        @SuppressWarnings("deprecation")
+        private ClassLoader getClassLoader() throws MalformedURLException{
+            if (classpaths!=null){
+                URL[] urls= new URL[classpaths.length];
+                for(int i=0;i<classpaths.length;i++){
+                   urls[i]=(new File(classpaths[i])).toURL();
+                }
+                return new URLClassLoader(urls, Thread.currentThread().getContextClassLoader());
+            }else{
+                return null;
+            }
+        }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.tools.weaving.jpa;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.exceptions.StaticWeaveException;
+import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.jpa.EntityManagerSetupImpl;
+import org.eclipse.persistence.internal.jpa.JPAProjectClassGenerator;
+import org.eclipse.persistence.internal.jpa.deployment.ArchiveFactoryImpl;
+import org.eclipse.persistence.internal.jpa.deployment.PersistenceUnitProcessor;
+import org.eclipse.persistence.internal.jpa.deployment.SEPersistenceUnitInfo;
+import org.eclipse.persistence.internal.localization.ToStringLocalization;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.jpa.Archive;
+import org.eclipse.persistence.logging.AbstractSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+
+/**
+ * <p>
+ * <b>Description</b>: The StaticPrecompileProcessor controls the static precompile process.  It is invoked by the command line
+ * StaticPrecompile class.
+ * <p>
+ * <b>Responsibilities</b>: Process the metadata of a persistence unit when the application is built, and
+ * <ul>
+ * <li> generate the source of its project class, so the persistence unit is deployed without processing its metadata,
+ * <li> parse its JPQL named queries and generate their SQL, so invalid queries fail the build,
+ * <li> optionally statically weave its classes.
+ * </ul>
+ * The generated project class is used at runtime by setting the "eclipselink.project-cache" property to "project-class",
+ * as the project class loads the entity classes, they must be statically woven, or weaving disabled.
+ * Only JPQL named queries are supported, and they are still prepared when the persistence unit is deployed.
+ *
+ * @see org.eclipse.persistence.jpa.metadata.GeneratedProjectCache
+ */
+@SuppressWarnings("deprecation")
+public class StaticPrecompileProcessor {
+    private URL source;
+    private File target;
+    private URL persistenceInfo;
+    private String persistenceXMLLocation;
+    private String persistenceUnitName;
+    private String projectClassName;
+    private String weaveTarget;
+    private Writer logWriter;
+    private ClassLoader classLoader;
+    private int logLevel = SessionLog.OFF;
+
+    /**
+     * Constructs an instance of StaticPrecompileProcessor
+     * @param source the name of the location containing the persistence unit
+     * @param target the name of the directory the project class source is generated to
+     */
+    public StaticPrecompileProcessor(String source, String target) throws MalformedURLException {
+        if (source != null) {
+            this.source = new File(source).toURL();
+        }
+        if (target != null) {
+            this.target = new File(target);
+        }
+    }
+
+    /**
+     * Constructs an instance of StaticPrecompileProcessor
+     * @param source the File object of the location containing the persistence unit
+     * @param target the File object of the directory the project class source is generated to
+     */
+    public StaticPrecompileProcessor(File source, File target) throws MalformedURLException {
+        this.source = source.toURL();
+        this.target = target;
+    }
+
+    /**
+     * The method allows user to specify the output for the log message.
+     * @param logWriter the location where the log message writes to. the default value is standard out
+     */
+    public void setLog(Writer logWriter) {
+        this.logWriter = logWriter;
+    }
+
+    /**
+     * The method allows user to define nine levels EclipseLink logging.
+     * @param level - the integer value of log level. default is OFF.
+     */
+    public void setLogLevel(int level) {
+        this.logLevel = level;
+    }
+
+    /**
+     * Set the user classloader.
+     */
+    public void setClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Set an explicitly identified the location containing persistence.xml.
+     * @param persistenceInfoPath the path of the location containing persistence.xml, the path
+     * must point to the root of META-INF/persistence.xml
+     */
+    public void setPersistenceInfo(String persistenceInfoPath) throws MalformedURLException {
+        if (persistenceInfoPath != null) {
+            this.persistenceInfo = new File(persistenceInfoPath).toURL();
+        }
+    }
+
+    public String getPersistenceXMLLocation() {
+        return persistenceXMLLocation;
+    }
+
+    /**
+     * Set a specific location to look for persistence.xml
+     * by default we will look in META-INF/persistence.xml
+     */
+    public void setPersistenceXMLLocation(String persistenceXMLLocation) {
+        this.persistenceXMLLocation = persistenceXMLLocation;
+    }
+
+    /**
+     * Set the name of the persistence unit to precompile,
+     * only required if persistence.xml defines several persistence units.
+     */
+    public void setPersistenceUnitName(String persistenceUnitName) {
+        this.persistenceUnitName = persistenceUnitName;
+    }
+
+    /**
+     * Set the fully qualified name of the project class to generate.
+     */
+    public void setProjectClassName(String projectClassName) {
+        this.projectClassName = projectClassName;
+    }
+
+    /**
+     * Set the location the source classes are statically woven to,
+     * the classes are not woven by default.
+     */
+    public void setWeaveTarget(String weaveTarget) {
+        this.weaveTarget = weaveTarget;
+    }
+
+    /**
+     * This method generates the project class of the persistence unit, validates its named queries,
+     * and weaves its classes if a weave target was specified.
+     */
+    public void performPrecompiling() throws Exception {
+        preProcess();
+        process();
+        if (this.weaveTarget != null) {
+            StaticWeaveProcessor weaveProcessor = new StaticWeaveProcessor(new File(Helper.toURI(this.source)), new File(this.weaveTarget));
+            weaveProcessor.setPersistenceInfo(this.persistenceInfo);
+            weaveProcessor.setPersistenceXMLLocation(this.persistenceXMLLocation);
+            weaveProcessor.setClassLoader(this.classLoader);
+            weaveProcessor.setLog(this.logWriter);
+            weaveProcessor.setLogLevel(this.logLevel);
+            weaveProcessor.performWeaving();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * This method perform all necessary steps(verification, pre-build the target directory)
+     * prior to the generation of the project class.
+     */
+    private void preProcess() throws Exception {
+        //Instantiate default session log
+        AbstractSessionLog.getLog().setLevel(this.logLevel);
+        if (logWriter != null) {
+            AbstractSessionLog.getLog().setWriter(logWriter);
+        }
+
+        //Make sure the source is existing
+        if (this.source == null || !(new File(Helper.toURI(this.source)).exists())) {
+            throw StaticWeaveException.missingSource();
+        }
+        if (this.target == null) {
+            throw StaticWeaveException.missingTarget();
+        }
+        if (this.projectClassName == null) {
+            throw StaticWeaveException.missingProjectClass();
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * The method processes the persistence unit and generates its project class.
+     */
+    private void process() throws Exception {
+        // Instantiate classloader.
+        ClassLoader parentLoader = (this.classLoader == null) ? Thread.currentThread().getContextClassLoader() : this.classLoader;
+        try (URLClassLoader loader = new URLClassLoader(getURLs(), parentLoader)) {
+            SEPersistenceUnitInfo unitInfo = getPersistenceUnit(loader);
+            String puName = unitInfo.getPersistenceUnitName();
+            // A previously generated project class must not be used to generate the new one.
+            unitInfo.getProperties().remove(PersistenceUnitProperties.PROJECT_CACHE);
+
+            Map<String, Object> properties = new HashMap<>();
+            String weaving = unitInfo.getProperties().getProperty(PersistenceUnitProperties.WEAVING);
+            properties.put(PersistenceUnitProperties.WEAVING, "false".equalsIgnoreCase(weaving) ? "false" : "static");
+            // Initialize the descriptors and parse the named queries without connecting.
+            properties.put(PersistenceUnitProperties.VALIDATION_ONLY_PROPERTY, "true");
+            properties.put(PersistenceUnitProperties.LAZY_DESCRIPTOR_INITIALIZATION, "false");
+            properties.put(PersistenceUnitProperties.LOGGING_LEVEL, AbstractSessionLog.translateLoggingLevelToString(this.logLevel));
+
+            String sessionName = unitInfo.getProperties().getProperty(PersistenceUnitProperties.SESSION_NAME);
+            if (sessionName == null) {
+                sessionName = puName;
+            }
+            EntityManagerSetupImpl emSetupImpl = new EntityManagerSetupImpl(puName, sessionName);
+            try {
+                emSetupImpl.predeploy(unitInfo, properties);
+                AbstractSession session = emSetupImpl.getSession();
+                if (session.isBroker()) {
+                    throw StaticWeaveException.precompilingCompositeNotSupported(puName);
+                }
+
+                // The project class must be generated from the uninitialized descriptors,
+                // but it is only written once the descriptors and the named queries are validated.
+                StringWriter projectClass = new StringWriter();
+                new JPAProjectClassGenerator(session.getProject(), this.projectClassName, projectClass).generate();
+
+                emSetupImpl.deploy(loader, properties);
+                generateQueriesSQL(emSetupImpl.getSession());
+
+                File file = new File(this.target, this.projectClassName.replace('.', File.separatorChar) + ".java");
+                File directory = file.getParentFile();
+                if (!directory.exists() && !directory.mkdirs()) {
+                    AbstractSessionLog.getLog().log(SessionLog.FINE, SessionLog.WEAVER,
+                            ToStringLocalization.buildMessage("staticweave_processor_dir_not_created", new Object[]{directory}));
+                }
+                try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+                    writer.write(projectClass.toString());
+                }
+                AbstractSessionLog.getLog().log(SessionLog.INFO, SessionLog.WEAVER, "static_precompile_project_class",
+                        new Object[] { this.projectClassName, puName, file }, true);
+            } finally {
+                emSetupImpl.undeploy();
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Return the persistence unit to precompile.
+     */
+    private SEPersistenceUnitInfo getPersistenceUnit(ClassLoader loader) throws Exception {
+        URL persistenceUnitURL = (this.persistenceInfo != null) ? this.persistenceInfo : this.source;
+        Archive archive = (new ArchiveFactoryImpl()).createArchive(persistenceUnitURL,
+                this.persistenceXMLLocation == null ? PersistenceUnitProperties.ECLIPSELINK_PERSISTENCE_XML_DEFAULT : this.persistenceXMLLocation, null);
+        try {
+            List<SEPersistenceUnitInfo> persistenceUnits = PersistenceUnitProcessor.processPersistenceArchive(archive, loader);
+            List<SEPersistenceUnitInfo> matches = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            if (persistenceUnits != null) {
+                for (SEPersistenceUnitInfo unitInfo : persistenceUnits) {
+                    names.add(unitInfo.getPersistenceUnitName());
+                    if (this.persistenceUnitName == null || this.persistenceUnitName.equals(unitInfo.getPersistenceUnitName())) {
+                        matches.add(unitInfo);
+                    }
+                }
+            }
+            if (matches.size() != 1) {
+                throw StaticWeaveException.missingPersistenceUnit(names);
+            }
+            return matches.get(0);
+        } finally {
+            if (archive != null) {
+                archive.close();
+            }
+        }
+    }
+
+    /**
+     * INTERNAL:
+     * Prepare the named queries to generate and log their SQL.
+     * Queries that depend on their arguments are prepared when they are executed.
+     */
+    private void generateQueriesSQL(AbstractSession session) {
+        for (List<DatabaseQuery> queries : session.getQueries().values()) {
+            for (DatabaseQuery query : queries) {
+                try {
+                    query.checkPrepare(session, new DatabaseRecord());
+                } catch (RuntimeException exception) {
+                    session.log(SessionLog.FINE, SessionLog.QUERY, "static_precompile_query_sql_deferred",
+                            new Object[] { query.getName(), exception.getMessage() });
+                    continue;
+                }
+                if (query.isPrepared() && query.getSQLStrings() != null && !query.getSQLStrings().isEmpty()) {
+                    session.log(SessionLog.FINE, SessionLog.QUERY, "static_precompile_query_sql",
+                            new Object[] { query.getName(), query.getSQLStrings() });
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate URL array for specified source and persistenceinfo.
+     */
+    private URL[] getURLs() {
+        if (this.persistenceInfo != null) {
+            return new URL[] { this.persistenceInfo, this.source };
+        }
+        return new URL[] { this.source };
+    }
+}
@@ -60,6 +60,10 @@ public static void main(String[] args) throws RunnerException {
 //                .include(getInclude(JPAValidationBenchmark.class))
 //                .include(getInclude(ReferenceResolverBenchmark.class))
 //                .include(getInclude(CaseInsensitiveUnmarshalBenchmark.class))
+//                .include(getInclude(CacheKeyLockBenchmark.class))
+//                .include(getInclude(IdentityMapLookupBenchmark.class))
+//                .include(getInclude(CursorRowFetchBenchmark.class))
+//                .include(getInclude(ChangeSetSerializerBenchmark.class))
                 .result(resultFile)
                 .resultFormat(ResultFormatType.valueOf(resultFormat.toUpperCase()))
                 .warmupIterations(warmupIterations)
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.persistence.exceptions.ConcurrencyException;
+import org.eclipse.persistence.internal.helper.ConcurrencyUtil;
+import org.eclipse.persistence.internal.helper.DeferredLockManager;
+import org.eclipse.persistence.internal.helper.ReadLockManager;
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.logging.AbstractSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares contended shared cache hits on a hot CacheKey.
+ * The cache key lock is based on ReentrantLock with separate conditions for readers and writers,
+ * {@link BaselineCacheKey} is a CacheKey running the previous monitor based lock methods
+ * (synchronized, wait()/notifyAll() on the instance) with the same read lock manager
+ * and dead lock diagnostic bookkeeping, so only the locking mechanism differs.
+ *
+ * The creation benchmarks allocate a cache key, respectively the ReentrantLock it now carries,
+ * per operation. Run them with -prof gc to get the memory cost per cache key (gc.alloc.rate.norm),
+ * the previous cache key cost is the difference of both. The lock conditions are only created
+ * once a thread has to wait on the cache key, so uncontended cache keys do not pay for them.
+ *
+ * Tests are ran in multi-threaded environment.
+ */
+@State(Scope.Benchmark)
+public class CacheKeyLockBenchmark {
+
+    public static final int THREADS = 16;
+
+    private static final int KEYS = 4;
+
+    private CacheKey[] cacheKeys;
+    private CacheKey[] baselineCacheKeys;
+
+    @Setup
+    public void prepare() {
+        cacheKeys = new CacheKey[KEYS];
+        baselineCacheKeys = new CacheKey[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            Long id = (long) i;
+            cacheKeys[i] = new CacheKey(id, "Entity" + i, null);
+            baselineCacheKeys[i] = new BaselineCacheKey(id, "Entity" + i, null);
+        }
+    }
+
+    /**
+     * Cache hit, the read lock is checked as done by ObjectBuilder when the key is not locked.
+     */
+    @Benchmark
+    @Threads(THREADS)
+    public void testCacheKeyReadLock(Blackhole bh) {
+        readLock(cacheKeys, bh);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void testBaselineCacheKeyReadLock(Blackhole bh) {
+        readLock(baselineCacheKeys, bh);
+    }
+
+    /**
+     * Mostly cache hits with an occasional merge acquiring the write lock.
+     */
+    @Benchmark
+    @Threads(THREADS)
+    public void testCacheKeyReadWriteLock(Blackhole bh) {
+        readWriteLock(cacheKeys, bh);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void testBaselineCacheKeyReadWriteLock(Blackhole bh) {
+        readWriteLock(baselineCacheKeys, bh);
+    }
+
+    /**
+     * Uncontended cache key creation, as done for each object put in the shared cache.
+     */
+    @Benchmark
+    public CacheKey testCacheKeyCreation() {
+        return new CacheKey(1L, "Entity", null);
+    }
+
+    /**
+     * Per cache key memory cost of the lock.
+     */
+    @Benchmark
+    public ReentrantLock testLockCreation() {
+        return new ReentrantLock();
+    }
+
+    private static void readLock(CacheKey[] keys, Blackhole bh) {
+        CacheKey cacheKey = keys[(int) (Thread.currentThread().getId() % KEYS)];
+        cacheKey.acquireReadLock();
+        try {
+            bh.consume(cacheKey.getObject());
+        } finally {
+            cacheKey.releaseReadLock();
+        }
+    }
+
+    private static void readWriteLock(CacheKey[] keys, Blackhole bh) {
+        CacheKey cacheKey = keys[(int) (Thread.currentThread().getId() % KEYS)];
+        if (System.nanoTime() % 64 == 0) {
+            cacheKey.acquire();
+            try {
+                bh.consume(cacheKey.getObject());
+            } finally {
+                cacheKey.release();
+            }
+        } else {
+            cacheKey.acquireReadLock();
+            try {
+                bh.consume(cacheKey.getObject());
+            } finally {
+                cacheKey.releaseReadLock();
+            }
+        }
+    }
+
+    /**
+     * CacheKey with the lock methods of the previous, monitor based, ConcurrencyManager.
+     * The bodies are copied from ConcurrencyManager before the ReentrantLock migration,
+     * the only difference is that the private reading statistics are kept in this class.
+     */
+    static final class BaselineCacheKey extends CacheKey {
+        private static final String ACQUIRE_METHOD_NAME = BaselineCacheKey.class.getName() + ".acquire(...)";
+        private static final String ACQUIRE_READ_LOCK_METHOD_NAME = BaselineCacheKey.class.getName() + ".acquireReadLock(...)";
+
+        private final AtomicLong totalNumberOfKeysAcquiredForReading = new AtomicLong(0);
+        private final AtomicLong totalNumberOfKeysReleasedForReading = new AtomicLong(0);
+        private final AtomicLong totalNumberOfKeysReleasedForReadingBlewUpExceptionDueToCacheKeyHavingReachedCounterZero = new AtomicLong(0);
+
+        BaselineCacheKey(Object primaryKey, Object object, Object lockValue) {
+            super(primaryKey, object, lockValue);
+        }
+
+        @Override
+        public void acquire() {
+            acquire(false);
+        }
+
+        @Override
+        public synchronized void acquire(boolean forMerge) throws ConcurrencyException {
+            final long whileStartTimeMillis = System.currentTimeMillis();
+            Thread currentThread = Thread.currentThread();
+            DeferredLockManager lockManager = getDeferredLockManager(currentThread);
+            ReadLockManager readLockManager = getReadLockManager(currentThread);
+            final boolean currentThreadWillEnterTheWhileWait = ((this.activeThread != null) || (this.numberOfReaders.get() > 0)) && (this.activeThread != currentThread);
+            if (currentThreadWillEnterTheWhileWait) {
+                putThreadAsWaitingToAcquireLockForWriting(currentThread, ACQUIRE_METHOD_NAME);
+            }
+            while (((this.activeThread != null) || (this.numberOfReaders.get() > 0)) && (this.activeThread != Thread.currentThread())) {
+                try {
+                    this.numberOfWritersWaiting.incrementAndGet();
+                    wait(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
+                    ConcurrencyUtil.SINGLETON.determineIfReleaseDeferredLockAppearsToBeDeadLocked(this, whileStartTimeMillis, lockManager, readLockManager, ConcurrencyUtil.SINGLETON.isAllowInterruptedExceptionFired());
+                } catch (InterruptedException exception) {
+                    releaseAllLocksAcquiredByThread(lockManager);
+                    if (currentThreadWillEnterTheWhileWait) {
+                        removeThreadNoLongerWaitingToAcquireLockForWriting(currentThread);
+                    }
+                    throw ConcurrencyException.waitWasInterrupted(exception.getMessage());
+                } finally {
+                    this.numberOfWritersWaiting.decrementAndGet();
+                }
+            }
+            if (currentThreadWillEnterTheWhileWait) {
+                removeThreadNoLongerWaitingToAcquireLockForWriting(currentThread);
+            }
+            if (this.activeThread == null) {
+                this.activeThread = Thread.currentThread();
+                if (shouldTrackStack) {
+                    this.stack = new Exception();
+                }
+            }
+            this.lockedByMergeManager = forMerge;
+            this.depth.incrementAndGet();
+        }
+
+        @Override
+        public synchronized void acquireReadLock() throws ConcurrencyException {
+            final Thread currentThread = Thread.currentThread();
+            final long whileStartTimeMillis = System.currentTimeMillis();
+            DeferredLockManager lockManager = getDeferredLockManager(currentThread);
+            ReadLockManager readLockManager = getReadLockManager(currentThread);
+            final boolean currentThreadWillEnterTheWhileWait = (this.activeThread != null) && (this.activeThread != currentThread);
+            if (currentThreadWillEnterTheWhileWait) {
+                putThreadAsWaitingToAcquireLockForReading(currentThread, ACQUIRE_READ_LOCK_METHOD_NAME);
+            }
+            while ((this.activeThread != null) && (this.activeThread != Thread.currentThread())) {
+                try {
+                    wait(ConcurrencyUtil.SINGLETON.getAcquireWaitTime());
+                    ConcurrencyUtil.SINGLETON.determineIfReleaseDeferredLockAppearsToBeDeadLocked(this, whileStartTimeMillis, lockManager, readLockManager, ConcurrencyUtil.SINGLETON.isAllowInterruptedExceptionFired());
+                } catch (InterruptedException exception) {
+                    releaseAllLocksAcquiredByThread(lockManager);
+                    if (currentThreadWillEnterTheWhileWait) {
+                        removeThreadNoLongerWaitingToAcquireLockForReading(currentThread);
+                    }
+                    throw ConcurrencyException.waitWasInterrupted(exception.getMessage());
+                }
+            }
+            if (currentThreadWillEnterTheWhileWait) {
+                removeThreadNoLongerWaitingToAcquireLockForReading(currentThread);
+            }
+            try {
+                addReadLockToReadLockManager();
+            } finally {
+                this.numberOfReaders.incrementAndGet();
+                this.totalNumberOfKeysAcquiredForReading.incrementAndGet();
+            }
+        }
+
+        @Override
+        public synchronized void release() throws ConcurrencyException {
+            if (this.depth.get() == 0) {
+                throw ConcurrencyException.signalAttemptedBeforeWait();
+            } else {
+                this.depth.decrementAndGet();
+            }
+            if (this.depth.get() == 0) {
+                this.activeThread = null;
+                if (shouldTrackStack) {
+                    this.stack = null;
+                }
+                this.lockedByMergeManager = false;
+                notifyAll();
+            }
+        }
+
+        @Override
+        public synchronized void releaseReadLock() throws ConcurrencyException {
+            if (this.numberOfReaders.get() == 0) {
+                this.totalNumberOfKeysReleasedForReadingBlewUpExceptionDueToCacheKeyHavingReachedCounterZero.incrementAndGet();
+                try {
+                    removeReadLockFromReadLockManager();
+                } catch (Exception e) {
+                    AbstractSessionLog.getLog().logThrowable(SessionLog.SEVERE, SessionLog.CACHE, e);
+                }
+                throw ConcurrencyException.signalAttemptedBeforeWait();
+            } else {
+                try {
+                    removeReadLockFromReadLockManager();
+                } finally {
+                    this.numberOfReaders.decrementAndGet();
+                    this.totalNumberOfKeysReleasedForReading.incrementAndGet();
+                }
+            }
+            if (this.numberOfReaders.get() == 0) {
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.RelationalDescriptor;
+import org.eclipse.persistence.internal.sessions.DatabaseSessionImpl;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Project;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
+import org.eclipse.persistence.sessions.coordination.ServiceId;
+import org.eclipse.persistence.sessions.serializers.ChangeSetSerializer;
+import org.eclipse.persistence.sessions.serializers.JavaSerializer;
+import org.eclipse.persistence.sessions.serializers.Serializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares writing and reading a cache coordination MergeChangeSetCommand with Java serialization
+ * and the ChangeSetSerializer.
+ * The change set updates two attributes and the version of each object, as a typical commit would.
+ * The serialized size of each is reported as the serializedBytes secondary result of the serialize benchmark.
+ */
+@State(Scope.Benchmark)
+public class ChangeSetSerializerBenchmark {
+
+    @Param({"1", "20"})
+    private int objects;
+
+    @Param({"java", "changeset"})
+    private String serializerName;
+
+    private DatabaseSessionImpl session;
+    private Serializer serializer;
+    private MergeChangeSetCommand command;
+    private byte[] bytes;
+
+    @Setup
+    public void prepare() {
+        RelationalDescriptor descriptor = new RelationalDescriptor();
+        descriptor.setJavaClass(Employee.class);
+        descriptor.addTableName("EMPLOYEE");
+        descriptor.addPrimaryKeyFieldName("EMPLOYEE.ID");
+        descriptor.addDirectMapping("id", "EMPLOYEE.ID");
+        descriptor.addDirectMapping("firstName", "EMPLOYEE.F_NAME");
+        descriptor.addDirectMapping("lastName", "EMPLOYEE.L_NAME");
+        descriptor.addDirectMapping("salary", "EMPLOYEE.SALARY");
+        descriptor.addDirectMapping("version", "EMPLOYEE.VERSION");
+        Project project = new Project(new DatabaseLogin());
+        project.addDescriptor(descriptor);
+        session = new DatabaseSessionImpl(project);
+
+        UnitOfWorkChangeSet changeSet = new UnitOfWorkChangeSet();
+        for (int index = 0; index < objects; index++) {
+            ObjectChangeSet objectChangeSet = new ObjectChangeSet();
+            objectChangeSet.setId(100000L + index);
+            objectChangeSet.setClassName(Employee.class.getName());
+            objectChangeSet.setSynchronizationType(ClassDescriptor.SEND_OBJECT_CHANGES);
+            objectChangeSet.setInitialWriteLockValue(41L);
+            objectChangeSet.setWriteLockValue(42L);
+            List<ChangeRecord> changes = new ArrayList<>();
+            changes.add(change(objectChangeSet, "lastName", "Smith-" + index));
+            changes.add(change(objectChangeSet, "salary", new BigDecimal("55000.00")));
+            objectChangeSet.setChanges(changes);
+            changeSet.getAllChangeSets().put(objectChangeSet, objectChangeSet);
+        }
+        changeSet.setHasChanges(true);
+        command = new MergeChangeSetCommand();
+        command.setChangeSet(changeSet);
+        command.setServiceId(new ServiceId("EclipseLinkCommandChannel", "1234567", "rmi://localhost:1099"));
+
+        serializer = serializerName.equals("java") ? JavaSerializer.instance : new ChangeSetSerializer();
+        serializer.initialize(UnitOfWorkChangeSet.class, null, session);
+        bytes = (byte[]) serializer.serialize(command, session);
+    }
+
+    private static ChangeRecord change(ObjectChangeSet owner, String attribute, Object value) {
+        DirectToFieldChangeRecord record = new DirectToFieldChangeRecord(owner);
+        record.setAttribute(attribute);
+        record.setNewValue(value);
+        return record;
+    }
+
+    @Benchmark
+    public Object testSerialize(SerializedSize size) {
+        byte[] result = (byte[]) serializer.serialize(command, session);
+        size.serializedBytes = result.length;
+        return result;
+    }
+
+    @Benchmark
+    public Object testDeserialize() {
+        return serializer.deserialize(bytes, session);
+    }
+
+    /**
+     * Reports the size of the serialized command.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedSize {
+        public long serializedBytes;
+    }
+
+    public static class Employee {
+        public long id;
+        public String firstName;
+        public String lastName;
+        public BigDecimal salary;
+        public long version;
+    }
+}
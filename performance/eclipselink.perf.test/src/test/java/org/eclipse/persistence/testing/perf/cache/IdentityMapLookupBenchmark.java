@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.perf.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.persistence.internal.identitymaps.CacheKey;
+import org.eclipse.persistence.internal.identitymaps.LongCacheKeyMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares shared cache lookups by a single Long primary key,
+ * as done by FullIdentityMap.getCacheKey(), in the ConcurrentHashMap used for other
+ * primary keys and in the {@link LongCacheKeyMap}.
+ * The lookup keys are Long values extracted from rows, so are not the instances used to populate the map.
+ *
+ * Tests are ran in multi-threaded environment.
+ */
+@State(Scope.Benchmark)
+public class IdentityMapLookupBenchmark {
+
+    public static final int THREADS = 8;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private Map<Object, CacheKey> concurrentHashMap;
+    private LongCacheKeyMap longCacheKeyMap;
+    private Long[] lookupKeys;
+
+    @Setup
+    public void prepare() {
+        concurrentHashMap = new ConcurrentHashMap<>(size);
+        longCacheKeyMap = new LongCacheKeyMap(size);
+        for (long i = 0; i < size; i++) {
+            CacheKey cacheKey = new CacheKey(i, "Entity" + i, null);
+            concurrentHashMap.put(i, cacheKey);
+            longCacheKeyMap.put(i, cacheKey);
+        }
+        lookupKeys = new Long[4096];
+        for (int i = 0; i < lookupKeys.length; i++) {
+            lookupKeys[i] = Long.valueOf((i * 7919L) % size);
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void testConcurrentHashMapLookup(Blackhole bh) {
+        for (Long key : lookupKeys) {
+            bh.consume(concurrentHashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void testLongCacheKeyMapLookup(Blackhole bh) {
+        for (Long key : lookupKeys) {
+            bh.consume(longCacheKeyMap.get(key));
+        }
+    }
+
+    /**
+     * Mostly lookups with an occasional insert and removal, as done when new objects are read and invalidated.
+     */
+    @Benchmark
+    @Threads(THREADS)
+    public void testConcurrentHashMapMixed(Blackhole bh) {
+        long id = size + Thread.currentThread().getId();
+        concurrentHashMap.put(id, new CacheKey(id));
+        for (Long key : lookupKeys) {
+            bh.consume(concurrentHashMap.get(key));
+        }
+        concurrentHashMap.remove(id);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void testLongCacheKeyMapMixed(Blackhole bh) {
+        long id = size + Thread.currentThread().getId();
+        longCacheKeyMap.put(id, new CacheKey(id));
+        for (Long key : lookupKeys) {
+            bh.consume(longCacheKeyMap.get(key));
+        }
+        longCacheKeyMap.remove(id);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0,
+ * or the Eclipse Distribution License v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ */
+
+// Contributors:
+//     Oracle - initial API and implementation
+package org.eclipse.persistence.testing.perf.jdbc;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Vector;
+
+import org.eclipse.persistence.internal.databaseaccess.DatabaseAccessor;
+import org.eclipse.persistence.internal.helper.DatabaseField;
+import org.eclipse.persistence.internal.sessions.AbstractRecord;
+import org.eclipse.persistence.internal.databaseaccess.DatabasePlatform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares building the rows of a cursor (CursoredStream, ScrollableCursor) per row with the meta-data
+ * fetched from the result set and a DatabaseRecord, with the shared fields array and cached meta-data
+ * building an ArrayRecord.
+ * The score is rows per second, run with "-prof gc" to report the allocation per row.
+ * The result set is an in-memory proxy, so only the row building is measured.
+ */
+@State(Scope.Benchmark)
+public class CursorRowFetchBenchmark {
+
+    public static final int ROWS = 1000;
+
+    @Param({"4", "16"})
+    private int columns;
+
+    private DatabaseAccessor accessor;
+    private Vector<DatabaseField> fields;
+    private DatabaseField[] fieldsArray;
+    private ResultSetMetaData metaData;
+    private int[] position;
+    private ResultSet resultSet;
+
+    @Setup
+    public void prepare() {
+        accessor = new DatabaseAccessor();
+        accessor.setDatasourcePlatform(new DatabasePlatform());
+        fields = new Vector<>(columns);
+        for (int index = 0; index < columns; index++) {
+            DatabaseField field = new DatabaseField("COLUMN_" + index, "EMPLOYEE");
+            field.setSqlType(index % 2 == 0 ? Types.INTEGER : Types.VARCHAR);
+            fields.add(field);
+        }
+        fieldsArray = fields.toArray(new DatabaseField[columns]);
+        metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> method.getName().equals("getColumnCount") ? columns : null);
+        position = new int[1];
+        resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++position[0] <= ROWS;
+                        case "getMetaData":
+                            return metaData;
+                        case "getObject":
+                        case "getInt":
+                            return position[0];
+                        case "getString":
+                            return "Value";
+                        case "wasNull":
+                            return false;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void testVectorRows(Blackhole bh) {
+        position[0] = 0;
+        AbstractRecord row;
+        while ((row = accessor.cursorRetrieveNextRow(fields, resultSet, null)) != null) {
+            bh.consume(row);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void testArrayRows(Blackhole bh) {
+        position[0] = 0;
+        AbstractRecord row;
+        while ((row = accessor.cursorRetrieveNextRow(fields, fieldsArray, resultSet, metaData, null)) != null) {
+            bh.consume(row);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2022 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -14,6 +14,12 @@
 //              ljungmann - initial implementation
 package org.eclipse.persistence.testing.perf.jpa.tests.basic;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import jakarta.persistence.Persistence;
@@ -23,6 +29,10 @@
 import org.eclipse.persistence.internal.jpa.metadata.MetadataLogger;
 import org.eclipse.persistence.internal.jpa.metadata.accessors.objects.MetadataAsmFactory;
 import org.eclipse.persistence.internal.jpa.metadata.accessors.objects.MetadataClass;
+import org.eclipse.persistence.internal.libraries.asm.AnnotationVisitor;
+import org.eclipse.persistence.internal.libraries.asm.EclipseLinkASMClassWriter;
+import org.eclipse.persistence.internal.libraries.asm.FieldVisitor;
+import org.eclipse.persistence.internal.libraries.asm.Opcodes;
 import org.eclipse.persistence.sessions.server.ServerSession;
 import org.eclipse.persistence.testing.perf.jpa.model.metaannotations.MetaEmployee;
 import org.eclipse.persistence.testing.perf.jpa.model.metaannotations.RegularEmployee;
@@ -40,14 +50,34 @@
 //@BenchmarkMode(Mode.AverageTime)
 public class JPAMetadataProcessingTests {
 
+    /** Number of entities of the synthetic model. */
+    private static final int SYNTHETIC_ENTITIES = 2000;
+
     private ServerSession session;
     private Set<Class> entities;
+    private List<String> syntheticClassNames;
+    private ClassLoader syntheticLoader;
 
     @Setup
     public void setup() {
         EntityManagerFactoryImpl emf = (EntityManagerFactoryImpl) Persistence.createEntityManagerFactory("jpa-performance");
         session = emf.getServerSession();
         entities = session.getDescriptors().keySet();
+
+        Map<String, byte[]> classes = new HashMap<>();
+        syntheticClassNames = new ArrayList<>(SYNTHETIC_ENTITIES);
+        for (int index = 0; index < SYNTHETIC_ENTITIES; index++) {
+            String className = "org.eclipse.persistence.testing.perf.jpa.model.synthetic.Entity" + index;
+            syntheticClassNames.add(className);
+            classes.put(className.replace('.', '/') + ".class", buildSyntheticEntity(className, index));
+        }
+        syntheticLoader = new ClassLoader(JPAMetadataProcessingTests.class.getClassLoader()) {
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                byte[] bytes = classes.get(name);
+                return (bytes == null) ? super.getResourceAsStream(name) : new ByteArrayInputStream(bytes);
+            }
+        };
     }
 
     /**
@@ -89,4 +119,63 @@ public void testMetaEntity() {
         metadataClass.getAnnotation("jakarta.persistence.EntityListeners");
     }
 
+    /**
+     * Read the classes of a synthetic model of 2,000 entities one at a time,
+     * check if each is an &#64;Entity and whether it contains &#64;EntityListeners annotation.
+     */
+    @Benchmark
+    public void testSyntheticModelMetadataProcessing() {
+        MetadataAsmFactory factory = new MetadataAsmFactory(new MetadataLogger(null), syntheticLoader);
+        for (String className : syntheticClassNames) {
+            MetadataClass metadataClass = factory.getMetadataClass(className);
+            PersistenceUnitProcessor.isEntity(metadataClass);
+            metadataClass.getAnnotation("jakarta.persistence.EntityListeners");
+        }
+    }
+
+    /**
+     * Read the classes of a synthetic model of 2,000 entities concurrently,
+     * check if each is an &#64;Entity and whether it contains &#64;EntityListeners annotation.
+     * Compare with {@link #testSyntheticModelMetadataProcessing()}.
+     */
+    @Benchmark
+    public void testSyntheticModelParallelMetadataProcessing() {
+        MetadataAsmFactory factory = new MetadataAsmFactory(new MetadataLogger(null), syntheticLoader);
+        factory.loadMetadataClasses(syntheticClassNames, false);
+        for (String className : syntheticClassNames) {
+            MetadataClass metadataClass = factory.getMetadataClass(className);
+            PersistenceUnitProcessor.isEntity(metadataClass);
+            metadataClass.getAnnotation("jakarta.persistence.EntityListeners");
+        }
+    }
+
+    /**
+     * Build the byte codes of an entity with an id, a few basic attributes
+     * and a relationship to the previous entity of the synthetic model.
+     */
+    private static byte[] buildSyntheticEntity(String className, int index) {
+        EclipseLinkASMClassWriter cw = new EclipseLinkASMClassWriter();
+        cw.visit(Opcodes.ACC_PUBLIC + Opcodes.ACC_SUPER, className.replace('.', '/'), null, "java/lang/Object", null);
+        AnnotationVisitor entity = cw.visitAnnotation("Ljakarta/persistence/Entity;", true);
+        entity.visitEnd();
+
+        FieldVisitor id = cw.visitField(Opcodes.ACC_PRIVATE, "id", "J", null, null);
+        id.visitAnnotation("Ljakarta/persistence/Id;", true).visitEnd();
+        id.visitEnd();
+        for (int attribute = 0; attribute < 10; attribute++) {
+            FieldVisitor basic = cw.visitField(Opcodes.ACC_PRIVATE, "attribute" + attribute, "Ljava/lang/String;", null, null);
+            AnnotationVisitor column = basic.visitAnnotation("Ljakarta/persistence/Column;", true);
+            column.visit("name", "ATTRIBUTE_" + attribute);
+            column.visitEnd();
+            basic.visitEnd();
+        }
+        if (index > 0) {
+            String previous = className.substring(0, className.lastIndexOf("Entity")) + "Entity" + (index - 1);
+            FieldVisitor reference = cw.visitField(Opcodes.ACC_PRIVATE, "previous", "L" + previous.replace('.', '/') + ";", null, null);
+            reference.visitAnnotation("Ljakarta/persistence/ManyToOne;", true).visitEnd();
+            reference.visitEnd();
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
 }